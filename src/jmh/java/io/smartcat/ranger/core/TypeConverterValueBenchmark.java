@@ -0,0 +1,150 @@
+package io.smartcat.ranger.core;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares conversion of records to objects by {@link TypeConverterValue} with
+ * {@link ObjectMapper#convertValue(Object, Class)} it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeConverterValueBenchmark {
+
+    private Record record;
+    private TypeConverterValue<User> converter;
+    private ObjectMapper objectMapper;
+
+    /**
+     * Creates record with user properties.
+     */
+    @Setup
+    public void setUp() {
+        RecordSchema schema = new RecordSchema(Arrays.asList("id", "username", "firstName", "lastName", "age",
+                "balance", "active"));
+        record = new Record(schema, new Object[] { 42L, "mike", "Mike", "Smith", 33, 1250.5, true });
+        converter = new TypeConverterValue<>(User.class, new ConstantValue<>(record));
+        objectMapper = new ObjectMapper();
+    }
+
+    /**
+     * Converts record by type converter value.
+     *
+     * @return Converted user.
+     */
+    @Benchmark
+    public User materializer() {
+        converter.reset();
+        return converter.get();
+    }
+
+    /**
+     * Converts record by object mapper.
+     *
+     * @return Converted user.
+     */
+    @Benchmark
+    public User convertValue() {
+        return objectMapper.convertValue(record, User.class);
+    }
+
+    /**
+     * User bean.
+     */
+    public static class User {
+
+        private long id;
+        private String username;
+        private String firstName;
+        private String lastName;
+        private int age;
+        private double balance;
+        private boolean active;
+
+        /**
+         * Sets id.
+         *
+         * @param id Id.
+         */
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        /**
+         * Sets username.
+         *
+         * @param username Username.
+         */
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        /**
+         * Sets first name.
+         *
+         * @param firstName First name.
+         */
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        /**
+         * Sets last name.
+         *
+         * @param lastName Last name.
+         */
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+
+        /**
+         * Sets age.
+         *
+         * @param age Age.
+         */
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        /**
+         * Sets balance.
+         *
+         * @param balance Balance.
+         */
+        public void setBalance(double balance) {
+            this.balance = balance;
+        }
+
+        /**
+         * Sets active flag.
+         *
+         * @param active Active flag.
+         */
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        @Override
+        public String toString() {
+            return "User [id=" + id + ", username=" + username + ", firstName=" + firstName + ", lastName="
+                    + lastName + ", age=" + age + ", balance=" + balance + ", active=" + active + "]";
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.smartcat.ranger.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.distribution.EnumeratedDistribution;
+import org.apache.commons.math3.util.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smartcat.ranger.core.WeightedValue.WeightedValuePair;
+import io.smartcat.ranger.distribution.Distribution;
+import io.smartcat.ranger.distribution.UniformDistribution;
+
+/**
+ * Compares alias method used by {@link WeightedValue} with sampling approaches it replaced: commons-math
+ * {@link EnumeratedDistribution} and binary search over cumulative weights.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeightedValueBenchmark {
+
+    /**
+     * Number of weighted values.
+     */
+    @Param({ "10", "1000", "10000" })
+    public int size;
+
+    private WeightedValue<Integer> aliasValue;
+    private EnumeratedDistribution<Integer> enumeratedDistribution;
+    private double[] cumulativeWeights;
+    private Distribution distribution;
+
+    /**
+     * Creates weighted values with popularity-like weights, where value at index <code>i</code> has weight
+     * <code>1 / (i + 1)</code>.
+     */
+    @Setup
+    public void setUp() {
+        List<WeightedValuePair<Integer>> pairs = new ArrayList<>(size);
+        List<Pair<Integer, Double>> pmf = new ArrayList<>(size);
+        cumulativeWeights = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            double weight = 1.0 / (i + 1);
+            pairs.add(new WeightedValuePair<>(ConstantValue.of(i), weight));
+            pmf.add(new Pair<>(i, weight));
+            sum += weight;
+            cumulativeWeights[i] = sum;
+        }
+        aliasValue = new WeightedValue<>(pairs);
+        enumeratedDistribution = new EnumeratedDistribution<>(pmf);
+        distribution = new UniformDistribution();
+    }
+
+    /**
+     * Samples with alias method.
+     *
+     * @return Sampled value.
+     */
+    @Benchmark
+    public Integer alias() {
+        aliasValue.reset();
+        return aliasValue.get();
+    }
+
+    /**
+     * Samples with commons-math enumerated distribution.
+     *
+     * @return Sampled value.
+     */
+    @Benchmark
+    public Integer enumerated() {
+        return enumeratedDistribution.sample();
+    }
+
+    /**
+     * Samples with binary search over cumulative weights.
+     *
+     * @return Sampled index.
+     */
+    @Benchmark
+    public int binarySearch() {
+        double randomValue = distribution.nextDouble(0, cumulativeWeights[cumulativeWeights.length - 1]);
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (randomValue < cumulativeWeights[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+}
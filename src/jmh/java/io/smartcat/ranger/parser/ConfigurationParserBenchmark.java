@@ -0,0 +1,76 @@
+package io.smartcat.ranger.parser;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smartcat.ranger.ObjectGenerator;
+import io.smartcat.ranger.util.YamlUtils;
+
+/**
+ * Measures time needed to build generator out of YAML configuration, in a fresh JVM and after parser is warmed up,
+ * with each of expression parser implementations.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigurationParserBenchmark {
+
+    private static final String CONFIG = "values:\n"
+            + "  id: random(1..1000000)\n"
+            + "  username: random(['mike', 'steve', 'john'])\n"
+            + "  age: random(18..99)\n"
+            + "  score: circular(1.0..100.0, 0.5)\n"
+            + "  created: now()\n"
+            + "  user:\n"
+            + "    id: $id\n"
+            + "    name: string('{}-{}', $username, $id)\n"
+            + "    age: $age\n"
+            + "    tags: list([random(['a', 'b']), random(['c', 'd'])])\n"
+            + "output: $user\n";
+
+    @Param({ "PARBOILED", "RECURSIVE_DESCENT" })
+    private ExpressionParserType parserType;
+
+    /**
+     * Builds generator once in a fresh JVM, which includes creation of the parser.
+     *
+     * @return Built generator.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public ObjectGenerator<Object> coldBuild() {
+        return build();
+    }
+
+    /**
+     * Builds generator repeatedly within the same JVM.
+     *
+     * @return Built generator.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public ObjectGenerator<Object> warmBuild() {
+        return build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectGenerator<Object> build() {
+        return new ConfigurationParser((Map<String, Object>) YamlUtils.load(CONFIG), parserType).build();
+    }
+}
@@ -17,6 +17,7 @@ import io.smartcat.ranger.core.CircularRangeValueInt;
 import io.smartcat.ranger.core.CircularRangeValueLong;
 import io.smartcat.ranger.core.CircularRangeValueShort;
 import io.smartcat.ranger.core.CircularValue;
+import io.smartcat.ranger.core.ConstantPool;
 import io.smartcat.ranger.core.ConstantValue;
 import io.smartcat.ranger.core.DiscreteValue;
 import io.smartcat.ranger.core.EmptyListValue;
@@ -75,6 +76,8 @@ import io.smartcat.ranger.core.arithmetic.SubtractionValueShort;
 import io.smartcat.ranger.core.csv.CsvReaderValue;
 import io.smartcat.ranger.core.csv.CSVParserSettings;
 import io.smartcat.ranger.distribution.Distribution;
+import io.smartcat.ranger.distribution.RandomEngines;
+import io.smartcat.ranger.distribution.UniformDistribution;
 
 /**
  * Set of helper methods to use with {@link ObjectGeneratorBuilder}.
@@ -151,7 +154,7 @@ public class BuilderMethods {
      * @return An instance of {@link ObjectGenerator} which generates uniformly distributed values from specified list.
      */
     public static <T> ObjectGenerator<T> random(List<T> values) {
-        return wrap(new DiscreteValue<>(unwrap(values)));
+        return random(new UniformDistribution(), values);
     }
 
     /**
@@ -180,7 +183,10 @@ public class BuilderMethods {
      *         specified list.
      */
     public static <T> ObjectGenerator<T> random(Distribution distribution, List<T> values) {
-        return wrap(new DiscreteValue<>(unwrap(values), distribution));
+        if (containsGenerator(values)) {
+            return wrap(new DiscreteValue<>(unwrap(values), distribution));
+        }
+        return wrap(new DiscreteValue<>(ConstantPool.of(values), distribution));
     }
 
     /**
@@ -316,7 +322,10 @@ public class BuilderMethods {
      * @return An instance of {@link ObjectGenerator} which generates values in order they are specified.
      */
     public static <T> ObjectGenerator<T> circular(List<T> values) {
-        return wrap(new CircularValue<>(unwrap(values)));
+        if (containsGenerator(values)) {
+            return wrap(new CircularValue<>(unwrap(values)));
+        }
+        return wrap(new CircularValue<>(ConstantPool.of(values)));
     }
 
     /**
@@ -464,6 +473,39 @@ public class BuilderMethods {
         return new Range<>(beginning, end);
     }
 
+    /**
+     * Creates uniform distribution with default random engine. This is a helper method that is useful for methods
+     * accepting {@link Distribution}.
+     *
+     * @return An instance of {@link UniformDistribution}.
+     */
+    public static Distribution uniform() {
+        return new UniformDistribution();
+    }
+
+    /**
+     * Creates uniform distribution backed by random engine with specified <code>engineName</code>. Supported engine
+     * names are listed in {@link RandomEngines}.
+     *
+     * @param engineName Name of the random engine.
+     * @return An instance of {@link UniformDistribution}.
+     */
+    public static Distribution uniform(String engineName) {
+        return new UniformDistribution(RandomEngines.create(engineName));
+    }
+
+    /**
+     * Creates uniform distribution backed by random engine with specified <code>engineName</code> and
+     * <code>seed</code>. Supported engine names are listed in {@link RandomEngines}.
+     *
+     * @param engineName Name of the random engine.
+     * @param seed Seed of the random engine.
+     * @return An instance of {@link UniformDistribution}.
+     */
+    public static Distribution uniform(String engineName, long seed) {
+        return new UniformDistribution(RandomEngines.create(engineName, seed));
+    }
+
     /**
      * Creates an instance of {@link ObjectGenerator} which generates current time in milliseconds.
      *
@@ -814,6 +856,33 @@ public class BuilderMethods {
         return wrap(new WeightedValue<>(unwrapWeightPairs(pairs)));
     }
 
+    /**
+     * Creates an instance of {@link ObjectGenerator} which generates specified values distributed by their weights,
+     * using specified uniform distribution as source of randomness.
+     *
+     * @param distribution Uniform distribution to use.
+     * @param pairs List of values with corresponding weights.
+     * @param <T> Type instance of {@link ObjectGenerator} will generate.
+     * @return An instance of {@link ObjectGenerator} which generates specified values distributed by their weights.
+     */
+    @SafeVarargs
+    public static <T> ObjectGenerator<T> weighted(Distribution distribution, WeightPair<T>... pairs) {
+        return weighted(distribution, Arrays.asList(pairs));
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which generates specified values distributed by their weights,
+     * using specified uniform distribution as source of randomness.
+     *
+     * @param distribution Uniform distribution to use.
+     * @param pairs List of values with corresponding weights.
+     * @param <T> Type instance of {@link ObjectGenerator} will generate.
+     * @return An instance of {@link ObjectGenerator} which generates specified values distributed by their weights.
+     */
+    public static <T> ObjectGenerator<T> weighted(Distribution distribution, List<WeightPair<T>> pairs) {
+        return wrap(new WeightedValue<>(unwrapWeightPairs(pairs), distribution));
+    }
+
     private static <T> ObjectGenerator<T> wrap(Value<T> value) {
         return new ObjectGenerator<>(value);
     }
@@ -837,6 +906,15 @@ public class BuilderMethods {
         return result;
     }
 
+    private static boolean containsGenerator(List<?> objects) {
+        for (Object object : objects) {
+            if (object instanceof ObjectGenerator) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     private static <T> List<CountValuePair<T>> unwrapCountPairs(List<CountPair<T>> pairs) {
         List<CountValuePair<T>> result = new ArrayList<>();
@@ -0,0 +1,356 @@
+package io.smartcat.ranger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary snapshot of a built {@link ObjectGenerator}. Snapshot holds the whole value graph, with all constants,
+ * distribution parameters and seeded state, so generator can be restored without parsing configuration. Snapshot
+ * starts with a header containing magic number, format version and flags, followed by the serialized generator,
+ * optionally compressed. Snapshot file is memory mapped when it is read.
+ * <p>
+ * Restored generator behaves like a copy of the written one (see {@link ObjectGenerator#copy()}): seeded generator
+ * continues from its position and generates same objects, random engines created with explicit seed continue from
+ * their state, other random engines of generator which is not seeded start with new seeds, CSV values read their files
+ * from the beginning. Snapshot can only be read by the same version of the
+ * library which has written it, since serialized form of values is not stable across versions.
+ * <p>
+ * Reading a snapshot resolves only classes of this library, Jackson classes of object mappers used by JSON and type
+ * conversion values and JDK boxed, collection and time classes value graphs are made of, any other class in the
+ * snapshot fails the read. The same classes are checked when snapshot is written, so generator containing value
+ * classes defined outside of this library fails to be written instead of producing snapshot which cannot be read.
+ * Types to which type conversion values convert are written by name and can be any class.
+ */
+public final class GeneratorSnapshot {
+
+    /**
+     * Magic number snapshot starts with, bytes 'R', 'N', 'G', 'S'.
+     */
+    public static final int MAGIC = 0x524E4753;
+
+    /**
+     * Version of the snapshot format written by this class.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int COMPRESSED = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String LIBRARY_PACKAGE = "io.smartcat.ranger.";
+    private static final String JACKSON_PACKAGE = "com.fasterxml.jackson.";
+    private static final Set<String> JDK_CLASSES = new HashSet<>(Arrays.asList("java.lang.Object", "java.lang.Number",
+            "java.lang.Boolean", "java.lang.Byte", "java.lang.Short", "java.lang.Character", "java.lang.Integer",
+            "java.lang.Long", "java.lang.Float", "java.lang.Double", "java.lang.String", "java.lang.Enum",
+            "java.math.BigInteger", "java.math.BigDecimal", "java.util.ArrayList", "java.util.LinkedList",
+            "java.util.Arrays$ArrayList", "java.util.Collections$EmptyList", "java.util.Collections$EmptyMap",
+            "java.util.Collections$EmptySet", "java.util.Collections$SingletonList",
+            "java.util.Collections$UnmodifiableCollection", "java.util.Collections$UnmodifiableList",
+            "java.util.Collections$UnmodifiableRandomAccessList", "java.util.Collections$UnmodifiableMap",
+            "java.util.HashMap", "java.util.LinkedHashMap", "java.util.TreeMap", "java.util.HashSet",
+            "java.util.LinkedHashSet", "java.util.Random", "java.util.Date", "java.util.UUID", "java.time.Ser",
+            // held by object mappers
+            "java.util.Collections$UnmodifiableSet", "java.util.Locale", "java.util.TimeZone",
+            "sun.util.calendar.ZoneInfo", "java.text.Format", "java.text.DateFormat",
+            "java.util.concurrent.ConcurrentHashMap", "java.util.concurrent.ConcurrentHashMap$Segment",
+            "java.util.concurrent.locks.AbstractOwnableSynchronizer",
+            "java.util.concurrent.locks.AbstractQueuedSynchronizer", "java.util.concurrent.locks.ReentrantLock",
+            "java.util.concurrent.locks.ReentrantLock$Sync", "java.util.concurrent.locks.ReentrantLock$NonfairSync"));
+
+    private GeneratorSnapshot() {
+    }
+
+    /**
+     * Writes compressed snapshot of specified <code>generator</code> to specified <code>file</code>, replacing it if it
+     * exists.
+     *
+     * @param generator Generator to write.
+     * @param file File to write to.
+     * @throws IOException if snapshot cannot be written or generator contains class which is not allowed in snapshot.
+     */
+    public static void write(ObjectGenerator<?> generator, Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null.");
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE)) {
+            write(generator, out, true);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes snapshot of specified <code>generator</code> to specified <code>out</code>. Stream is flushed, but not
+     * closed.
+     *
+     * @param generator Generator to write.
+     * @param out Stream to write to.
+     * @param compress Whether to compress serialized generator.
+     * @throws IOException if snapshot cannot be written or generator contains class which is not allowed in snapshot.
+     */
+    public static void write(ObjectGenerator<?> generator, OutputStream out, boolean compress) throws IOException {
+        if (generator == null) {
+            throw new IllegalArgumentException("Generator cannot be null.");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream cannot be null.");
+        }
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeInt(FORMAT_VERSION);
+        header.writeInt(compress ? COMPRESSED : 0);
+        header.flush();
+        Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        try {
+            OutputStream payload = compress ? new DeflaterOutputStream(new NonClosingOutputStream(out), deflater,
+                    BUFFER_SIZE) : new NonClosingOutputStream(out);
+            try (ObjectOutputStream objects = new FilteringObjectOutputStream(payload)) {
+                generator.writeState(objects);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads generator from snapshot in specified <code>file</code>. File is memory mapped.
+     *
+     * @param file File to read from.
+     * @param <T> Type of objects generator generates.
+     * @return Restored generator.
+     * @throws IOException if file cannot be read or is not a valid snapshot.
+     */
+    public static <T> ObjectGenerator<T> read(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null.");
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return read(new ByteBufferInputStream(buffer));
+    }
+
+    /**
+     * Reads generator from snapshot in specified <code>in</code>. Stream is not closed.
+     *
+     * @param in Stream to read from.
+     * @param <T> Type of objects generator generates.
+     * @return Restored generator.
+     * @throws IOException if stream cannot be read or does not contain a valid snapshot.
+     */
+    public static <T> ObjectGenerator<T> read(InputStream in) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("Input stream cannot be null.");
+        }
+        DataInputStream header = new DataInputStream(in);
+        int flags;
+        try {
+            if (header.readInt() != MAGIC) {
+                throw new IOException("Not a generator snapshot.");
+            }
+            int version = header.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format version: " + version + ", supported version: "
+                        + FORMAT_VERSION + ".");
+            }
+            flags = header.readInt();
+        } catch (EOFException e) {
+            throw new IOException("Not a generator snapshot.", e);
+        }
+        Inflater inflater = (flags & COMPRESSED) != 0 ? new Inflater() : null;
+        try {
+            InputStream payload = inflater != null ? new InflaterInputStream(in, inflater, BUFFER_SIZE) : in;
+            ObjectInputStream objects = new FilteringObjectInputStream(payload);
+            return ObjectGenerator.readState(objects);
+        } catch (DisallowedClassException e) {
+            throw new IOException("Snapshot contains class which is not allowed: " + e.classname + ".", e);
+        } catch (InvalidClassException e) {
+            throw new IOException("Snapshot is written by incompatible version of the library: " + e.getMessage(), e);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Snapshot contains unknown class: " + e.getMessage(), e);
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    /**
+     * Checks whether specified <code>file</code> starts with snapshot header.
+     *
+     * @param file File to check.
+     * @return True if file starts with snapshot magic number, otherwise false.
+     * @throws IOException if file cannot be read.
+     */
+    public static boolean isSnapshot(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            return in.readInt() == MAGIC;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Input stream reading from a byte buffer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    private static boolean isAllowed(String className) {
+        String name = className;
+        while (name.startsWith("[")) {
+            name = name.substring(1);
+        }
+        if (name.length() == 1) {
+            // array of primitives
+            return true;
+        }
+        if (name.startsWith("L") && name.endsWith(";")) {
+            name = name.substring(1, name.length() - 1);
+        }
+        return name.startsWith(LIBRARY_PACKAGE) || name.startsWith(JACKSON_PACKAGE) || JDK_CLASSES.contains(name);
+    }
+
+    /**
+     * Object input stream which resolves only classes allowed in snapshots.
+     */
+    private static final class FilteringObjectInputStream extends ObjectInputStream {
+
+        FilteringObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (!isAllowed(desc.getName())) {
+                throw new DisallowedClassException(desc.getName());
+            }
+            return super.resolveClass(desc);
+        }
+    }
+
+    /**
+     * Object output stream which writes only classes allowed in snapshots.
+     */
+    private static final class FilteringObjectOutputStream extends ObjectOutputStream {
+
+        FilteringObjectOutputStream(OutputStream out) throws IOException {
+            super(out);
+        }
+
+        // unchecked, since object output stream writes checked exceptions to the stream before rethrowing them
+        @Override
+        protected void annotateClass(Class<?> cl) {
+            if (!isAllowed(cl.getName())) {
+                throw disallowed(cl);
+            }
+        }
+
+        @Override
+        protected void annotateProxyClass(Class<?> cl) {
+            throw disallowed(cl);
+        }
+
+        private static UncheckedIOException disallowed(Class<?> cl) {
+            return new UncheckedIOException(new IOException(
+                    "Generator contains class which is not allowed in snapshot: " + cl.getName() + "."));
+        }
+    }
+
+    /**
+     * Thrown when snapshot contains class which is not allowed in snapshots.
+     */
+    private static final class DisallowedClassException extends InvalidClassException {
+
+        private static final long serialVersionUID = -3304985390468146395L;
+
+        DisallowedClassException(String className) {
+            super(className, "Class is not allowed in generator snapshot.");
+        }
+    }
+
+    /**
+     * Output stream which does not close the stream it writes to, so that closing payload streams finishes them
+     * without closing stream given by the caller.
+     */
+    private static final class NonClosingOutputStream extends OutputStream {
+
+        private final OutputStream out;
+
+        NonClosingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
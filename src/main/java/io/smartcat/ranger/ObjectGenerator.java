@@ -1,26 +1,94 @@
 package io.smartcat.ranger;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
+import io.smartcat.ranger.compiler.ValueCompiler;
+import io.smartcat.ranger.core.Epoch;
+import io.smartcat.ranger.core.StatefulValue;
 import io.smartcat.ranger.core.Value;
+import io.smartcat.ranger.distribution.CounterBasedRandom;
+import io.smartcat.ranger.distribution.Distribution;
+import io.smartcat.ranger.distribution.RandomPosition;
+import io.smartcat.ranger.output.ColumnBatch;
+import io.smartcat.ranger.output.ColumnBatchBuilder;
+import io.smartcat.ranger.output.CsvWriter;
+import io.smartcat.ranger.output.CsvWriterSettings;
+import io.smartcat.ranger.output.JsonLinesWriter;
+import io.smartcat.ranger.reactive.GeneratorPublisher;
+import io.smartcat.ranger.schema.TypeInference;
+import io.smartcat.ranger.schema.ValueType;
 
 /**
- * Generates objects of type {@code <T>}.
+ * Generates objects of type {@code <T>}. Generator can be switched to seeded mode with {@link #withSeed(long)}, in
+ * which all randomness of a generated object is a function of seed and index of the object, so any object can be
+ * regenerated with {@link #generateAt(long)} without generating objects before it. Values keeping state between
+ * evaluations (see {@link StatefulValue}) are positioned at index of each object seeded generator generates, e.g.
+ * circular value evaluates to element at object index modulo number of its elements. Values whose state cannot be
+ * derived from object index (exact weighted values, CSV values) require objects to be generated in order. Copies
+ * created with {@link #copyAt(long)} position stateful values in the same way without being seeded, so that different
+ * parts of a sequence can be generated independently. Random engines created with explicit seed are positioned by
+ * such copies as well (see {@link io.smartcat.ranger.distribution.RandomEngine#position(long)}), so each object gets
+ * its own random stream derived from the seed of the engine and index of the object.
  *
  * @param <T> Type of objects to be generated.
  */
 public class ObjectGenerator<T> {
 
+    /**
+     * Number of objects stream returned by {@link #stream(long)} generates ahead of consumption.
+     */
+    public static final int DEFAULT_STREAM_BUFFER_SIZE = 1024;
+
     final Value<T> value;
+    private final Epoch[] epochs;
+    private final RandomPosition randomPosition;
+    private final boolean positioning;
+    private final StatefulValue[] positionedValues;
+    private final Distribution[] positionedDistributions;
+    private final boolean positionable;
+    private long position;
+    private ValueType schema;
 
     /**
-     * Constructs object generator out of specified <code>value</code>.
+     * Constructs object generator out of specified <code>value</code>. Values of the graph which are not bound to an
+     * epoch are bound to a new epoch of this generator, so that whole graph is invalidated by advancing epochs after
+     * each generated object instead of resetting each value.
      *
      * @param value The value.
      */
     public ObjectGenerator(Value<T> value) {
+        this(value, null, false, 0);
+    }
+
+    private ObjectGenerator(Value<T> value, RandomPosition randomPosition, boolean positioning, long position) {
+        List<Value<?>> values = collectValues(value);
         this.value = value;
+        this.epochs = bindEpochs(values);
+        this.randomPosition = randomPosition;
+        this.positioning = positioning;
+        this.positionedValues = positioning ? collectPositionedValues(values) : new StatefulValue[0];
+        this.positionedDistributions = positioning && randomPosition == null
+                ? collectDistributions(values).toArray(new Distribution[0]) : new Distribution[0];
+        this.positionable = isPositionable(values);
+        this.position = position;
     }
 
     /**
@@ -51,9 +119,447 @@ public class ObjectGenerator<T> {
         return buildOne();
     }
 
+    /**
+     * Generates specified <code>numberOfObjects</code> and writes them to <code>out</code> as JSON Lines, one JSON
+     * document per line (see {@link JsonLinesWriter}). Objects are serialized directly to the stream, without
+     * intermediate strings. Stream is flushed, but not closed.
+     *
+     * @param out Output stream to write to.
+     * @param numberOfObjects Number of objects to generate.
+     * @throws IOException if objects cannot be written.
+     */
+    public void writeJsonLines(OutputStream out, long numberOfObjects) throws IOException {
+        if (numberOfObjects < 0) {
+            throw new IllegalArgumentException(
+                    "Cannot generate negative number of objects. numberOfObjects: " + numberOfObjects);
+        }
+        try (JsonLinesWriter writer = new JsonLinesWriter(out)) {
+            for (long i = 0; i < numberOfObjects; i++) {
+                writer.write(buildOne());
+            }
+        }
+    }
+
+    /**
+     * Generates specified <code>numberOfObjects</code> and writes them to <code>channel</code> as JSON Lines. See
+     * {@link #writeJsonLines(OutputStream, long)}. Channel is not closed.
+     *
+     * @param channel Channel to write to.
+     * @param numberOfObjects Number of objects to generate.
+     * @throws IOException if objects cannot be written.
+     */
+    public void writeJsonLines(WritableByteChannel channel, long numberOfObjects) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null.");
+        }
+        writeJsonLines(Channels.newOutputStream(channel), numberOfObjects);
+    }
+
+    /**
+     * Generates specified <code>numberOfObjects</code> and writes them to <code>out</code> as CSV records (see
+     * {@link CsvWriter}). Generated objects must be maps, columns follow property order of the first generated
+     * object. Stream is not closed.
+     *
+     * @param out Output stream to write to.
+     * @param settings Settings of CSV output.
+     * @param numberOfObjects Number of objects to generate.
+     * @throws IOException if objects cannot be written.
+     */
+    public void writeCsv(OutputStream out, CsvWriterSettings settings, long numberOfObjects) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream cannot be null.");
+        }
+        writeCsv(Channels.newChannel(out), settings, numberOfObjects);
+    }
+
+    /**
+     * Generates specified <code>numberOfObjects</code> and writes them to <code>channel</code> as CSV records. See
+     * {@link #writeCsv(OutputStream, CsvWriterSettings, long)}. Channel is not closed.
+     *
+     * @param channel Channel to write to.
+     * @param settings Settings of CSV output.
+     * @param numberOfObjects Number of objects to generate.
+     * @throws IOException if objects cannot be written.
+     */
+    @SuppressWarnings("unchecked")
+    public void writeCsv(WritableByteChannel channel, CsvWriterSettings settings, long numberOfObjects)
+            throws IOException {
+        if (numberOfObjects < 0) {
+            throw new IllegalArgumentException(
+                    "Cannot generate negative number of objects. numberOfObjects: " + numberOfObjects);
+        }
+        try (CsvWriter writer = new CsvWriter(channel, settings, CsvWriter.DEFAULT_BUFFER_SIZE)) {
+            for (long i = 0; i < numberOfObjects; i++) {
+                T object = buildOne();
+                if (!(object instanceof Map)) {
+                    throw new IllegalStateException("CSV output requires generated objects to be maps, found: "
+                            + (object == null ? null : object.getClass().getName()));
+                }
+                writer.write((Map<String, ?>) object);
+            }
+        }
+    }
+
+    /**
+     * Generates specified <code>numberOfObjects</code> into a {@link ColumnBatch}, one typed column per property.
+     * Generated objects must be maps. When generator produces records (see {@link #schema()}), columns follow fields of
+     * the record and are typed by their kinds, otherwise columns follow property order of the first generated object
+     * and column types are taken from its values (see {@link ColumnBatchBuilder}).
+     *
+     * @param numberOfObjects Number of objects to generate.
+     * @return Column batch holding generated objects.
+     */
+    @SuppressWarnings("unchecked")
+    public ColumnBatch generateColumns(int numberOfObjects) {
+        if (numberOfObjects < 0) {
+            throw new IllegalArgumentException(
+                    "Cannot generate negative number of objects. numberOfObjects: " + numberOfObjects);
+        }
+        ColumnBatchBuilder builder = new ColumnBatchBuilder(schema(), numberOfObjects);
+        for (int i = 0; i < numberOfObjects; i++) {
+            T object = buildOne();
+            if (!(object instanceof Map)) {
+                throw new IllegalStateException("Columnar output requires generated objects to be maps, found: "
+                        + (object == null ? null : object.getClass().getName()));
+            }
+            builder.add((Map<String, ?>) object);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates publisher of specified <code>numberOfObjects</code> which generates objects on
+     * {@link ForkJoinPool#commonPool()} (see {@link GeneratorPublisher}). Each subscriber receives objects generated by
+     * its own copy of this generator.
+     *
+     * @param numberOfObjects Number of objects each subscriber receives.
+     * @return Publisher of generated objects.
+     */
+    public GeneratorPublisher<T> publisher(long numberOfObjects) {
+        return publisher(numberOfObjects, ForkJoinPool.commonPool(), GeneratorPublisher.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates publisher of specified <code>numberOfObjects</code> which generates objects on specified
+     * <code>executor</code> in batches of at most <code>batchSize</code> objects (see {@link GeneratorPublisher}).
+     * Each subscriber receives objects generated by its own copy of this generator.
+     *
+     * @param numberOfObjects Number of objects each subscriber receives.
+     * @param executor Executor on which objects are generated.
+     * @param batchSize Maximum number of objects generated in a single executor task.
+     * @return Publisher of generated objects.
+     */
+    public GeneratorPublisher<T> publisher(long numberOfObjects, Executor executor, int batchSize) {
+        return new GeneratorPublisher<>(this, numberOfObjects, executor, batchSize);
+    }
+
+    /**
+     * Creates lazy stream of specified <code>numberOfObjects</code> generated by a copy of this generator in the
+     * background, at most {@link #DEFAULT_STREAM_BUFFER_SIZE} objects ahead of consumption. Stream should be closed
+     * when it is not consumed until the end.
+     *
+     * @param numberOfObjects Number of objects in the stream.
+     * @return Stream of generated objects.
+     */
+    public Stream<T> stream(long numberOfObjects) {
+        return publisher(numberOfObjects).stream(DEFAULT_STREAM_BUFFER_SIZE);
+    }
+
+    /**
+     * Skips specified <code>numberOfObjects</code>. Seeded generator or copy created with {@link #copyAt(long)}, whose
+     * values can all be positioned (see {@link #isPositionable()}), only moves its position, so skipping takes constant
+     * time. Other generators generate and discard skipped objects.
+     *
+     * @param numberOfObjects Number of objects to skip.
+     */
+    public void skip(long numberOfObjects) {
+        if (numberOfObjects < 0) {
+            throw new IllegalArgumentException(
+                    "Cannot skip negative number of objects. numberOfObjects: " + numberOfObjects);
+        }
+        if (positioning && positionable) {
+            position += numberOfObjects;
+        } else {
+            for (long i = 0; i < numberOfObjects; i++) {
+                buildOne();
+            }
+        }
+    }
+
+    /**
+     * Generates object at specified <code>index</code> without changing position of this generator. Available only
+     * for seeded generators whose values can all be positioned (see {@link #isPositionable()}). Generated object is
+     * the same regardless of objects generated before it.
+     *
+     * @param index Index of the object to generate.
+     * @return An instance of {@code <T>}.
+     * @throws IllegalStateException if generator is not seeded or contains values which cannot be positioned.
+     */
+    public T generateAt(long index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Index cannot be negative. index: " + index);
+        }
+        if (!isSeeded()) {
+            throw new IllegalStateException("Random access is available only for seeded generators.");
+        }
+        if (!positionable) {
+            throw new IllegalStateException("Random access is not available for value graph containing values which"
+                    + " cannot be positioned, such as exact weighted values and CSV values.");
+        }
+        return evaluateAt(index);
+    }
+
+    /**
+     * Creates seeded copy of this generator. All distributions within the copy are switched to counter based random
+     * generator (see {@link CounterBasedRandom}) with specified <code>seed</code>. Two seeded generators created with
+     * same seed out of same value graph generate same objects. Seeded generator starts at position 0.
+     *
+     * @param seed The seed.
+     * @return Seeded copy of this generator.
+     * @throws UnsupportedOperationException if value graph contains distribution which does not support custom random
+     *             generator.
+     */
+    public ObjectGenerator<T> withSeed(long seed) {
+        Value<T> copiedValue = copy().value;
+        RandomPosition seededPosition = new RandomPosition();
+        long stream = 0;
+        for (Distribution distribution : collectDistributions(collectValues(copiedValue))) {
+            distribution.setRandom(new CounterBasedRandom(seed, stream++, seededPosition));
+        }
+        return new ObjectGenerator<>(copiedValue, seededPosition, true, 0);
+    }
+
+    /**
+     * Creates compiled copy of this generator. Value graph of the copy is compiled into a generated class (see
+     * {@link ValueCompiler}), which evaluates composite values, arithmetic values, proxies and constants in a single
+     * method, other values are invoked directly from it. Compiled copy generates same objects as this generator would
+     * and is independent from it.
+     *
+     * @return Compiled copy of this generator.
+     */
+    public ObjectGenerator<T> compile() {
+        ObjectGenerator<T> copy = copy();
+        return new ObjectGenerator<>(ValueCompiler.compile(copy.value), copy.randomPosition, copy.positioning,
+                copy.position);
+    }
+
+    /**
+     * Creates a copy of this generator. Copy has its own copy of the whole value graph, values referenced from multiple
+     * places within the graph stay shared within the copy. Copy and this generator can be used from different threads
+     * at the same time. Values keeping state between evaluations (circular values, exact weighted values) continue from
+     * the state they had at the moment of copying, but independently from this generator. CSV values read file from
+     * the beginning. Copy of seeded generator is seeded as well and starts at the position of this generator.
+     *
+     * @return Copy of this generator.
+     */
+    public ObjectGenerator<T> copy() {
+        return copy(positioning, position);
+    }
+
+    /**
+     * Creates a copy of this generator at specified <code>index</code>. Values of the copy which keep state between
+     * evaluations are positioned at index of each object the copy generates, as they are in seeded generators, so the
+     * copy generates objects as this generator would after generating <code>index</code> objects from its initial
+     * state, e.g. circular value of the copy continues from element at <code>index</code>. Copies at different indexes
+     * can be used to generate different parts of a sequence at the same time. Copy of seeded generator is seeded as
+     * well and generates same objects as this generator does at same indexes.
+     *
+     * @param index Index of the first object copy will generate.
+     * @return Copy of this generator at specified index.
+     * @throws IllegalStateException if value graph contains values which cannot be positioned (see
+     *             {@link #isPositionable()}).
+     */
+    public ObjectGenerator<T> copyAt(long index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Index cannot be negative. index: " + index);
+        }
+        if (!positionable) {
+            throw new IllegalStateException("Value graph containing values which cannot be positioned, such as exact"
+                    + " weighted values and CSV values, cannot be copied at an index.");
+        }
+        return copy(true, index);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectGenerator<T> copy(boolean copyPositioning, long copyPosition) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                writeState(out);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                Value<T> copiedValue = (Value<T>) in.readObject();
+                RandomPosition copiedPosition = (RandomPosition) in.readObject();
+                return new ObjectGenerator<>(copiedValue, copiedPosition, copyPositioning, copyPosition);
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeException("Could not copy value graph.", e);
+        }
+    }
+
+    /**
+     * Writes value graph, random position and position of this generator to specified <code>out</code>.
+     *
+     * @param out Stream to write to.
+     * @throws IOException if state cannot be written.
+     */
+    void writeState(ObjectOutputStream out) throws IOException {
+        out.writeObject(value);
+        out.writeObject(randomPosition);
+        out.writeLong(position);
+    }
+
+    /**
+     * Reads generator written by {@link #writeState(ObjectOutputStream)} from specified <code>in</code>.
+     *
+     * @param in Stream to read from.
+     * @param <T> Type of objects to be generated.
+     * @return Generator with read state.
+     * @throws IOException if state cannot be read.
+     * @throws ClassNotFoundException if class of a serialized value cannot be found.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ObjectGenerator<T> readState(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        Value<T> value = (Value<T>) in.readObject();
+        RandomPosition randomPosition = (RandomPosition) in.readObject();
+        long position = in.readLong();
+        return new ObjectGenerator<>(value, randomPosition, randomPosition != null, position);
+    }
+
+    /**
+     * Indicates whether state of all values of the graph can be derived from object index, which is the case unless
+     * graph contains exact weighted values or CSV values. Any object of seeded generator whose values can all be
+     * positioned can be generated without generating objects before it.
+     *
+     * @return True if all values of the graph can be positioned, otherwise false.
+     */
+    public boolean isPositionable() {
+        return positionable;
+    }
+
+    /**
+     * Indicates whether this generator is seeded.
+     *
+     * @return True if generator is created by {@link #withSeed(long)}, otherwise false.
+     */
+    public boolean isSeeded() {
+        return randomPosition != null;
+    }
+
+    /**
+     * Returns index of the next object this generator will generate.
+     *
+     * @return Index of the next object.
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Returns static type of objects this generator generates, inferred from the value graph without generating any
+     * object (see {@link TypeInference}). Type of generator built from configuration is a record with a field for each
+     * output property.
+     *
+     * @return Type of generated objects.
+     */
+    public ValueType schema() {
+        if (schema == null) {
+            schema = TypeInference.infer(value);
+        }
+        return schema;
+    }
+
     private T buildOne() {
+        return evaluateAt(position++);
+    }
+
+    /**
+     * Generates object at specified <code>index</code> without checking whether this generator supports random access
+     * and without changing its position. Used by workers of {@link ParallelObjectGenerator}, which evaluate copies
+     * created with {@link #copyAt(long)} at indexes of their batches.
+     *
+     * @param index Index of the object to generate.
+     * @return An instance of {@code <T>}.
+     */
+    T evaluateAt(long index) {
+        if (randomPosition != null) {
+            randomPosition.set(index);
+        }
+        for (StatefulValue positionedValue : positionedValues) {
+            positionedValue.position(index);
+        }
+        for (Distribution positionedDistribution : positionedDistributions) {
+            positionedDistribution.position(index);
+        }
         T result = value.get();
-        value.reset();
+        for (Epoch epoch : epochs) {
+            epoch.advance();
+        }
+        return result;
+    }
+
+    private static Epoch[] bindEpochs(List<Value<?>> values) {
+        Epoch newEpoch = new Epoch();
+        Set<Epoch> epochs = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Value<?> value : values) {
+            if (value.getEpoch() == null) {
+                value.setEpoch(newEpoch);
+            }
+            epochs.add(value.getEpoch());
+        }
+        return epochs.toArray(new Epoch[epochs.size()]);
+    }
+
+    private static StatefulValue[] collectPositionedValues(List<Value<?>> values) {
+        List<StatefulValue> result = new ArrayList<>();
+        for (Value<?> value : values) {
+            if (value instanceof StatefulValue && ((StatefulValue) value).isStateful()
+                    && ((StatefulValue) value).isPositionable()) {
+                result.add((StatefulValue) value);
+            }
+        }
+        return result.toArray(new StatefulValue[result.size()]);
+    }
+
+    private static boolean isPositionable(List<Value<?>> values) {
+        for (Value<?> value : values) {
+            if (value instanceof StatefulValue && ((StatefulValue) value).isStateful()
+                    && !((StatefulValue) value).isPositionable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Distribution> collectDistributions(List<Value<?>> values) {
+        Set<Distribution> distributions = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Distribution> result = new ArrayList<>();
+        for (Value<?> value : values) {
+            for (Distribution distribution : value.getDistributions()) {
+                if (distributions.add(distribution)) {
+                    result.add(distribution);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<Value<?>> collectValues(Value<?> root) {
+        Set<Value<?>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Value<?>> result = new ArrayList<>();
+        Deque<Value<?>> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Value<?> value = stack.pop();
+            if (!visited.add(value)) {
+                continue;
+            }
+            result.add(value);
+            List<Value<?>> children = value.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
         return result;
     }
 }
@@ -0,0 +1,237 @@
+package io.smartcat.ranger;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import io.smartcat.ranger.core.DetachedValues;
+
+/**
+ * Generates objects of type {@code <T>} using multiple threads. Each worker thread uses its own copy of the value graph
+ * (see {@link ObjectGenerator#copyAt(long)}), so values are never shared between threads. Workers generate objects by
+ * their index, with values keeping state between evaluations, such as circular values, positioned at that index, so
+ * circular value generates the same sequence it would generate sequentially. When generator is seeded (see
+ * {@link ObjectGenerator#withSeed(long)}), result does not depend on number of threads and is same as result of
+ * sequential generation with the seeded generator. Random engines created with explicit seed are positioned at object
+ * index as well (see {@link io.smartcat.ranger.distribution.RandomEngine#position(long)}), so workers do not repeat
+ * each other's random sequence and result of generator which is not seeded does not depend on number of threads when
+ * all its randomness comes from such engines.
+ * <p>
+ * State of exact weighted values and CSV values cannot be derived from object index (see
+ * {@link ObjectGenerator#isPositionable()}), so value graphs containing them are generated sequentially in a single
+ * thread, by the seeded generator itself or by a copy of the generator which is not seeded.
+ * <p>
+ * Worker threads belong to a pool created with the generator, which is shut down when generator is closed.
+ *
+ * @param <T> Type of objects to be generated.
+ */
+public class ParallelObjectGenerator<T> implements Closeable {
+
+    /**
+     * Default number of objects single worker generates before taking next batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final ObjectGenerator<T> generator;
+    private final int threads;
+    private final int batchSize;
+    private final Queue<ObjectGenerator<T>> workerGenerators;
+    private final ForkJoinPool pool;
+    private long position;
+    private ObjectGenerator<T> sequentialGenerator;
+
+    /**
+     * Constructs parallel object generator out of specified <code>generator</code> which will use number of threads
+     * equal to the number of available processors.
+     *
+     * @param generator Generator whose value graph will be copied for each worker.
+     */
+    public ParallelObjectGenerator(ObjectGenerator<T> generator) {
+        this(generator, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs parallel object generator out of specified <code>generator</code> which will use specified number of
+     * <code>threads</code>.
+     *
+     * @param generator Generator whose value graph will be copied for each worker.
+     * @param threads Number of threads to use.
+     */
+    public ParallelObjectGenerator(ObjectGenerator<T> generator, int threads) {
+        this(generator, threads, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs parallel object generator out of specified <code>generator</code> which will use specified number of
+     * <code>threads</code> and specified <code>batchSize</code>.
+     *
+     * @param generator Generator whose value graph will be copied for each worker.
+     * @param threads Number of threads to use.
+     * @param batchSize Number of objects single worker generates before taking next batch.
+     */
+    public ParallelObjectGenerator(ObjectGenerator<T> generator, int threads, int batchSize) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Generator cannot be null.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be greater than 0. threads: " + threads);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be greater than 0. batchSize: " + batchSize);
+        }
+        this.generator = generator;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.workerGenerators = new ConcurrentLinkedQueue<>();
+        this.position = generator.position();
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Generates list containing specified <code>numberOfObjects</code>. Objects are generated in parallel, but are
+     * placed in the list in order of batches. Maps and lists, which workers reuse between objects, are detached before
+     * they are placed in the list (see {@link DetachedValues}).
+     *
+     * @param numberOfObjects Number of objects to be generated.
+     * @return List of generated objects, or empty list, never null.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> generate(int numberOfObjects) {
+        checkNumberOfObjects(numberOfObjects);
+        Object[] result = new Object[numberOfObjects];
+        run(numberOfObjects, (object, index) -> result[(int) index] = DetachedValues.detach(object));
+        List<T> list = new ArrayList<>(numberOfObjects);
+        for (Object object : result) {
+            list.add((T) object);
+        }
+        return list;
+    }
+
+    /**
+     * Generates specified <code>numberOfObjects</code> and passes each of them to the <code>consumer</code>. Consumer
+     * is invoked concurrently from multiple threads and must be thread safe. Method returns when all objects are
+     * generated and consumed. Object passed to the consumer can be reused by its worker after consumer returns, so it
+     * has to be detached (see {@link DetachedValues}) if it is kept.
+     *
+     * @param numberOfObjects Number of objects to be generated.
+     * @param consumer Consumer of generated objects.
+     */
+    public void generate(long numberOfObjects, Consumer<? super T> consumer) {
+        checkNumberOfObjects(numberOfObjects);
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null.");
+        }
+        run(numberOfObjects, (object, index) -> consumer.accept(object));
+    }
+
+    /**
+     * Shuts down worker threads of this generator. Generator cannot be used after it is closed.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private void checkNumberOfObjects(long numberOfObjects) {
+        if (numberOfObjects < 0) {
+            throw new IllegalArgumentException(
+                    "Cannot generate negative number of objects. numberOfObjects: " + numberOfObjects);
+        }
+    }
+
+    private void run(long numberOfObjects, BatchAction<T> action) {
+        if (numberOfObjects == 0) {
+            return;
+        }
+        if (!generator.isPositionable()) {
+            runSequentially(numberOfObjects, action);
+            return;
+        }
+        long first;
+        synchronized (generator) {
+            if (generator.isSeeded()) {
+                first = generator.position();
+                generator.skip(numberOfObjects);
+            } else {
+                first = position;
+                position += numberOfObjects;
+            }
+        }
+        pool.invoke(new BatchTask(first, 0, numberOfObjects, action));
+    }
+
+    private void runSequentially(long numberOfObjects, BatchAction<T> action) {
+        synchronized (generator) {
+            if (!generator.isSeeded() && sequentialGenerator == null) {
+                sequentialGenerator = generator.copy();
+            }
+            ObjectGenerator<T> current = generator.isSeeded() ? generator : sequentialGenerator;
+            for (long i = 0; i < numberOfObjects; i++) {
+                action.apply(current.next(), i);
+            }
+        }
+    }
+
+    private ObjectGenerator<T> takeWorkerGenerator() {
+        ObjectGenerator<T> workerGenerator = workerGenerators.poll();
+        if (workerGenerator == null) {
+            synchronized (generator) {
+                workerGenerator = generator.copyAt(generator.position());
+            }
+        }
+        return workerGenerator;
+    }
+
+    /**
+     * Action performed for each generated object within a batch.
+     *
+     * @param <T> Type of objects to be generated.
+     */
+    private interface BatchAction<T> {
+
+        void apply(T object, long index);
+    }
+
+    /**
+     * Splits range of object indexes until it fits into a batch, then generates batch with one of the worker
+     * generators.
+     */
+    private class BatchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 2946436546185347390L;
+
+        private final long first;
+        private final long from;
+        private final long to;
+        private final BatchAction<T> action;
+
+        BatchTask(long first, long from, long to, BatchAction<T> action) {
+            this.first = first;
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= batchSize) {
+                ObjectGenerator<T> workerGenerator = takeWorkerGenerator();
+                try {
+                    for (long i = from; i < to; i++) {
+                        action.apply(workerGenerator.evaluateAt(first + i), i);
+                    }
+                } finally {
+                    workerGenerators.offer(workerGenerator);
+                }
+            } else {
+                long middle = from + (to - from) / 2;
+                invokeAll(new BatchTask(first, from, middle, action), new BatchTask(first, middle, to, action));
+            }
+        }
+    }
+}
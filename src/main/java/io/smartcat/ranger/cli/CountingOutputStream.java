@@ -0,0 +1,43 @@
+package io.smartcat.ranger.cli;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream which counts bytes written to the underlying stream.
+ */
+class CountingOutputStream extends FilterOutputStream {
+
+    private long count;
+
+    /**
+     * Constructs counting output stream which writes to specified <code>out</code>.
+     *
+     * @param out Output stream to write to.
+     */
+    CountingOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    /**
+     * Returns number of bytes written so far.
+     *
+     * @return Number of bytes written.
+     */
+    long getCount() {
+        return count;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        count += len;
+    }
+}
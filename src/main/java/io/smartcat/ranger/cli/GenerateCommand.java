@@ -0,0 +1,168 @@
+package io.smartcat.ranger.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.smartcat.ranger.GeneratorSnapshot;
+import io.smartcat.ranger.ObjectGenerator;
+import io.smartcat.ranger.parser.ConfigurationParser;
+import io.smartcat.ranger.util.YamlUtils;
+
+/**
+ * Generates records described by YAML configuration, or by generator snapshot (see {@link GeneratorSnapshot}), into
+ * sharded files. Range of record indexes is split into one contiguous shard per thread, each thread generates its shard
+ * with its own copy of the generator and writes it with its own {@link ShardWriter}. Shard generator is a copy of the
+ * generator at the first index of the shard (see {@link ObjectGenerator#copyAt(long)}), so circular values continue
+ * across shards and random engines created with explicit seed give each record its own random stream instead of
+ * repeating the same stream in each shard. When generator is seeded, either by seed option or in the snapshot,
+ * concatenating files in order of their names gives same records regardless of number of threads and maximum file
+ * size. Generator containing values which cannot be positioned (see {@link ObjectGenerator#isPositionable()})
+ * generates all shards one after another in a single thread. Compressed files are compressed by a separate pool of
+ * threads, shared by all shards.
+ */
+class GenerateCommand {
+
+    private static final long PROGRESS_INTERVAL_MILLIS = 1000;
+    private static final int PROGRESS_STEP = 4096;
+
+    private final GenerateOptions options;
+    private final PrintStream progress;
+    private final AtomicLong generated = new AtomicLong();
+
+    /**
+     * Constructs generate command.
+     *
+     * @param options Options of the command.
+     * @param progress Stream to which progress is reported.
+     */
+    GenerateCommand(GenerateOptions options, PrintStream progress) {
+        this.options = options;
+        this.progress = progress;
+    }
+
+    /**
+     * Runs the command.
+     *
+     * @throws IOException if configuration cannot be read or records cannot be written.
+     */
+    void run() throws IOException {
+        ObjectGenerator<Object> generator = loadGenerator();
+        Files.createDirectories(options.getOut());
+        int threads = options.getThreads();
+        long count = options.getCount();
+        long start = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        ExecutorService compressors = options.isGzip() ? Executors.newFixedThreadPool(threads) : null;
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> reportProgress(start), PROGRESS_INTERVAL_MILLIS, PROGRESS_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+        int files = 0;
+        try {
+            List<Future<Integer>> shards = new ArrayList<>();
+            if (generator.isPositionable()) {
+                for (int shard = 0; shard < threads; shard++) {
+                    long from = shardStart(shard, threads, count);
+                    long to = shardStart(shard + 1, threads, count);
+                    ObjectGenerator<Object> positioned = generator.copyAt(from);
+                    ObjectGenerator<Object> shardGenerator = options.isCompile() ? positioned.compile() : positioned;
+                    int index = shard;
+                    shards.add(workers.submit(() -> generateShard(shardGenerator, index, to - from, compressors)));
+                }
+            } else {
+                ObjectGenerator<Object> sequentialGenerator = options.isCompile() ? generator.compile()
+                        : generator.copy();
+                shards.add(workers.submit(() -> generateShards(sequentialGenerator, threads, count, compressors)));
+            }
+            for (Future<Integer> shard : shards) {
+                files += shard.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Generation was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Generation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            workers.shutdownNow();
+            if (compressors != null) {
+                compressors.shutdownNow();
+            }
+            reporter.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        progress.println(String.format("Generated %,d records into %d files in %.1f s (%,.0f records/s).", count,
+                files, seconds, count / Math.max(seconds, 1e-9)));
+    }
+
+    private ObjectGenerator<Object> loadGenerator() throws IOException {
+        if (GeneratorSnapshot.isSnapshot(options.getConfig())) {
+            ObjectGenerator<Object> generator = GeneratorSnapshot.read(options.getConfig());
+            return options.getSeed() != null ? generator.withSeed(options.getSeed()) : generator;
+        }
+        Object config;
+        try (InputStream in = Files.newInputStream(options.getConfig())) {
+            config = YamlUtils.load(in);
+        }
+        if (!(config instanceof Map)) {
+            throw new IllegalArgumentException("Configuration file must contain a YAML map: " + options.getConfig());
+        }
+        @SuppressWarnings("unchecked")
+        ObjectGenerator<Object> generator = new ConfigurationParser((Map<String, Object>) config).build();
+        if (options.getSeed() != null) {
+            generator = generator.withSeed(options.getSeed());
+        }
+        return generator;
+    }
+
+    private int generateShards(ObjectGenerator<Object> generator, int shards, long count, ExecutorService compressors)
+            throws IOException {
+        int files = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            long size = shardStart(shard + 1, shards, count) - shardStart(shard, shards, count);
+            files += generateShard(generator, shard, size, compressors);
+        }
+        return files;
+    }
+
+    private int generateShard(ObjectGenerator<Object> generator, int shard, long count, ExecutorService compressors)
+            throws IOException {
+        try (ShardWriter writer = new ShardWriter(options.getOut(), shard, options.getFormat(),
+                options.getMaxFileSize(), compressors)) {
+            long pending = 0;
+            for (long i = 0; i < count; i++) {
+                writer.write(generator.next());
+                if (++pending == PROGRESS_STEP) {
+                    generated.addAndGet(pending);
+                    pending = 0;
+                }
+            }
+            generated.addAndGet(pending);
+            return writer.getFiles();
+        }
+    }
+
+    private void reportProgress(long start) {
+        long done = generated.get();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        progress.println(String.format("%,d / %,d records (%.1f%%), %,.0f records/s", done, options.getCount(),
+                options.getCount() == 0 ? 100.0 : 100.0 * done / options.getCount(), done / seconds));
+    }
+
+    private static long shardStart(int shard, int shards, long count) {
+        return count / shards * shard + Math.min(shard, count % shards);
+    }
+}
@@ -0,0 +1,206 @@
+package io.smartcat.ranger.cli;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Options of the <code>generate</code> command.
+ */
+class GenerateOptions {
+
+    private static final Pattern SIZE = Pattern.compile("([0-9]+(?:\\.[0-9]+)?)\\s*([KMGT]?)B?",
+            Pattern.CASE_INSENSITIVE);
+    private static final String UNITS = "KMGT";
+
+    private Path config;
+    private long count = -1;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private OutputFormat format = OutputFormat.JSONL;
+    private Path out = Paths.get(".");
+    private long maxFileSize;
+    private Long seed;
+    private boolean compile;
+    private boolean gzip;
+
+    /**
+     * Parses options of the <code>generate</code> command from specified <code>args</code>. Options can be given as
+     * <code>--name value</code> or <code>--name=value</code>.
+     *
+     * @param args Command arguments, without command name.
+     * @return Parsed options.
+     */
+    static GenerateOptions parse(List<String> args) {
+        GenerateOptions options = new GenerateOptions();
+        for (int i = 0; i < args.size(); i++) {
+            String arg = args.get(i);
+            if (!arg.startsWith("--")) {
+                if (options.config != null) {
+                    throw new IllegalArgumentException("Unexpected argument: " + arg);
+                }
+                options.config = Paths.get(arg);
+                continue;
+            }
+            String name = arg;
+            String value = null;
+            int equals = arg.indexOf('=');
+            if (equals > 0) {
+                name = arg.substring(0, equals);
+                value = arg.substring(equals + 1);
+            }
+            if ("--compile".equals(name)) {
+                if (value != null) {
+                    throw new IllegalArgumentException("Option --compile does not take a value.");
+                }
+                options.compile = true;
+                continue;
+            }
+            if (value == null) {
+                if (i + 1 == args.size()) {
+                    throw new IllegalArgumentException("Missing value of option " + name + ".");
+                }
+                value = args.get(++i);
+            }
+            options.set(name, value);
+        }
+        if (options.config == null) {
+            throw new IllegalArgumentException("Configuration file is not specified.");
+        }
+        if (options.count < 0) {
+            throw new IllegalArgumentException("Number of records is not specified, use --count.");
+        }
+        return options;
+    }
+
+    /**
+     * Parses number of records, which can be given in scientific notation (<code>2e9</code>) and can contain
+     * underscores (<code>1_000_000</code>).
+     *
+     * @param value The value.
+     * @return Number of records.
+     */
+    static long parseCount(String value) {
+        try {
+            long count = new BigDecimal(value.replace("_", "")).longValueExact();
+            if (count < 0) {
+                throw new IllegalArgumentException("Number of records cannot be negative: " + value);
+            }
+            return count;
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid number of records: " + value);
+        }
+    }
+
+    /**
+     * Parses size in bytes, which can have one of the binary units <code>KB</code>, <code>MB</code>, <code>GB</code>
+     * or <code>TB</code>, with or without <code>B</code>.
+     *
+     * @param value The value.
+     * @return Size in bytes.
+     */
+    static long parseSize(String value) {
+        Matcher matcher = SIZE.matcher(value.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid size: " + value);
+        }
+        String unit = matcher.group(2).toUpperCase(Locale.ROOT);
+        long multiplier = unit.isEmpty() ? 1 : 1L << (10 * (UNITS.indexOf(unit) + 1));
+        try {
+            return new BigDecimal(matcher.group(1)).multiply(BigDecimal.valueOf(multiplier))
+                    .setScale(0, BigDecimal.ROUND_CEILING).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid size: " + value);
+        }
+    }
+
+    private void set(String name, String value) {
+        switch (name) {
+        case "--count":
+            count = parseCount(value);
+            break;
+        case "--threads":
+            threads = parseInt(name, value);
+            if (threads < 1) {
+                throw new IllegalArgumentException("Number of threads must be greater than 0. threads: " + threads);
+            }
+            break;
+        case "--format":
+            format = OutputFormat.of(value);
+            break;
+        case "--out":
+            out = Paths.get(value);
+            break;
+        case "--max-file-size":
+            maxFileSize = parseSize(value);
+            break;
+        case "--seed":
+            seed = parseLong(name, value);
+            break;
+        case "--compress":
+            if (!"gzip".equals(value) && !"none".equals(value)) {
+                throw new IllegalArgumentException("Unsupported compression: " + value
+                        + ", supported compressions are gzip and none.");
+            }
+            gzip = "gzip".equals(value);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown option: " + name);
+        }
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value of option " + name + ": " + value);
+        }
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value of option " + name + ": " + value);
+        }
+    }
+
+    Path getConfig() {
+        return config;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    int getThreads() {
+        return threads;
+    }
+
+    OutputFormat getFormat() {
+        return format;
+    }
+
+    Path getOut() {
+        return out;
+    }
+
+    long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    Long getSeed() {
+        return seed;
+    }
+
+    boolean isCompile() {
+        return compile;
+    }
+
+    boolean isGzip() {
+        return gzip;
+    }
+}
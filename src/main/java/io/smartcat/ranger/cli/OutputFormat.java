@@ -0,0 +1,112 @@
+package io.smartcat.ranger.cli;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.Map;
+
+import io.smartcat.ranger.output.CsvWriter;
+import io.smartcat.ranger.output.CsvWriterSettings;
+import io.smartcat.ranger.output.JsonLinesWriter;
+
+/**
+ * Output file formats supported by command line tool.
+ */
+enum OutputFormat {
+
+    JSONL("jsonl"), CSV("csv"), TSV("tsv");
+
+    private static final int CSV_BUFFER_SIZE = 1 << 16;
+
+    private final String extension;
+
+    OutputFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Returns output format with specified <code>name</code>, which is same as its file extension.
+     *
+     * @param name Name of the format.
+     * @return Output format.
+     */
+    static OutputFormat of(String name) {
+        for (OutputFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException(
+                "Unsupported format: " + name + ", supported formats are jsonl, csv and tsv.");
+    }
+
+    /**
+     * Returns file extension of this format.
+     *
+     * @return File extension, without dot.
+     */
+    String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Opens writer of this format which writes to specified <code>out</code>. Closing the writer does not close the
+     * stream.
+     *
+     * @param out Output stream to write to.
+     * @param header True if CSV and TSV writer is to write header before first record, ignored by other formats.
+     * @return Record writer.
+     * @throws IOException if writer cannot be opened.
+     */
+    RecordWriter open(OutputStream out, boolean header) throws IOException {
+        if (this == JSONL) {
+            JsonLinesWriter writer = new JsonLinesWriter(out);
+            return new RecordWriter() {
+
+                @Override
+                public void write(Object record) throws IOException {
+                    writer.write(record);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    writer.close();
+                }
+            };
+        }
+        CsvWriter writer = new CsvWriter(Channels.newChannel(out),
+                new CsvWriterSettings(this == TSV ? '\t' : ',', "\n", '"', null, false, "", header), CSV_BUFFER_SIZE);
+        return new RecordWriter() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void write(Object record) throws IOException {
+                if (!(record instanceof Map)) {
+                    throw new IllegalStateException("CSV output requires generated objects to be maps, found: "
+                            + (record == null ? null : record.getClass().getName()));
+                }
+                writer.write((Map<String, ?>) record);
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+
+    /**
+     * Writes generated records in one of the output formats.
+     */
+    interface RecordWriter extends Closeable {
+
+        /**
+         * Writes specified <code>record</code>.
+         *
+         * @param record The record.
+         * @throws IOException if record cannot be written.
+         */
+        void write(Object record) throws IOException;
+    }
+}
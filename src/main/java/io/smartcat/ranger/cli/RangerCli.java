@@ -0,0 +1,78 @@
+package io.smartcat.ranger.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Command line tool which generates records described by YAML configuration or generator snapshot into files. Usage:
+ *
+ * <pre>
+ * ranger generate config.yml|snapshot --count 2e9 [--threads 16] [--format jsonl|csv|tsv] [--out dir]
+ *     [--max-file-size 1GB] [--seed 42] [--compress gzip] [--compile]
+ * </pre>
+ */
+public final class RangerCli {
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: ranger generate <config.yml> --count <n> [options]",
+            "",
+            "Generator snapshot written by GeneratorSnapshot can be given instead of YAML configuration.",
+            "",
+            "Options:",
+            "  --count <n>            Number of records to generate, e.g. 1000000, 1_000_000 or 2e9.",
+            "  --threads <n>          Number of threads, each writing its own files. Default: number of processors.",
+            "  --format <format>      Output format: jsonl, csv or tsv. Default: jsonl.",
+            "  --out <dir>            Output directory, created if missing. Default: current directory.",
+            "  --max-file-size <size> Start new file once size is reached, e.g. 512MB or 1GB. Default: no limit.",
+            "  --seed <seed>          Seed, output is same for same seed regardless of number of threads.",
+            "  --compress <codec>     Compression of files: gzip or none. Default: none.",
+            "  --compile              Compile value graph before generation.");
+
+    private RangerCli() {
+    }
+
+    /**
+     * Runs command line tool with specified <code>args</code>.
+     *
+     * @param args Command line arguments.
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs command line tool with specified <code>args</code>.
+     *
+     * @param args Command line arguments.
+     * @param out Stream to which progress and usage are printed.
+     * @param err Stream to which errors are printed.
+     * @return Exit code, 0 on success.
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        if (args.length == 0 || "help".equals(args[0]) || "--help".equals(args[0])) {
+            out.println(USAGE);
+            return args.length == 0 ? 1 : 0;
+        }
+        if (!"generate".equals(args[0])) {
+            err.println("Unknown command: " + args[0]);
+            err.println(USAGE);
+            return 1;
+        }
+        GenerateOptions options;
+        try {
+            options = GenerateOptions.parse(Arrays.asList(args).subList(1, args.length));
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 1;
+        }
+        try {
+            new GenerateCommand(options, out).run();
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            err.println("Generation failed: " + e.getMessage());
+            return 2;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.smartcat.ranger.cli;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.Deflater;
+
+import io.smartcat.ranger.output.ParallelGzipOutputStream;
+
+/**
+ * Writes records of a single shard into a sequence of files named <code>part-SSSSS-NNNNN.ext</code>, where
+ * <code>SSSSS</code> is index of the shard and <code>NNNNN</code> index of the file within the shard, so sorting file
+ * names gives records in order of generation. New file is started at first record boundary after current file reached
+ * maximum size. Since writers buffer their output, file can exceed maximum size by less than size of the buffer.
+ * When compression executor is given, files are compressed with {@link ParallelGzipOutputStream}, get additional
+ * <code>.gz</code> extension and their compressed size is compared to maximum size. CSV and TSV header is written only
+ * to the first file of the first shard, so that concatenating files in order of their names gives a single valid file.
+ */
+class ShardWriter implements Closeable {
+
+    private final Path directory;
+    private final int shard;
+    private final OutputFormat format;
+    private final long maxFileSize;
+    private final ExecutorService compressor;
+    private CountingOutputStream counter;
+    private OutputStream out;
+    private OutputFormat.RecordWriter writer;
+    private int files;
+
+    /**
+     * Constructs shard writer.
+     *
+     * @param directory Directory in which files are created.
+     * @param shard Index of the shard.
+     * @param format Format of the files.
+     * @param maxFileSize Maximum size of a file in bytes, 0 for no limit.
+     * @param compressor Executor which compresses blocks of gzip files, null for uncompressed files.
+     */
+    ShardWriter(Path directory, int shard, OutputFormat format, long maxFileSize, ExecutorService compressor) {
+        this.directory = directory;
+        this.shard = shard;
+        this.format = format;
+        this.maxFileSize = maxFileSize;
+        this.compressor = compressor;
+    }
+
+    /**
+     * Writes specified <code>record</code>, opening new file if needed.
+     *
+     * @param record The record.
+     * @throws IOException if record cannot be written.
+     */
+    void write(Object record) throws IOException {
+        if (writer == null) {
+            openFile();
+        }
+        writer.write(record);
+        if (maxFileSize > 0 && counter.getCount() >= maxFileSize) {
+            closeFile();
+        }
+    }
+
+    /**
+     * Returns number of files created by this writer.
+     *
+     * @return Number of files.
+     */
+    int getFiles() {
+        return files;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeFile();
+    }
+
+    private void openFile() throws IOException {
+        Path file = directory.resolve(String.format("part-%05d-%05d.%s%s", shard, files, format.getExtension(),
+                compressor != null ? ".gz" : ""));
+        counter = new CountingOutputStream(Files.newOutputStream(file));
+        out = counter;
+        if (compressor != null) {
+            out = new ParallelGzipOutputStream(counter, compressor, ParallelGzipOutputStream.DEFAULT_BLOCK_SIZE,
+                    Deflater.DEFAULT_COMPRESSION);
+        }
+        try {
+            writer = format.open(out, shard == 0 && files == 0);
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+        files++;
+    }
+
+    private void closeFile() throws IOException {
+        if (writer != null) {
+            try {
+                writer.close();
+            } finally {
+                writer = null;
+                out.close();
+            }
+        }
+    }
+}
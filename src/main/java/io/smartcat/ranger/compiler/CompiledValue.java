@@ -0,0 +1,83 @@
+package io.smartcat.ranger.compiler;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+import io.smartcat.ranger.core.Value;
+
+/**
+ * Base class of values generated by {@link ValueCompiler}. Compiled value evaluates whole compiled part of the value
+ * graph in a single method and delegates to values of the source graph which could not be compiled. Source graph is
+ * kept as the only child of compiled value, serialized form of compiled value is its source graph which is compiled
+ * again when deserialized.
+ *
+ * @param <T> Type this value would evaluate to.
+ */
+public abstract class CompiledValue<T> extends Value<T> {
+
+    private static final long serialVersionUID = -8129049931734357683L;
+
+    private final Value<T> source;
+
+    /**
+     * Constructs compiled value out of specified <code>source</code> value.
+     *
+     * @param source Value which is compiled.
+     */
+    protected CompiledValue(Value<T> source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source value cannot be null.");
+        }
+        this.source = source;
+    }
+
+    /**
+     * Returns value which is compiled.
+     *
+     * @return Value which is compiled.
+     */
+    public Value<T> getSource() {
+        return source;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        source.reset();
+    }
+
+    @Override
+    public List<Value<?>> getChildren() {
+        return Collections.singletonList(source);
+    }
+
+    /**
+     * Replaces compiled value with its source value during serialization.
+     *
+     * @return Serialized form of compiled value.
+     */
+    protected Object writeReplace() {
+        return new SerializedForm<>(source);
+    }
+
+    /**
+     * Serialized form of compiled value.
+     *
+     * @param <T> Type compiled value would evaluate to.
+     */
+    private static class SerializedForm<T> implements Serializable {
+
+        private static final long serialVersionUID = 4137590532437957126L;
+
+        private final Value<T> source;
+
+        SerializedForm(Value<T> source) {
+            this.source = source;
+        }
+
+        private Object readResolve() {
+            return ValueCompiler.compile(source);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.smartcat.ranger.compiler;
+
+/**
+ * Class loader which defines single generated class. Each generated class gets its own class loader, so it can be
+ * unloaded once compiled value is not used anymore.
+ */
+class GeneratedClassLoader extends ClassLoader {
+
+    GeneratedClassLoader(ClassLoader parent) {
+        super(parent);
+    }
+
+    Class<?> define(String name, byte[] bytes) {
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,500 @@
+package io.smartcat.ranger.compiler;
+
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.AASTORE;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PROTECTED;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.I2B;
+import static org.objectweb.asm.Opcodes.I2L;
+import static org.objectweb.asm.Opcodes.I2S;
+import static org.objectweb.asm.Opcodes.IADD;
+import static org.objectweb.asm.Opcodes.IDIV;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.IMUL;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.ISTORE;
+import static org.objectweb.asm.Opcodes.ISUB;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import io.smartcat.ranger.core.CompositeValue;
+import io.smartcat.ranger.core.ConstantValue;
+import io.smartcat.ranger.core.Record;
+import io.smartcat.ranger.core.Value;
+import io.smartcat.ranger.core.ValueProxy;
+import io.smartcat.ranger.core.arithmetic.AdditionValueByte;
+import io.smartcat.ranger.core.arithmetic.AdditionValueDouble;
+import io.smartcat.ranger.core.arithmetic.AdditionValueFloat;
+import io.smartcat.ranger.core.arithmetic.AdditionValueInteger;
+import io.smartcat.ranger.core.arithmetic.AdditionValueLong;
+import io.smartcat.ranger.core.arithmetic.AdditionValueShort;
+import io.smartcat.ranger.core.arithmetic.DivisionValueByte;
+import io.smartcat.ranger.core.arithmetic.DivisionValueDouble;
+import io.smartcat.ranger.core.arithmetic.DivisionValueFloat;
+import io.smartcat.ranger.core.arithmetic.DivisionValueInteger;
+import io.smartcat.ranger.core.arithmetic.DivisionValueLong;
+import io.smartcat.ranger.core.arithmetic.DivisionValueShort;
+import io.smartcat.ranger.core.arithmetic.MultiplicationValueByte;
+import io.smartcat.ranger.core.arithmetic.MultiplicationValueDouble;
+import io.smartcat.ranger.core.arithmetic.MultiplicationValueFloat;
+import io.smartcat.ranger.core.arithmetic.MultiplicationValueInteger;
+import io.smartcat.ranger.core.arithmetic.MultiplicationValueLong;
+import io.smartcat.ranger.core.arithmetic.MultiplicationValueShort;
+import io.smartcat.ranger.core.arithmetic.SubtractionValueByte;
+import io.smartcat.ranger.core.arithmetic.SubtractionValueDouble;
+import io.smartcat.ranger.core.arithmetic.SubtractionValueFloat;
+import io.smartcat.ranger.core.arithmetic.SubtractionValueInteger;
+import io.smartcat.ranger.core.arithmetic.SubtractionValueLong;
+import io.smartcat.ranger.core.arithmetic.SubtractionValueShort;
+
+/**
+ * Compiles value graph into a generated class. Constant values, proxies, composite values and arithmetic values are
+ * compiled into a single straight-line method which evaluates them into local variables, arithmetic is performed on
+ * primitives without boxing intermediate results. All other values (random values, circular values, transformers,
+ * lists, ...) are kept as they are and invoked through fields of their concrete type. Values which are referenced from
+ * values that are not compiled are not compiled either, so that they are evaluated once per object no matter how many
+ * times they are referenced.
+ */
+public final class ValueCompiler {
+
+    /**
+     * Maximum number of values compiled into a single method. Graphs with more compilable values would exceed JVM
+     * method size limit and are left as they are.
+     */
+    public static final int MAX_COMPILED_VALUES = 2000;
+
+    private static final String GENERATED_CLASS_PREFIX = "io/smartcat/ranger/compiler/GeneratedValue";
+    private static final String COMPILED_VALUE = Type.getInternalName(CompiledValue.class);
+    private static final String VALUE = Type.getInternalName(Value.class);
+    private static final String OBJECT_DESCRIPTOR = Type.getDescriptor(Object.class);
+    private static final String CONSTRUCTOR_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE,
+            Type.getType(Value.class), Type.getType(Object[].class));
+
+    private static final AtomicLong CLASS_COUNTER = new AtomicLong();
+    private static final Map<Class<?>, Operation> OPERATIONS = createOperations();
+
+    private ValueCompiler() {
+    }
+
+    /**
+     * Compiles specified <code>value</code>. Returned value evaluates to the same values as the source value would,
+     * and uses the source value graph for all values which are not compiled, so source value should not be used
+     * separately afterwards. If there is nothing to compile, source value is returned.
+     *
+     * @param value Value to compile.
+     * @param <T> Type value would evaluate to.
+     * @return Compiled value, or source value if it cannot be compiled.
+     */
+    public static <T> Value<T> compile(Value<T> value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null.");
+        }
+        if (value instanceof CompiledValue) {
+            return value;
+        }
+        Set<Value<?>> compiled = findCompiledValues(value);
+        if (!compiled.contains(value) || compiled.size() > MAX_COMPILED_VALUES) {
+            return value;
+        }
+        return new ClassGenerator(value, compiled).generate();
+    }
+
+    private static Set<Value<?>> findCompiledValues(Value<?> root) {
+        Set<Value<?>> candidates = collect(root, v -> isCompilable(v));
+        Set<Value<?>> referencedFromOpaque = newIdentitySet();
+        for (Value<?> candidate : candidates) {
+            if (!isCompilable(candidate)) {
+                referencedFromOpaque.addAll(collect(candidate, v -> true));
+            }
+        }
+        Set<Value<?>> compiled = newIdentitySet();
+        for (Value<?> value : collect(root, v -> isCompilable(v) && !referencedFromOpaque.contains(v))) {
+            if (isCompilable(value) && !referencedFromOpaque.contains(value)) {
+                compiled.add(value);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Collects values reachable from <code>root</code> descending only through values accepted by
+     * <code>descend</code>. Values which are not accepted are collected, but their children are not.
+     */
+    private static Set<Value<?>> collect(Value<?> root, Predicate<Value<?>> descend) {
+        Set<Value<?>> result = newIdentitySet();
+        Deque<Value<?>> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Value<?> value = stack.pop();
+            if (result.add(value) && descend.test(value)) {
+                value.getChildren().forEach(stack::push);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isCompilable(Value<?> value) {
+        Class<?> type = value.getClass();
+        if (type == ValueProxy.class) {
+            return value.getChildren().size() == 1;
+        }
+        return type == ConstantValue.class || type == CompositeValue.class || OPERATIONS.containsKey(type);
+    }
+
+    private static Set<Value<?>> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private static Map<Class<?>, Operation> createOperations() {
+        Map<Class<?>, Operation> operations = new HashMap<>();
+        operations.put(AdditionValueByte.class, new Operation(IADD, Kind.BYTE));
+        operations.put(AdditionValueShort.class, new Operation(IADD, Kind.SHORT));
+        operations.put(AdditionValueInteger.class, new Operation(IADD, Kind.INT));
+        operations.put(AdditionValueLong.class, new Operation(IADD, Kind.LONG));
+        operations.put(AdditionValueFloat.class, new Operation(IADD, Kind.FLOAT));
+        operations.put(AdditionValueDouble.class, new Operation(IADD, Kind.DOUBLE));
+        operations.put(SubtractionValueByte.class, new Operation(ISUB, Kind.BYTE));
+        operations.put(SubtractionValueShort.class, new Operation(ISUB, Kind.SHORT));
+        operations.put(SubtractionValueInteger.class, new Operation(ISUB, Kind.INT));
+        operations.put(SubtractionValueLong.class, new Operation(ISUB, Kind.LONG));
+        operations.put(SubtractionValueFloat.class, new Operation(ISUB, Kind.FLOAT));
+        operations.put(SubtractionValueDouble.class, new Operation(ISUB, Kind.DOUBLE));
+        operations.put(MultiplicationValueByte.class, new Operation(IMUL, Kind.BYTE));
+        operations.put(MultiplicationValueShort.class, new Operation(IMUL, Kind.SHORT));
+        operations.put(MultiplicationValueInteger.class, new Operation(IMUL, Kind.INT));
+        operations.put(MultiplicationValueLong.class, new Operation(IMUL, Kind.LONG));
+        operations.put(MultiplicationValueFloat.class, new Operation(IMUL, Kind.FLOAT));
+        operations.put(MultiplicationValueDouble.class, new Operation(IMUL, Kind.DOUBLE));
+        operations.put(DivisionValueByte.class, new Operation(IDIV, Kind.BYTE));
+        operations.put(DivisionValueShort.class, new Operation(IDIV, Kind.SHORT));
+        operations.put(DivisionValueInteger.class, new Operation(IDIV, Kind.INT));
+        operations.put(DivisionValueLong.class, new Operation(IDIV, Kind.LONG));
+        operations.put(DivisionValueFloat.class, new Operation(IDIV, Kind.FLOAT));
+        operations.put(DivisionValueDouble.class, new Operation(IDIV, Kind.DOUBLE));
+        return operations;
+    }
+
+    /**
+     * Kind of local variable holding evaluated value. Byte and short values are held in int variables.
+     */
+    private enum Kind {
+        REFERENCE(Type.getType(Object.class), null, null),
+        BYTE(Type.INT_TYPE, "byteValue", Byte.class),
+        SHORT(Type.INT_TYPE, "shortValue", Short.class),
+        INT(Type.INT_TYPE, "intValue", Integer.class),
+        LONG(Type.LONG_TYPE, "longValue", Long.class),
+        FLOAT(Type.FLOAT_TYPE, "floatValue", Float.class),
+        DOUBLE(Type.DOUBLE_TYPE, "doubleValue", Double.class);
+
+        private final Type type;
+        private final String numberMethod;
+        private final Class<?> boxType;
+
+        Kind(Type type, String numberMethod, Class<?> boxType) {
+            this.type = type;
+            this.numberMethod = numberMethod;
+            this.boxType = boxType;
+        }
+
+        private Type primitiveType() {
+            switch (this) {
+            case BYTE:
+                return Type.BYTE_TYPE;
+            case SHORT:
+                return Type.SHORT_TYPE;
+            default:
+                return type;
+            }
+        }
+    }
+
+    /**
+     * Arithmetic operation, opcode is int variant of the instruction.
+     */
+    private static class Operation {
+
+        private final int opcode;
+        private final Kind kind;
+
+        Operation(int opcode, Kind kind) {
+            this.opcode = opcode;
+            this.kind = kind;
+        }
+    }
+
+    /**
+     * Local variable holding evaluated value.
+     */
+    private static class Local {
+
+        private final int index;
+        private final Kind kind;
+
+        Local(int index, Kind kind) {
+            this.index = index;
+            this.kind = kind;
+        }
+    }
+
+    /**
+     * Generates and instantiates class for a single value graph.
+     */
+    private static class ClassGenerator {
+
+        private final Value<?> root;
+        private final Set<Value<?>> compiled;
+        private final String className;
+        private final GeneratedClassLoader classLoader;
+        private final ClassWriter classWriter;
+        private final List<Object> fieldValues = new ArrayList<>();
+        private final List<String> fieldDescriptors = new ArrayList<>();
+        private final Map<Value<?>, Local> locals = new IdentityHashMap<>();
+        private MethodVisitor method;
+        private int nextLocal = 1;
+
+        ClassGenerator(Value<?> root, Set<Value<?>> compiled) {
+            this.root = root;
+            this.compiled = compiled;
+            this.className = GENERATED_CLASS_PREFIX + CLASS_COUNTER.incrementAndGet();
+            this.classLoader = new GeneratedClassLoader(ValueCompiler.class.getClassLoader());
+            this.classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> Value<T> generate() {
+            classWriter.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, COMPILED_VALUE, null);
+            generateEval();
+            generateFields();
+            generateConstructor();
+            classWriter.visitEnd();
+            try {
+                Class<?> type = classLoader.define(className.replace('/', '.'), classWriter.toByteArray());
+                Constructor<?> constructor = type.getConstructor(Value.class, Object[].class);
+                return (Value<T>) constructor.newInstance(root, fieldValues.toArray());
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Could not instantiate compiled value.", e);
+            }
+        }
+
+        private void generateFields() {
+            for (int i = 0; i < fieldDescriptors.size(); i++) {
+                classWriter.visitField(ACC_PRIVATE | ACC_FINAL, fieldName(i), fieldDescriptors.get(i), null, null)
+                        .visitEnd();
+            }
+        }
+
+        private void generateConstructor() {
+            MethodVisitor constructor = classWriter.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null,
+                    null);
+            constructor.visitCode();
+            constructor.visitVarInsn(ALOAD, 0);
+            constructor.visitVarInsn(ALOAD, 1);
+            constructor.visitMethodInsn(INVOKESPECIAL, COMPILED_VALUE, "<init>",
+                    Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Value.class)), false);
+            for (int i = 0; i < fieldDescriptors.size(); i++) {
+                constructor.visitVarInsn(ALOAD, 0);
+                constructor.visitVarInsn(ALOAD, 2);
+                constructor.visitLdcInsn(i);
+                constructor.visitInsn(AALOAD);
+                constructor.visitTypeInsn(CHECKCAST, Type.getType(fieldDescriptors.get(i)).getInternalName());
+                constructor.visitFieldInsn(PUTFIELD, className, fieldName(i), fieldDescriptors.get(i));
+            }
+            constructor.visitInsn(RETURN);
+            constructor.visitMaxs(0, 0);
+            constructor.visitEnd();
+        }
+
+        private void generateEval() {
+            method = classWriter.visitMethod(ACC_PROTECTED, "eval", "()V", null, null);
+            method.visitCode();
+            Local result = evaluate(root);
+            method.visitVarInsn(ALOAD, 0);
+            loadBoxed(result);
+            method.visitFieldInsn(PUTFIELD, VALUE, "val", OBJECT_DESCRIPTOR);
+            method.visitInsn(RETURN);
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+        }
+
+        private Local evaluate(Value<?> value) {
+            Local local = locals.get(value);
+            if (local != null) {
+                return local;
+            }
+            if (!compiled.contains(value)) {
+                local = evaluateOpaque(value);
+            } else if (value instanceof ConstantValue) {
+                local = evaluateConstant(value);
+            } else if (value instanceof ValueProxy) {
+                local = evaluate(value.getChildren().get(0));
+            } else if (value instanceof CompositeValue) {
+                local = evaluateComposite((CompositeValue) value);
+            } else {
+                local = evaluateArithmetic(value, OPERATIONS.get(value.getClass()));
+            }
+            locals.put(value, local);
+            return local;
+        }
+
+        private Local evaluateOpaque(Value<?> value) {
+            Class<?> type = isAccessible(value.getClass()) ? value.getClass() : Value.class;
+            loadField(value, Type.getDescriptor(type));
+            method.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(type), "get", "()" + OBJECT_DESCRIPTOR,
+                    false);
+            return store(Kind.REFERENCE);
+        }
+
+        private Local evaluateConstant(Value<?> value) {
+            loadField(value.get(), OBJECT_DESCRIPTOR);
+            return store(Kind.REFERENCE);
+        }
+
+        private Local evaluateComposite(CompositeValue value) {
+            List<Local> children = new ArrayList<>();
+            value.getValues().values().forEach(child -> children.add(evaluate(child)));
+            Object[] evaluatedValues = new Object[children.size()];
+            int slotsField = addField(evaluatedValues, Type.getDescriptor(Object[].class));
+            for (int i = 0; i < children.size(); i++) {
+                method.visitVarInsn(ALOAD, 0);
+                method.visitFieldInsn(GETFIELD, className, fieldName(slotsField), fieldDescriptors.get(slotsField));
+                method.visitLdcInsn(i);
+                loadBoxed(children.get(i));
+                method.visitInsn(AASTORE);
+            }
+            loadField(new Record(value.getSchema(), evaluatedValues), Type.getDescriptor(Map.class));
+            return store(Kind.REFERENCE);
+        }
+
+        private Local evaluateArithmetic(Value<?> value, Operation operation) {
+            List<Value<?>> operands = value.getChildren();
+            Local first = evaluate(operands.get(0));
+            Local second = evaluate(operands.get(1));
+            load(first);
+            convert(first.kind, operation.kind);
+            load(second);
+            convert(second.kind, operation.kind);
+            method.visitInsn(operation.kind.type.getOpcode(operation.opcode));
+            if (operation.kind == Kind.BYTE) {
+                method.visitInsn(I2B);
+            } else if (operation.kind == Kind.SHORT) {
+                method.visitInsn(I2S);
+            }
+            return store(operation.kind);
+        }
+
+        /**
+         * Converts value on top of the stack the same way {@link Number} conversion methods would.
+         */
+        private void convert(Kind from, Kind to) {
+            if (from == Kind.REFERENCE) {
+                method.visitTypeInsn(CHECKCAST, Type.getInternalName(Number.class));
+                method.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(Number.class), to.numberMethod,
+                        "()" + to.primitiveType().getDescriptor(), false);
+                return;
+            }
+            if (from.type != to.type) {
+                method.visitInsn(conversionOpcode(from.type, to.type));
+            }
+            if (to == Kind.BYTE && from != Kind.BYTE) {
+                method.visitInsn(I2B);
+            } else if (to == Kind.SHORT && from != Kind.BYTE && from != Kind.SHORT) {
+                method.visitInsn(I2S);
+            }
+        }
+
+        private int conversionOpcode(Type from, Type to) {
+            // conversion opcodes go in order I2L, I2F, I2D, L2I, L2F, L2D, F2I, F2L, F2D, D2I, D2L, D2F
+            int fromIndex = primitiveIndex(from);
+            int toIndex = primitiveIndex(to);
+            return I2L + fromIndex * 3 + (toIndex > fromIndex ? toIndex - 1 : toIndex);
+        }
+
+        private int primitiveIndex(Type type) {
+            if (type == Type.INT_TYPE) {
+                return 0;
+            } else if (type == Type.LONG_TYPE) {
+                return 1;
+            } else if (type == Type.FLOAT_TYPE) {
+                return 2;
+            } else {
+                return 3;
+            }
+        }
+
+        private void loadBoxed(Local local) {
+            load(local);
+            if (local.kind != Kind.REFERENCE) {
+                method.visitMethodInsn(INVOKESTATIC, Type.getInternalName(local.kind.boxType), "valueOf",
+                        Type.getMethodDescriptor(Type.getType(local.kind.boxType), local.kind.primitiveType()),
+                        false);
+            }
+        }
+
+        private void load(Local local) {
+            method.visitVarInsn(local.kind.type.getOpcode(ILOAD), local.index);
+        }
+
+        private Local store(Kind kind) {
+            Local local = new Local(nextLocal, kind);
+            nextLocal += kind.type.getSize();
+            method.visitVarInsn(kind.type.getOpcode(ISTORE), local.index);
+            return local;
+        }
+
+        private void loadField(Object fieldValue, String descriptor) {
+            int field = addField(fieldValue, descriptor);
+            method.visitVarInsn(ALOAD, 0);
+            method.visitFieldInsn(GETFIELD, className, fieldName(field), descriptor);
+        }
+
+        private int addField(Object fieldValue, String descriptor) {
+            fieldValues.add(fieldValue);
+            fieldDescriptors.add(descriptor);
+            return fieldValues.size() - 1;
+        }
+
+        private String fieldName(int field) {
+            return "f" + field;
+        }
+
+        private boolean isAccessible(Class<?> type) {
+            for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+                if (!Modifier.isPublic(c.getModifiers())) {
+                    return false;
+                }
+            }
+            try {
+                return Class.forName(type.getName(), false, classLoader) == type;
+            } catch (ClassNotFoundException e) {
+                return false;
+            }
+        }
+    }
+}
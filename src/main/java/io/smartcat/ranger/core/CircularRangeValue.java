@@ -6,7 +6,9 @@ package io.smartcat.ranger.core;
  *
  * @param <T> Type this value would evaluate to.
  */
-public abstract class CircularRangeValue<T extends Number & Comparable<T>> extends Value<T> {
+public abstract class CircularRangeValue<T extends Number & Comparable<T>> extends Value<T> implements StatefulValue {
+
+    private static final long serialVersionUID = 2658305825248852743L;
 
     /**
      * Range.
@@ -18,6 +20,8 @@ public abstract class CircularRangeValue<T extends Number & Comparable<T>> exten
      */
     protected final T increment;
 
+    private boolean positioned;
+
     /**
      * Constructs circular range value with specified <code>range</code> and <code>increment</code>.
      *
@@ -49,8 +53,18 @@ public abstract class CircularRangeValue<T extends Number & Comparable<T>> exten
         }
     }
 
+    @Override
+    public void position(long index) {
+        setValueAt(index);
+        positioned = true;
+        evaluated = false;
+    }
+
     @Override
     protected void eval() {
+        if (consumePosition()) {
+            return;
+        }
         T nextValue = peekNextValue();
         if (isValueInBounds(nextValue)) {
             val = nextValue;
@@ -64,6 +78,37 @@ public abstract class CircularRangeValue<T extends Number & Comparable<T>> exten
             || (range.isDecreasing() && value.compareTo(range.getEnd()) >= 0);
     }
 
+    /**
+     * Indicates whether value is positioned since its last evaluation, in which case current value is already set by
+     * {@link #position(long)} and evaluation should not move to the next value.
+     *
+     * @return True if value is positioned since its last evaluation, otherwise false.
+     */
+    protected boolean consumePosition() {
+        boolean result = positioned;
+        positioned = false;
+        return result;
+    }
+
+    /**
+     * Returns offset within a cycle of values at which value with specified <code>index</code> is.
+     *
+     * @param index Index of the value, counting from the beginning of the range.
+     * @param cycleLength Number of values in the cycle, or non positive number if it does not fit into long.
+     * @return Offset of the value within the cycle.
+     */
+    protected static long offsetInCycle(long index, long cycleLength) {
+        return cycleLength > 0 ? index % cycleLength : index;
+    }
+
+    /**
+     * Sets current value to the value with specified <code>index</code>, counting from the beginning of the range
+     * and starting over from the beginning each time the end is passed.
+     *
+     * @param index Index of the value.
+     */
+    protected abstract void setValueAt(long index);
+
     /**
      * Returns {@code 0} value represented within {@code <T>} type.
      *
@@ -5,6 +5,8 @@ package io.smartcat.ranger.core;
  */
 public class CircularRangeValueByte extends CircularRangeValue<Byte> {
 
+    private static final long serialVersionUID = -2219047015541821721L;
+
     /**
      * Constructs byte circular range value with specified <code>range</code> and <code>increment</code>.
      *
@@ -15,6 +17,12 @@ public class CircularRangeValueByte extends CircularRangeValue<Byte> {
         super(range, increment);
     }
 
+    @Override
+    protected void setValueAt(long index) {
+        long cycleLength = ((long) range.getEnd() - range.getBeginning()) / increment + 1;
+        val = (byte) (range.getBeginning() + offsetInCycle(index, cycleLength) * increment);
+    }
+
     @Override
     protected Byte zero() {
         return 0;
@@ -3,7 +3,15 @@ package io.smartcat.ranger.core;
 /**
  * Circular range value for double type.
  */
-public class CircularRangeValueDouble extends CircularRangeValue<Double> {
+public class CircularRangeValueDouble extends CircularRangeValue<Double> implements DoubleValue {
+
+    private static final long serialVersionUID = 6019164681220723467L;
+
+    private final double beginning;
+    private final double end;
+    private final double primitiveIncrement;
+    private final boolean increasing;
+    private double primitiveVal;
 
     /**
      * Constructs double circular range value with specified <code>range</code> and <code>increment</code>.
@@ -13,6 +21,41 @@ public class CircularRangeValueDouble extends CircularRangeValue<Double> {
      */
     public CircularRangeValueDouble(Range<Double> range, Double increment) {
         super(range, increment);
+        this.beginning = range.getBeginning();
+        this.end = range.getEnd();
+        this.primitiveIncrement = increment;
+        this.increasing = range.isIncreasing();
+        this.primitiveVal = beginning;
+    }
+
+    @Override
+    public Double get() {
+        ensureEvaluated();
+        if (val == null || Double.compare(val, primitiveVal) != 0) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public double getAsDouble() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
+    @Override
+    protected void eval() {
+        if (consumePosition()) {
+            return;
+        }
+        double nextValue = primitiveVal + primitiveIncrement;
+        primitiveVal = (increasing ? nextValue <= end : nextValue >= end) ? nextValue : beginning;
+    }
+
+    @Override
+    protected void setValueAt(long index) {
+        long cycleLength = (long) Math.floor((end - beginning) / primitiveIncrement) + 1;
+        primitiveVal = beginning + offsetInCycle(index, cycleLength) * primitiveIncrement;
     }
 
     @Override
@@ -27,6 +70,6 @@ public class CircularRangeValueDouble extends CircularRangeValue<Double> {
 
     @Override
     protected Double peekNextValue() {
-        return val + increment;
+        return primitiveVal + primitiveIncrement;
     }
 }
@@ -5,6 +5,8 @@ package io.smartcat.ranger.core;
  */
 public class CircularRangeValueFloat extends CircularRangeValue<Float> {
 
+    private static final long serialVersionUID = 5284769089826267593L;
+
     /**
      * Constructs float circular range value with specified <code>range</code> and <code>increment</code>.
      *
@@ -15,6 +17,12 @@ public class CircularRangeValueFloat extends CircularRangeValue<Float> {
         super(range, increment);
     }
 
+    @Override
+    protected void setValueAt(long index) {
+        long cycleLength = (long) Math.floor(((double) range.getEnd() - range.getBeginning()) / increment) + 1;
+        val = (float) (range.getBeginning() + offsetInCycle(index, cycleLength) * (double) increment);
+    }
+
     @Override
     protected Float zero() {
         return 0f;
@@ -3,7 +3,15 @@ package io.smartcat.ranger.core;
 /**
  * Circular range value for int type.
  */
-public class CircularRangeValueInt extends CircularRangeValue<Integer> {
+public class CircularRangeValueInt extends CircularRangeValue<Integer> implements IntValue {
+
+    private static final long serialVersionUID = 6069387659516180934L;
+
+    private final int beginning;
+    private final int end;
+    private final int primitiveIncrement;
+    private final boolean increasing;
+    private int primitiveVal;
 
     /**
      * Constructs int circular range value with specified <code>range</code> and <code>increment</code>.
@@ -13,6 +21,41 @@ public class CircularRangeValueInt extends CircularRangeValue<Integer> {
      */
     public CircularRangeValueInt(Range<Integer> range, Integer increment) {
         super(range, increment);
+        this.beginning = range.getBeginning();
+        this.end = range.getEnd();
+        this.primitiveIncrement = increment;
+        this.increasing = range.isIncreasing();
+        this.primitiveVal = beginning;
+    }
+
+    @Override
+    public Integer get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
+    @Override
+    protected void eval() {
+        if (consumePosition()) {
+            return;
+        }
+        int nextValue = primitiveVal + primitiveIncrement;
+        primitiveVal = (increasing ? nextValue <= end : nextValue >= end) ? nextValue : beginning;
+    }
+
+    @Override
+    protected void setValueAt(long index) {
+        long cycleLength = ((long) end - beginning) / primitiveIncrement + 1;
+        primitiveVal = (int) (beginning + offsetInCycle(index, cycleLength) * primitiveIncrement);
     }
 
     @Override
@@ -27,6 +70,6 @@ public class CircularRangeValueInt extends CircularRangeValue<Integer> {
 
     @Override
     protected Integer peekNextValue() {
-        return val + increment;
+        return primitiveVal + primitiveIncrement;
     }
 }
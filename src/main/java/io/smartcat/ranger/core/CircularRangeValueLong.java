@@ -3,7 +3,15 @@ package io.smartcat.ranger.core;
 /**
  * Circular range value for long type.
  */
-public class CircularRangeValueLong extends CircularRangeValue<Long> {
+public class CircularRangeValueLong extends CircularRangeValue<Long> implements LongValue {
+
+    private static final long serialVersionUID = 1873714090633300825L;
+
+    private final long beginning;
+    private final long end;
+    private final long primitiveIncrement;
+    private final boolean increasing;
+    private long primitiveVal;
 
     /**
      * Constructs long circular range value with specified <code>range</code> and <code>increment</code>.
@@ -13,6 +21,43 @@ public class CircularRangeValueLong extends CircularRangeValue<Long> {
      */
     public CircularRangeValueLong(Range<Long> range, Long increment) {
         super(range, increment);
+        this.beginning = range.getBeginning();
+        this.end = range.getEnd();
+        this.primitiveIncrement = increment;
+        this.increasing = range.isIncreasing();
+        this.primitiveVal = beginning;
+    }
+
+    @Override
+    public Long get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public long getAsLong() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
+    @Override
+    protected void eval() {
+        if (consumePosition()) {
+            return;
+        }
+        long nextValue = primitiveVal + primitiveIncrement;
+        primitiveVal = (increasing ? nextValue <= end : nextValue >= end) ? nextValue : beginning;
+    }
+
+    @Override
+    protected void setValueAt(long index) {
+        // distance and increment are compared as unsigned numbers, so that distance of any range fits into long
+        long distance = increasing ? end - beginning : beginning - end;
+        long cycleLength = Long.divideUnsigned(distance, Math.abs(primitiveIncrement)) + 1;
+        primitiveVal = beginning + offsetInCycle(index, cycleLength) * primitiveIncrement;
     }
 
     @Override
@@ -27,6 +72,6 @@ public class CircularRangeValueLong extends CircularRangeValue<Long> {
 
     @Override
     protected Long peekNextValue() {
-        return val + increment;
+        return primitiveVal + primitiveIncrement;
     }
 }
@@ -5,6 +5,8 @@ package io.smartcat.ranger.core;
  */
 public class CircularRangeValueShort extends CircularRangeValue<Short> {
 
+    private static final long serialVersionUID = -1550134185512092184L;
+
     /**
      * Constructs short circular range value with specified <code>range</code> and <code>increment</code>.
      *
@@ -15,6 +17,12 @@ public class CircularRangeValueShort extends CircularRangeValue<Short> {
         super(range, increment);
     }
 
+    @Override
+    protected void setValueAt(long index) {
+        long cycleLength = ((long) range.getEnd() - range.getBeginning()) / increment + 1;
+        val = (short) (range.getBeginning() + offsetInCycle(index, cycleLength) * increment);
+    }
+
     @Override
     protected Short zero() {
         return 0;
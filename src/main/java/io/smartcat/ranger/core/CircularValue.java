@@ -1,17 +1,21 @@
 package io.smartcat.ranger.core;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Returns values in order specified within <code>values</code> parameter. When end is reached, it starts over from the
- * beginning.
+ * beginning. When all values are constants, they are kept in a {@link ConstantPool} and value has no children.
  *
  * @param <T> Type this value would evaluate to.
  */
-public class CircularValue<T> extends Value<T> {
+public class CircularValue<T> extends Value<T> implements StatefulValue {
+
+    private static final long serialVersionUID = -4597330477632927524L;
 
     private final List<Value<T>> values;
+    private final ConstantPool<T> constants;
     private final int size;
     private int currentIndex;
 
@@ -24,21 +28,59 @@ public class CircularValue<T> extends Value<T> {
         if (values == null || values.isEmpty()) {
             throw new IllegalArgumentException("List of values cannot be null nor empty.");
         }
-        this.values = new ArrayList<>(values);
-        this.size = this.values.size();
+        this.constants = ConstantPool.ofConstantValues(values);
+        this.values = constants == null ? new ArrayList<>(values) : Collections.emptyList();
+        this.size = values.size();
+        this.currentIndex = -1;
+    }
+
+    /**
+     * Constructs circular value which returns <code>constants</code> in order.
+     *
+     * @param constants Pool of possible values.
+     */
+    public CircularValue(ConstantPool<T> constants) {
+        if (constants == null) {
+            throw new IllegalArgumentException("Constant pool cannot be null.");
+        }
+        this.constants = constants;
+        this.values = Collections.emptyList();
+        this.size = constants.size();
         this.currentIndex = -1;
     }
 
     @Override
     public void reset() {
         super.reset();
-        values.get(nextIndex()).reset();
+        if (constants == null) {
+            values.get(nextIndex()).reset();
+        }
+    }
+
+    /**
+     * Returns pool of constant values this value selects from.
+     *
+     * @return Pool of constant values, or null if values are not all constants.
+     */
+    public ConstantPool<T> getConstants() {
+        return constants;
+    }
+
+    @Override
+    public List<Value<?>> getChildren() {
+        return Collections.unmodifiableList(values);
+    }
+
+    @Override
+    public void position(long index) {
+        currentIndex = (int) Math.floorMod(index - 1, (long) size);
+        evaluated = false;
     }
 
     @Override
     protected void eval() {
         currentIndex = nextIndex();
-        val = values.get(currentIndex).get();
+        val = constants != null ? constants.get(currentIndex) : values.get(currentIndex).get();
     }
 
     private int nextIndex() {
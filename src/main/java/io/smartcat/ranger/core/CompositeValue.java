@@ -1,16 +1,23 @@
 package io.smartcat.ranger.core;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
- * Composite value containing its child values.
+ * Composite value containing its child values. Child names are resolved to slots of {@link RecordSchema} at
+ * construction, result is a {@link Record} whose values are stored in an array, which is refilled on each evaluation.
  */
 public class CompositeValue extends Value<Map<String, Object>> {
 
+    private static final long serialVersionUID = -1217298556169894673L;
+
     private final Map<String, Value<?>> values;
-    private final Map<String, Object> evaluatedValues;
+    private final RecordSchema schema;
+    private final Value<?>[] slotValues;
+    private final Object[] evaluatedValues;
 
     /**
      * Constructs composite value with specified initial child values.
@@ -22,8 +29,10 @@ public class CompositeValue extends Value<Map<String, Object>> {
             throw new IllegalArgumentException("Values map cannot be null nor empty.");
         }
         this.values = new LinkedHashMap<>(values);
-        this.evaluatedValues = new LinkedHashMap<>();
-        this.val = Collections.unmodifiableMap(this.evaluatedValues);
+        this.schema = new RecordSchema(this.values.keySet());
+        this.slotValues = this.values.values().toArray(new Value<?>[this.values.size()]);
+        this.evaluatedValues = new Object[slotValues.length];
+        this.val = new Record(schema, evaluatedValues);
     }
 
     @Override
@@ -32,10 +41,33 @@ public class CompositeValue extends Value<Map<String, Object>> {
         values.values().forEach(v -> v.reset());
     }
 
+    /**
+     * Returns child values of this composite value by their names.
+     *
+     * @return Unmodifiable map of child values by their names.
+     */
+    public Map<String, Value<?>> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Returns schema of records this composite value evaluates to.
+     *
+     * @return Schema of records.
+     */
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public List<Value<?>> getChildren() {
+        return new ArrayList<>(values.values());
+    }
+
     @Override
     protected void eval() {
-        values.forEach((name, value) -> {
-            evaluatedValues.put(name, value.get());
-        });
+        for (int i = 0; i < slotValues.length; i++) {
+            evaluatedValues[i] = slotValues[i].get();
+        }
     }
 }
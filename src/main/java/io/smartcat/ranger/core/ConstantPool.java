@@ -0,0 +1,140 @@
+package io.smartcat.ranger.core;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Flat, immutable storage for constant elements of discrete, circular and weighted values. Elements are kept in a
+ * single array instead of separate {@link ConstantValue} instances, so selecting an element does not allocate. When
+ * all elements are of type {@link Integer}, {@link Long} or {@link Double}, they are serialized as primitives, so that
+ * copies and snapshots of value graphs stay compact, and boxed again when pool is deserialized.
+ *
+ * @param <T> Type of elements.
+ */
+public final class ConstantPool<T> implements Serializable {
+
+    private static final long serialVersionUID = 2476430049728217512L;
+
+    private static final int OBJECT = 0;
+    private static final int INT = 1;
+    private static final int LONG = 2;
+    private static final int DOUBLE = 3;
+
+    private transient Object[] elements;
+
+    private ConstantPool(List<?> elements) {
+        this.elements = elements.toArray();
+    }
+
+    /**
+     * Creates constant pool containing specified <code>elements</code>.
+     *
+     * @param elements Elements of the pool, cannot be null nor empty.
+     * @param <T> Type of elements.
+     * @return An instance of {@link ConstantPool}.
+     */
+    public static <T> ConstantPool<T> of(List<T> elements) {
+        if (elements == null || elements.isEmpty()) {
+            throw new IllegalArgumentException("List of elements cannot be null nor empty.");
+        }
+        return new ConstantPool<>(elements);
+    }
+
+    /**
+     * Creates constant pool from specified <code>values</code> if all of them are instances of {@link ConstantValue}.
+     *
+     * @param values Values to pool, cannot be null nor empty.
+     * @param <T> Type of elements.
+     * @return An instance of {@link ConstantPool} or <code>null</code> if at least one value is not constant.
+     */
+    public static <T> ConstantPool<T> ofConstantValues(List<? extends Value<T>> values) {
+        if (values == null || values.isEmpty()) {
+            throw new IllegalArgumentException("List of values cannot be null nor empty.");
+        }
+        Object[] elements = new Object[values.size()];
+        for (int i = 0; i < elements.length; i++) {
+            Value<T> value = values.get(i);
+            if (value == null || value.getClass() != ConstantValue.class) {
+                return null;
+            }
+            elements[i] = value.get();
+        }
+        return new ConstantPool<>(Arrays.asList(elements));
+    }
+
+    /**
+     * Returns number of elements.
+     *
+     * @return Number of elements.
+     */
+    public int size() {
+        return elements.length;
+    }
+
+    /**
+     * Returns element at specified <code>index</code>.
+     *
+     * @param index Index of the element.
+     * @return Element at specified index.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) elements[index];
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        int kind = kindOf(elements);
+        out.writeInt(kind);
+        if (kind == OBJECT) {
+            out.writeObject(elements);
+            return;
+        }
+        out.writeInt(elements.length);
+        for (Object element : elements) {
+            if (kind == INT) {
+                out.writeInt((Integer) element);
+            } else if (kind == LONG) {
+                out.writeLong((Long) element);
+            } else {
+                out.writeDouble((Double) element);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int kind = in.readInt();
+        if (kind == OBJECT) {
+            elements = (Object[]) in.readObject();
+            return;
+        }
+        elements = new Object[in.readInt()];
+        for (int i = 0; i < elements.length; i++) {
+            if (kind == INT) {
+                elements[i] = in.readInt();
+            } else if (kind == LONG) {
+                elements[i] = in.readLong();
+            } else {
+                elements[i] = in.readDouble();
+            }
+        }
+    }
+
+    private static int kindOf(Object[] elements) {
+        Class<?> type = elements[0] == null ? null : elements[0].getClass();
+        if (type != Integer.class && type != Long.class && type != Double.class) {
+            return OBJECT;
+        }
+        for (Object element : elements) {
+            if (element == null || element.getClass() != type) {
+                return OBJECT;
+            }
+        }
+        return type == Integer.class ? INT : type == Long.class ? LONG : DOUBLE;
+    }
+}
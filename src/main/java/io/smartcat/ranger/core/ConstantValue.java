@@ -7,6 +7,8 @@ package io.smartcat.ranger.core;
  */
 public class ConstantValue<T> extends Value<T> {
 
+    private static final long serialVersionUID = 5539705634369593057L;
+
     /**
      * Constructs constant value which will always return specified <code>value</code>.
      *
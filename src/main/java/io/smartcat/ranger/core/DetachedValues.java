@@ -0,0 +1,53 @@
+package io.smartcat.ranger.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detaches generated objects from the value graph. Composite values and CSV values reuse the same map between
+ * evaluations, so generated object which is kept after the next object is generated has to be detached first.
+ * {@link Record}s are copied to new records, other maps to unmodifiable {@link LinkedHashMap}s and lists to
+ * unmodifiable lists, elements of each being detached as well. All other objects are returned as they are.
+ */
+public final class DetachedValues {
+
+    private DetachedValues() {
+    }
+
+    /**
+     * Returns copy of specified <code>value</code> which is not changed by subsequent evaluations of the value graph.
+     *
+     * @param value Generated object.
+     * @param <T> Type of generated object.
+     * @return Detached copy of generated object, or the object itself if it is not a map nor a list.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T detach(T value) {
+        if (value instanceof Record) {
+            Record record = (Record) value;
+            Object[] slots = new Object[record.size()];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = detach(record.get(i));
+            }
+            return (T) new Record(record.getSchema(), slots);
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> result = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                result.put(entry.getKey(), detach(entry.getValue()));
+            }
+            return (T) Collections.unmodifiableMap(result);
+        }
+        if (value instanceof List) {
+            List<Object> result = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                result.add(detach(element));
+            }
+            return (T) Collections.unmodifiableList(result);
+        }
+        return value;
+    }
+}
@@ -1,19 +1,25 @@
 package io.smartcat.ranger.core;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import io.smartcat.ranger.distribution.Distribution;
 import io.smartcat.ranger.distribution.UniformDistribution;
 
 /**
- * Randomly selects one of the provided values following the specified distribution.
+ * Randomly selects one of the provided values following the specified distribution. When all values are constants,
+ * they are kept in a {@link ConstantPool} and value has no children.
  *
  * @param <T> Type this value would evaluate to.
  */
 public class DiscreteValue<T> extends Value<T> {
 
+    private static final long serialVersionUID = -6813353546393654021L;
+
     private final List<Value<T>> values;
+    private final ConstantPool<T> constants;
+    private final int size;
     private final Distribution distribution;
 
     /**
@@ -39,7 +45,29 @@ public class DiscreteValue<T> extends Value<T> {
         if (distribution == null) {
             throw new IllegalArgumentException("Distribution cannot be null.");
         }
-        this.values = new ArrayList<>(values);
+        this.constants = ConstantPool.ofConstantValues(values);
+        this.values = constants == null ? new ArrayList<>(values) : Collections.emptyList();
+        this.size = values.size();
+        this.distribution = distribution;
+    }
+
+    /**
+     * Constructs discrete value which selects one of the <code>constants</code> following specified
+     * <code>distribution</code>.
+     *
+     * @param constants Pool of possible values.
+     * @param distribution Distribution to use for value selection.
+     */
+    public DiscreteValue(ConstantPool<T> constants, Distribution distribution) {
+        if (constants == null) {
+            throw new IllegalArgumentException("Constant pool cannot be null.");
+        }
+        if (distribution == null) {
+            throw new IllegalArgumentException("Distribution cannot be null.");
+        }
+        this.constants = constants;
+        this.values = Collections.emptyList();
+        this.size = constants.size();
         this.distribution = distribution;
     }
 
@@ -49,11 +77,28 @@ public class DiscreteValue<T> extends Value<T> {
         values.forEach(v -> v.reset());
     }
 
+    /**
+     * Returns pool of constant values this value selects from.
+     *
+     * @return Pool of constant values, or null if values are not all constants.
+     */
+    public ConstantPool<T> getConstants() {
+        return constants;
+    }
+
+    @Override
+    public List<Value<?>> getChildren() {
+        return Collections.unmodifiableList(values);
+    }
+
+    @Override
+    public List<Distribution> getDistributions() {
+        return Collections.singletonList(distribution);
+    }
+
     @Override
     protected void eval() {
-        Value<T> chosenValue;
-        int index = distribution.nextInt(values.size());
-        chosenValue = values.get(index);
-        val = chosenValue.get();
+        int index = distribution.nextInt(size);
+        val = constants != null ? constants.get(index) : values.get(index).get();
     }
 }
@@ -0,0 +1,15 @@
+package io.smartcat.ranger.core;
+
+/**
+ * Value which can evaluate to primitive {@code double} without boxing. {@link #getAsDouble()} follows same evaluation
+ * rules as {@link Value#get()}, both methods return the same value until value is reset.
+ */
+public interface DoubleValue {
+
+    /**
+     * Returns a value as primitive {@code double}.
+     *
+     * @return A value as primitive {@code double}.
+     */
+    double getAsDouble();
+}
@@ -10,6 +10,8 @@ import java.util.List;
  */
 public class EmptyListValue<T> extends Value<List<T>> {
 
+    private static final long serialVersionUID = -4843901966046086702L;
+
     @Override
     public void reset() {
     }
@@ -11,6 +11,8 @@ import java.util.Map;
  */
 public class EmptyMapValue<K, V> extends Value<Map<K, V>> {
 
+    private static final long serialVersionUID = 842109392125979972L;
+
     @Override
     public void reset() {
     }
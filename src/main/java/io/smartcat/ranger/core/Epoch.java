@@ -0,0 +1,31 @@
+package io.smartcat.ranger.core;
+
+import java.io.Serializable;
+
+/**
+ * Generation epoch shared by all values of one generator. Value bound to an epoch considers itself not evaluated
+ * whenever epoch is advanced, so all values of the generator can be invalidated with a single increment instead of
+ * resetting each of them.
+ */
+public class Epoch implements Serializable {
+
+    private static final long serialVersionUID = -4566380734776390283L;
+
+    private long current;
+
+    /**
+     * Returns current epoch.
+     *
+     * @return Current epoch.
+     */
+    public long get() {
+        return current;
+    }
+
+    /**
+     * Advances epoch, invalidating all values bound to it.
+     */
+    public void advance() {
+        current++;
+    }
+}
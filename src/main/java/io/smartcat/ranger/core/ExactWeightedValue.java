@@ -1,23 +1,30 @@
 package io.smartcat.ranger.core;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import io.smartcat.ranger.distribution.Distribution;
 import io.smartcat.ranger.distribution.UniformDistribution;
 
 /**
- * Randomly selects one of the provided values using the provided counts as weights and as limit.
+ * Randomly selects one of the provided values using the provided counts as weights and as limit. Each value is
+ * selected with probability proportional to the number of its remaining occurrences. Remaining counts are kept in a
+ * Fenwick tree, so both selection and decrement take logarithmic time in the number of values. Remaining counts depend
+ * on all previous selections, so value cannot be positioned at an object index.
  *
  * @param <T> Type this value would evaluate to.
  */
-public class ExactWeightedValue<T> extends Value<T> {
+public class ExactWeightedValue<T> extends Value<T> implements StatefulValue {
 
-    private final UniformDistribution distribution;
-    private final List<Long> counts;
-    private final List<Long> currentNumberOfValues;
+    private static final long serialVersionUID = -3385271553104429632L;
+
+    private final Distribution distribution;
     private final List<Value<T>> values;
-    private final int totalCount;
-    private int currentTotalCount;
+    private final long[] tree;
+    private final int highestStep;
+    private final long totalCount;
+    private long currentTotalCount;
 
     /**
      * Constructs discrete weighted value with specified <code>values</code> and <code>weights</code>.
@@ -28,18 +35,28 @@ public class ExactWeightedValue<T> extends Value<T> {
         if (countValuePairs == null || countValuePairs.isEmpty()) {
             throw new IllegalArgumentException("List of count value pairs cannot be null nor empty.");
         }
+        int size = countValuePairs.size();
         this.distribution = new UniformDistribution();
-        this.counts = new ArrayList<>();
-        this.currentNumberOfValues = new ArrayList<>();
-        this.values = new ArrayList<>();
-        this.currentTotalCount = 0;
-        for (CountValuePair<T> pair : countValuePairs) {
-            currentTotalCount += pair.getCount();
-            counts.add(pair.getCount());
-            currentNumberOfValues.add(0L);
+        this.values = new ArrayList<>(size);
+        this.tree = new long[size + 1];
+        long sum = 0;
+        for (int i = 1; i <= size; i++) {
+            CountValuePair<T> pair = countValuePairs.get(i - 1);
+            try {
+                sum = Math.addExact(sum, pair.getCount());
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Sum of counts cannot exceed " + Long.MAX_VALUE + ".");
+            }
             values.add(pair.getValue());
+            tree[i] += pair.getCount();
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
         }
-        this.totalCount = currentTotalCount;
+        this.highestStep = Integer.highestOneBit(size);
+        this.totalCount = sum;
+        this.currentTotalCount = sum;
     }
 
     @Override
@@ -48,37 +65,56 @@ public class ExactWeightedValue<T> extends Value<T> {
         values.forEach(v -> v.reset());
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Collections.unmodifiableList(values);
+    }
+
+    @Override
+    public List<Distribution> getDistributions() {
+        return Collections.singletonList(distribution);
+    }
+
+    @Override
+    public boolean isPositionable() {
+        return false;
+    }
+
+    @Override
+    public void position(long index) {
+        throw new UnsupportedOperationException("Exact weighted value cannot be positioned.");
+    }
+
     @Override
     protected void eval() {
         int index = sample();
         val = values.get(index).get();
-        currentNumberOfValues.set(index, currentNumberOfValues.get(index) + 1L);
-        if (currentNumberOfValues.get(index).equals(counts.get(index))) {
-            removeValue(index);
-        }
+        decrement(index);
     }
 
     private int sample() {
-        if (values.isEmpty()) {
+        if (currentTotalCount == 0) {
             throw new ExactWeightedValueDepletedException("Exact weighted value depleted."
                     + " It is configured to generate " + totalCount + " elements in total.");
         }
-        int randomValue = distribution.nextInt(currentTotalCount);
-        int sum = 0;
-        for (int i = 0; i < counts.size(); i++) {
-            sum += counts.get(i);
-            if (randomValue < sum) {
-                return i;
+        long remaining = distribution.nextLong(currentTotalCount);
+        int position = 0;
+        for (int step = highestStep; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
             }
         }
-        throw new RuntimeException("If you see this exception. There is a bug in " + getClass().getName() + " class.");
+        // position is the largest prefix with sum not greater than random value, selected value is the next one
+        return position;
     }
 
-    private void removeValue(int index) {
-        values.remove(index);
-        currentNumberOfValues.remove(index);
-        currentTotalCount -= counts.get(index);
-        counts.remove(index);
+    private void decrement(int index) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i]--;
+        }
+        currentTotalCount--;
     }
 
     /**
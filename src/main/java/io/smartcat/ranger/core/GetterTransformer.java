@@ -1,17 +1,24 @@
 package io.smartcat.ranger.core;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
- * Extracts property value for a given key from given composite value.
+ * Extracts property value for a given key from given composite value. When value evaluates to {@link Record}, key is
+ * resolved to slot once per record schema and subsequent reads go directly to the slot.
  *
  * @param <T> Type this value would evaluate to.
  */
 public class GetterTransformer<T> extends Transformer<T> {
 
+    private static final long serialVersionUID = -9090431289428368635L;
+
     private final String keyName;
+    private final Class<T> keyType;
     private final Value<?> value;
-
+    private RecordSchema boundSchema;
+    private int boundSlot;
 
     /**
      * Constructs getter transformer with specified <code>key</code> and <code>value</code>.
@@ -31,19 +38,52 @@ public class GetterTransformer<T> extends Transformer<T> {
             throw new IllegalArgumentException("Composite value cannot be null.");
         }
         this.keyName = keyName;
+        this.keyType = keyType;
         this.value = value;
     }
 
+    /**
+     * Returns name of property for which get is attempted.
+     *
+     * @return Name of the property.
+     */
+    public String getKeyName() {
+        return keyName;
+    }
+
+    /**
+     * Returns type of property for which get is attempted.
+     *
+     * @return Type of the property.
+     */
+    public Class<T> getKeyType() {
+        return keyType;
+    }
+
     @Override
     public void reset() {
         super.reset();
         value.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Collections.singletonList(value);
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     @Override
     protected void eval() {
         Map<String, Object> v = (Map) value.get();
-        val = (T) v.get(keyName);
+        if (v instanceof Record) {
+            Record record = (Record) v;
+            if (record.getSchema() != boundSchema) {
+                boundSchema = record.getSchema();
+                boundSlot = boundSchema.slotOf(keyName);
+            }
+            val = boundSlot >= 0 ? (T) record.get(boundSlot) : null;
+        } else {
+            val = (T) v.get(keyName);
+        }
     }
 }
@@ -0,0 +1,15 @@
+package io.smartcat.ranger.core;
+
+/**
+ * Value which can evaluate to primitive {@code int} without boxing. {@link #getAsInt()} follows same evaluation
+ * rules as {@link Value#get()}, both methods return the same value until value is reset.
+ */
+public interface IntValue {
+
+    /**
+     * Returns a value as primitive {@code int}.
+     *
+     * @return A value as primitive {@code int}.
+     */
+    int getAsInt();
+}
@@ -1,15 +1,49 @@
 package io.smartcat.ranger.core;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
 
 /**
- * Transforms value into its JSON representation.
+ * Transforms value into its JSON representation. Value is serialized with {@link ObjectWriter} of the object mapper,
+ * resolved once, into a character buffer reused between evaluations, so JSON can be consumed with
+ * {@link #getCharSequence()} or {@link #writeTo(OutputStream)} without creating a {@link String}. String is created
+ * only when {@link #get()} is invoked. When object mapper serializes maps, lists, strings, numbers and booleans with
+ * its standard serializers, {@link Record records} produced by composite values are written field by field, with
+ * field names quoted once per record schema, otherwise they are serialized by the object mapper. Output is same as
+ * output of {@link ObjectMapper#writeValueAsString(Object)}.
  */
 public class JsonTransformer extends Transformer<String> {
 
+    private static final long serialVersionUID = -5811881680468570697L;
+
+    private static final String STANDARD_SERIALIZERS = "com.fasterxml.jackson.databind.ser.std.";
+    private static final String LIST_SERIALIZER = "com.fasterxml.jackson.databind.ser.impl.IndexedListSerializer";
+
     private final Value<?> value;
     private final ObjectMapper objectMapper;
+    private transient ObjectWriter objectWriter;
+    private transient JsonBuffer buffer;
+    private transient JsonGenerator generator;
+    private transient boolean writeRecords;
+    private transient Map<RecordSchema, SerializableString[]> fieldNames;
 
     /**
      * Constructs JSON transformer with specified <code>value</code>.
@@ -38,18 +72,241 @@ public class JsonTransformer extends Transformer<String> {
         this.objectMapper = objectMapper;
     }
 
+    @Override
+    public String get() {
+        ensureEvaluated();
+        if (val == null) {
+            val = buffer.toString();
+        }
+        return val;
+    }
+
+    /**
+     * Returns JSON representation of the value without creating a {@link String}. Returned sequence is reused and
+     * changes when value is evaluated next time.
+     *
+     * @return JSON representation of the value.
+     */
+    public CharSequence getCharSequence() {
+        ensureEvaluated();
+        return buffer;
+    }
+
+    /**
+     * Writes UTF-8 encoded JSON representation of the value to specified <code>out</code>.
+     *
+     * @param out Output stream to write to.
+     * @throws IOException if JSON cannot be written.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        ensureEvaluated();
+        buffer.writeTo(out);
+    }
+
     @Override
     public void reset() {
         super.reset();
         value.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Collections.singletonList(value);
+    }
+
     @Override
     protected void eval() {
+        val = null;
         try {
-            val = objectMapper.writeValueAsString(value.get());
-        } catch (JsonProcessingException e) {
+            if (generator == null) {
+                init();
+            }
+            buffer.reset();
+            write(value.get());
+            generator.flush();
+        } catch (IOException e) {
+            // generator state is unknown after failure
+            generator = null;
             throw new RuntimeException(e);
         }
     }
+
+    private void init() throws IOException {
+        objectWriter = objectMapper.writer();
+        buffer = new JsonBuffer();
+        generator = objectMapper.getFactory().createGenerator(buffer);
+        // each evaluation writes a root value, default root value separator is a space
+        generator.setRootValueSeparator(null);
+        writeRecords = canWriteRecords();
+        fieldNames = new IdentityHashMap<>();
+    }
+
+    private boolean canWriteRecords() throws JsonMappingException {
+        SerializationConfig config = objectMapper.getSerializationConfig();
+        if (config.isEnabled(SerializationFeature.INDENT_OUTPUT)
+                || config.isEnabled(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                || !config.isEnabled(SerializationFeature.WRITE_NULL_MAP_VALUES)
+                || config.isEnabled(SerializationFeature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED)
+                || config.getActiveView() != null || !isAlways(config.getDefaultPropertyInclusion(Record.class))) {
+            return false;
+        }
+        SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+        for (Class<?> type : Arrays.asList(Record.class, String.class, Integer.class, Long.class, Short.class,
+                Byte.class, Double.class, Float.class, Boolean.class)) {
+            if (!provider.findValueSerializer(type).getClass().getName().startsWith(STANDARD_SERIALIZERS)) {
+                return false;
+            }
+        }
+        return LIST_SERIALIZER.equals(provider.findValueSerializer(ArrayList.class).getClass().getName());
+    }
+
+    private static boolean isAlways(JsonInclude.Value inclusion) {
+        return isAlways(inclusion.getValueInclusion()) && isAlways(inclusion.getContentInclusion());
+    }
+
+    private static boolean isAlways(JsonInclude.Include include) {
+        return include == JsonInclude.Include.ALWAYS || include == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    private void write(Object object) throws IOException {
+        if (!writeRecords || !(object instanceof Record)) {
+            objectWriter.writeValue(generator, object);
+        } else {
+            writeRecord((Record) object);
+        }
+    }
+
+    private void writeRecord(Record record) throws IOException {
+        SerializableString[] names = fieldNames.get(record.getSchema());
+        if (names == null) {
+            names = new SerializableString[record.size()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = new SerializedString(record.getSchema().nameOf(i));
+            }
+            fieldNames.put(record.getSchema(), names);
+        }
+        generator.writeStartObject();
+        for (int i = 0; i < names.length; i++) {
+            generator.writeFieldName(names[i]);
+            writeNested(record.get(i));
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeNested(Object object) throws IOException {
+        if (object == null) {
+            generator.writeNull();
+        } else if (object instanceof String) {
+            generator.writeString((String) object);
+        } else if (object instanceof Integer || object instanceof Short || object instanceof Byte) {
+            generator.writeNumber(((Number) object).intValue());
+        } else if (object instanceof Long) {
+            generator.writeNumber((Long) object);
+        } else if (object instanceof Double) {
+            generator.writeNumber((Double) object);
+        } else if (object instanceof Float) {
+            generator.writeNumber((Float) object);
+        } else if (object instanceof Boolean) {
+            generator.writeBoolean((Boolean) object);
+        } else if (object instanceof Record) {
+            writeRecord((Record) object);
+        } else if (object.getClass() == ArrayList.class) {
+            List<?> list = (List<?>) object;
+            generator.writeStartArray(list.size());
+            for (int i = 0; i < list.size(); i++) {
+                writeNested(list.get(i));
+            }
+            generator.writeEndArray();
+        } else {
+            objectWriter.writeValue(generator, object);
+        }
+    }
+
+    /**
+     * Growable character buffer JSON generator writes into, reused between evaluations.
+     */
+    private static final class JsonBuffer extends Writer implements CharSequence {
+
+        private static final int INITIAL_CAPACITY = 256;
+
+        private char[] chars = new char[INITIAL_CAPACITY];
+        private byte[] bytes = new byte[0];
+        private int size;
+
+        void reset() {
+            size = 0;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            if (bytes.length < size * 3) {
+                bytes = new byte[Math.max(size * 3, INITIAL_CAPACITY)];
+            }
+            int length = 0;
+            for (int i = 0; i < size; i++) {
+                char c = chars[i];
+                if (c < 0x80) {
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[length++] = (byte) (0xC0 | (c >> 6));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < size && Character.isLowSurrogate(chars[i + 1])) {
+                    int codePoint = Character.toCodePoint(c, chars[++i]);
+                    bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    bytes[length++] = '?';
+                } else {
+                    bytes[length++] = (byte) (0xE0 | (c >> 12));
+                    bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            out.write(bytes, 0, length);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            if (chars.length - size < len) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, size + len));
+            }
+            System.arraycopy(cbuf, off, chars, size, len);
+            size += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int length() {
+            return size;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", length: " + size);
+            }
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > size || start > end) {
+                throw new IndexOutOfBoundsException("Start: " + start + ", end: " + end + ", length: " + size);
+            }
+            return new String(chars, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, size);
+        }
+    }
 }
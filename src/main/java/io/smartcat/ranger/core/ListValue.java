@@ -11,6 +11,8 @@ import java.util.List;
  */
 public class ListValue<T> extends Value<List<T>> {
 
+    private static final long serialVersionUID = -5472752819213537038L;
+
     private final List<Value<T>> values;
 
     /**
@@ -33,6 +35,11 @@ public class ListValue<T> extends Value<List<T>> {
         }
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Collections.unmodifiableList(values);
+    }
+
     @Override
     protected void eval() {
         List<T> result = new ArrayList<>();
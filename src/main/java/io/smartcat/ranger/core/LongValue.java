@@ -0,0 +1,15 @@
+package io.smartcat.ranger.core;
+
+/**
+ * Value which can evaluate to primitive {@code long} without boxing. {@link #getAsLong()} follows same evaluation
+ * rules as {@link Value#get()}, both methods return the same value until value is reset.
+ */
+public interface LongValue {
+
+    /**
+     * Returns a value as primitive {@code long}.
+     *
+     * @return A value as primitive {@code long}.
+     */
+    long getAsLong();
+}
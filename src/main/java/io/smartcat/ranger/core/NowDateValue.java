@@ -7,6 +7,8 @@ import java.util.Date;
  */
 public class NowDateValue extends Value<Date> {
 
+    private static final long serialVersionUID = 1084360550897385399L;
+
     @Override
     public void eval() {
         val = new Date();
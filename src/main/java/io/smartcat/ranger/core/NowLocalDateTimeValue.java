@@ -6,6 +6,8 @@ import java.time.LocalDateTime;
  */
 public class NowLocalDateTimeValue extends Value<LocalDateTime> {
 
+    private static final long serialVersionUID = 3772229347072371482L;
+
     @Override
     public void eval() {
         val = LocalDateTime.now();
@@ -7,6 +7,8 @@ import java.time.LocalDate;
  */
 public class NowLocalDateValue extends Value<LocalDate> {
 
+    private static final long serialVersionUID = -6540888480344069678L;
+
     @Override
     public void eval() {
         val = LocalDate.now();
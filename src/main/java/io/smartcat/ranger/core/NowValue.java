@@ -5,6 +5,8 @@ package io.smartcat.ranger.core;
  */
 public class NowValue extends Value<Long> {
 
+    private static final long serialVersionUID = 8472175542668976661L;
+
     @Override
     public void eval() {
         val = System.currentTimeMillis();
@@ -5,4 +5,5 @@ package io.smartcat.ranger.core;
  */
 public class NullValue extends Value<Object> {
 
+    private static final long serialVersionUID = -397441000623857106L;
 }
@@ -0,0 +1,211 @@
+package io.smartcat.ranger.core;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.impl.FieldProperty;
+import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
+import com.fasterxml.jackson.databind.introspect.AnnotatedWithParams;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Creates objects of specified type out of {@link Record records} the same way
+ * {@link ObjectMapper#convertValue(Object, Class)} would, without converting whole record to JSON tokens and back.
+ * Properties are resolved once per {@link RecordSchema} using bean deserializer of the object mapper, so naming
+ * strategy, annotations and mix-ins are respected. Object is created through its default constructor and string and
+ * primitive values whose type matches property type are set through method handles of setters and fields. Other
+ * values (nested objects, collections, values which need coercion, nulls) are deserialized by Jackson property by
+ * property. Types which are not plain beans (creators, builders, object identities, polymorphic properties), values
+ * which are not records and records with fields unknown to the type are converted by the object mapper.
+ *
+ * @param <T> Type of objects to create.
+ */
+final class PojoMaterializer<T> {
+
+    private static final String STANDARD_DESERIALIZERS = "com.fasterxml.jackson.databind.deser.std.";
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private final ObjectMapper objectMapper;
+    private final Class<T> objectType;
+    private final BeanDeserializer deserializer;
+    private final MethodHandle constructor;
+    private RecordSchema schema;
+    private PropertyBinding[] bindings;
+
+    /**
+     * Constructs materializer of specified <code>objectType</code> which uses specified <code>objectMapper</code>.
+     *
+     * @param objectType Type of objects to create.
+     * @param objectMapper Object mapper whose configuration is respected.
+     */
+    PojoMaterializer(Class<T> objectType, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.objectType = objectType;
+        BeanDeserializer beanDeserializer = findBeanDeserializer();
+        this.constructor = beanDeserializer != null ? findConstructor(beanDeserializer) : null;
+        this.deserializer = constructor != null ? beanDeserializer : null;
+    }
+
+    /**
+     * Creates object out of specified <code>value</code>.
+     *
+     * @param value The value.
+     * @return Created object.
+     */
+    T materialize(Object value) {
+        if (deserializer == null || !(value instanceof Record)) {
+            return objectMapper.convertValue(value, objectType);
+        }
+        Record record = (Record) value;
+        if (record.getSchema() != schema) {
+            bind(record.getSchema());
+        }
+        if (bindings == null) {
+            return objectMapper.convertValue(value, objectType);
+        }
+        try {
+            Object object = constructor.invokeExact();
+            for (int i = 0; i < bindings.length; i++) {
+                bindings[i].set(object, record.get(i));
+            }
+            return objectType.cast(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private BeanDeserializer findBeanDeserializer() {
+        if (objectMapper.getInjectableValues() != null || Modifier.isAbstract(objectType.getModifiers())) {
+            return null;
+        }
+        try {
+            JsonDeserializer<Object> rootDeserializer = newContext(objectMapper, null)
+                    .findRootValueDeserializer(objectMapper.constructType(objectType));
+            if (rootDeserializer.getClass() != BeanDeserializer.class) {
+                return null;
+            }
+            BeanDeserializer beanDeserializer = (BeanDeserializer) rootDeserializer;
+            if (beanDeserializer.getObjectIdReader() != null || beanDeserializer.creatorProperties().hasNext()
+                    || !beanDeserializer.getValueInstantiator().canCreateUsingDefault()) {
+                return null;
+            }
+            return beanDeserializer;
+        } catch (IOException | RuntimeException e) {
+            // conversion will report the problem
+            return null;
+        }
+    }
+
+    private MethodHandle findConstructor(BeanDeserializer beanDeserializer) {
+        AnnotatedWithParams creator = beanDeserializer.getValueInstantiator().getDefaultCreator();
+        if (creator == null || !(creator.getAnnotated() instanceof Constructor)) {
+            return null;
+        }
+        try {
+            Constructor<?> defaultConstructor = (Constructor<?>) creator.getAnnotated();
+            defaultConstructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(defaultConstructor).asType(CONSTRUCTOR_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void bind(RecordSchema recordSchema) {
+        schema = recordSchema;
+        bindings = new PropertyBinding[recordSchema.size()];
+        for (int i = 0; i < bindings.length; i++) {
+            SettableBeanProperty property = deserializer.findProperty(recordSchema.nameOf(i));
+            if (property == null || property.hasValueTypeDeserializer()) {
+                bindings = null;
+                return;
+            }
+            bindings[i] = new PropertyBinding(objectMapper, property);
+        }
+    }
+
+    private static DefaultDeserializationContext newContext(ObjectMapper objectMapper, JsonParser parser) {
+        return ((DefaultDeserializationContext) objectMapper.getDeserializationContext())
+                .createInstance(objectMapper.getDeserializationConfig(), parser, objectMapper.getInjectableValues());
+    }
+
+    private static MethodHandle findSetter(SettableBeanProperty property) {
+        if (!isStandard(property.getValueDeserializer())) {
+            return null;
+        }
+        try {
+            if (property.getClass() == MethodProperty.class) {
+                Method method = (Method) property.getMember().getMember();
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method).asType(SETTER_TYPE);
+            }
+            if (property.getClass() == FieldProperty.class) {
+                Field field = (Field) property.getMember().getMember();
+                field.setAccessible(true);
+                return MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            // property is set by Jackson
+        }
+        return null;
+    }
+
+    private static boolean isStandard(JsonDeserializer<?> deserializer) {
+        return deserializer != null && deserializer.getClass().getName().startsWith(STANDARD_DESERIALIZERS);
+    }
+
+    private static Class<?> directType(Class<?> type) {
+        if (type == String.class) {
+            return type;
+        }
+        if (type.isPrimitive()) {
+            return MethodType.methodType(type).wrap().returnType();
+        }
+        // wrapper of a primitive type
+        return MethodType.methodType(type).unwrap().returnType() != type ? type : null;
+    }
+
+    /**
+     * Sets value of a single property.
+     */
+    private static final class PropertyBinding {
+
+        private final ObjectMapper objectMapper;
+        private final SettableBeanProperty property;
+        private final MethodHandle setter;
+        private final Class<?> directType;
+
+        PropertyBinding(ObjectMapper objectMapper, SettableBeanProperty property) {
+            this.objectMapper = objectMapper;
+            this.property = property;
+            this.directType = directType(property.getType().getRawClass());
+            this.setter = directType != null ? findSetter(property) : null;
+        }
+
+        void set(Object object, Object value) throws Throwable {
+            if (setter != null && value != null && value.getClass() == directType) {
+                setter.invokeExact(object, value);
+            } else {
+                TokenBuffer tokens = new TokenBuffer(objectMapper, false);
+                objectMapper.writeValue(tokens, value);
+                JsonParser parser = tokens.asParser();
+                parser.nextToken();
+                property.deserializeAndSet(parser, newContext(objectMapper, parser), object);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.smartcat.ranger.core;
+
+/**
+ * Evaluates values to primitives. Values implementing {@link IntValue}, {@link LongValue} or {@link DoubleValue} are
+ * evaluated without boxing, proxies are evaluated through their delegates and all other values are expected to
+ * evaluate to {@link Number}. Conversions follow conversion rules of {@link Number} methods.
+ */
+public final class PrimitiveValues {
+
+    private PrimitiveValues() {
+    }
+
+    /**
+     * Evaluates specified <code>value</code> to {@code byte}.
+     *
+     * @param value Value to evaluate.
+     * @return Value converted to {@code byte}.
+     */
+    public static byte byteValue(Value<?> value) {
+        return (byte) intValue(value);
+    }
+
+    /**
+     * Evaluates specified <code>value</code> to {@code short}.
+     *
+     * @param value Value to evaluate.
+     * @return Value converted to {@code short}.
+     */
+    public static short shortValue(Value<?> value) {
+        return (short) intValue(value);
+    }
+
+    /**
+     * Evaluates specified <code>value</code> to {@code int}.
+     *
+     * @param value Value to evaluate.
+     * @return Value converted to {@code int}.
+     */
+    public static int intValue(Value<?> value) {
+        Value<?> target = unwrap(value);
+        if (target instanceof IntValue) {
+            return ((IntValue) target).getAsInt();
+        }
+        if (target instanceof LongValue) {
+            return (int) ((LongValue) target).getAsLong();
+        }
+        if (target instanceof DoubleValue) {
+            return (int) ((DoubleValue) target).getAsDouble();
+        }
+        return ((Number) target.get()).intValue();
+    }
+
+    /**
+     * Evaluates specified <code>value</code> to {@code long}.
+     *
+     * @param value Value to evaluate.
+     * @return Value converted to {@code long}.
+     */
+    public static long longValue(Value<?> value) {
+        Value<?> target = unwrap(value);
+        if (target instanceof LongValue) {
+            return ((LongValue) target).getAsLong();
+        }
+        if (target instanceof IntValue) {
+            return ((IntValue) target).getAsInt();
+        }
+        if (target instanceof DoubleValue) {
+            return (long) ((DoubleValue) target).getAsDouble();
+        }
+        return ((Number) target.get()).longValue();
+    }
+
+    /**
+     * Evaluates specified <code>value</code> to {@code float}.
+     *
+     * @param value Value to evaluate.
+     * @return Value converted to {@code float}.
+     */
+    public static float floatValue(Value<?> value) {
+        Value<?> target = unwrap(value);
+        if (target instanceof DoubleValue) {
+            return (float) ((DoubleValue) target).getAsDouble();
+        }
+        if (target instanceof IntValue) {
+            return ((IntValue) target).getAsInt();
+        }
+        if (target instanceof LongValue) {
+            return ((LongValue) target).getAsLong();
+        }
+        return ((Number) target.get()).floatValue();
+    }
+
+    /**
+     * Evaluates specified <code>value</code> to {@code double}.
+     *
+     * @param value Value to evaluate.
+     * @return Value converted to {@code double}.
+     */
+    public static double doubleValue(Value<?> value) {
+        Value<?> target = unwrap(value);
+        if (target instanceof DoubleValue) {
+            return ((DoubleValue) target).getAsDouble();
+        }
+        if (target instanceof IntValue) {
+            return ((IntValue) target).getAsInt();
+        }
+        if (target instanceof LongValue) {
+            return ((LongValue) target).getAsLong();
+        }
+        return ((Number) target.get()).doubleValue();
+    }
+
+    private static Value<?> unwrap(Value<?> value) {
+        Value<?> result = value;
+        while (result instanceof ValueProxy && ((ValueProxy<?>) result).getDelegate() != null) {
+            result = ((ValueProxy<?>) result).getDelegate();
+        }
+        return result;
+    }
+}
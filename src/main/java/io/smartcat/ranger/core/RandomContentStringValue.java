@@ -2,6 +2,7 @@ package io.smartcat.ranger.core;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -14,6 +15,8 @@ import io.smartcat.ranger.distribution.UniformDistribution;
  */
 public class RandomContentStringValue extends Value<String> {
 
+    private static final long serialVersionUID = 5035742396662657847L;
+
     private static final List<Range<Character>> DEFAULT_RANGES = Arrays.asList(new Range<Character>('a', 'z'),
             new Range<Character>('A', 'Z'), new Range<Character>('0', '9'));
 
@@ -63,6 +66,16 @@ public class RandomContentStringValue extends Value<String> {
         lengthValue.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Collections.singletonList(lengthValue);
+    }
+
+    @Override
+    public List<Distribution> getDistributions() {
+        return Collections.singletonList(distribution);
+    }
+
     @Override
     protected void eval() {
         int length = lengthValue.get();
@@ -14,6 +14,8 @@ import java.util.List;
  */
 public class RandomLengthListValue<T> extends Value<List<T>> {
 
+    private static final long serialVersionUID = -1143724763481241998L;
+
     private final int minLength;
     private final int maxLength;
     private Value<T> elementGenerator;
@@ -53,6 +55,16 @@ public class RandomLengthListValue<T> extends Value<List<T>> {
         super.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Collections.singletonList(elementGenerator);
+    }
+
+    @Override
+    public List<Distribution> getDistributions() {
+        return Collections.singletonList(distribution);
+    }
+
     @Override
     protected void eval() {
         int randomLength = distribution.nextInt(minLength, maxLength);
@@ -1,11 +1,15 @@
 package io.smartcat.ranger.core;
 
+import java.io.Serializable;
+
 /**
  * Represents range of values.
  *
  * @param <T> Type of values.
  */
-public class Range<T extends Comparable<T>> {
+public class Range<T extends Comparable<T>> implements Serializable {
+
+    private static final long serialVersionUID = 2530713806284394446L;
 
     private final T beginning;
     private final T end;
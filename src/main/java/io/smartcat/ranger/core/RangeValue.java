@@ -1,5 +1,8 @@
 package io.smartcat.ranger.core;
 
+import java.util.Collections;
+import java.util.List;
+
 import io.smartcat.ranger.distribution.Distribution;
 import io.smartcat.ranger.distribution.UniformDistribution;
 
@@ -8,7 +11,9 @@ import io.smartcat.ranger.distribution.UniformDistribution;
  *
  * @param <T> Type this value would evaluate to.
  */
-public abstract class RangeValue<T extends Comparable<T>> extends Value<T> {
+public abstract class RangeValue<T extends Comparable<T>> extends Value<T> implements StatefulValue {
+
+    private static final long serialVersionUID = 6664175651138353792L;
 
     /**
      * Beginning value of the range.
@@ -30,6 +35,16 @@ public abstract class RangeValue<T extends Comparable<T>> extends Value<T> {
      */
     protected final Distribution distribution;
 
+    /**
+     * Indicates whether beginning of the range is already used as edge case.
+     */
+    protected boolean beginningEdgeCaseUsed = false;
+
+    /**
+     * Indicates whether end of the range is already used as edge case.
+     */
+    protected boolean endEdgeCaseUsed = false;
+
     /**
      * Constructs range value with specified <code>range</code>. <code>useEdgeCases</code> is set to
      * <code>true</code> and <code>distribution</code> is set to {@link UniformDistribution}.
@@ -75,6 +90,23 @@ public abstract class RangeValue<T extends Comparable<T>> extends Value<T> {
         this.distribution = distribution;
     }
 
+    @Override
+    public List<Distribution> getDistributions() {
+        return Collections.singletonList(distribution);
+    }
+
+    @Override
+    public boolean isStateful() {
+        return useEdgeCases;
+    }
+
+    @Override
+    public void position(long index) {
+        beginningEdgeCaseUsed = index > 0;
+        endEdgeCaseUsed = index > 1;
+        evaluated = false;
+    }
+
     /**
      * Default value for <code>useEdgeCases</code> property.
      *
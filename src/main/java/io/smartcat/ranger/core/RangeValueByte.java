@@ -7,8 +7,7 @@ import io.smartcat.ranger.distribution.Distribution;
  */
 public class RangeValueByte extends RangeValue<Byte> {
 
-    private boolean beginningEdgeCaseUsed = false;
-    private boolean endEdgeCaseUsed = false;
+    private static final long serialVersionUID = -2539070848487686859L;
 
     /**
      * Constructs range with specified <code>range</code>.
@@ -9,8 +9,7 @@ import io.smartcat.ranger.distribution.Distribution;
  */
 public class RangeValueDate extends RangeValue<Date> {
 
-    private boolean beginningEdgeCaseUsed = false;
-    private boolean endEdgeCaseUsed = false;
+    private static final long serialVersionUID = 6829337311118294091L;
 
     /**
      * Constructs range with specified <code>range</code>.
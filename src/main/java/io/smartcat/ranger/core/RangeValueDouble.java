@@ -5,15 +5,16 @@ import io.smartcat.ranger.distribution.Distribution;
 /**
  * Randomly generates {@link Double} value within specified range.
  */
-public class RangeValueDouble extends RangeValue<Double> {
+public class RangeValueDouble extends RangeValue<Double> implements DoubleValue {
+
+    private static final long serialVersionUID = 6970277369928628695L;
 
     /**
      * Epsilon value used for edge cases.
      */
     public static final Double EPSILON = 1E-11;
 
-    private boolean beginningEdgeCaseUsed = false;
-    private boolean endEdgeCaseUsed = false;
+    private double primitiveVal;
 
     /**
      * Constructs range with specified <code>range</code>.
@@ -45,18 +46,33 @@ public class RangeValueDouble extends RangeValue<Double> {
         super(range, useEdgeCases, distribution);
     }
 
+    @Override
+    public Double get() {
+        ensureEvaluated();
+        if (val == null || Double.compare(val, primitiveVal) != 0) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public double getAsDouble() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
         if (useEdgeCases && !beginningEdgeCaseUsed) {
             beginningEdgeCaseUsed = true;
-            val = beginning;
+            primitiveVal = beginning;
             return;
         }
         if (useEdgeCases && !endEdgeCaseUsed) {
             endEdgeCaseUsed = true;
-            val = end - EPSILON;
+            primitiveVal = end - EPSILON;
             return;
         }
-        val = distribution.nextDouble(beginning, end);
+        primitiveVal = distribution.nextDouble(beginning, end);
     }
 }
@@ -7,14 +7,13 @@ import io.smartcat.ranger.distribution.Distribution;
  */
 public class RangeValueFloat extends RangeValue<Float> {
 
+    private static final long serialVersionUID = -5864029927815039405L;
+
     /**
      * Epsilon value used for edge cases.
      */
     public static final Float EPSILON = 1E-5f;
 
-    private boolean beginningEdgeCaseUsed = false;
-    private boolean endEdgeCaseUsed = false;
-
     /**
      * Constructs range with specified <code>range</code>.
      *
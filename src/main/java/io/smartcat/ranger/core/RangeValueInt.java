@@ -5,10 +5,11 @@ import io.smartcat.ranger.distribution.Distribution;
 /**
  * Randomly generates {@link Integer} value within specified range.
  */
-public class RangeValueInt extends RangeValue<Integer> {
+public class RangeValueInt extends RangeValue<Integer> implements IntValue {
 
-    private boolean beginningEdgeCaseUsed = false;
-    private boolean endEdgeCaseUsed = false;
+    private static final long serialVersionUID = -6983127050294000580L;
+
+    private int primitiveVal;
 
     /**
      * Constructs range with specified <code>range</code>.
@@ -40,18 +41,33 @@ public class RangeValueInt extends RangeValue<Integer> {
         super(range, useEdgeCases, distribution);
     }
 
+    @Override
+    public Integer get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
         if (useEdgeCases && !beginningEdgeCaseUsed) {
             beginningEdgeCaseUsed = true;
-            val = beginning;
+            primitiveVal = beginning;
             return;
         }
         if (useEdgeCases && !endEdgeCaseUsed) {
             endEdgeCaseUsed = true;
-            val = end - 1;
+            primitiveVal = end - 1;
             return;
         }
-        val = distribution.nextInt(beginning, end);
+        primitiveVal = distribution.nextInt(beginning, end);
     }
 }
@@ -1,6 +1,8 @@
 package io.smartcat.ranger.core;
 
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
 
 import io.smartcat.ranger.distribution.Distribution;
 import io.smartcat.ranger.distribution.UniformDistribution;
@@ -8,7 +10,9 @@ import io.smartcat.ranger.distribution.UniformDistribution;
 /**
  * Randomly generates {@link LocalDate} value within specified range.
  */
-public class RangeValueLocalDate extends Value<LocalDate> {
+public class RangeValueLocalDate extends Value<LocalDate> implements StatefulValue {
+
+    private static final long serialVersionUID = 8601929183329176241L;
 
     private final LocalDate beginning;
     private final LocalDate end;
@@ -69,6 +73,23 @@ public class RangeValueLocalDate extends Value<LocalDate> {
         this.distribution = distribution;
     }
 
+    @Override
+    public List<Distribution> getDistributions() {
+        return Collections.singletonList(distribution);
+    }
+
+    @Override
+    public boolean isStateful() {
+        return useEdgeCases;
+    }
+
+    @Override
+    public void position(long index) {
+        beginningEdgeCaseUsed = index > 0;
+        endEdgeCaseUsed = index > 1;
+        evaluated = false;
+    }
+
     @Override
     protected void eval() {
         if (useEdgeCases && !beginningEdgeCaseUsed) {
@@ -2,6 +2,8 @@ package io.smartcat.ranger.core;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
 
 import io.smartcat.ranger.distribution.Distribution;
 import io.smartcat.ranger.distribution.UniformDistribution;
@@ -9,7 +11,9 @@ import io.smartcat.ranger.distribution.UniformDistribution;
 /**
  * Randomly generates {@link LocalDateTime} value within specified range.
  */
-public class RangeValueLocalDateTime extends Value<LocalDateTime> {
+public class RangeValueLocalDateTime extends Value<LocalDateTime> implements StatefulValue {
+
+    private static final long serialVersionUID = -5837008990274848790L;
 
     private final LocalDateTime beginning;
     private final LocalDateTime end;
@@ -71,6 +75,23 @@ public class RangeValueLocalDateTime extends Value<LocalDateTime> {
         this.distribution = distribution;
     }
 
+    @Override
+    public List<Distribution> getDistributions() {
+        return Collections.singletonList(distribution);
+    }
+
+    @Override
+    public boolean isStateful() {
+        return useEdgeCases;
+    }
+
+    @Override
+    public void position(long index) {
+        beginningEdgeCaseUsed = index > 0;
+        endEdgeCaseUsed = index > 1;
+        evaluated = false;
+    }
+
     @Override
     protected void eval() {
         // Due to simplicity, nano seconds are not handled
@@ -5,10 +5,11 @@ import io.smartcat.ranger.distribution.Distribution;
 /**
  * Randomly generates long value within specified range.
  */
-public class RangeValueLong extends RangeValue<Long> {
+public class RangeValueLong extends RangeValue<Long> implements LongValue {
 
-    private boolean beginningEdgeCaseUsed = false;
-    private boolean endEdgeCaseUsed = false;
+    private static final long serialVersionUID = -4721446770761776440L;
+
+    private long primitiveVal;
 
     /**
      * Constructs range with specified <code>range</code>.
@@ -40,18 +41,33 @@ public class RangeValueLong extends RangeValue<Long> {
         super(range, useEdgeCases, distribution);
     }
 
+    @Override
+    public Long get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public long getAsLong() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
         if (useEdgeCases && !beginningEdgeCaseUsed) {
             beginningEdgeCaseUsed = true;
-            val = beginning;
+            primitiveVal = beginning;
             return;
         }
         if (useEdgeCases && !endEdgeCaseUsed) {
             endEdgeCaseUsed = true;
-            val = end - 1;
+            primitiveVal = end - 1;
             return;
         }
-        val = distribution.nextLong(beginning, end);
+        primitiveVal = distribution.nextLong(beginning, end);
     }
 }
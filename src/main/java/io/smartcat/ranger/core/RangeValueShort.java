@@ -7,8 +7,7 @@ import io.smartcat.ranger.distribution.Distribution;
  */
 public class RangeValueShort extends RangeValue<Short> {
 
-    private boolean beginningEdgeCaseUsed = false;
-    private boolean endEdgeCaseUsed = false;
+    private static final long serialVersionUID = -4325464953056539627L;
 
     /**
      * Constructs range with specified <code>range</code>.
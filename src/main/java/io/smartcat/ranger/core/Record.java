@@ -0,0 +1,116 @@
+package io.smartcat.ranger.core;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Unmodifiable {@link Map} view of field values stored in an array, indexed by slots of {@link RecordSchema}. Fields
+ * are iterated in schema order. Values can be read by slot without hashing field name.
+ */
+public class Record extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = 5893358766151950453L;
+
+    private final RecordSchema schema;
+    private final Object[] slots;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    /**
+     * Constructs record with specified <code>schema</code> backed by specified <code>slots</code>. Changes to the
+     * array are visible through the record.
+     *
+     * @param schema Schema of the record.
+     * @param slots Array holding field values, its length must be equal to schema size.
+     */
+    public Record(RecordSchema schema, Object[] slots) {
+        if (schema == null) {
+            throw new IllegalArgumentException("Schema cannot be null.");
+        }
+        if (slots == null || slots.length != schema.size()) {
+            throw new IllegalArgumentException("Slots array must have length equal to schema size.");
+        }
+        this.schema = schema;
+        this.slots = slots;
+    }
+
+    /**
+     * Returns schema of this record.
+     *
+     * @return Schema of this record.
+     */
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Returns value of the field at specified <code>slot</code>.
+     *
+     * @param slot Slot of the field.
+     * @return Value of the field.
+     */
+    public Object get(int slot) {
+        return slots[slot];
+    }
+
+    @Override
+    public Object get(Object key) {
+        int slot = schema.slotOf(key);
+        return slot >= 0 ? slots[slot] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return schema.slotOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return slots.length;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Entries of the record, created on iteration.
+     */
+    private class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new Iterator<Map.Entry<String, Object>>() {
+
+                private int slot = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return slot < slots.length;
+                }
+
+                @Override
+                public Map.Entry<String, Object> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int current = slot++;
+                    return new SimpleImmutableEntry<>(schema.nameOf(current), slots[current]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return slots.length;
+        }
+    }
+}
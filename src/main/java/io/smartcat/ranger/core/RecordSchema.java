@@ -0,0 +1,77 @@
+package io.smartcat.ranger.core;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordered set of field names of a {@link Record}, each name is resolved to integer slot once, when schema is created.
+ */
+public class RecordSchema implements Serializable {
+
+    private static final long serialVersionUID = -6404862302853770245L;
+
+    private final String[] names;
+    private final Map<String, Integer> slots;
+
+    /**
+     * Constructs record schema with specified field <code>names</code>. Slots are assigned in iteration order.
+     *
+     * @param names Field names, must be unique.
+     */
+    public RecordSchema(Collection<String> names) {
+        if (names == null) {
+            throw new IllegalArgumentException("Names cannot be null.");
+        }
+        this.names = names.toArray(new String[names.size()]);
+        this.slots = new HashMap<>();
+        for (int i = 0; i < this.names.length; i++) {
+            if (slots.put(this.names[i], i) != null) {
+                throw new IllegalArgumentException("Duplicate field name: " + this.names[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns number of fields.
+     *
+     * @return Number of fields.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns slot of the field with specified <code>name</code>.
+     *
+     * @param name Name of the field.
+     * @return Slot of the field or -1 if schema does not contain field with given name.
+     */
+    public int slotOf(Object name) {
+        Integer slot = slots.get(name);
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * Returns name of the field at specified <code>slot</code>.
+     *
+     * @param slot Slot of the field.
+     * @return Name of the field.
+     */
+    public String nameOf(int slot) {
+        return names[slot];
+    }
+
+    /**
+     * Returns field names in slot order.
+     *
+     * @return Unmodifiable list of field names.
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+}
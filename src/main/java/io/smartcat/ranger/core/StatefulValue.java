@@ -0,0 +1,41 @@
+package io.smartcat.ranger.core;
+
+/**
+ * Value which keeps state between evaluations, so that value it evaluates to depends on number of its previous
+ * evaluations, such as circular values and range values with edge cases. Seeded generator positions such values at
+ * index of each object before generating it (see {@link #position(long)}), so that generated object depends only on
+ * its index and any object can be generated without generating objects before it.
+ */
+public interface StatefulValue {
+
+    /**
+     * Indicates whether this value keeps state between evaluations. Value which is configured not to keep state, for
+     * example range value without edge cases, does not need to be positioned.
+     *
+     * @return True if value keeps state between evaluations, otherwise false.
+     */
+    default boolean isStateful() {
+        return true;
+    }
+
+    /**
+     * Indicates whether state of this value can be derived from object index with {@link #position(long)}. State of
+     * values which cannot be positioned, such as exact weighted values and CSV values, depends on all previous
+     * evaluations, so objects have to be generated in order.
+     *
+     * @return True if value can be positioned, otherwise false.
+     */
+    default boolean isPositionable() {
+        return true;
+    }
+
+    /**
+     * Sets state of this value to the state it would have after being evaluated once for each of <code>index</code>
+     * objects before. Value which is evaluated multiple times for one object, for example as element of random length
+     * list, continues from that state.
+     *
+     * @param index Index of the object which is generated next.
+     * @throws UnsupportedOperationException if value cannot be positioned.
+     */
+    void position(long index);
+}
@@ -1,5 +1,6 @@
 package io.smartcat.ranger.core;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.slf4j.helpers.MessageFormatter;
@@ -9,6 +10,8 @@ import org.slf4j.helpers.MessageFormatter;
  */
 public class StringTransformer extends Transformer<String> {
 
+    private static final long serialVersionUID = -6025416380126201010L;
+
     private final String format;
     private final List<Value<?>> values;
     private final Object[] calculatedValues;
@@ -38,6 +41,11 @@ public class StringTransformer extends Transformer<String> {
         values.forEach(v -> v.reset());
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Collections.unmodifiableList(values);
+    }
+
     @Override
     protected void eval() {
         calculateValues();
@@ -1,20 +1,27 @@
 package io.smartcat.ranger.core;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Creates a formatted string using a specified time format and long value representing time in epoch milliseconds.
  */
 public class TimeFormatTransformer extends Transformer<String> {
 
+    private static final long serialVersionUID = -2170564520932581325L;
+
+    private final String format;
     private final Value<?> value;
-    private final DateTimeFormatter dateTimeFormatter;
+    private transient DateTimeFormatter dateTimeFormatter;
     private final SimpleDateFormat dateFormater;
 
     /**
@@ -33,6 +40,7 @@ public class TimeFormatTransformer extends Transformer<String> {
         if (value == null) {
             throw new IllegalArgumentException("Value cannot be null.");
         }
+        this.format = format;
         this.value = value;
         this.dateTimeFormatter = DateTimeFormatter.ofPattern(format);
         this.dateFormater = new SimpleDateFormat(format);
@@ -44,6 +52,11 @@ public class TimeFormatTransformer extends Transformer<String> {
         value.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Collections.singletonList(value);
+    }
+
     @Override
     protected void eval() {
         Object generatedValue = value.get();
@@ -65,4 +78,9 @@ public class TimeFormatTransformer extends Transformer<String> {
             val = date.format(dateTimeFormatter);
         }
     }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        dateTimeFormatter = DateTimeFormatter.ofPattern(format);
+    }
 }
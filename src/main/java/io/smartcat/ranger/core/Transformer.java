@@ -7,4 +7,6 @@ package io.smartcat.ranger.core;
  */
 public abstract class Transformer<T> extends Value<T> {
 
+    private static final long serialVersionUID = 5388983480372233851L;
+
 }
@@ -1,17 +1,29 @@
 package io.smartcat.ranger.core;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.List;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
- * Converts value to specified type.
+ * Converts value to specified type. Records produced by composite values are converted by binding their fields to
+ * setters and fields of the type once, other values are converted with {@link ObjectMapper#convertValue(Object,
+ * Class)}. Result is same in both cases.
  *
  * @param <T> Type to which to convert value.
  */
 public class TypeConverterValue<T> extends Transformer<T> {
 
-    private final Class<T> objectType;
+    private static final long serialVersionUID = 128460280668558127L;
+
+    private transient Class<T> objectType;
     private final Value<?> value;
-    private final ObjectMapper objectMapper;
+    private transient ObjectMapper objectMapper;
+    private transient PojoMaterializer<T> materializer;
+    private transient T converted;
 
     /**
      * Constructs {@link TypeConverterValue} with specified <code>objectType</code> and <code>value</code>. New default
@@ -47,15 +59,65 @@ public class TypeConverterValue<T> extends Transformer<T> {
         this.objectMapper = objectMapper;
     }
 
+    /**
+     * Returns type to which value is converted.
+     *
+     * @return Type to which value is converted.
+     */
+    public Class<T> getObjectType() {
+        return objectType;
+    }
+
+    @Override
+    public T get() {
+        ensureEvaluated();
+        return converted;
+    }
+
     @Override
     public void reset() {
         super.reset();
         value.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Collections.singletonList(value);
+    }
+
     @Override
     protected void eval() {
-        Object object = value.get();
-        val = objectMapper.convertValue(object, objectType);
+        if (materializer == null) {
+            materializer = new PojoMaterializer<>(objectType, objectMapper);
+        }
+        converted = materializer.materialize(value.get());
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        // type is written by name, converted object is not written at all and mapper is written without deserializers
+        // it cached for the type, so that classes of the type are not resolved as serialized classes (see
+        // GeneratorSnapshot)
+        out.writeUTF(objectType.getName());
+        out.writeObject(copyWithoutCaches(objectMapper));
+    }
+
+    private static ObjectMapper copyWithoutCaches(ObjectMapper objectMapper) {
+        try {
+            return objectMapper.copy();
+        } catch (IllegalStateException e) {
+            // subclass of object mapper which does not override copy
+            return objectMapper;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        objectType = (Class<T>) Class.forName(in.readUTF(), false,
+                loader != null ? loader : TypeConverterValue.class.getClassLoader());
+        objectMapper = (ObjectMapper) in.readObject();
+        evaluated = false;
     }
 }
@@ -1,14 +1,41 @@
 package io.smartcat.ranger.core;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
+import io.smartcat.ranger.distribution.Distribution;
+import io.smartcat.ranger.distribution.UniformDistribution;
+
 /**
- * Generates random UUID.
+ * Generates random UUID. Generated UUIDs are version 4 UUIDs whose random bits are taken from the distribution.
  */
 public class UUIDValue extends Value<String> {
 
+    private static final long serialVersionUID = 1168343744668040886L;
+
+    private final Distribution distribution;
+
+    /**
+     * Constructs UUID value, <code>distribution</code> is set to Uniform distribution.
+     */
+    public UUIDValue() {
+        this.distribution = new UniformDistribution();
+    }
+
+    @Override
+    public List<Distribution> getDistributions() {
+        return Collections.singletonList(distribution);
+    }
+
     @Override
     public void eval() {
-        val = UUID.randomUUID().toString();
+        long mostSigBits = (nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long leastSigBits = (nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        val = new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    private long nextLong() {
+        return (distribution.nextLong(1L << 32) << 32) | distribution.nextLong(1L << 32);
     }
 }
@@ -1,11 +1,20 @@
 package io.smartcat.ranger.core;
 
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+import io.smartcat.ranger.distribution.Distribution;
+
 /**
- * Root of type hierarchy. It can evaluate to a value.
+ * Root of type hierarchy. It can evaluate to a value. Values are serializable so that whole value graph can be copied,
+ * all objects value holds need to be serializable as well.
  *
  * @param <T> Type value would evaluate to.
  */
-public abstract class Value<T> {
+public abstract class Value<T> implements Serializable {
+
+    private static final long serialVersionUID = -6003389580339939370L;
 
     /**
      * Indicates whether value is evaluated or not.
@@ -17,26 +26,82 @@ public abstract class Value<T> {
      */
     protected T val;
 
+    private Epoch epoch;
+    private long evaluatedEpoch;
+
     /**
      * Returns a value depending on concrete implementation.
      *
      * @return A value depending on concrete implementation.
      */
     public T get() {
-        if (!evaluated) {
+        ensureEvaluated();
+        return val;
+    }
+
+    /**
+     * Evaluates value by invoking {@link #eval()} unless it is already evaluated. Used by values which keep evaluated
+     * value in a field other than {@link #val}.
+     */
+    protected void ensureEvaluated() {
+        if (!evaluated || (epoch != null && evaluatedEpoch != epoch.get())) {
             eval();
             evaluated = true;
+            if (epoch != null) {
+                evaluatedEpoch = epoch.get();
+            }
         }
-        return val;
     }
 
     /**
-     * Enforces reevaluation of value for next {@link #get()} invocation.
+     * Enforces reevaluation of value for next {@link #get()} invocation. Resets this value and values it depends on,
+     * values bound to an epoch are also reevaluated when epoch is advanced.
      */
     public void reset() {
         evaluated = false;
     }
 
+    /**
+     * Returns epoch this value is bound to.
+     *
+     * @return Epoch this value is bound to, or null if value is not bound to an epoch.
+     */
+    public Epoch getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Binds this value to specified <code>epoch</code>. Value will be reevaluated on next {@link #get()} invocation
+     * each time epoch is advanced.
+     *
+     * @param epoch Epoch to bind this value to.
+     */
+    public void setEpoch(Epoch epoch) {
+        if (epoch == null) {
+            throw new IllegalArgumentException("Epoch cannot be null.");
+        }
+        this.epoch = epoch;
+        this.evaluatedEpoch = epoch.get();
+    }
+
+    /**
+     * Returns values this value directly depends on. Used for traversal of the value graph.
+     *
+     * @return List of values this value directly depends on, never null.
+     */
+    public List<Value<?>> getChildren() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns distributions this value directly uses. Used for traversal of the value graph.
+     *
+     * @return List of distributions this value directly uses, never null.
+     */
+    public List<Distribution> getDistributions() {
+        return Collections.emptyList();
+    }
+
     /**
      * Evaluates {@link #val} variable.
      */
@@ -1,5 +1,8 @@
 package io.smartcat.ranger.core;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Proxy around value that can cache value and can reset cache.
  *
@@ -7,6 +10,8 @@ package io.smartcat.ranger.core;
  */
 public class ValueProxy<T> extends Value<T> {
 
+    private static final long serialVersionUID = 2849254493849094069L;
+
     private Value<T> delegate;
 
     /**
@@ -36,6 +41,15 @@ public class ValueProxy<T> extends Value<T> {
         this.delegate = delegate;
     }
 
+    /**
+     * Returns value this proxy delegates to.
+     *
+     * @return Value this proxy delegates to, or null if delegate is not set.
+     */
+    public Value<T> getDelegate() {
+        return delegate;
+    }
+
     @Override
     public void reset() {
         super.reset();
@@ -43,6 +57,11 @@ public class ValueProxy<T> extends Value<T> {
         delegate.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return delegate == null ? Collections.emptyList() : Collections.singletonList(delegate);
+    }
+
     @Override
     protected void eval() {
         checkDelegate();
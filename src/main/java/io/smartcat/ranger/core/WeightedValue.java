@@ -1,32 +1,68 @@
 package io.smartcat.ranger.core;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import org.apache.commons.math3.distribution.EnumeratedDistribution;
-import org.apache.commons.math3.util.Pair;
+import io.smartcat.ranger.distribution.Distribution;
+import io.smartcat.ranger.distribution.UniformDistribution;
 
 /**
- * Randomly selects one of the provided values following the provided weights.
+ * Randomly selects one of the provided values following the provided weights. Sampling uses Vose's alias method, so
+ * each selection takes constant time regardless of the number of values. When all values are constants, they are
+ * kept in a {@link ConstantPool} and value has no children.
  *
  * @param <T> Type this value would evaluate to.
  */
 public class WeightedValue<T> extends Value<T> {
 
-    private final EnumeratedDistribution<Value<T>> enumeratedDistribution;
+    private static final long serialVersionUID = 8713442407447457781L;
+
     private final List<Value<T>> values;
+    private final ConstantPool<T> constants;
+    private final double[] probabilities;
+    private final int[] aliases;
+    private final Distribution distribution;
 
     /**
-     * Constructs discrete weighted value with specified <code>values</code> and <code>weights</code>.
+     * Constructs discrete weighted value with specified <code>values</code> and <code>weights</code>,
+     * <code>distribution</code> is set to Uniform distribution.
      *
      * @param weightedValuePairs List of values with their corresponding weights.
      */
     public WeightedValue(List<WeightedValuePair<T>> weightedValuePairs) {
+        this(weightedValuePairs, new UniformDistribution());
+    }
+
+    /**
+     * Constructs discrete weighted value with specified <code>values</code>, <code>weights</code> and
+     * <code>distribution</code>. Distribution provides random numbers for the alias table and needs to be uniform for
+     * values to follow their weights, so it is meant for uniform distributions with specific random engine or seed.
+     *
+     * @param weightedValuePairs List of values with their corresponding weights.
+     * @param distribution Distribution to use for value selection.
+     */
+    public WeightedValue(List<WeightedValuePair<T>> weightedValuePairs, Distribution distribution) {
         if (weightedValuePairs == null || weightedValuePairs.isEmpty()) {
             throw new IllegalArgumentException("List of weighted values cannot be null nor empty.");
         }
-        this.enumeratedDistribution = new EnumeratedDistribution<>(mapToPairList(weightedValuePairs));
-        this.values = weightedValuePairs.stream().map(x -> x.getValue()).collect(Collectors.toList());
+        if (distribution == null) {
+            throw new IllegalArgumentException("Distribution cannot be null.");
+        }
+        int size = weightedValuePairs.size();
+        List<Value<T>> pairValues = new ArrayList<>(size);
+        double[] weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            WeightedValuePair<T> pair = weightedValuePairs.get(i);
+            weights[i] = pair.getWeight();
+            pairValues.add(pair.getValue());
+        }
+        this.constants = ConstantPool.ofConstantValues(pairValues);
+        this.values = constants == null ? pairValues : Collections.emptyList();
+        this.probabilities = new double[size];
+        this.aliases = new int[size];
+        buildAliasTable(weights);
+        this.distribution = distribution;
     }
 
     @Override
@@ -35,14 +71,74 @@ public class WeightedValue<T> extends Value<T> {
         values.forEach(v -> v.reset());
     }
 
+    /**
+     * Returns pool of constant values this value selects from.
+     *
+     * @return Pool of constant values, or null if values are not all constants.
+     */
+    public ConstantPool<T> getConstants() {
+        return constants;
+    }
+
+    @Override
+    public List<Value<?>> getChildren() {
+        return Collections.unmodifiableList(values);
+    }
+
+    @Override
+    public List<Distribution> getDistributions() {
+        return Collections.singletonList(distribution);
+    }
+
     @Override
     protected void eval() {
-        val = enumeratedDistribution.sample().get();
+        int index = sample();
+        val = constants != null ? constants.get(index) : values.get(index).get();
+    }
+
+    private int sample() {
+        int column = distribution.nextInt(probabilities.length);
+        return distribution.nextDouble(0, 1) < probabilities[column] ? column : aliases[column];
     }
 
-    private List<Pair<Value<T>, Double>> mapToPairList(List<WeightedValuePair<T>> weightedValuePairs) {
-        return weightedValuePairs.stream().map(x -> new Pair<Value<T>, Double>(x.getValue(), x.getWeight()))
-                .collect(Collectors.toList());
+    private void buildAliasTable(double[] weights) {
+        int size = weights.length;
+        double sum = 0;
+        for (double weight : weights) {
+            sum += weight;
+        }
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / sum;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // remaining columns are full, anything left in small is there only due to rounding errors
+        while (largeCount > 0) {
+            probabilities[large[--largeCount]] = 1;
+        }
+        while (smallCount > 0) {
+            probabilities[small[--smallCount]] = 1;
+        }
     }
 
     /**
@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.IntValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Adds up two values and returns result as {@code Byte} type.
  */
-public class AdditionValueByte extends Value<Byte> {
+public class AdditionValueByte extends Value<Byte> implements IntValue {
+
+    private static final long serialVersionUID = -7746723397423813631L;
 
     @SuppressWarnings("rawtypes")
     private final Value summand1;
@@ -13,6 +20,8 @@ public class AdditionValueByte extends Value<Byte> {
     @SuppressWarnings("rawtypes")
     private final Value summand2;
 
+    private byte primitiveVal;
+
     /**
      * Creates Addition value with specified <code>summand1</code> and <code>summand2</code>.
      *
@@ -32,8 +41,28 @@ public class AdditionValueByte extends Value<Byte> {
         summand2.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(summand1, summand2);
+    }
+
+    @Override
+    public Byte get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = (byte) (((Number) summand1.get()).byteValue() + ((Number) summand2.get()).byteValue());
+        primitiveVal = (byte) (PrimitiveValues.byteValue(summand1) + PrimitiveValues.byteValue(summand2));
     }
 }
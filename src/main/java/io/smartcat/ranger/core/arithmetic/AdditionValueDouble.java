@@ -1,10 +1,17 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.DoubleValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 /**
  * Adds up two values and returns result as {@code Double} type.
  */
-public class AdditionValueDouble extends Value<Double> {
+public class AdditionValueDouble extends Value<Double> implements DoubleValue {
+
+    private static final long serialVersionUID = -8999882637314701320L;
 
     @SuppressWarnings("rawtypes")
     private final Value summand1;
@@ -12,6 +19,8 @@ public class AdditionValueDouble extends Value<Double> {
     @SuppressWarnings("rawtypes")
     private final Value summand2;
 
+    private double primitiveVal;
+
     /**
      * Creates Addition value with specified <code>summand1</code> and <code>summand2</code>.
      *
@@ -31,8 +40,28 @@ public class AdditionValueDouble extends Value<Double> {
         summand2.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(summand1, summand2);
+    }
+
+    @Override
+    public Double get() {
+        ensureEvaluated();
+        if (val == null || Double.compare(val, primitiveVal) != 0) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public double getAsDouble() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) summand1.get()).doubleValue() + ((Number) summand2.get()).doubleValue();
+        primitiveVal = PrimitiveValues.doubleValue(summand1) + PrimitiveValues.doubleValue(summand2);
     }
 }
@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.DoubleValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Adds up two values and returns result as {@code Float} type.
  */
-public class AdditionValueFloat extends Value<Float> {
+public class AdditionValueFloat extends Value<Float> implements DoubleValue {
+
+    private static final long serialVersionUID = 3756742002943373240L;
 
     @SuppressWarnings("rawtypes")
     private final Value summand1;
@@ -13,6 +20,8 @@ public class AdditionValueFloat extends Value<Float> {
     @SuppressWarnings("rawtypes")
     private final Value summand2;
 
+    private float primitiveVal;
+
     /**
      * Creates Addition value with specified <code>summand1</code> and <code>summand2</code>.
      *
@@ -32,8 +41,28 @@ public class AdditionValueFloat extends Value<Float> {
         summand2.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(summand1, summand2);
+    }
+
+    @Override
+    public Float get() {
+        ensureEvaluated();
+        if (val == null || Float.compare(val, primitiveVal) != 0) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public double getAsDouble() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) summand1.get()).floatValue() + ((Number) summand2.get()).floatValue();
+        primitiveVal = PrimitiveValues.floatValue(summand1) + PrimitiveValues.floatValue(summand2);
     }
 }
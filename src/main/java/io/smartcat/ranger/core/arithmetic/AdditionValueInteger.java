@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.IntValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Adds up two values and returns result as {@code Integer} type.
  */
-public class AdditionValueInteger extends Value<Integer> {
+public class AdditionValueInteger extends Value<Integer> implements IntValue {
+
+    private static final long serialVersionUID = -8718592960207859369L;
 
     @SuppressWarnings("rawtypes")
     private final Value summand1;
@@ -13,6 +20,8 @@ public class AdditionValueInteger extends Value<Integer> {
     @SuppressWarnings("rawtypes")
     private final Value summand2;
 
+    private int primitiveVal;
+
     /**
      * Creates Addition value with specified <code>summand1</code> and <code>summand2</code>.
      *
@@ -32,8 +41,28 @@ public class AdditionValueInteger extends Value<Integer> {
         summand2.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(summand1, summand2);
+    }
+
+    @Override
+    public Integer get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) summand1.get()).intValue() + ((Number) summand2.get()).intValue();
+        primitiveVal = PrimitiveValues.intValue(summand1) + PrimitiveValues.intValue(summand2);
     }
 }
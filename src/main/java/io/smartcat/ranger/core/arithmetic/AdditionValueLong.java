@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.LongValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Adds up two values and returns result as {@code Long} type.
  */
-public class AdditionValueLong extends Value<Long> {
+public class AdditionValueLong extends Value<Long> implements LongValue {
+
+    private static final long serialVersionUID = 7362410481867517497L;
 
     @SuppressWarnings("rawtypes")
     private final Value summand1;
@@ -13,6 +20,8 @@ public class AdditionValueLong extends Value<Long> {
     @SuppressWarnings("rawtypes")
     private final Value summand2;
 
+    private long primitiveVal;
+
     /**
      * Creates Addition value with specified <code>summand1</code> and <code>summand2</code>.
      *
@@ -32,8 +41,28 @@ public class AdditionValueLong extends Value<Long> {
         summand2.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(summand1, summand2);
+    }
+
+    @Override
+    public Long get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public long getAsLong() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) summand1.get()).longValue() + ((Number) summand2.get()).longValue();
+        primitiveVal = PrimitiveValues.longValue(summand1) + PrimitiveValues.longValue(summand2);
     }
 }
@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.IntValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Adds up two values and returns result as {@code Short} type.
  */
-public class AdditionValueShort extends Value<Short> {
+public class AdditionValueShort extends Value<Short> implements IntValue {
+
+    private static final long serialVersionUID = 7970539838936491460L;
 
     @SuppressWarnings("rawtypes")
     private final Value summand1;
@@ -13,6 +20,8 @@ public class AdditionValueShort extends Value<Short> {
     @SuppressWarnings("rawtypes")
     private final Value summand2;
 
+    private short primitiveVal;
+
     /**
      * Creates Addition value with specified <code>summand1</code> and <code>summand2</code>.
      *
@@ -32,8 +41,28 @@ public class AdditionValueShort extends Value<Short> {
         summand2.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(summand1, summand2);
+    }
+
+    @Override
+    public Short get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = (short) (((Number) summand1.get()).shortValue() + ((Number) summand2.get()).shortValue());
+        primitiveVal = (short) (PrimitiveValues.shortValue(summand1) + PrimitiveValues.shortValue(summand2));
     }
 }
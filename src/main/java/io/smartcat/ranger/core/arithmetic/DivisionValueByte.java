@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.IntValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Divides two values and returns result as {@code Byte} type.
  */
-public class DivisionValueByte extends Value<Byte> {
+public class DivisionValueByte extends Value<Byte> implements IntValue {
+
+    private static final long serialVersionUID = 499018058668990148L;
 
     @SuppressWarnings("rawtypes")
     private final Value dividend;
@@ -13,6 +20,8 @@ public class DivisionValueByte extends Value<Byte> {
     @SuppressWarnings("rawtypes")
     private final Value divisor;
 
+    private byte primitiveVal;
+
     /**
      * Creates Division value with specified <code>dividend</code> and <code>divisor</code>.
      *
@@ -32,8 +41,28 @@ public class DivisionValueByte extends Value<Byte> {
         divisor.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(dividend, divisor);
+    }
+
+    @Override
+    public Byte get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = (byte) (((Number) dividend.get()).byteValue() / ((Number) divisor.get()).byteValue());
+        primitiveVal = (byte) (PrimitiveValues.byteValue(dividend) / PrimitiveValues.byteValue(divisor));
     }
 }
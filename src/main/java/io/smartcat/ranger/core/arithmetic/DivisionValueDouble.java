@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.DoubleValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Divides two values and returns result as {@code Double} type.
  */
-public class DivisionValueDouble extends Value<Double> {
+public class DivisionValueDouble extends Value<Double> implements DoubleValue {
+
+    private static final long serialVersionUID = 306895579325670507L;
 
     @SuppressWarnings("rawtypes")
     private final Value dividend;
@@ -13,6 +20,8 @@ public class DivisionValueDouble extends Value<Double> {
     @SuppressWarnings("rawtypes")
     private final Value divisor;
 
+    private double primitiveVal;
+
     /**
      * Creates Division value with specified <code>dividend</code> and <code>divisor</code>.
      *
@@ -32,8 +41,28 @@ public class DivisionValueDouble extends Value<Double> {
         divisor.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(dividend, divisor);
+    }
+
+    @Override
+    public Double get() {
+        ensureEvaluated();
+        if (val == null || Double.compare(val, primitiveVal) != 0) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public double getAsDouble() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) dividend.get()).doubleValue() / ((Number) divisor.get()).doubleValue();
+        primitiveVal = PrimitiveValues.doubleValue(dividend) / PrimitiveValues.doubleValue(divisor);
     }
 }
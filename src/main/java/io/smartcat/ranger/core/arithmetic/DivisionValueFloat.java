@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.DoubleValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Divides two values and returns result as {@code Float} type.
  */
-public class DivisionValueFloat extends Value<Float> {
+public class DivisionValueFloat extends Value<Float> implements DoubleValue {
+
+    private static final long serialVersionUID = 4176255478964656303L;
 
     @SuppressWarnings("rawtypes")
     private final Value dividend;
@@ -13,6 +20,8 @@ public class DivisionValueFloat extends Value<Float> {
     @SuppressWarnings("rawtypes")
     private final Value divisor;
 
+    private float primitiveVal;
+
     /**
      * Creates Division value with specified <code>dividend</code> and <code>divisor</code>.
      *
@@ -32,8 +41,28 @@ public class DivisionValueFloat extends Value<Float> {
         divisor.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(dividend, divisor);
+    }
+
+    @Override
+    public Float get() {
+        ensureEvaluated();
+        if (val == null || Float.compare(val, primitiveVal) != 0) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public double getAsDouble() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) dividend.get()).floatValue() / ((Number) divisor.get()).floatValue();
+        primitiveVal = PrimitiveValues.floatValue(dividend) / PrimitiveValues.floatValue(divisor);
     }
 }
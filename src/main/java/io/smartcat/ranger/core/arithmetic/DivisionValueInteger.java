@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.IntValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Divides two values and returns result as {@code Integer} type.
  */
-public class DivisionValueInteger extends Value<Integer> {
+public class DivisionValueInteger extends Value<Integer> implements IntValue {
+
+    private static final long serialVersionUID = -7968401185475183200L;
 
     @SuppressWarnings("rawtypes")
     private final Value dividend;
@@ -13,6 +20,8 @@ public class DivisionValueInteger extends Value<Integer> {
     @SuppressWarnings("rawtypes")
     private final Value divisor;
 
+    private int primitiveVal;
+
     /**
      * Creates Division value with specified <code>dividend</code> and <code>divisor</code>.
      *
@@ -32,8 +41,28 @@ public class DivisionValueInteger extends Value<Integer> {
         divisor.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(dividend, divisor);
+    }
+
+    @Override
+    public Integer get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) dividend.get()).intValue() / ((Number) divisor.get()).intValue();
+        primitiveVal = PrimitiveValues.intValue(dividend) / PrimitiveValues.intValue(divisor);
     }
 }
@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.LongValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Divides two values and returns result as {@code Long} type.
  */
-public class DivisionValueLong extends Value<Long> {
+public class DivisionValueLong extends Value<Long> implements LongValue {
+
+    private static final long serialVersionUID = 1186537103792019357L;
 
     @SuppressWarnings("rawtypes")
     private final Value dividend;
@@ -13,6 +20,8 @@ public class DivisionValueLong extends Value<Long> {
     @SuppressWarnings("rawtypes")
     private final Value divisor;
 
+    private long primitiveVal;
+
     /**
      * Creates Division value with specified <code>dividend</code> and <code>divisor</code>.
      *
@@ -32,8 +41,28 @@ public class DivisionValueLong extends Value<Long> {
         divisor.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(dividend, divisor);
+    }
+
+    @Override
+    public Long get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public long getAsLong() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) dividend.get()).longValue() / ((Number) divisor.get()).longValue();
+        primitiveVal = PrimitiveValues.longValue(dividend) / PrimitiveValues.longValue(divisor);
     }
 }
@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.IntValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Divides two values and returns result as {@code Short} type.
  */
-public class DivisionValueShort extends Value<Short> {
+public class DivisionValueShort extends Value<Short> implements IntValue {
+
+    private static final long serialVersionUID = -9154517731080044702L;
 
     @SuppressWarnings("rawtypes")
     private final Value dividend;
@@ -13,6 +20,8 @@ public class DivisionValueShort extends Value<Short> {
     @SuppressWarnings("rawtypes")
     private final Value divisor;
 
+    private short primitiveVal;
+
     /**
      * Creates Division value with specified <code>dividend</code> and <code>divisor</code>.
      *
@@ -32,8 +41,28 @@ public class DivisionValueShort extends Value<Short> {
         divisor.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(dividend, divisor);
+    }
+
+    @Override
+    public Short get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = (short) (((Number) dividend.get()).shortValue() / ((Number) divisor.get()).shortValue());
+        primitiveVal = (short) (PrimitiveValues.shortValue(dividend) / PrimitiveValues.shortValue(divisor));
     }
 }
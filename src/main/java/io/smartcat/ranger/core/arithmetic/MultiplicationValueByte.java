@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.IntValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Multiplies two values and returns result as {@code Byte} type.
  */
-public class MultiplicationValueByte extends Value<Byte> {
+public class MultiplicationValueByte extends Value<Byte> implements IntValue {
+
+    private static final long serialVersionUID = 3217033238922554605L;
 
     @SuppressWarnings("rawtypes")
     private final Value factor1;
@@ -13,6 +20,8 @@ public class MultiplicationValueByte extends Value<Byte> {
     @SuppressWarnings("rawtypes")
     private final Value factor2;
 
+    private byte primitiveVal;
+
     /**
      * Creates Multiplication value with specified <code>factor1</code> and <code>factor2</code>.
      *
@@ -32,8 +41,28 @@ public class MultiplicationValueByte extends Value<Byte> {
         factor2.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(factor1, factor2);
+    }
+
+    @Override
+    public Byte get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = (byte) (((Number) factor1.get()).byteValue() * ((Number) factor2.get()).byteValue());
+        primitiveVal = (byte) (PrimitiveValues.byteValue(factor1) * PrimitiveValues.byteValue(factor2));
     }
 }
@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.DoubleValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Multiplies two values and returns result as {@code Double} type.
  */
-public class MultiplicationValueDouble extends Value<Double> {
+public class MultiplicationValueDouble extends Value<Double> implements DoubleValue {
+
+    private static final long serialVersionUID = -8015557883020063783L;
 
     @SuppressWarnings("rawtypes")
     private final Value factor1;
@@ -13,6 +20,8 @@ public class MultiplicationValueDouble extends Value<Double> {
     @SuppressWarnings("rawtypes")
     private final Value factor2;
 
+    private double primitiveVal;
+
     /**
      * Creates Multiplication value with specified <code>factor1</code> and <code>factor2</code>.
      *
@@ -32,8 +41,28 @@ public class MultiplicationValueDouble extends Value<Double> {
         factor2.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(factor1, factor2);
+    }
+
+    @Override
+    public Double get() {
+        ensureEvaluated();
+        if (val == null || Double.compare(val, primitiveVal) != 0) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public double getAsDouble() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) factor1.get()).doubleValue() * ((Number) factor2.get()).doubleValue();
+        primitiveVal = PrimitiveValues.doubleValue(factor1) * PrimitiveValues.doubleValue(factor2);
     }
 }
@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.DoubleValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Multiplies two values and returns result as {@code Float} type.
  */
-public class MultiplicationValueFloat extends Value<Float> {
+public class MultiplicationValueFloat extends Value<Float> implements DoubleValue {
+
+    private static final long serialVersionUID = -5443266763001617421L;
 
     @SuppressWarnings("rawtypes")
     private final Value factor1;
@@ -13,6 +20,8 @@ public class MultiplicationValueFloat extends Value<Float> {
     @SuppressWarnings("rawtypes")
     private final Value factor2;
 
+    private float primitiveVal;
+
     /**
      * Creates Multiplication value with specified <code>factor1</code> and <code>factor2</code>.
      *
@@ -32,8 +41,28 @@ public class MultiplicationValueFloat extends Value<Float> {
         factor2.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(factor1, factor2);
+    }
+
+    @Override
+    public Float get() {
+        ensureEvaluated();
+        if (val == null || Float.compare(val, primitiveVal) != 0) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public double getAsDouble() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) factor1.get()).floatValue() * ((Number) factor2.get()).floatValue();
+        primitiveVal = PrimitiveValues.floatValue(factor1) * PrimitiveValues.floatValue(factor2);
     }
 }
@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.IntValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Multiplies two values and returns result as {@code Integer} type.
  */
-public class MultiplicationValueInteger extends Value<Integer> {
+public class MultiplicationValueInteger extends Value<Integer> implements IntValue {
+
+    private static final long serialVersionUID = -1463547281487568262L;
 
     @SuppressWarnings("rawtypes")
     private final Value factor1;
@@ -13,6 +20,8 @@ public class MultiplicationValueInteger extends Value<Integer> {
     @SuppressWarnings("rawtypes")
     private final Value factor2;
 
+    private int primitiveVal;
+
     /**
      * Creates Multiplication value with specified <code>factor1</code> and <code>factor2</code>.
      *
@@ -32,8 +41,28 @@ public class MultiplicationValueInteger extends Value<Integer> {
         factor2.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(factor1, factor2);
+    }
+
+    @Override
+    public Integer get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) factor1.get()).intValue() * ((Number) factor2.get()).intValue();
+        primitiveVal = PrimitiveValues.intValue(factor1) * PrimitiveValues.intValue(factor2);
     }
 }
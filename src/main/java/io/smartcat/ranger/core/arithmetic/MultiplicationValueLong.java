@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.LongValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Multiplies two values and returns result as {@code Long} type.
  */
-public class MultiplicationValueLong extends Value<Long> {
+public class MultiplicationValueLong extends Value<Long> implements LongValue {
+
+    private static final long serialVersionUID = -7090963429156373411L;
 
     @SuppressWarnings("rawtypes")
     private final Value factor1;
@@ -13,6 +20,8 @@ public class MultiplicationValueLong extends Value<Long> {
     @SuppressWarnings("rawtypes")
     private final Value factor2;
 
+    private long primitiveVal;
+
     /**
      * Creates Multiplication value with specified <code>factor1</code> and <code>factor2</code>.
      *
@@ -32,8 +41,28 @@ public class MultiplicationValueLong extends Value<Long> {
         factor2.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(factor1, factor2);
+    }
+
+    @Override
+    public Long get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public long getAsLong() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) factor1.get()).longValue() * ((Number) factor2.get()).longValue();
+        primitiveVal = PrimitiveValues.longValue(factor1) * PrimitiveValues.longValue(factor2);
     }
 }
@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.IntValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Multiplies two values and returns result as {@code Short} type.
  */
-public class MultiplicationValueShort extends Value<Short> {
+public class MultiplicationValueShort extends Value<Short> implements IntValue {
+
+    private static final long serialVersionUID = 7464790958546554374L;
 
     @SuppressWarnings("rawtypes")
     private final Value factor1;
@@ -13,6 +20,8 @@ public class MultiplicationValueShort extends Value<Short> {
     @SuppressWarnings("rawtypes")
     private final Value factor2;
 
+    private short primitiveVal;
+
     /**
      * Creates Multiplication value with specified <code>factor1</code> and <code>factor2</code>.
      *
@@ -32,8 +41,28 @@ public class MultiplicationValueShort extends Value<Short> {
         factor2.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(factor1, factor2);
+    }
+
+    @Override
+    public Short get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = (short) (((Number) factor1.get()).shortValue() * ((Number) factor2.get()).shortValue());
+        primitiveVal = (short) (PrimitiveValues.shortValue(factor1) * PrimitiveValues.shortValue(factor2));
     }
 }
@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.IntValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Subtracts two values and returns result as {@code Byte} type.
  */
-public class SubtractionValueByte extends Value<Byte> {
+public class SubtractionValueByte extends Value<Byte> implements IntValue {
+
+    private static final long serialVersionUID = 1494344268494987680L;
 
     @SuppressWarnings("rawtypes")
     private final Value minuend;
@@ -13,6 +20,8 @@ public class SubtractionValueByte extends Value<Byte> {
     @SuppressWarnings("rawtypes")
     private final Value subtrahend;
 
+    private byte primitiveVal;
+
     /**
      * Creates Subtraction value with specified <code>minuend</code> and <code>subtrahend</code>.
      *
@@ -32,8 +41,28 @@ public class SubtractionValueByte extends Value<Byte> {
         subtrahend.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(minuend, subtrahend);
+    }
+
+    @Override
+    public Byte get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = (byte) (((Number) minuend.get()).byteValue() - ((Number) subtrahend.get()).byteValue());
+        primitiveVal = (byte) (PrimitiveValues.byteValue(minuend) - PrimitiveValues.byteValue(subtrahend));
     }
 }
@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.DoubleValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Subtracts two values and returns result as {@code Double} type.
  */
-public class SubtractionValueDouble extends Value<Double> {
+public class SubtractionValueDouble extends Value<Double> implements DoubleValue {
+
+    private static final long serialVersionUID = -488563263744015999L;
 
     @SuppressWarnings("rawtypes")
     private final Value minuend;
@@ -13,6 +20,8 @@ public class SubtractionValueDouble extends Value<Double> {
     @SuppressWarnings("rawtypes")
     private final Value subtrahend;
 
+    private double primitiveVal;
+
     /**
      * Creates Subtraction value with specified <code>minuend</code> and <code>subtrahend</code>.
      *
@@ -32,8 +41,28 @@ public class SubtractionValueDouble extends Value<Double> {
         subtrahend.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(minuend, subtrahend);
+    }
+
+    @Override
+    public Double get() {
+        ensureEvaluated();
+        if (val == null || Double.compare(val, primitiveVal) != 0) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public double getAsDouble() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) minuend.get()).doubleValue() - ((Number) subtrahend.get()).doubleValue();
+        primitiveVal = PrimitiveValues.doubleValue(minuend) - PrimitiveValues.doubleValue(subtrahend);
     }
 }
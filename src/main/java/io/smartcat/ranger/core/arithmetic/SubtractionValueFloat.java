@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.DoubleValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Subtracts two values and returns result as {@code Float} type.
  */
-public class SubtractionValueFloat extends Value<Float> {
+public class SubtractionValueFloat extends Value<Float> implements DoubleValue {
+
+    private static final long serialVersionUID = 5843913981883948640L;
 
     @SuppressWarnings("rawtypes")
     private final Value minuend;
@@ -13,6 +20,8 @@ public class SubtractionValueFloat extends Value<Float> {
     @SuppressWarnings("rawtypes")
     private final Value subtrahend;
 
+    private float primitiveVal;
+
     /**
      * Creates Subtraction value with specified <code>minuend</code> and <code>subtrahend</code>.
      *
@@ -32,8 +41,28 @@ public class SubtractionValueFloat extends Value<Float> {
         subtrahend.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(minuend, subtrahend);
+    }
+
+    @Override
+    public Float get() {
+        ensureEvaluated();
+        if (val == null || Float.compare(val, primitiveVal) != 0) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public double getAsDouble() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) minuend.get()).floatValue() - ((Number) subtrahend.get()).floatValue();
+        primitiveVal = PrimitiveValues.floatValue(minuend) - PrimitiveValues.floatValue(subtrahend);
     }
 }
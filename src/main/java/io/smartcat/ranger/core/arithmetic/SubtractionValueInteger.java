@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.IntValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Subtracts two values and returns result as {@code Integer} type.
  */
-public class SubtractionValueInteger extends Value<Integer> {
+public class SubtractionValueInteger extends Value<Integer> implements IntValue {
+
+    private static final long serialVersionUID = 6210063698189726436L;
 
     @SuppressWarnings("rawtypes")
     private final Value minuend;
@@ -13,6 +20,8 @@ public class SubtractionValueInteger extends Value<Integer> {
     @SuppressWarnings("rawtypes")
     private final Value subtrahend;
 
+    private int primitiveVal;
+
     /**
      * Creates Subtraction value with specified <code>minuend</code> and <code>subtrahend</code>.
      *
@@ -32,8 +41,28 @@ public class SubtractionValueInteger extends Value<Integer> {
         subtrahend.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(minuend, subtrahend);
+    }
+
+    @Override
+    public Integer get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) minuend.get()).intValue() - ((Number) subtrahend.get()).intValue();
+        primitiveVal = PrimitiveValues.intValue(minuend) - PrimitiveValues.intValue(subtrahend);
     }
 }
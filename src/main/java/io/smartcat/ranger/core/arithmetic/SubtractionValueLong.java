@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.LongValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Subtracts two values and returns result as {@code Long} type.
  */
-public class SubtractionValueLong extends Value<Long> {
+public class SubtractionValueLong extends Value<Long> implements LongValue {
+
+    private static final long serialVersionUID = -2891047594457167902L;
 
     @SuppressWarnings("rawtypes")
     private final Value minuend;
@@ -13,6 +20,8 @@ public class SubtractionValueLong extends Value<Long> {
     @SuppressWarnings("rawtypes")
     private final Value subtrahend;
 
+    private long primitiveVal;
+
     /**
      * Creates Subtraction value with specified <code>minuend</code> and <code>subtrahend</code>.
      *
@@ -32,8 +41,28 @@ public class SubtractionValueLong extends Value<Long> {
         subtrahend.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(minuend, subtrahend);
+    }
+
+    @Override
+    public Long get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public long getAsLong() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = ((Number) minuend.get()).longValue() - ((Number) subtrahend.get()).longValue();
+        primitiveVal = PrimitiveValues.longValue(minuend) - PrimitiveValues.longValue(subtrahend);
     }
 }
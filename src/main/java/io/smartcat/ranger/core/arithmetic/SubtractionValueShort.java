@@ -1,11 +1,18 @@
 package io.smartcat.ranger.core.arithmetic;
 
+import java.util.Arrays;
+import java.util.List;
+
+import io.smartcat.ranger.core.IntValue;
+import io.smartcat.ranger.core.PrimitiveValues;
 import io.smartcat.ranger.core.Value;
 
 /**
  * Subtracts two values and returns result as {@code Short} type.
  */
-public class SubtractionValueShort extends Value<Short> {
+public class SubtractionValueShort extends Value<Short> implements IntValue {
+
+    private static final long serialVersionUID = -2428631779898507594L;
 
     @SuppressWarnings("rawtypes")
     private final Value minuend;
@@ -13,6 +20,8 @@ public class SubtractionValueShort extends Value<Short> {
     @SuppressWarnings("rawtypes")
     private final Value subtrahend;
 
+    private short primitiveVal;
+
     /**
      * Creates Subtraction value with specified <code>minuend</code> and <code>subtrahend</code>.
      *
@@ -32,8 +41,28 @@ public class SubtractionValueShort extends Value<Short> {
         subtrahend.reset();
     }
 
+    @Override
+    public List<Value<?>> getChildren() {
+        return Arrays.<Value<?>>asList(minuend, subtrahend);
+    }
+
+    @Override
+    public Short get() {
+        ensureEvaluated();
+        if (val == null || val != primitiveVal) {
+            val = primitiveVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getAsInt() {
+        ensureEvaluated();
+        return primitiveVal;
+    }
+
     @Override
     protected void eval() {
-        val = (short) (((Number) minuend.get()).shortValue() - ((Number) subtrahend.get()).shortValue());
+        primitiveVal = (short) (PrimitiveValues.shortValue(minuend) - PrimitiveValues.shortValue(subtrahend));
     }
 }
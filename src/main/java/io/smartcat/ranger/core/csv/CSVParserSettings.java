@@ -1,9 +1,13 @@
 package io.smartcat.ranger.core.csv;
 
+import java.io.Serializable;
+
 /**
  * Settings available for CSV parser.
  */
-public class CSVParserSettings {
+public class CSVParserSettings implements Serializable {
+
+    private static final long serialVersionUID = -3427843286010359473L;
 
     private final String path;
     private final char delimiter;
@@ -2,6 +2,8 @@ package io.smartcat.ranger.core.csv;
 
 import java.io.File;
 import java.io.FileReader;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -10,16 +12,22 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
+import io.smartcat.ranger.core.StatefulValue;
 import io.smartcat.ranger.core.Value;
 
 /**
- * Value that read CSV file and returns columns in properties 'c0', 'c1', c2', ...
+ * Value that read CSV file and returns columns in properties 'c0', 'c1', c2', ... Position within the file is not part
+ * of serialized form, copy of the value reads file from the beginning. Records are read in order, so value cannot be
+ * positioned at an object index.
  */
-public class CsvReaderValue extends Value<Map<String, String>> {
+public class CsvReaderValue extends Value<Map<String, String>> implements StatefulValue {
 
+    private static final long serialVersionUID = 5937307521564264394L;
+
+    private final CSVParserSettings parserSettings;
     private final Map<String, String> evaluatedValues;
-    private final CSVParser csvParser;
-    private Iterator<CSVRecord> iterator;
+    private transient CSVParser csvParser;
+    private transient Iterator<CSVRecord> iterator;
 
     /**
      * Constructs composite value with specified initial child values.
@@ -30,6 +38,7 @@ public class CsvReaderValue extends Value<Map<String, String>> {
         if (parserSettings == null) {
             throw new IllegalArgumentException("parserSettings cannot be null.");
         }
+        this.parserSettings = parserSettings;
         this.evaluatedValues = new HashMap<>();
         this.csvParser = createCSVParser(parserSettings);
         this.iterator = csvParser.iterator();
@@ -40,6 +49,16 @@ public class CsvReaderValue extends Value<Map<String, String>> {
         super.reset();
     }
 
+    @Override
+    public boolean isPositionable() {
+        return false;
+    }
+
+    @Override
+    public void position(long index) {
+        throw new UnsupportedOperationException("CSV value cannot be positioned.");
+    }
+
     @Override
     protected void eval() {
         evaluatedValues.clear();
@@ -66,4 +85,10 @@ public class CsvReaderValue extends Value<Map<String, String>> {
             throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
         }
     }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        csvParser = createCSVParser(parserSettings);
+        iterator = csvParser.iterator();
+    }
 }
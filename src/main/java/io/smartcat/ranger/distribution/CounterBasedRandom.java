@@ -0,0 +1,87 @@
+package io.smartcat.ranger.distribution;
+
+import java.util.Random;
+
+/**
+ * Counter based random generator. Each random number is a pure function of seed, stream, record index and number of
+ * random numbers already drawn for that record. There is no state carried over from one record to another, so any
+ * record can be regenerated by setting {@link RandomPosition} to its index, without generating records before it.
+ * Numbers are produced by mixing the counters with SplitMix64 finalizer.
+ */
+public class CounterBasedRandom extends Random {
+
+    private static final long serialVersionUID = 3148386591557014513L;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long streamKey;
+    private final RandomPosition position;
+    private long currentIndex;
+    private long counter;
+
+    /**
+     * Constructs counter based random generator.
+     *
+     * @param seed Seed shared by all random generators of one generator.
+     * @param stream Identifier of this random generator, must be unique among random generators sharing same seed.
+     * @param position Position holding index of the record which is currently being generated.
+     */
+    public CounterBasedRandom(long seed, long stream, RandomPosition position) {
+        super(0);
+        if (position == null) {
+            throw new IllegalArgumentException("Position cannot be null.");
+        }
+        this.streamKey = mix64(seed + mix64(stream * GOLDEN_GAMMA + GOLDEN_GAMMA));
+        this.position = position;
+        this.currentIndex = position.get();
+        this.counter = 0;
+    }
+
+    /**
+     * Returns next random long for the current record.
+     *
+     * @return Next random long.
+     */
+    @Override
+    public long nextLong() {
+        long index = position.get();
+        if (index != currentIndex) {
+            currentIndex = index;
+            counter = 0;
+        }
+        return mix64(mix64(streamKey + index * GOLDEN_GAMMA) + (++counter) * GOLDEN_GAMMA);
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    /**
+     * Returns normally distributed random number. Unlike {@link Random#nextGaussian()}, second generated number is not
+     * cached, so result depends only on the current record.
+     *
+     * @return Normally distributed random number with mean 0 and standard deviation 1.
+     */
+    @Override
+    public double nextGaussian() {
+        double u1 = 1.0 - nextDouble();
+        double u2 = nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    /**
+     * Does nothing, seed of counter based random generator is fixed at construction.
+     *
+     * @param seed Ignored.
+     */
+    @Override
+    public void setSeed(long seed) {
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,9 +1,13 @@
 package io.smartcat.ranger.distribution;
 
+import java.io.Serializable;
+import java.util.Random;
+
 /**
- * Provides random values.
+ * Provides random values. Distributions are part of value graph and need to be serializable.
  */
-public interface Distribution {
+@SuppressWarnings("serial") // implementations declare their own serialVersionUID
+public interface Distribution extends Serializable {
 
     /**
      * Next random int.
@@ -55,4 +59,36 @@ public interface Distribution {
      */
     boolean nextBoolean();
 
+    /**
+     * Positions random engine of this distribution at object with specified <code>index</code> (see
+     * {@link RandomEngine#position(long)}). Distributions without random engine ignore positioning.
+     *
+     * @param index Index of the object to be generated.
+     */
+    default void position(long index) {
+    }
+
+    /**
+     * Replaces source of randomness of this distribution with specified <code>random</code>. Used to switch
+     * distribution to seeded, counter based random generator (see {@link CounterBasedRandom}).
+     *
+     * @param random Random generator to use.
+     * @throws UnsupportedOperationException if distribution does not support custom random generator.
+     */
+    default void setRandom(Random random) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random cannot be null.");
+        }
+        setRandomEngine(new JdkRandomEngine(random));
+    }
+
+    /**
+     * Replaces source of randomness of this distribution with specified <code>engine</code>.
+     *
+     * @param engine Random engine to use.
+     * @throws UnsupportedOperationException if distribution does not support custom random engine.
+     */
+    default void setRandomEngine(RandomEngine engine) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support custom random engine.");
+    }
 }
@@ -0,0 +1,73 @@
+package io.smartcat.ranger.distribution;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Random;
+
+/**
+ * Random engine backed by {@link Random}. Used to plug any {@link Random} subclass, for example
+ * {@link CounterBasedRandom}, into distributions. Copy of the engine starts with new {@link Random}, unless engine
+ * is created with a seed or uses {@link CounterBasedRandom}, in which case it is copied with its state.
+ */
+public class JdkRandomEngine implements RandomEngine {
+
+    private static final long serialVersionUID = 7953960612432624812L;
+
+    private Random random;
+    private long initialSeed;
+    private boolean explicitlySeeded;
+
+    /**
+     * Constructs engine backed by new instance of {@link Random}.
+     */
+    public JdkRandomEngine() {
+        this(new Random());
+    }
+
+    /**
+     * Constructs engine backed by new instance of {@link Random} with specified <code>seed</code>.
+     *
+     * @param seed Seed of the engine.
+     */
+    public JdkRandomEngine(long seed) {
+        this(new Random(seed));
+        this.initialSeed = seed;
+        this.explicitlySeeded = true;
+    }
+
+    /**
+     * Constructs engine backed by specified <code>random</code>.
+     *
+     * @param random Random generator to use.
+     */
+    public JdkRandomEngine(Random random) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random cannot be null.");
+        }
+        this.random = random;
+    }
+
+    @Override
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    @Override
+    public double nextGaussian() {
+        return random.nextGaussian();
+    }
+
+    @Override
+    public void position(long index) {
+        if (explicitlySeeded) {
+            random.setSeed(SeedGenerator.seedAt(initialSeed, index));
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (!explicitlySeeded && !(random instanceof CounterBasedRandom)) {
+            random = new Random();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.smartcat.ranger.distribution;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+/**
+ * Random engine from LXM family, same algorithm as L64X128MixRandom introduced in Java 17. It combines 64 bit linear
+ * congruential generator with xoroshiro128 and mixes their sum, which gives better statistical quality than either of
+ * them, with period of 2<sup>64</sup>(2<sup>128</sup> - 1).
+ */
+public class L64X128Engine implements RandomEngine {
+
+    private static final long serialVersionUID = -5730361622590003428L;
+
+    private static final long MULTIPLIER = 0xD1342543DE82EF95L;
+
+    private long increment;
+    private long lcg;
+    private long x0;
+    private long x1;
+    private long initialSeed;
+    private boolean explicitlySeeded;
+
+    /**
+     * Constructs L64X128 engine with random seed.
+     */
+    public L64X128Engine() {
+        seed(SeedGenerator.nextSeed());
+    }
+
+    /**
+     * Constructs L64X128 engine with specified <code>seed</code>. Copy of the engine continues from its state,
+     * positioned engine restarts from the stream of object index (see {@link #position(long)}).
+     *
+     * @param seed Seed of the engine.
+     */
+    public L64X128Engine(long seed) {
+        seed(seed);
+        this.initialSeed = seed;
+        this.explicitlySeeded = true;
+    }
+
+    @Override
+    public long nextLong() {
+        long result = mixLea64(lcg + x0);
+        lcg = MULTIPLIER * lcg + increment;
+        long q0 = x0;
+        long q1 = x1;
+        q1 ^= q0;
+        x0 = Long.rotateLeft(q0, 24) ^ q1 ^ (q1 << 16);
+        x1 = Long.rotateLeft(q1, 37);
+        return result;
+    }
+
+    @Override
+    public void position(long index) {
+        if (explicitlySeeded) {
+            seed(SeedGenerator.seedAt(initialSeed, index));
+        }
+    }
+
+    private void seed(long seed) {
+        long gamma = SeedGenerator.GOLDEN_GAMMA;
+        increment = SeedGenerator.mix64(seed + gamma) | 1;
+        lcg = SeedGenerator.mix64(seed + 2 * gamma);
+        x0 = SeedGenerator.mix64(seed + 3 * gamma);
+        x1 = SeedGenerator.mix64(seed + 4 * gamma);
+        if ((x0 | x1) == 0) {
+            x1 = gamma;
+        }
+    }
+
+    private static long mixLea64(long z) {
+        z = (z ^ (z >>> 32)) * 0xDABA0B6EB09322E3L;
+        z = (z ^ (z >>> 32)) * 0xDABA0B6EB09322E3L;
+        return z ^ (z >>> 32);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (!explicitlySeeded) {
+            seed(SeedGenerator.nextSeed());
+        }
+    }
+}
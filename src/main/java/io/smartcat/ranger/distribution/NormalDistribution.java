@@ -1,14 +1,19 @@
 package io.smartcat.ranger.distribution;
 
 /**
- * Normal Distribution.
+ * Normal Distribution. Values are sampled from {@link RandomEngine}, {@link SplittableRandomEngine} is used unless
+ * other engine is specified.
  */
 public class NormalDistribution implements Distribution {
 
-    private final org.apache.commons.math3.distribution.NormalDistribution delegate;
+    private static final long serialVersionUID = -1737893400163766440L;
+
+    private final double mean;
+    private final double standardDeviation;
     private final double lower;
     private final double upper;
     private final double innerRange;
+    private RandomEngine engine = RandomEngines.defaultEngine();
 
     /**
      * Constructs Normal distribution.
@@ -28,7 +33,11 @@ public class NormalDistribution implements Distribution {
      * @param upper Upper bound, generated values greater that ths value will be set to this value.
      */
     public NormalDistribution(double mean, double standardDeviation, double lower, double upper) {
-        this.delegate = new org.apache.commons.math3.distribution.NormalDistribution(mean, standardDeviation);
+        if (standardDeviation <= 0) {
+            throw new IllegalArgumentException("Standard deviation must be greater than 0.");
+        }
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
         this.lower = lower;
         this.upper = upper;
         this.innerRange = upper - lower;
@@ -36,32 +45,49 @@ public class NormalDistribution implements Distribution {
 
     @Override
     public int nextInt(int bound) {
-        return (int) normalize(delegate.sample(), 0, bound);
+        return (int) normalize(sample(), 0, bound);
     }
 
     @Override
     public int nextInt(int lower, int upper) {
-        return (int) normalize(delegate.sample(), lower, upper);
+        return (int) normalize(sample(), lower, upper);
     }
 
     @Override
     public long nextLong(long bound) {
-        return (long) normalize(delegate.sample(), 0, bound);
+        return (long) normalize(sample(), 0, bound);
     }
 
     @Override
     public long nextLong(long lower, long upper) {
-        return (int) normalize(delegate.sample(), lower, upper);
+        return (int) normalize(sample(), lower, upper);
     }
 
     @Override
     public double nextDouble(double lower, double upper) {
-        return normalize(delegate.sample(), lower, upper);
+        return normalize(sample(), lower, upper);
     }
 
     @Override
     public boolean nextBoolean() {
-        return ((long) normalize(delegate.sample(), 0, 100)) % 2 == 0;
+        return ((long) normalize(sample(), 0, 100)) % 2 == 0;
+    }
+
+    @Override
+    public void position(long index) {
+        engine.position(index);
+    }
+
+    @Override
+    public void setRandomEngine(RandomEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Random engine cannot be null.");
+        }
+        this.engine = engine;
+    }
+
+    private double sample() {
+        return engine.nextGaussian() * standardDeviation + mean;
     }
 
     private double normalize(double value, double normalizationLowerBound, double normalizationUpperBound) {
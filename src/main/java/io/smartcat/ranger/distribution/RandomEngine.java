@@ -0,0 +1,162 @@
+package io.smartcat.ranger.distribution;
+
+import java.io.Serializable;
+
+/**
+ * Source of uniformly distributed random bits used by distributions. Implementations provide only
+ * {@link #nextLong()}, bounded sampling is derived from it without allocation or synchronization. Engines are not
+ * thread safe, each value graph copy gets its own engine. When engine which is not explicitly seeded is deserialized,
+ * it starts with new seed, so copies of a value graph do not produce same sequences. Engine created with a seed is
+ * deserialized with its state and continues the sequence it would produce, unless it is positioned (see
+ * {@link #position(long)}).
+ */
+@SuppressWarnings("serial") // implementations declare their own serialVersionUID
+public interface RandomEngine extends Serializable {
+
+    /**
+     * Next random long, all 64 bits are uniformly distributed.
+     *
+     * @return Random long.
+     */
+    long nextLong();
+
+    /**
+     * Positions engine at object with specified <code>index</code>. Engine created with a seed restarts from the stream
+     * derived from its seed and the index, so that copies of a value graph generating different objects at the same
+     * time (see {@link io.smartcat.ranger.ObjectGenerator#copyAt(long)}) do not repeat each other's sequence, and each
+     * object gets the same random values regardless of the copy which generates it. Other engines ignore positioning.
+     *
+     * @param index Index of the object to be generated.
+     */
+    default void position(long index) {
+    }
+
+    /**
+     * Next random int from zero (inclusive) to {@code bound} (exclusive). Uses Lemire's multiply and shift method
+     * which needs division only in rare case of rejection.
+     *
+     * @param bound Upper bound (exclusive), must be positive.
+     * @return Random int.
+     */
+    default int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive.");
+        }
+        long m = (nextLong() >>> 32) * bound;
+        long low = m & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while (low < threshold) {
+                m = (nextLong() >>> 32) * bound;
+                low = m & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    /**
+     * Next random int between {@code lower} (inclusive) and {@code upper} (exclusive).
+     *
+     * @param lower Lower bound (inclusive).
+     * @param upper Upper bound (exclusive), must be greater than {@code lower}.
+     * @return Random int.
+     */
+    default int nextInt(int lower, int upper) {
+        if (upper <= lower) {
+            throw new IllegalArgumentException("Upper bound must be greater than lower bound.");
+        }
+        long range = (long) upper - lower;
+        if (range <= Integer.MAX_VALUE) {
+            return lower + nextInt((int) range);
+        }
+        return (int) (lower + nextLong(range));
+    }
+
+    /**
+     * Next random long from zero (inclusive) to {@code bound} (exclusive).
+     *
+     * @param bound Upper bound (exclusive), must be positive.
+     * @return Random long.
+     */
+    default long nextLong(long bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive.");
+        }
+        long r = nextLong();
+        long m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        long u = r >>> 1;
+        while (u + m - (r = u % bound) < 0) {
+            u = nextLong() >>> 1;
+        }
+        return r;
+    }
+
+    /**
+     * Next random long between {@code lower} (inclusive) and {@code upper} (exclusive).
+     *
+     * @param lower Lower bound (inclusive).
+     * @param upper Upper bound (exclusive), must be greater than {@code lower}.
+     * @return Random long.
+     */
+    default long nextLong(long lower, long upper) {
+        if (upper <= lower) {
+            throw new IllegalArgumentException("Upper bound must be greater than lower bound.");
+        }
+        long range = upper - lower;
+        if (range > 0) {
+            return lower + nextLong(range);
+        }
+        long r;
+        do {
+            r = nextLong();
+        } while (r < lower || r >= upper);
+        return r;
+    }
+
+    /**
+     * Next random double from zero (inclusive) to one (exclusive).
+     *
+     * @return Random double.
+     */
+    default double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Next random double between {@code lower} (inclusive) and {@code upper} (exclusive).
+     *
+     * @param lower Lower bound (inclusive).
+     * @param upper Upper bound (exclusive), must be greater than {@code lower}.
+     * @return Random double.
+     */
+    default double nextDouble(double lower, double upper) {
+        if (!(upper > lower)) {
+            throw new IllegalArgumentException("Upper bound must be greater than lower bound.");
+        }
+        double r = nextDouble() * (upper - lower) + lower;
+        return r < upper ? r : Math.nextDown(upper);
+    }
+
+    /**
+     * Random boolean.
+     *
+     * @return Random boolean.
+     */
+    default boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    /**
+     * Normally distributed random number, calculated with Box-Muller transform. Second generated number is not cached.
+     *
+     * @return Normally distributed random number with mean 0 and standard deviation 1.
+     */
+    default double nextGaussian() {
+        double u1 = 1.0 - nextDouble();
+        double u2 = nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+}
@@ -0,0 +1,91 @@
+package io.smartcat.ranger.distribution;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Creates random engines by name. Supported names are {@value #SPLITTABLE}, {@value #XOROSHIRO128PP},
+ * {@value #L64X128} and {@value #JDK}.
+ */
+public final class RandomEngines {
+
+    /**
+     * Name of {@link SplittableRandomEngine}.
+     */
+    public static final String SPLITTABLE = "splittable";
+
+    /**
+     * Name of {@link Xoroshiro128PlusPlusEngine}.
+     */
+    public static final String XOROSHIRO128PP = "xoroshiro128pp";
+
+    /**
+     * Name of {@link L64X128Engine}.
+     */
+    public static final String L64X128 = "l64x128";
+
+    /**
+     * Name of {@link JdkRandomEngine}.
+     */
+    public static final String JDK = "jdk";
+
+    private static final List<String> NAMES = Arrays.asList(SPLITTABLE, XOROSHIRO128PP, L64X128, JDK);
+
+    private RandomEngines() {
+    }
+
+    /**
+     * Returns default random engine, {@link SplittableRandomEngine} with random seed.
+     *
+     * @return Default random engine.
+     */
+    public static RandomEngine defaultEngine() {
+        return new SplittableRandomEngine();
+    }
+
+    /**
+     * Creates random engine with specified <code>name</code> and random seed.
+     *
+     * @param name Name of the engine.
+     * @return Random engine.
+     */
+    public static RandomEngine create(String name) {
+        switch (checkName(name)) {
+        case SPLITTABLE:
+            return new SplittableRandomEngine();
+        case XOROSHIRO128PP:
+            return new Xoroshiro128PlusPlusEngine();
+        case L64X128:
+            return new L64X128Engine();
+        default:
+            return new JdkRandomEngine();
+        }
+    }
+
+    /**
+     * Creates random engine with specified <code>name</code> and <code>seed</code>.
+     *
+     * @param name Name of the engine.
+     * @param seed Seed of the engine.
+     * @return Random engine.
+     */
+    public static RandomEngine create(String name, long seed) {
+        switch (checkName(name)) {
+        case SPLITTABLE:
+            return new SplittableRandomEngine(seed);
+        case XOROSHIRO128PP:
+            return new Xoroshiro128PlusPlusEngine(seed);
+        case L64X128:
+            return new L64X128Engine(seed);
+        default:
+            return new JdkRandomEngine(seed);
+        }
+    }
+
+    private static String checkName(String name) {
+        if (!NAMES.contains(name)) {
+            throw new IllegalArgumentException("Unknown random engine: " + name + ", supported engines: " + NAMES);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,32 @@
+package io.smartcat.ranger.distribution;
+
+import java.io.Serializable;
+
+/**
+ * Index of the record which is currently being generated. Shared between all {@link CounterBasedRandom} instances of
+ * a single generator, so that moving to another record is a single assignment.
+ */
+public class RandomPosition implements Serializable {
+
+    private static final long serialVersionUID = -3946264960719571563L;
+
+    private long index;
+
+    /**
+     * Returns index of the record which is currently being generated.
+     *
+     * @return Index of the record which is currently being generated.
+     */
+    public long get() {
+        return index;
+    }
+
+    /**
+     * Sets index of the record which is currently being generated.
+     *
+     * @param index Index of the record.
+     */
+    public void set(long index) {
+        this.index = index;
+    }
+}
@@ -0,0 +1,51 @@
+package io.smartcat.ranger.distribution;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Produces seeds for random engines which are not explicitly seeded.
+ */
+final class SeedGenerator {
+
+    /**
+     * Golden ratio increment used by SplitMix64.
+     */
+    static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final AtomicLong SEED_UNIQUIFIER = new AtomicLong(System.currentTimeMillis());
+
+    private SeedGenerator() {
+    }
+
+    /**
+     * Returns new seed, different for each invocation.
+     *
+     * @return Seed.
+     */
+    static long nextSeed() {
+        return mix64(SEED_UNIQUIFIER.addAndGet(GOLDEN_GAMMA) ^ System.nanoTime());
+    }
+
+    /**
+     * Returns seed of the random stream of object at specified <code>index</code>, derived from specified
+     * <code>seed</code>. Streams of different indexes are independent of each other.
+     *
+     * @param seed Seed of the engine.
+     * @param index Index of the object.
+     * @return Seed of the stream.
+     */
+    static long seedAt(long seed, long index) {
+        return mix64(mix64(seed) + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * SplitMix64 finalizer, used to spread seed bits over engine state.
+     *
+     * @param z Value to mix.
+     * @return Mixed value.
+     */
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,59 @@
+package io.smartcat.ranger.distribution;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.SplittableRandom;
+
+/**
+ * Random engine implementing SplitMix64, algorithm of {@link SplittableRandom}, and producing same sequence of longs
+ * as {@link SplittableRandom} created with the same seed. Fastest of the provided engines, it has period of
+ * 2<sup>64</sup> which is more than enough for data generation. State of the engine is a single long, so unlike
+ * {@link SplittableRandom} it can be copied with the value graph.
+ */
+public class SplittableRandomEngine implements RandomEngine {
+
+    private static final long serialVersionUID = -2381337693284452785L;
+
+    private long seed;
+    private long initialSeed;
+    private boolean explicitlySeeded;
+
+    /**
+     * Constructs SplitMix64 engine with random seed.
+     */
+    public SplittableRandomEngine() {
+        this.seed = SeedGenerator.nextSeed();
+    }
+
+    /**
+     * Constructs SplitMix64 engine with specified <code>seed</code>. Copy of the engine continues from its state,
+     * positioned engine restarts from the stream of object index (see {@link #position(long)}).
+     *
+     * @param seed Seed of the engine.
+     */
+    public SplittableRandomEngine(long seed) {
+        this.seed = seed;
+        this.initialSeed = seed;
+        this.explicitlySeeded = true;
+    }
+
+    @Override
+    public long nextLong() {
+        seed += SeedGenerator.GOLDEN_GAMMA;
+        return SeedGenerator.mix64(seed);
+    }
+
+    @Override
+    public void position(long index) {
+        if (explicitlySeeded) {
+            seed = SeedGenerator.seedAt(initialSeed, index);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (!explicitlySeeded) {
+            seed = SeedGenerator.nextSeed();
+        }
+    }
+}
@@ -1,41 +1,71 @@
 package io.smartcat.ranger.distribution;
 
-import java.util.Random;
-
 /**
- * Uniform distribution.
+ * Uniform distribution. Values are sampled from {@link RandomEngine}, {@link SplittableRandomEngine} is used unless
+ * other engine is specified.
  */
 public class UniformDistribution implements Distribution {
 
-    private Random random = new Random();
+    private static final long serialVersionUID = 3702543519329417738L;
+
+    private RandomEngine engine;
+
+    /**
+     * Constructs uniform distribution with default random engine.
+     */
+    public UniformDistribution() {
+        this(RandomEngines.defaultEngine());
+    }
+
+    /**
+     * Constructs uniform distribution with specified random <code>engine</code>.
+     *
+     * @param engine Random engine to use.
+     */
+    public UniformDistribution(RandomEngine engine) {
+        setRandomEngine(engine);
+    }
 
     @Override
     public int nextInt(int bound) {
-        return random.nextInt(bound);
+        return engine.nextInt(bound);
     }
 
     @Override
     public int nextInt(int lower, int upper) {
-        return random.ints(1, lower, upper).findFirst().getAsInt();
+        return engine.nextInt(lower, upper);
     }
 
     @Override
     public long nextLong(long bound) {
-        return random.longs(1, 0, bound).findFirst().getAsLong();
+        return engine.nextLong(bound);
     }
 
     @Override
     public long nextLong(long lower, long upper) {
-        return random.longs(1, lower, upper).findFirst().getAsLong();
+        return engine.nextLong(lower, upper);
     }
 
     @Override
     public double nextDouble(double lower, double upper) {
-        return random.doubles(1, lower, upper).findFirst().getAsDouble();
+        return engine.nextDouble(lower, upper);
     }
 
     @Override
     public boolean nextBoolean() {
-        return random.nextBoolean();
+        return engine.nextBoolean();
+    }
+
+    @Override
+    public void position(long index) {
+        engine.position(index);
+    }
+
+    @Override
+    public void setRandomEngine(RandomEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Random engine cannot be null.");
+        }
+        this.engine = engine;
     }
 }
@@ -0,0 +1,71 @@
+package io.smartcat.ranger.distribution;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+/**
+ * Random engine implementing xoroshiro128++ algorithm by David Blackman and Sebastiano Vigna. It has period of
+ * 2<sup>128</sup> - 1 and state of only two longs.
+ */
+public class Xoroshiro128PlusPlusEngine implements RandomEngine {
+
+    private static final long serialVersionUID = 5166423795405946231L;
+
+    private long s0;
+    private long s1;
+    private long initialSeed;
+    private boolean explicitlySeeded;
+
+    /**
+     * Constructs xoroshiro128++ engine with random seed.
+     */
+    public Xoroshiro128PlusPlusEngine() {
+        seed(SeedGenerator.nextSeed());
+    }
+
+    /**
+     * Constructs xoroshiro128++ engine with specified <code>seed</code>. Seed is expanded to engine state with
+     * SplitMix64, as recommended by the authors of the algorithm. Copy of the engine continues from its state,
+     * positioned engine restarts from the stream of object index (see {@link #position(long)}).
+     *
+     * @param seed Seed of the engine.
+     */
+    public Xoroshiro128PlusPlusEngine(long seed) {
+        seed(seed);
+        this.initialSeed = seed;
+        this.explicitlySeeded = true;
+    }
+
+    @Override
+    public long nextLong() {
+        long q0 = s0;
+        long q1 = s1;
+        long result = Long.rotateLeft(q0 + q1, 17) + q0;
+        q1 ^= q0;
+        s0 = Long.rotateLeft(q0, 49) ^ q1 ^ (q1 << 21);
+        s1 = Long.rotateLeft(q1, 28);
+        return result;
+    }
+
+    @Override
+    public void position(long index) {
+        if (explicitlySeeded) {
+            seed(SeedGenerator.seedAt(initialSeed, index));
+        }
+    }
+
+    private void seed(long seed) {
+        s0 = SeedGenerator.mix64(seed + SeedGenerator.GOLDEN_GAMMA);
+        s1 = SeedGenerator.mix64(seed + 2 * SeedGenerator.GOLDEN_GAMMA);
+        if ((s0 | s1) == 0) {
+            s1 = SeedGenerator.GOLDEN_GAMMA;
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (!explicitlySeeded) {
+            seed(SeedGenerator.nextSeed());
+        }
+    }
+}
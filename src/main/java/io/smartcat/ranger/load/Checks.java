@@ -0,0 +1,36 @@
+package io.smartcat.ranger.load;
+
+import java.time.Duration;
+
+/**
+ * Argument checks shared by rate profiles and load driver.
+ */
+final class Checks {
+
+    private Checks() {
+    }
+
+    /**
+     * Checks whether specified <code>rate</code> is positive and finite.
+     *
+     * @param rate Rate to check.
+     */
+    static void checkRate(double rate) {
+        if (!(rate > 0) || Double.isInfinite(rate)) {
+            throw new IllegalArgumentException("Rate must be positive and finite. rate: " + rate);
+        }
+    }
+
+    /**
+     * Checks whether specified <code>duration</code> is positive and returns it in nanoseconds.
+     *
+     * @param duration Duration to check.
+     * @return Duration in nanoseconds.
+     */
+    static long checkDuration(Duration duration) {
+        if (duration == null || duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("Duration must be positive. duration: " + duration);
+        }
+        return duration.toNanos();
+    }
+}
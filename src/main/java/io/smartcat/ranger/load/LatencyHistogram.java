@@ -0,0 +1,171 @@
+package io.smartcat.ranger.load;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogram of non-negative long values, typically latencies in nanoseconds, with fixed relative precision. Values
+ * are counted in log-linear buckets the same way HdrHistogram counts them: each power of two range is divided into
+ * 1024 equal sub-buckets, so value reported for a percentile is within 0.1% of the recorded value. Memory footprint
+ * does not depend on number of recorded values. Values greater than highest trackable value are counted as highest
+ * trackable value. Histogram is not thread safe, histograms recorded by different threads are combined with
+ * {@link #add(LatencyHistogram)}.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Default highest trackable value, one hour in nanoseconds.
+     */
+    public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toNanos(1);
+
+    private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = 10;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_HALF_COUNT_MAGNITUDE;
+    private static final long SUB_BUCKET_MASK = (SUB_BUCKET_HALF_COUNT << 1) - 1;
+    private static final int LEADING_ZERO_COUNT_BASE = 64 - SUB_BUCKET_HALF_COUNT_MAGNITUDE - 1;
+
+    private final long highestTrackableValue;
+    private final long[] counts;
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+    private double sum;
+
+    /**
+     * Constructs histogram with {@link #DEFAULT_HIGHEST_TRACKABLE_VALUE}.
+     */
+    public LatencyHistogram() {
+        this(DEFAULT_HIGHEST_TRACKABLE_VALUE);
+    }
+
+    /**
+     * Constructs histogram with specified <code>highestTrackableValue</code>.
+     *
+     * @param highestTrackableValue Highest value histogram distinguishes, must be at least 2048.
+     */
+    public LatencyHistogram(long highestTrackableValue) {
+        if (highestTrackableValue < 2 * SUB_BUCKET_HALF_COUNT) {
+            throw new IllegalArgumentException(
+                    "Highest trackable value must be at least 2048. highestTrackableValue: " + highestTrackableValue);
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new long[countsIndex(highestTrackableValue) + 1];
+    }
+
+    /**
+     * Records specified <code>value</code>.
+     *
+     * @param value Value to record.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative. value: " + value);
+        }
+        long tracked = Math.min(value, highestTrackableValue);
+        counts[countsIndex(tracked)]++;
+        totalCount++;
+        min = Math.min(min, tracked);
+        max = Math.max(max, tracked);
+        sum += tracked;
+    }
+
+    /**
+     * Adds all values recorded by <code>other</code> histogram to this histogram.
+     *
+     * @param other Histogram whose values to add, must have same highest trackable value.
+     */
+    public void add(LatencyHistogram other) {
+        if (other.highestTrackableValue != highestTrackableValue) {
+            throw new IllegalArgumentException("Histograms must have same highest trackable value.");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        sum += other.sum;
+    }
+
+    /**
+     * Returns number of recorded values.
+     *
+     * @return Number of recorded values.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns lowest recorded value.
+     *
+     * @return Lowest recorded value, or 0 if no value was recorded.
+     */
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    /**
+     * Returns highest recorded value.
+     *
+     * @return Highest recorded value, or 0 if no value was recorded.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns mean of recorded values.
+     *
+     * @return Mean of recorded values, or 0 if no value was recorded.
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0 : sum / totalCount;
+    }
+
+    /**
+     * Returns value at specified <code>percentile</code>, that is the highest value equivalent, within histogram
+     * precision, to the value below which given percentage of recorded values fall.
+     *
+     * @param percentile Percentile, between 0 and 100.
+     * @return Value at specified percentile, or 0 if no value was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100. percentile: " + percentile);
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            count += counts[i];
+            if (count >= countAtPercentile) {
+                return Math.min(Math.max(highestEquivalentValue(i), min), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram [count=" + totalCount + ", min=" + getMin() + ", mean=" + getMean() + ", p50="
+                + getValueAtPercentile(50) + ", p99=" + getValueAtPercentile(99) + ", p99.9="
+                + getValueAtPercentile(99.9) + ", max=" + max + "]";
+    }
+
+    private static int countsIndex(long value) {
+        int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE) + subBucketIndex - SUB_BUCKET_HALF_COUNT;
+    }
+
+    private static long highestEquivalentValue(int countsIndex) {
+        int bucketIndex = (countsIndex >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+        long subBucketIndex = (countsIndex & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+        return (subBucketIndex << bucketIndex) + (1L << bucketIndex) - 1;
+    }
+}
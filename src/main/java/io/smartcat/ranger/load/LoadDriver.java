@@ -0,0 +1,414 @@
+package io.smartcat.ranger.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import io.smartcat.ranger.ObjectGenerator;
+import io.smartcat.ranger.core.DetachedValues;
+
+/**
+ * Emits generated objects to a callback at a target rate, for driving load against a system under test. Driver is
+ * open-loop: each object has an intended start time determined only by the {@link RateProfile}, workers wait until
+ * that time, generate the object and pass it to the callback. When callback is slower than the target rate, objects
+ * are not skipped nor rescheduled, they start late and the delay is recorded, so reported latencies do not suffer
+ * from coordinated omission. Each worker thread records into its own histograms, which are combined when the run
+ * completes.
+ * <p>
+ * When all values of the generator can be positioned (see {@link ObjectGenerator#isPositionable()}), each worker uses
+ * its own copy of the value graph created at position of the generator (see {@link ObjectGenerator#copyAt(long)}) and
+ * generates each object at its index in the schedule, so circular values continue across workers and seeded generator
+ * emits the same objects {@link ObjectGenerator#generateAt(long)} generates. Otherwise objects are generated in order
+ * by a single thread, using the generator itself, and handed to the workers, which emit them at their intended start
+ * time. Such objects are generated ahead of their intended start time and detached (see
+ * {@link io.smartcat.ranger.core.DetachedValues}). Either way, generator is moved past all scheduled objects after the
+ * run.
+ *
+ * @param <T> Type of objects to be generated.
+ */
+public class LoadDriver<T> {
+
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long MIN_HIGHEST_TRACKABLE_LATENCY = 2048;
+
+    private final ObjectGenerator<T> generator;
+    private final RateProfile profile;
+    private final int threads;
+    private final long highestTrackableValue;
+    private volatile boolean stopped;
+
+    /**
+     * Constructs load driver which emits objects generated by specified <code>generator</code> at rate determined by
+     * specified <code>profile</code> using specified number of <code>threads</code>.
+     *
+     * @param generator Generator whose value graph will be copied for each worker.
+     * @param profile Target rate profile.
+     * @param threads Number of worker threads, which is also the maximum number of concurrent callback invocations.
+     */
+    public LoadDriver(ObjectGenerator<T> generator, RateProfile profile, int threads) {
+        this(generator, profile, threads, LatencyHistogram.DEFAULT_HIGHEST_TRACKABLE_VALUE);
+    }
+
+    /**
+     * Constructs load driver which emits objects generated by specified <code>generator</code> at rate determined by
+     * specified <code>profile</code> using specified number of <code>threads</code>.
+     *
+     * @param generator Generator whose value graph will be copied for each worker.
+     * @param profile Target rate profile.
+     * @param threads Number of worker threads, which is also the maximum number of concurrent callback invocations.
+     * @param highestTrackableLatency Highest latency in nanoseconds recorded histograms distinguish, must be at least
+     *            2048.
+     */
+    public LoadDriver(ObjectGenerator<T> generator, RateProfile profile, int threads, long highestTrackableLatency) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Generator cannot be null.");
+        }
+        if (profile == null) {
+            throw new IllegalArgumentException("Rate profile cannot be null.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be greater than 0. threads: " + threads);
+        }
+        if (highestTrackableLatency < MIN_HIGHEST_TRACKABLE_LATENCY) {
+            throw new IllegalArgumentException("Highest trackable latency must be at least "
+                    + MIN_HIGHEST_TRACKABLE_LATENCY + ". highestTrackableLatency: " + highestTrackableLatency);
+        }
+        this.generator = generator;
+        this.profile = profile;
+        this.threads = threads;
+        this.highestTrackableValue = highestTrackableLatency;
+    }
+
+    /**
+     * Emits specified <code>numberOfObjects</code> to the <code>callback</code>. Callback is invoked concurrently from
+     * multiple threads and must be thread safe. Exceptions thrown by callback are counted as errors and do not stop the
+     * run. Method returns when all objects are emitted or when {@link #stop()} is invoked.
+     *
+     * @param numberOfObjects Number of objects to emit.
+     * @param callback Callback which receives emitted objects.
+     * @return Report of the run.
+     * @throws InterruptedException if current thread is interrupted while waiting for the run to complete.
+     */
+    public LoadReport run(long numberOfObjects, Consumer<? super T> callback) throws InterruptedException {
+        if (numberOfObjects < 0) {
+            throw new IllegalArgumentException(
+                    "Cannot emit negative number of objects. numberOfObjects: " + numberOfObjects);
+        }
+        return run(numberOfObjects, Long.MAX_VALUE, callback);
+    }
+
+    /**
+     * Emits objects to the <code>callback</code> for specified <code>duration</code>. Callback is invoked concurrently
+     * from multiple threads and must be thread safe. Exceptions thrown by callback are counted as errors and do not
+     * stop the run. Method returns when all objects whose intended start time falls within the duration are emitted
+     * or when {@link #stop()} is invoked.
+     *
+     * @param duration Duration of the run.
+     * @param callback Callback which receives emitted objects.
+     * @return Report of the run.
+     * @throws InterruptedException if current thread is interrupted while waiting for the run to complete.
+     */
+    public LoadReport run(Duration duration, Consumer<? super T> callback) throws InterruptedException {
+        return run(Long.MAX_VALUE, Checks.checkDuration(duration), callback);
+    }
+
+    /**
+     * Stops the run in progress. Objects whose callbacks are in progress are completed, no new objects are emitted.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    private LoadReport run(long numberOfObjects, long durationNanos, Consumer<? super T> callback)
+            throws InterruptedException {
+        if (callback == null) {
+            throw new IllegalArgumentException("Callback cannot be null.");
+        }
+        stopped = false;
+        boolean positionable = generator.isPositionable();
+        long first;
+        List<Worker> workers = new ArrayList<>();
+        synchronized (generator) {
+            first = generator.position();
+            for (int i = 0; i < threads; i++) {
+                workers.add(new Worker(positionable ? generator.copyAt(first) : null, callback));
+            }
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(positionable ? threads : threads + 1);
+        try {
+            Schedule schedule = new Schedule(System.nanoTime(), numberOfObjects, durationNanos);
+            List<Future<?>> futures = new ArrayList<>();
+            if (positionable) {
+                for (Worker worker : workers) {
+                    futures.add(executor.submit(() -> worker.run(schedule, first)));
+                }
+            } else {
+                Producer producer = new Producer(threads);
+                futures.add(executor.submit(() -> producer.run(schedule)));
+                for (Worker worker : workers) {
+                    futures.add(executor.submit(() -> worker.run(producer)));
+                }
+            }
+            await(futures);
+            long end = System.nanoTime();
+            LoadReport report = report(workers, Duration.ofNanos(end - schedule.start));
+            if (positionable) {
+                synchronized (generator) {
+                    generator.skip(schedule.taken());
+                }
+            }
+            return report;
+        } finally {
+            stopped = true;
+            executor.shutdownNow();
+        }
+    }
+
+    private void await(List<Future<?>> futures) throws InterruptedException {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            stopped = true;
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private LoadReport report(List<Worker> workers, Duration duration) {
+        long count = 0;
+        long errors = 0;
+        Throwable firstError = null;
+        LatencyHistogram scheduleLag = new LatencyHistogram(highestTrackableValue);
+        LatencyHistogram generationTime = new LatencyHistogram(highestTrackableValue);
+        LatencyHistogram serviceTime = new LatencyHistogram(highestTrackableValue);
+        LatencyHistogram responseTime = new LatencyHistogram(highestTrackableValue);
+        for (Worker worker : workers) {
+            count += worker.count;
+            errors += worker.errors;
+            if (firstError == null) {
+                firstError = worker.firstError;
+            }
+            scheduleLag.add(worker.scheduleLag);
+            generationTime.add(worker.generationTime);
+            serviceTime.add(worker.serviceTime);
+            responseTime.add(worker.responseTime);
+        }
+        return new LoadReport(count, errors, firstError, duration, scheduleLag, generationTime, serviceTime,
+                responseTime);
+    }
+
+    private void waitUntil(long time) {
+        long remaining = time - System.nanoTime();
+        while (remaining > SPIN_THRESHOLD_NANOS && !stopped) {
+            LockSupport.parkNanos(Math.min(remaining - SPIN_THRESHOLD_NANOS, MAX_PARK_NANOS));
+            remaining = time - System.nanoTime();
+        }
+        while (remaining > 0 && !stopped) {
+            Thread.yield();
+            remaining = time - System.nanoTime();
+        }
+    }
+
+    /**
+     * Sequence of intended start times shared by all workers. Each object is scheduled after the inverse of the rate
+     * profile at intended start time of the previous object.
+     */
+    private class Schedule {
+
+        private final long start;
+        private final long numberOfObjects;
+        private final long durationNanos;
+        private long index;
+        private double offset;
+
+        Schedule(long start, long numberOfObjects, long durationNanos) {
+            this.start = start;
+            this.numberOfObjects = numberOfObjects;
+            this.durationNanos = durationNanos;
+        }
+
+        /**
+         * Takes next object from the schedule.
+         *
+         * @param slot Array into which index of the object and its intended start time are stored.
+         * @return True if object was taken, <code>false</code> if schedule is exhausted.
+         */
+        synchronized boolean next(long[] slot) {
+            long offsetNanos = (long) offset;
+            if (index >= numberOfObjects || offsetNanos >= durationNanos) {
+                return false;
+            }
+            double rate = profile.rateAt(offsetNanos);
+            if (!(rate > 0)) {
+                throw new IllegalStateException("Rate profile returned non positive rate: " + rate);
+            }
+            slot[0] = index++;
+            slot[1] = start + offsetNanos;
+            offset += 1e9 / rate;
+            return true;
+        }
+
+        /**
+         * Returns number of objects taken from the schedule.
+         *
+         * @return Number of objects taken from the schedule.
+         */
+        synchronized long taken() {
+            return index;
+        }
+    }
+
+    /**
+     * Generated object waiting for its intended start time.
+     *
+     * @param <T> Type of the object.
+     */
+    private static final class Emission<T> {
+
+        private final T object;
+        private final long intended;
+        private final long generationNanos;
+
+        Emission(T object, long intended, long generationNanos) {
+            this.object = object;
+            this.intended = intended;
+            this.generationNanos = generationNanos;
+        }
+    }
+
+    /**
+     * Generates objects in order of the schedule with the generator itself and hands them to the workers, used when
+     * generator contains values which cannot be positioned. Generates at most one object per worker ahead.
+     */
+    private class Producer {
+
+        private final BlockingQueue<Emission<T>> queue;
+        private volatile boolean done;
+
+        Producer(int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void run(Schedule schedule) {
+            try {
+                long[] slot = new long[2];
+                synchronized (generator) {
+                    while (!stopped && schedule.next(slot)) {
+                        long started = System.nanoTime();
+                        T object = DetachedValues.detach(generator.next());
+                        Emission<T> emission = new Emission<>(object, slot[1], System.nanoTime() - started);
+                        while (!stopped && !queue.offer(emission, MAX_PARK_NANOS, TimeUnit.NANOSECONDS)) {
+                            // workers are busy, wait until one of them takes an object
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done = true;
+            }
+        }
+
+        Emission<T> take() throws InterruptedException {
+            while (!stopped) {
+                boolean finished = done;
+                Emission<T> emission = queue.poll(MAX_PARK_NANOS, TimeUnit.NANOSECONDS);
+                if (emission != null || finished) {
+                    return emission;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Takes objects from the schedule or from the producer, emits them at their intended start time and records
+     * latencies.
+     */
+    private class Worker {
+
+        private final ObjectGenerator<T> workerGenerator;
+        private final Consumer<? super T> callback;
+        private final LatencyHistogram scheduleLag = new LatencyHistogram(highestTrackableValue);
+        private final LatencyHistogram generationTime = new LatencyHistogram(highestTrackableValue);
+        private final LatencyHistogram serviceTime = new LatencyHistogram(highestTrackableValue);
+        private final LatencyHistogram responseTime = new LatencyHistogram(highestTrackableValue);
+        private long count;
+        private long errors;
+        private Throwable firstError;
+
+        Worker(ObjectGenerator<T> workerGenerator, Consumer<? super T> callback) {
+            this.workerGenerator = workerGenerator;
+            this.callback = callback;
+        }
+
+        void run(Schedule schedule, long first) {
+            long[] slot = new long[2];
+            while (!stopped && schedule.next(slot)) {
+                long intended = slot[1];
+                waitUntil(intended);
+                if (stopped) {
+                    return;
+                }
+                long started = System.nanoTime();
+                // copy at index skips in constant time, indexes taken by a worker only grow
+                workerGenerator.skip(first + slot[0] - workerGenerator.position());
+                T object = workerGenerator.next();
+                long generated = System.nanoTime();
+                emit(object, intended, started, generated, generated - started);
+            }
+        }
+
+        void run(Producer producer) {
+            try {
+                Emission<T> emission;
+                while ((emission = producer.take()) != null) {
+                    waitUntil(emission.intended);
+                    if (stopped) {
+                        return;
+                    }
+                    long started = System.nanoTime();
+                    emit(emission.object, emission.intended, started, started, emission.generationNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException | Error e) {
+                stopped = true;
+                throw e;
+            }
+        }
+
+        private void emit(T object, long intended, long started, long generated, long generationNanos) {
+            try {
+                callback.accept(object);
+            } catch (RuntimeException e) {
+                if (errors++ == 0) {
+                    firstError = e;
+                }
+            }
+            long completed = System.nanoTime();
+            scheduleLag.record(Math.max(0, started - intended));
+            generationTime.record(generationNanos);
+            serviceTime.record(completed - generated);
+            responseTime.record(Math.max(0, completed - intended));
+            count++;
+        }
+    }
+}
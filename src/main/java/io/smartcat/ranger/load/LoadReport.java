@@ -0,0 +1,135 @@
+package io.smartcat.ranger.load;
+
+import java.time.Duration;
+
+/**
+ * Result of a {@link LoadDriver} run. All latencies are recorded in nanoseconds and are measured from the intended
+ * start time of each object, which is determined by the rate profile and does not depend on how fast previous objects
+ * were processed, so time objects spent waiting for an available worker is not omitted.
+ */
+public class LoadReport {
+
+    private final long count;
+    private final long errors;
+    private final Throwable firstError;
+    private final Duration duration;
+    private final LatencyHistogram scheduleLag;
+    private final LatencyHistogram generationTime;
+    private final LatencyHistogram serviceTime;
+    private final LatencyHistogram responseTime;
+
+    /**
+     * Constructs load report.
+     *
+     * @param count Number of emitted objects.
+     * @param errors Number of objects for which callback threw an exception.
+     * @param firstError First exception thrown by callback, or <code>null</code>.
+     * @param duration Duration of the run.
+     * @param scheduleLag Histogram of delays between intended and actual start times.
+     * @param generationTime Histogram of object generation times.
+     * @param serviceTime Histogram of callback execution times.
+     * @param responseTime Histogram of times between intended start time and callback completion.
+     */
+    public LoadReport(long count, long errors, Throwable firstError, Duration duration, LatencyHistogram scheduleLag,
+            LatencyHistogram generationTime, LatencyHistogram serviceTime, LatencyHistogram responseTime) {
+        this.count = count;
+        this.errors = errors;
+        this.firstError = firstError;
+        this.duration = duration;
+        this.scheduleLag = scheduleLag;
+        this.generationTime = generationTime;
+        this.serviceTime = serviceTime;
+        this.responseTime = responseTime;
+    }
+
+    /**
+     * Returns number of emitted objects.
+     *
+     * @return Number of emitted objects.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns number of objects for which callback threw an exception.
+     *
+     * @return Number of failed callback invocations.
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Returns first exception thrown by callback.
+     *
+     * @return First exception thrown by callback, or <code>null</code> if there were no errors.
+     */
+    public Throwable getFirstError() {
+        return firstError;
+    }
+
+    /**
+     * Returns duration of the run, from its start until the completion of the last callback.
+     *
+     * @return Duration of the run.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns achieved rate.
+     *
+     * @return Number of emitted objects per second.
+     */
+    public double getAchievedRate() {
+        long nanos = duration.toNanos();
+        return nanos == 0 ? 0 : count * 1e9 / nanos;
+    }
+
+    /**
+     * Returns histogram of delays between intended start time of an object and the moment its generation started.
+     * Growing schedule lag means that workers cannot keep up with the target rate.
+     *
+     * @return Schedule lag histogram.
+     */
+    public LatencyHistogram getScheduleLag() {
+        return scheduleLag;
+    }
+
+    /**
+     * Returns histogram of time spent generating objects.
+     *
+     * @return Generation time histogram.
+     */
+    public LatencyHistogram getGenerationTime() {
+        return generationTime;
+    }
+
+    /**
+     * Returns histogram of time spent in callback.
+     *
+     * @return Service time histogram.
+     */
+    public LatencyHistogram getServiceTime() {
+        return serviceTime;
+    }
+
+    /**
+     * Returns histogram of time between intended start time of an object and completion of its callback. This is the
+     * latency as observed by a client issuing requests at the target rate.
+     *
+     * @return Response time histogram.
+     */
+    public LatencyHistogram getResponseTime() {
+        return responseTime;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadReport [count=" + count + ", errors=" + errors + ", duration=" + duration + ", achievedRate="
+                + getAchievedRate() + ", scheduleLag=" + scheduleLag + ", generationTime=" + generationTime
+                + ", serviceTime=" + serviceTime + ", responseTime=" + responseTime + "]";
+    }
+}
@@ -0,0 +1,86 @@
+package io.smartcat.ranger.load;
+
+import java.time.Duration;
+
+/**
+ * Target rate of emission as a function of time elapsed since the start of the run. Profile is queried once per
+ * emitted object, at its intended start time, and the next object is scheduled after the inverse of returned rate.
+ */
+@FunctionalInterface
+public interface RateProfile {
+
+    /**
+     * Returns target rate at specified elapsed time.
+     *
+     * @param elapsedNanos Nanoseconds elapsed since the start of the run.
+     * @return Target rate in objects per second, must be greater than 0.
+     */
+    double rateAt(long elapsedNanos);
+
+    /**
+     * Creates profile with constant rate.
+     *
+     * @param rate Rate in objects per second.
+     * @return Constant rate profile.
+     */
+    static RateProfile constant(double rate) {
+        Checks.checkRate(rate);
+        return elapsedNanos -> rate;
+    }
+
+    /**
+     * Creates profile which changes rate linearly from <code>fromRate</code> to <code>toRate</code> over specified
+     * <code>duration</code> and keeps <code>toRate</code> afterwards.
+     *
+     * @param fromRate Rate at the start of the run in objects per second.
+     * @param toRate Rate at the end of the ramp in objects per second.
+     * @param duration Duration of the ramp.
+     * @return Ramp rate profile.
+     */
+    static RateProfile ramp(double fromRate, double toRate, Duration duration) {
+        Checks.checkRate(fromRate);
+        Checks.checkRate(toRate);
+        long nanos = Checks.checkDuration(duration);
+        return elapsedNanos -> elapsedNanos >= nanos ? toRate
+                : fromRate + (toRate - fromRate) * elapsedNanos / nanos;
+    }
+
+    /**
+     * Creates profile which keeps each of specified <code>rates</code> for <code>stepDuration</code>, in order, and
+     * keeps the last rate afterwards.
+     *
+     * @param stepDuration Duration of each step.
+     * @param rates Rates of steps in objects per second.
+     * @return Step rate profile.
+     */
+    static RateProfile step(Duration stepDuration, double... rates) {
+        long nanos = Checks.checkDuration(stepDuration);
+        if (rates == null || rates.length == 0) {
+            throw new IllegalArgumentException("At least one rate must be specified.");
+        }
+        double[] steps = rates.clone();
+        for (double rate : steps) {
+            Checks.checkRate(rate);
+        }
+        return elapsedNanos -> steps[(int) Math.min(elapsedNanos / nanos, steps.length - 1)];
+    }
+
+    /**
+     * Creates profile whose rate oscillates around <code>meanRate</code> by <code>amplitude</code> with specified
+     * <code>period</code>, starting at mean rate.
+     *
+     * @param meanRate Mean rate in objects per second.
+     * @param amplitude Amplitude in objects per second, must be less than mean rate.
+     * @param period Period of oscillation.
+     * @return Sine rate profile.
+     */
+    static RateProfile sine(double meanRate, double amplitude, Duration period) {
+        Checks.checkRate(meanRate);
+        if (amplitude < 0 || amplitude >= meanRate) {
+            throw new IllegalArgumentException(
+                    "Amplitude must be non negative and less than mean rate. amplitude: " + amplitude);
+        }
+        long nanos = Checks.checkDuration(period);
+        return elapsedNanos -> meanRate + amplitude * Math.sin(2 * Math.PI * (elapsedNanos % nanos) / nanos);
+    }
+}
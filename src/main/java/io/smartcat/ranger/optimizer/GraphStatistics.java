@@ -0,0 +1,116 @@
+package io.smartcat.ranger.optimizer;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import io.smartcat.ranger.core.ConstantValue;
+import io.smartcat.ranger.core.Value;
+import io.smartcat.ranger.core.ValueProxy;
+
+/**
+ * Statistics of a value graph: number of distinct values, proxies among them, constants among them and number of
+ * references between values. Values referenced from multiple places are counted once.
+ */
+public final class GraphStatistics {
+
+    private final int values;
+    private final int proxies;
+    private final int constants;
+    private final int references;
+
+    private GraphStatistics(int values, int proxies, int constants, int references) {
+        this.values = values;
+        this.proxies = proxies;
+        this.constants = constants;
+        this.references = references;
+    }
+
+    /**
+     * Collects statistics of the graph reachable from specified <code>root</code>.
+     *
+     * @param root Root of the graph.
+     * @return Statistics of the graph.
+     */
+    public static GraphStatistics of(Value<?> root) {
+        return of(Collections.singletonList(root));
+    }
+
+    /**
+     * Collects statistics of the graph reachable from any of specified <code>roots</code>.
+     *
+     * @param roots Roots of the graph.
+     * @return Statistics of the graph.
+     */
+    public static GraphStatistics of(Collection<? extends Value<?>> roots) {
+        if (roots == null) {
+            throw new IllegalArgumentException("Roots cannot be null.");
+        }
+        Set<Value<?>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Value<?>> stack = new ArrayDeque<>(roots);
+        int proxies = 0;
+        int constants = 0;
+        int references = 0;
+        while (!stack.isEmpty()) {
+            Value<?> value = stack.pop();
+            if (!visited.add(value)) {
+                continue;
+            }
+            if (value instanceof ValueProxy) {
+                proxies++;
+            } else if (value instanceof ConstantValue) {
+                constants++;
+            }
+            List<Value<?>> children = value.getChildren();
+            references += children.size();
+            stack.addAll(children);
+        }
+        return new GraphStatistics(visited.size(), proxies, constants, references);
+    }
+
+    /**
+     * Returns number of distinct values in the graph.
+     *
+     * @return Number of values.
+     */
+    public int getValues() {
+        return values;
+    }
+
+    /**
+     * Returns number of {@link ValueProxy} instances in the graph.
+     *
+     * @return Number of proxies.
+     */
+    public int getProxies() {
+        return proxies;
+    }
+
+    /**
+     * Returns number of {@link ConstantValue} instances in the graph.
+     *
+     * @return Number of constants.
+     */
+    public int getConstants() {
+        return constants;
+    }
+
+    /**
+     * Returns number of references from values to values they directly depend on.
+     *
+     * @return Number of references.
+     */
+    public int getReferences() {
+        return references;
+    }
+
+    @Override
+    public String toString() {
+        return "values: " + values + ", proxies: " + proxies + ", constants: " + constants + ", references: "
+                + references;
+    }
+}
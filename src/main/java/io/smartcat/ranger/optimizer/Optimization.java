@@ -0,0 +1,90 @@
+package io.smartcat.ranger.optimizer;
+
+import io.smartcat.ranger.core.Value;
+
+/**
+ * Result of {@link ValueOptimizer}: optimized value together with statistics of the graph before and after
+ * optimization and counts of applied optimizations. {@link #toString()} gives a printable summary.
+ *
+ * @param <T> Type optimized value would evaluate to.
+ */
+public final class Optimization<T> {
+
+    private final Value<T> value;
+    private final GraphStatistics before;
+    private final GraphStatistics after;
+    private final int foldedValues;
+    private final int collapsedProxies;
+    private final int prunedValues;
+
+    Optimization(Value<T> value, GraphStatistics before, GraphStatistics after, int foldedValues,
+            int collapsedProxies, int prunedValues) {
+        this.value = value;
+        this.before = before;
+        this.after = after;
+        this.foldedValues = foldedValues;
+        this.collapsedProxies = collapsedProxies;
+        this.prunedValues = prunedValues;
+    }
+
+    /**
+     * Returns optimized value.
+     *
+     * @return Optimized value.
+     */
+    public Value<T> getValue() {
+        return value;
+    }
+
+    /**
+     * Returns statistics of the graph before optimization, including values which are not reachable from the root.
+     *
+     * @return Statistics of the graph before optimization.
+     */
+    public GraphStatistics getBefore() {
+        return before;
+    }
+
+    /**
+     * Returns statistics of the optimized graph.
+     *
+     * @return Statistics of the optimized graph.
+     */
+    public GraphStatistics getAfter() {
+        return after;
+    }
+
+    /**
+     * Returns number of values replaced by constants.
+     *
+     * @return Number of folded values.
+     */
+    public int getFoldedValues() {
+        return foldedValues;
+    }
+
+    /**
+     * Returns number of proxies replaced by values they delegate to.
+     *
+     * @return Number of collapsed proxies.
+     */
+    public int getCollapsedProxies() {
+        return collapsedProxies;
+    }
+
+    /**
+     * Returns number of values which were not reachable from the root and are left out of optimized graph.
+     *
+     * @return Number of pruned values.
+     */
+    public int getPrunedValues() {
+        return prunedValues;
+    }
+
+    @Override
+    public String toString() {
+        return "before: " + before + System.lineSeparator() + "after: " + after + System.lineSeparator()
+                + "folded values: " + foldedValues + ", collapsed proxies: " + collapsedProxies + ", pruned values: "
+                + prunedValues;
+    }
+}
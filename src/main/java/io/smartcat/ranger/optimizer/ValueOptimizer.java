@@ -0,0 +1,191 @@
+package io.smartcat.ranger.optimizer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.smartcat.ranger.core.ConstantValue;
+import io.smartcat.ranger.core.NullValue;
+import io.smartcat.ranger.core.StringTransformer;
+import io.smartcat.ranger.core.Value;
+import io.smartcat.ranger.core.ValueProxy;
+import io.smartcat.ranger.core.arithmetic.AdditionValueInteger;
+
+/**
+ * Optimizes value graph before it is used by a generator. Optimized graph is a copy of the source graph which evaluates
+ * to the same values, with following optimizations applied:
+ * <ul>
+ * <li>Constant folding: arithmetic values and string transformers which depend only on constants are evaluated once
+ * and replaced by a constant. Values whose evaluation fails are left as they are, so that failure still happens during
+ * generation.</li>
+ * <li>Proxy collapsing: each proxy is replaced by the value it delegates to. Every value is evaluated at most once per
+ * generated object, so proxy adds only indirection. Values referenced through proxies from multiple places stay
+ * shared.</li>
+ * <li>Dead value elimination: only values reachable from the root are copied, values which are defined but not used
+ * are left out.</li>
+ * </ul>
+ * Copy is made by serialization, same as {@link io.smartcat.ranger.ObjectGenerator#copy()}, with values substituted
+ * as they are written, so references held in any field or collection of any value are rewritten. Optimization
+ * should be done before generator is constructed out of the value, source graph should not be used afterwards.
+ */
+public final class ValueOptimizer {
+
+    private static final Package ARITHMETIC = AdditionValueInteger.class.getPackage();
+
+    private ValueOptimizer() {
+    }
+
+    /**
+     * Optimizes graph reachable from specified <code>root</code>.
+     *
+     * @param root Root of the graph.
+     * @param <T> Type root would evaluate to.
+     * @return Result of optimization.
+     */
+    public static <T> Optimization<T> optimize(Value<T> root) {
+        return optimize(root, Collections.emptyList());
+    }
+
+    /**
+     * Optimizes graph reachable from specified <code>root</code>. Specified <code>definitions</code> are all values
+     * which are defined along with the root, for example named values of a configuration. They are taken into account
+     * only for statistics before optimization, to count values which are left out as unreachable.
+     *
+     * @param root Root of the graph.
+     * @param definitions Values defined along with the root.
+     * @param <T> Type root would evaluate to.
+     * @return Result of optimization.
+     */
+    public static <T> Optimization<T> optimize(Value<T> root, Collection<? extends Value<?>> definitions) {
+        if (root == null) {
+            throw new IllegalArgumentException("Root value cannot be null.");
+        }
+        if (definitions == null) {
+            throw new IllegalArgumentException("Definitions cannot be null.");
+        }
+        List<Value<?>> allRoots = new ArrayList<>(definitions.size() + 1);
+        allRoots.add(root);
+        allRoots.addAll(definitions);
+        GraphStatistics before = GraphStatistics.of(allRoots);
+        int reachable = GraphStatistics.of(root).getValues();
+        Rewriter rewriter = new Rewriter();
+        Value<T> optimized = rewriter.rewrite(root);
+        return new Optimization<>(optimized, before, GraphStatistics.of(optimized), rewriter.folded.size(),
+                rewriter.collapsed.size(), before.getValues() - reachable);
+    }
+
+    /**
+     * Copies value graph substituting optimized values as the graph is written.
+     */
+    private static final class Rewriter {
+
+        private final Map<Value<?>, Boolean> foldable = new IdentityHashMap<>();
+        private final Map<Value<?>, Value<?>> folded = new IdentityHashMap<>();
+        private final Set<Value<?>> collapsed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        @SuppressWarnings("unchecked")
+        <T> Value<T> rewrite(Value<T> root) {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new SubstitutingOutputStream(bytes)) {
+                    out.writeObject(root);
+                }
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                    return (Value<T>) in.readObject();
+                }
+            } catch (IOException | ClassNotFoundException e) {
+                throw new RuntimeException("Could not copy value graph.", e);
+            }
+        }
+
+        private Value<?> substitute(Value<?> value) {
+            Value<?> target = value;
+            Set<Value<?>> chain = Collections.newSetFromMap(new IdentityHashMap<>());
+            while (target instanceof ValueProxy && ((ValueProxy<?>) target).getDelegate() != null) {
+                if (!chain.add(target)) {
+                    // proxies referring to each other, evaluation would fail anyway
+                    return value;
+                }
+                target = ((ValueProxy<?>) target).getDelegate();
+            }
+            collapsed.addAll(chain);
+            return isLeaf(target) ? target : fold(target);
+        }
+
+        private Value<?> fold(Value<?> value) {
+            Value<?> result = folded.get(value);
+            if (result != null) {
+                return result;
+            }
+            if (!isFoldable(value)) {
+                return value;
+            }
+            try {
+                result = ConstantValue.of(value.get());
+            } catch (RuntimeException e) {
+                foldable.put(value, false);
+                return value;
+            }
+            folded.put(value, result);
+            return result;
+        }
+
+        private boolean isFoldable(Value<?> value) {
+            Boolean result = foldable.get(value);
+            if (result != null) {
+                return result;
+            }
+            // guards against cycles, value is not foldable until proven otherwise
+            foldable.put(value, false);
+            boolean computed;
+            if (isLeaf(value)) {
+                computed = true;
+            } else if (value instanceof ValueProxy) {
+                Value<?> delegate = ((ValueProxy<?>) value).getDelegate();
+                computed = delegate != null && isFoldable(delegate);
+            } else if (value.getClass().getPackage() == ARITHMETIC || value.getClass() == StringTransformer.class) {
+                computed = true;
+                for (Value<?> child : value.getChildren()) {
+                    computed &= isFoldable(child);
+                }
+            } else {
+                computed = false;
+            }
+            foldable.put(value, computed);
+            return computed;
+        }
+
+        private static boolean isLeaf(Value<?> value) {
+            return value.getClass() == ConstantValue.class || value.getClass() == NullValue.class;
+        }
+
+        /**
+         * Object output stream which writes optimized substitute instead of each value.
+         */
+        private final class SubstitutingOutputStream extends ObjectOutputStream {
+
+            SubstitutingOutputStream(OutputStream out) throws IOException {
+                super(out);
+                enableReplaceObject(true);
+            }
+
+            @Override
+            protected Object replaceObject(Object obj) throws IOException {
+                if (obj instanceof Value) {
+                    return substitute((Value<?>) obj);
+                }
+                return obj;
+            }
+        }
+    }
+}
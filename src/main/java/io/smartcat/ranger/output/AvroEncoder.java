@@ -0,0 +1,551 @@
+package io.smartcat.ranger.output;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Encodes maps using Avro binary encoding of a record schema, given in Avro JSON schema format. Produced payload is
+ * same as the one of Avro <code>GenericDatumWriter</code> with binary encoder, without any container or message
+ * header. All Avro types are supported: primitive types, records, enums, arrays, maps, unions and fixed. Values are
+ * mapped to types as follows:
+ * <ul>
+ * <li><code>int</code> - {@link Integer}, {@link Short}, {@link Byte} and {@link LocalDate} as number of days since
+ * epoch</li>
+ * <li><code>long</code> - integer numbers and {@link Date} as milliseconds since epoch</li>
+ * <li><code>float</code>, <code>double</code> - numbers</li>
+ * <li><code>string</code> - {@link CharSequence}, {@link UUID} and {@link Character}</li>
+ * <li><code>bytes</code>, <code>fixed</code> - <code>byte[]</code> and {@link ByteBuffer}</li>
+ * <li><code>enum</code> - symbol as {@link CharSequence} or {@link Enum}</li>
+ * <li><code>array</code> - {@link Collection}</li>
+ * <li><code>map</code>, <code>record</code> - {@link Map}</li>
+ * </ul>
+ * Union branch is the first branch which accepts the value, null values are encoded as <code>null</code> branch.
+ */
+public class AvroEncoder extends RecordEncoder {
+
+    private final Map<String, AvroWriter> namedTypes = new HashMap<>();
+    private final AvroWriter root;
+
+    /**
+     * Constructs Avro encoder for specified <code>schema</code>.
+     *
+     * @param schema Avro schema in JSON format, its top level type must be a record.
+     */
+    public AvroEncoder(String schema) {
+        if (schema == null) {
+            throw new IllegalArgumentException("Schema cannot be null.");
+        }
+        JsonNode node;
+        try {
+            node = new ObjectMapper().readTree(schema);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid Avro schema: " + e.getMessage(), e);
+        }
+        this.root = parse(node, null);
+        if (!(root instanceof RecordWriter)) {
+            throw new IllegalArgumentException("Top level type of Avro schema must be a record.");
+        }
+    }
+
+    @Override
+    void encode(Map<String, ?> record, EncodingBuffer buffer) {
+        root.write(record, buffer);
+    }
+
+    private AvroWriter parse(JsonNode node, String namespace) {
+        if (node.isTextual()) {
+            return parseName(node.asText(), namespace);
+        }
+        if (node.isArray()) {
+            List<AvroWriter> branches = new ArrayList<>();
+            for (JsonNode branch : node) {
+                branches.add(parse(branch, namespace));
+            }
+            return new UnionWriter(branches);
+        }
+        if (!node.isObject() || !node.hasNonNull("type")) {
+            throw new IllegalArgumentException("Invalid Avro schema: " + node);
+        }
+        String type = node.get("type").asText();
+        switch (type) {
+        case "record":
+        case "error":
+            RecordWriter record = new RecordWriter();
+            String recordNamespace = register(node, namespace, record);
+            List<String> names = new ArrayList<>();
+            List<AvroWriter> writers = new ArrayList<>();
+            for (JsonNode field : required(node, "fields")) {
+                names.add(required(field, "name").asText());
+                writers.add(parse(required(field, "type"), recordNamespace));
+            }
+            record.setFields(names, writers);
+            return record;
+        case "enum":
+            List<String> symbols = new ArrayList<>();
+            for (JsonNode symbol : required(node, "symbols")) {
+                symbols.add(symbol.asText());
+            }
+            EnumWriter enumWriter = new EnumWriter(symbols);
+            register(node, namespace, enumWriter);
+            return enumWriter;
+        case "fixed":
+            FixedWriter fixed = new FixedWriter(required(node, "size").asInt());
+            register(node, namespace, fixed);
+            return fixed;
+        case "array":
+            return new ArrayWriter(parse(required(node, "items"), namespace));
+        case "map":
+            return new MapWriter(parse(required(node, "values"), namespace));
+        default:
+            return parseName(type, namespace);
+        }
+    }
+
+    private AvroWriter parseName(String name, String namespace) {
+        switch (name) {
+        case "null":
+            return new NullWriter();
+        case "boolean":
+            return new BooleanWriter();
+        case "int":
+            return new IntWriter();
+        case "long":
+            return new LongWriter();
+        case "float":
+            return new FloatWriter();
+        case "double":
+            return new DoubleWriter();
+        case "string":
+            return new StringWriter();
+        case "bytes":
+            return new BytesWriter();
+        default:
+            AvroWriter named = namedTypes.get(fullName(name, namespace));
+            if (named == null) {
+                named = namedTypes.get(name);
+            }
+            if (named == null) {
+                throw new IllegalArgumentException("Unknown Avro type: " + name);
+            }
+            return named;
+        }
+    }
+
+    private String register(JsonNode node, String namespace, AvroWriter writer) {
+        String name = required(node, "name").asText();
+        String typeNamespace = node.hasNonNull("namespace") ? node.get("namespace").asText() : namespace;
+        String fullName = fullName(name, typeNamespace);
+        namedTypes.put(fullName, writer);
+        int dot = fullName.lastIndexOf('.');
+        return dot < 0 ? null : fullName.substring(0, dot);
+    }
+
+    private static String fullName(String name, String namespace) {
+        return name.indexOf('.') >= 0 || namespace == null || namespace.isEmpty() ? name : namespace + "." + name;
+    }
+
+    private static JsonNode required(JsonNode node, String property) {
+        JsonNode value = node.get(property);
+        if (value == null) {
+            throw new IllegalArgumentException("Avro schema " + node + " is missing property '" + property + "'.");
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException cannotEncode(Object value, String type) {
+        return new IllegalArgumentException("Value " + value + (value == null ? "" : " of " + value.getClass())
+                + " cannot be encoded as Avro " + type + ".");
+    }
+
+    private static byte[] toBytes(Object value) {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        }
+        ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Writes values of a single Avro type.
+     */
+    private abstract static class AvroWriter {
+
+        abstract boolean accepts(Object value);
+
+        abstract void write(Object value, EncodingBuffer buffer);
+    }
+
+    /**
+     * Writes <code>null</code> type, which takes no bytes.
+     */
+    private static class NullWriter extends AvroWriter {
+
+        @Override
+        boolean accepts(Object value) {
+            return value == null;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (value != null) {
+                throw cannotEncode(value, "null");
+            }
+        }
+    }
+
+    /**
+     * Writes <code>boolean</code> type as a single byte.
+     */
+    private static class BooleanWriter extends AvroWriter {
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Boolean;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (!accepts(value)) {
+                throw cannotEncode(value, "boolean");
+            }
+            buffer.writeByte((Boolean) value ? 1 : 0);
+        }
+    }
+
+    /**
+     * Writes <code>int</code> type as zig-zag encoded variable length integer.
+     */
+    private static class IntWriter extends AvroWriter {
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Integer || value instanceof Short || value instanceof Byte
+                    || value instanceof LocalDate;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (value instanceof LocalDate) {
+                buffer.writeZigZag(((LocalDate) value).toEpochDay());
+            } else if (accepts(value)) {
+                buffer.writeZigZag(((Number) value).intValue());
+            } else {
+                throw cannotEncode(value, "int");
+            }
+        }
+    }
+
+    /**
+     * Writes <code>long</code> type as zig-zag encoded variable length integer.
+     */
+    private static class LongWriter extends AvroWriter {
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Long || value instanceof Integer || value instanceof Short
+                    || value instanceof Byte || value instanceof Date;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (value instanceof Date) {
+                buffer.writeZigZag(((Date) value).getTime());
+            } else if (accepts(value)) {
+                buffer.writeZigZag(((Number) value).longValue());
+            } else {
+                throw cannotEncode(value, "long");
+            }
+        }
+    }
+
+    /**
+     * Writes <code>float</code> type as 4 little-endian bytes.
+     */
+    private static class FloatWriter extends AvroWriter {
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Number;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (!accepts(value)) {
+                throw cannotEncode(value, "float");
+            }
+            buffer.writeFloat(((Number) value).floatValue());
+        }
+    }
+
+    /**
+     * Writes <code>double</code> type as 8 little-endian bytes.
+     */
+    private static class DoubleWriter extends AvroWriter {
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Number;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (!accepts(value)) {
+                throw cannotEncode(value, "double");
+            }
+            buffer.writeDouble(((Number) value).doubleValue());
+        }
+    }
+
+    /**
+     * Writes <code>string</code> type as length followed by UTF-8 bytes.
+     */
+    private static class StringWriter extends AvroWriter {
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof CharSequence || value instanceof UUID || value instanceof Character;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (!accepts(value)) {
+                throw cannotEncode(value, "string");
+            }
+            CharSequence string = value instanceof CharSequence ? (CharSequence) value : value.toString();
+            buffer.writeZigZag(EncodingBuffer.utf8Length(string));
+            buffer.writeUtf8(string);
+        }
+    }
+
+    /**
+     * Writes <code>bytes</code> type as length followed by the bytes.
+     */
+    private static class BytesWriter extends AvroWriter {
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof byte[] || value instanceof ByteBuffer;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (!accepts(value)) {
+                throw cannotEncode(value, "bytes");
+            }
+            byte[] bytes = toBytes(value);
+            buffer.writeZigZag(bytes.length);
+            buffer.write(bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * Writes <code>fixed</code> type as bytes of its size, without length.
+     */
+    private static class FixedWriter extends AvroWriter {
+
+        private final int size;
+
+        FixedWriter(int size) {
+            this.size = size;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return (value instanceof byte[] && ((byte[]) value).length == size)
+                    || (value instanceof ByteBuffer && ((ByteBuffer) value).remaining() == size);
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (!accepts(value)) {
+                throw cannotEncode(value, "fixed of size " + size);
+            }
+            buffer.write(toBytes(value), 0, size);
+        }
+    }
+
+    /**
+     * Writes <code>enum</code> type as index of the symbol.
+     */
+    private static class EnumWriter extends AvroWriter {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        EnumWriter(List<String> symbols) {
+            for (int i = 0; i < symbols.size(); i++) {
+                indexes.put(symbols.get(i), i);
+            }
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return (value instanceof CharSequence || value instanceof Enum)
+                    && indexes.containsKey(symbol(value));
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (!accepts(value)) {
+                throw cannotEncode(value, "enum " + indexes.keySet());
+            }
+            buffer.writeZigZag(indexes.get(symbol(value)));
+        }
+
+        private static String symbol(Object value) {
+            return value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+        }
+    }
+
+    /**
+     * Writes <code>array</code> type as a single block of items followed by empty block.
+     */
+    private static class ArrayWriter extends AvroWriter {
+
+        private final AvroWriter items;
+
+        ArrayWriter(AvroWriter items) {
+            this.items = items;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Collection;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (!accepts(value)) {
+                throw cannotEncode(value, "array");
+            }
+            Collection<?> collection = (Collection<?>) value;
+            if (!collection.isEmpty()) {
+                buffer.writeZigZag(collection.size());
+                for (Object item : collection) {
+                    items.write(item, buffer);
+                }
+            }
+            buffer.writeZigZag(0);
+        }
+    }
+
+    /**
+     * Writes <code>map</code> type as a single block of entries followed by empty block.
+     */
+    private static class MapWriter extends AvroWriter {
+
+        private final StringWriter keys = new StringWriter();
+        private final AvroWriter values;
+
+        MapWriter(AvroWriter values) {
+            this.values = values;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Map;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (!accepts(value)) {
+                throw cannotEncode(value, "map");
+            }
+            Map<?, ?> map = (Map<?, ?>) value;
+            if (!map.isEmpty()) {
+                buffer.writeZigZag(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    keys.write(entry.getKey(), buffer);
+                    values.write(entry.getValue(), buffer);
+                }
+            }
+            buffer.writeZigZag(0);
+        }
+    }
+
+    /**
+     * Writes union as index of the first branch accepting the value, followed by the value.
+     */
+    private static class UnionWriter extends AvroWriter {
+
+        private final AvroWriter[] branches;
+
+        UnionWriter(List<AvroWriter> branches) {
+            this.branches = branches.toArray(new AvroWriter[branches.size()]);
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            for (AvroWriter branch : branches) {
+                if (branch.accepts(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            for (int i = 0; i < branches.length; i++) {
+                if (branches[i].accepts(value)) {
+                    buffer.writeZigZag(i);
+                    branches[i].write(value, buffer);
+                    return;
+                }
+            }
+            throw cannotEncode(value, "union");
+        }
+    }
+
+    /**
+     * Writes <code>record</code> type as its fields in schema order.
+     */
+    private static class RecordWriter extends AvroWriter {
+
+        private List<String> names;
+        private AvroWriter[] fields;
+        private FieldBinding binding;
+
+        void setFields(List<String> names, List<AvroWriter> fields) {
+            this.names = names;
+            this.fields = fields.toArray(new AvroWriter[fields.size()]);
+            this.binding = new FieldBinding(names);
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Map;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void write(Object value, EncodingBuffer buffer) {
+            if (!accepts(value)) {
+                throw cannotEncode(value, "record");
+            }
+            Map<String, ?> record = (Map<String, ?>) value;
+            binding.bind(record);
+            for (int i = 0; i < fields.length; i++) {
+                Object fieldValue = binding.get(record, i);
+                try {
+                    fields[i].write(fieldValue, buffer);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Cannot encode field '" + names.get(i) + "': "
+                            + e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
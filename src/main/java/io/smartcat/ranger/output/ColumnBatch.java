@@ -0,0 +1,182 @@
+package io.smartcat.ranger.output;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fixed number of records stored column by column. Each column is a primitive array of its {@link ColumnType}, or
+ * <code>Object[]</code> for other values, so columns can be scanned or copied into columnar formats without unboxing
+ * record by record. Null values are tracked per column, primitive arrays hold default value at null positions.
+ * Batches are created with {@link ColumnBatchBuilder}. Returned arrays are not copied and should not be modified.
+ */
+public final class ColumnBatch {
+
+    private final List<String> names;
+    private final ColumnType[] types;
+    private final Object[] columns;
+    private final BitSet[] nulls;
+    private final int size;
+
+    ColumnBatch(List<String> names, ColumnType[] types, Object[] columns, BitSet[] nulls, int size) {
+        this.names = Collections.unmodifiableList(names);
+        this.types = types;
+        this.columns = columns;
+        this.nulls = nulls;
+        this.size = size;
+    }
+
+    /**
+     * Returns number of records in this batch, which is also length of each column array.
+     *
+     * @return Number of records.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns number of columns.
+     *
+     * @return Number of columns.
+     */
+    public int columnCount() {
+        return types.length;
+    }
+
+    /**
+     * Returns column names in column order.
+     *
+     * @return Unmodifiable list of column names.
+     */
+    public List<String> getColumnNames() {
+        return names;
+    }
+
+    /**
+     * Returns index of the column with specified <code>name</code>.
+     *
+     * @param name Name of the column.
+     * @return Index of the column or -1 if batch does not contain column with given name.
+     */
+    public int columnIndex(String name) {
+        return names.indexOf(name);
+    }
+
+    /**
+     * Returns type of the column at specified <code>column</code> index.
+     *
+     * @param column Index of the column.
+     * @return Type of the column.
+     */
+    public ColumnType getColumnType(int column) {
+        return types[column];
+    }
+
+    /**
+     * Returns values of {@link ColumnType#INT} column.
+     *
+     * @param column Index of the column.
+     * @return Values of the column.
+     */
+    public int[] getIntColumn(int column) {
+        return (int[]) column(column, ColumnType.INT);
+    }
+
+    /**
+     * Returns values of {@link ColumnType#LONG} column.
+     *
+     * @param column Index of the column.
+     * @return Values of the column.
+     */
+    public long[] getLongColumn(int column) {
+        return (long[]) column(column, ColumnType.LONG);
+    }
+
+    /**
+     * Returns values of {@link ColumnType#FLOAT} column.
+     *
+     * @param column Index of the column.
+     * @return Values of the column.
+     */
+    public float[] getFloatColumn(int column) {
+        return (float[]) column(column, ColumnType.FLOAT);
+    }
+
+    /**
+     * Returns values of {@link ColumnType#DOUBLE} column.
+     *
+     * @param column Index of the column.
+     * @return Values of the column.
+     */
+    public double[] getDoubleColumn(int column) {
+        return (double[]) column(column, ColumnType.DOUBLE);
+    }
+
+    /**
+     * Returns values of {@link ColumnType#BOOLEAN} column.
+     *
+     * @param column Index of the column.
+     * @return Values of the column.
+     */
+    public boolean[] getBooleanColumn(int column) {
+        return (boolean[]) column(column, ColumnType.BOOLEAN);
+    }
+
+    /**
+     * Returns values of {@link ColumnType#OBJECT} column.
+     *
+     * @param column Index of the column.
+     * @return Values of the column.
+     */
+    public Object[] getObjectColumn(int column) {
+        return (Object[]) column(column, ColumnType.OBJECT);
+    }
+
+    /**
+     * Returns whether value at specified <code>row</code> of specified <code>column</code> is null.
+     *
+     * @param column Index of the column.
+     * @param row Index of the record.
+     * @return True if value is null, otherwise false.
+     */
+    public boolean isNull(int column, int row) {
+        checkRow(row);
+        return nulls[column].get(row);
+    }
+
+    /**
+     * Returns boxed value at specified <code>row</code> of specified <code>column</code>. Values of
+     * {@link ColumnType#INT} column are returned as {@link Integer}.
+     *
+     * @param column Index of the column.
+     * @param row Index of the record.
+     * @return The value.
+     */
+    public Object get(int column, int row) {
+        if (isNull(column, row)) {
+            return null;
+        }
+        return types[column].get(columns[column], row);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnBatch [size=" + size + ", columns=" + names + ", types=" + Arrays.toString(types) + "]";
+    }
+
+    private Object column(int column, ColumnType type) {
+        if (types[column] != type) {
+            throw new IllegalArgumentException(
+                    "Column '" + names.get(column) + "' is of type " + types[column] + ", not " + type + ".");
+        }
+        return columns[column];
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", size: " + size);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package io.smartcat.ranger.output;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import io.smartcat.ranger.core.Record;
+import io.smartcat.ranger.core.RecordSchema;
+import io.smartcat.ranger.schema.ValueType;
+
+/**
+ * Builds {@link ColumnBatch} out of maps added one by one. When builder is created with record schema (see
+ * {@link ValueType}), such as schema of generator producing composite values, columns are created for its fields and
+ * typed by their kinds. Otherwise columns are created for keys of the first added map, in its iteration order, and
+ * type of each column is taken from the first non null value added to it, which is also done for fields whose type
+ * cannot be determined statically. {@link Record} produced by composite value is read by slots. When a value does not
+ * fit type of its column, column falls back to {@link ColumnType#OBJECT}. Missing keys are added as nulls, keys not
+ * present in the schema or the first map are ignored.
+ */
+public class ColumnBatchBuilder {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final int initialCapacity;
+    private List<String> names;
+    private RecordSchema columnSchema;
+    private ColumnType[] types;
+    private Object[] columns;
+    private BitSet[] nulls;
+    private int capacity;
+    private int size;
+
+    /**
+     * Constructs column batch builder with default initial capacity.
+     */
+    public ColumnBatchBuilder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs column batch builder with specified <code>initialCapacity</code>. Columns grow as needed, when number
+     * of records is known up front, using it as capacity avoids copying.
+     *
+     * @param initialCapacity Initial number of records columns can hold.
+     */
+    public ColumnBatchBuilder(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative. initialCapacity: "
+                    + initialCapacity);
+        }
+        this.initialCapacity = initialCapacity;
+    }
+
+    /**
+     * Constructs column batch builder with columns of specified record <code>schema</code> and specified
+     * <code>initialCapacity</code>. When schema is null or is not a record schema, columns are taken from the first
+     * added map.
+     *
+     * @param schema Type of records to be added, usually {@link io.smartcat.ranger.ObjectGenerator#schema()}.
+     * @param initialCapacity Initial number of records columns can hold.
+     */
+    public ColumnBatchBuilder(ValueType schema, int initialCapacity) {
+        this(initialCapacity);
+        if (schema != null && schema.getKind() == ValueType.Kind.RECORD) {
+            initColumns(new ArrayList<>(schema.getFields().keySet()));
+            int i = 0;
+            for (ValueType field : schema.getFields().values()) {
+                types[i] = ColumnType.of(field.getKind());
+                if (types[i] != null) {
+                    columns[i] = types[i].newArray(capacity);
+                }
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Adds specified <code>record</code> as the next row of the batch.
+     *
+     * @param record The record.
+     * @return This builder.
+     */
+    public ColumnBatchBuilder add(Map<String, ?> record) {
+        if (record == null) {
+            throw new IllegalArgumentException("Record cannot be null.");
+        }
+        if (names == null) {
+            initColumns(new ArrayList<>(record.keySet()));
+        }
+        if (size == 0 && record instanceof Record && ((Record) record).getSchema().getNames().equals(names)) {
+            columnSchema = ((Record) record).getSchema();
+        }
+        if (size == capacity) {
+            grow();
+        }
+        if (record instanceof Record && ((Record) record).getSchema() == columnSchema) {
+            Record r = (Record) record;
+            for (int i = 0; i < types.length; i++) {
+                set(i, r.get(i));
+            }
+        } else {
+            for (int i = 0; i < types.length; i++) {
+                set(i, record.get(names.get(i)));
+            }
+        }
+        size++;
+        return this;
+    }
+
+    /**
+     * Builds column batch out of added records. Column arrays are trimmed to number of added records, builder should
+     * not be used afterwards.
+     *
+     * @return Column batch.
+     */
+    public ColumnBatch build() {
+        if (names == null) {
+            return new ColumnBatch(new ArrayList<>(), new ColumnType[0], new Object[0], new BitSet[0], 0);
+        }
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == null) {
+                // only nulls were added
+                types[i] = ColumnType.OBJECT;
+                columns[i] = ColumnType.OBJECT.newArray(size);
+            } else if (capacity != size) {
+                columns[i] = types[i].copyOf(columns[i], size);
+            }
+        }
+        return new ColumnBatch(names, types, columns, nulls, size);
+    }
+
+    private void initColumns(List<String> columnNames) {
+        names = columnNames;
+        types = new ColumnType[names.size()];
+        columns = new Object[names.size()];
+        nulls = new BitSet[names.size()];
+        for (int i = 0; i < nulls.length; i++) {
+            nulls[i] = new BitSet();
+        }
+        capacity = Math.max(initialCapacity, 1);
+    }
+
+    private void grow() {
+        int newCapacity = capacity + Math.max(capacity >> 1, 1);
+        if (newCapacity < 0) {
+            newCapacity = Integer.MAX_VALUE;
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (types[i] != null) {
+                columns[i] = types[i].copyOf(columns[i], newCapacity);
+            }
+        }
+        capacity = newCapacity;
+    }
+
+    private void set(int column, Object value) {
+        if (value == null) {
+            nulls[column].set(size);
+            return;
+        }
+        ColumnType type = types[column];
+        if (type == null) {
+            type = ColumnType.of(value);
+            types[column] = type;
+            columns[column] = type.newArray(capacity);
+        } else if (type != ColumnType.OBJECT && type != ColumnType.of(value)) {
+            toObjectColumn(column);
+            type = ColumnType.OBJECT;
+        }
+        Object values = columns[column];
+        switch (type) {
+        case INT:
+            ((int[]) values)[size] = ((Number) value).intValue();
+            break;
+        case LONG:
+            ((long[]) values)[size] = (Long) value;
+            break;
+        case FLOAT:
+            ((float[]) values)[size] = (Float) value;
+            break;
+        case DOUBLE:
+            ((double[]) values)[size] = (Double) value;
+            break;
+        case BOOLEAN:
+            ((boolean[]) values)[size] = (Boolean) value;
+            break;
+        default:
+            ((Object[]) values)[size] = value;
+            break;
+        }
+    }
+
+    private void toObjectColumn(int column) {
+        ColumnType type = types[column];
+        Object[] values = new Object[capacity];
+        for (int row = 0; row < size; row++) {
+            if (!nulls[column].get(row)) {
+                values[row] = type.get(columns[column], row);
+            }
+        }
+        types[column] = ColumnType.OBJECT;
+        columns[column] = values;
+    }
+}
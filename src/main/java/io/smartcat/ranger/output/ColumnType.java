@@ -0,0 +1,166 @@
+package io.smartcat.ranger.output;
+
+import java.util.Arrays;
+
+import io.smartcat.ranger.schema.ValueType;
+
+/**
+ * Type of a column of {@link ColumnBatch}, determines which array holds values of the column.
+ */
+public enum ColumnType {
+
+    /**
+     * Values of type {@link Byte}, {@link Short} and {@link Integer}, held in <code>int[]</code>.
+     */
+    INT,
+
+    /**
+     * Values of type {@link Long}, held in <code>long[]</code>.
+     */
+    LONG,
+
+    /**
+     * Values of type {@link Float}, held in <code>float[]</code>.
+     */
+    FLOAT,
+
+    /**
+     * Values of type {@link Double}, held in <code>double[]</code>.
+     */
+    DOUBLE,
+
+    /**
+     * Values of type {@link Boolean}, held in <code>boolean[]</code>.
+     */
+    BOOLEAN,
+
+    /**
+     * Values of any other type, or of mixed types, held in <code>Object[]</code>.
+     */
+    OBJECT;
+
+    /**
+     * Returns column type which can hold specified non null <code>value</code>.
+     *
+     * @param value The value.
+     * @return Column type for the value.
+     */
+    static ColumnType of(Object value) {
+        Class<?> type = value.getClass();
+        if (type == Integer.class || type == Short.class || type == Byte.class) {
+            return INT;
+        }
+        if (type == Long.class) {
+            return LONG;
+        }
+        if (type == Double.class) {
+            return DOUBLE;
+        }
+        if (type == Float.class) {
+            return FLOAT;
+        }
+        if (type == Boolean.class) {
+            return BOOLEAN;
+        }
+        return OBJECT;
+    }
+
+    /**
+     * Returns column type which can hold values of specified <code>kind</code>.
+     *
+     * @param kind Kind of values.
+     * @return Column type for the kind, or null if kind does not determine type of values.
+     */
+    static ColumnType of(ValueType.Kind kind) {
+        if (kind == ValueType.Kind.INT || kind == ValueType.Kind.SHORT || kind == ValueType.Kind.BYTE) {
+            return INT;
+        }
+        if (kind == ValueType.Kind.LONG) {
+            return LONG;
+        }
+        if (kind == ValueType.Kind.DOUBLE) {
+            return DOUBLE;
+        }
+        if (kind == ValueType.Kind.FLOAT) {
+            return FLOAT;
+        }
+        if (kind == ValueType.Kind.BOOLEAN) {
+            return BOOLEAN;
+        }
+        if (kind == ValueType.Kind.NULL || kind == ValueType.Kind.ANY) {
+            return null;
+        }
+        return OBJECT;
+    }
+
+    /**
+     * Creates array of this type with specified <code>length</code>.
+     *
+     * @param length Length of the array.
+     * @return New array.
+     */
+    Object newArray(int length) {
+        switch (this) {
+        case INT:
+            return new int[length];
+        case LONG:
+            return new long[length];
+        case FLOAT:
+            return new float[length];
+        case DOUBLE:
+            return new double[length];
+        case BOOLEAN:
+            return new boolean[length];
+        default:
+            return new Object[length];
+        }
+    }
+
+    /**
+     * Copies array of this type into a new array with specified <code>length</code>.
+     *
+     * @param values Array to copy.
+     * @param length Length of the new array.
+     * @return New array.
+     */
+    Object copyOf(Object values, int length) {
+        switch (this) {
+        case INT:
+            return Arrays.copyOf((int[]) values, length);
+        case LONG:
+            return Arrays.copyOf((long[]) values, length);
+        case FLOAT:
+            return Arrays.copyOf((float[]) values, length);
+        case DOUBLE:
+            return Arrays.copyOf((double[]) values, length);
+        case BOOLEAN:
+            return Arrays.copyOf((boolean[]) values, length);
+        default:
+            return Arrays.copyOf((Object[]) values, length);
+        }
+    }
+
+    /**
+     * Returns boxed element at specified <code>index</code> of array of this type.
+     *
+     * @param values The array.
+     * @param index Index of the element.
+     * @return Boxed element.
+     */
+    Object get(Object values, int index) {
+        switch (this) {
+        case INT:
+            return ((int[]) values)[index];
+        case LONG:
+            return ((long[]) values)[index];
+        case FLOAT:
+            return ((float[]) values)[index];
+        case DOUBLE:
+            return ((double[]) values)[index];
+        case BOOLEAN:
+            return ((boolean[]) values)[index];
+        default:
+            return ((Object[]) values)[index];
+        }
+    }
+}
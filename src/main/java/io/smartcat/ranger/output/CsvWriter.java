@@ -0,0 +1,361 @@
+package io.smartcat.ranger.output;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import io.smartcat.ranger.core.Record;
+import io.smartcat.ranger.core.RecordSchema;
+
+/**
+ * Writes maps as CSV records into a reusable byte buffer which is drained into a {@link WritableByteChannel} when
+ * full. Columns are written in iteration order of the first written map, {@link Record} produced by composite value
+ * is read by slots. Values are encoded as UTF-8 directly into the buffer. Integer numbers and dates are formatted
+ * without intermediate strings. {@link LocalDate}, {@link LocalDateTime} and {@link Date} are all written as ISO-8601,
+ * {@link Date} as UTC instant, or all as milliseconds since epoch, local dates and date times taken in UTC (see
+ * {@link CsvWriterSettings#isDatesAsEpochMillis()}). Floating point numbers and other values are written as their
+ * {@link String#valueOf(Object)} representation, which keeps floating point numbers exact when they are read back.
+ * Closing the writer flushes the buffer but does not close the underlying channel.
+ */
+public class CsvWriter implements Flushable, Closeable {
+
+    /**
+     * Default size of the buffer in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private static final int MAX_NUMBER_LENGTH = 20;
+    private static final int MAX_CHAR_LENGTH = 4;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final WritableByteChannel channel;
+    private final byte[] buffer;
+    private final ByteBuffer byteBuffer;
+    private final byte[] digits = new byte[MAX_NUMBER_LENGTH];
+    private final char delimiter;
+    private final char quote;
+    private final char escape;
+    private final boolean doubleQuote;
+    private final boolean quoteAll;
+    private final String recordSeparator;
+    private final String nullString;
+    private final boolean datesAsEpochMillis;
+    private boolean headerPending;
+    private List<String> columns;
+    private RecordSchema columnSchema;
+    private int position;
+
+    /**
+     * Constructs CSV writer which writes to specified <code>out</code>.
+     *
+     * @param out Output stream to write to.
+     * @param settings Settings of the writer.
+     */
+    public CsvWriter(OutputStream out, CsvWriterSettings settings) {
+        this(Channels.newChannel(out), settings, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs CSV writer which writes to specified <code>channel</code>, for example a
+     * {@link java.nio.channels.FileChannel}.
+     *
+     * @param channel Channel to write to.
+     * @param settings Settings of the writer.
+     * @param bufferSize Size of the buffer in bytes, must be at least 64.
+     */
+    public CsvWriter(WritableByteChannel channel, CsvWriterSettings settings, int bufferSize) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null.");
+        }
+        if (settings == null) {
+            throw new IllegalArgumentException("Settings cannot be null.");
+        }
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("Buffer size must be at least 64 bytes.");
+        }
+        this.channel = channel;
+        this.buffer = new byte[bufferSize];
+        this.byteBuffer = ByteBuffer.wrap(buffer);
+        this.delimiter = settings.getDelimiter();
+        this.quote = settings.getQuote();
+        this.doubleQuote = settings.getEscape() == null;
+        this.escape = doubleQuote ? quote : settings.getEscape();
+        this.quoteAll = settings.isQuoteAll();
+        this.recordSeparator = settings.getRecordSeparator();
+        this.nullString = settings.getNullString();
+        this.headerPending = settings.isHeader();
+        this.datesAsEpochMillis = settings.isDatesAsEpochMillis();
+    }
+
+    /**
+     * Writes specified <code>record</code> as a single CSV line. First written record determines columns, if header is
+     * enabled, it is written before the first record. Subsequent records are written by looking up the same columns.
+     *
+     * @param record Record to write.
+     * @throws IOException if record cannot be written.
+     */
+    public void write(Map<String, ?> record) throws IOException {
+        if (record == null) {
+            throw new IllegalArgumentException("Record cannot be null.");
+        }
+        if (columns == null) {
+            columns = new ArrayList<>(record.keySet());
+        }
+        if (headerPending) {
+            headerPending = false;
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writeChar(delimiter);
+                }
+                writeString(columns.get(i));
+            }
+            writeRaw(recordSeparator);
+        }
+        if (record instanceof Record && isColumnOrder(((Record) record).getSchema())) {
+            Record slotted = (Record) record;
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writeChar(delimiter);
+                }
+                writeValue(slotted.get(i));
+            }
+        } else {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writeChar(delimiter);
+                }
+                writeValue(record.get(columns.get(i)));
+            }
+        }
+        writeRaw(recordSeparator);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        byteBuffer.clear();
+        byteBuffer.limit(position);
+        while (byteBuffer.hasRemaining()) {
+            channel.write(byteBuffer);
+        }
+        position = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private boolean isColumnOrder(RecordSchema schema) {
+        if (schema == columnSchema) {
+            return true;
+        }
+        if (schema.size() != columns.size()) {
+            return false;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (!schema.nameOf(i).equals(columns.get(i))) {
+                return false;
+            }
+        }
+        columnSchema = schema;
+        return true;
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            writeRaw(nullString);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte) {
+            quoteIfAll();
+            writeLong(((Number) value).longValue());
+            quoteIfAll();
+        } else if (value instanceof Double || value instanceof Float) {
+            quoteIfAll();
+            writeRaw(String.valueOf(value));
+            quoteIfAll();
+        } else if (value instanceof LocalDate) {
+            quoteIfAll();
+            if (datesAsEpochMillis) {
+                writeLong(((LocalDate) value).toEpochDay() * MILLIS_PER_DAY);
+            } else {
+                writeDate((LocalDate) value);
+            }
+            quoteIfAll();
+        } else if (value instanceof LocalDateTime) {
+            quoteIfAll();
+            if (datesAsEpochMillis) {
+                writeLong(((LocalDateTime) value).toInstant(ZoneOffset.UTC).toEpochMilli());
+            } else {
+                writeDateTime((LocalDateTime) value);
+            }
+            quoteIfAll();
+        } else if (value instanceof Date) {
+            quoteIfAll();
+            if (datesAsEpochMillis) {
+                writeLong(((Date) value).getTime());
+            } else {
+                writeInstant(((Date) value).getTime());
+            }
+            quoteIfAll();
+        } else {
+            writeString(String.valueOf(value));
+        }
+    }
+
+    private void quoteIfAll() throws IOException {
+        if (quoteAll) {
+            writeChar(quote);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        boolean quoted = quoteAll || needsQuotes(value);
+        if (quoted) {
+            writeChar(quote);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (quoted && (c == quote || c == escape)) {
+                writeChar(escape);
+            }
+            if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                writeCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+            } else {
+                writeChar(c);
+            }
+        }
+        if (quoted) {
+            writeChar(quote);
+        }
+    }
+
+    private boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == quote || c == escape || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return value.isEmpty() && !nullString.isEmpty();
+    }
+
+    private void writeRaw(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            writeChar(value.charAt(i));
+        }
+    }
+
+    private void writeChar(char c) throws IOException {
+        if (c < 0x80) {
+            ensure(1);
+            buffer[position++] = (byte) c;
+        } else {
+            writeCodePoint(Character.isSurrogate(c) ? '?' : c);
+        }
+    }
+
+    private void writeCodePoint(int codePoint) throws IOException {
+        ensure(MAX_CHAR_LENGTH);
+        if (codePoint < 0x80) {
+            buffer[position++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (codePoint >> 6));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            buffer[position++] = (byte) (0xE0 | (codePoint >> 12));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+            buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private void writeLong(long value) throws IOException {
+        ensure(MAX_NUMBER_LENGTH);
+        if (value == Long.MIN_VALUE) {
+            writeRaw(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int start = digits.length;
+        do {
+            digits[--start] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+        int length = digits.length - start;
+        System.arraycopy(digits, start, buffer, position, length);
+        position += length;
+    }
+
+    private void writePadded(int value, int width) throws IOException {
+        ensure(width);
+        for (int i = width - 1; i >= 0; i--) {
+            buffer[position + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += width;
+    }
+
+    private void writeDate(LocalDate date) throws IOException {
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            writeRaw(date.toString());
+            return;
+        }
+        writePadded(date.getYear(), 4);
+        writeChar('-');
+        writePadded(date.getMonthValue(), 2);
+        writeChar('-');
+        writePadded(date.getDayOfMonth(), 2);
+    }
+
+    private void writeDateTime(LocalDateTime dateTime) throws IOException {
+        writeDate(dateTime.toLocalDate());
+        writeChar('T');
+        writePadded(dateTime.getHour(), 2);
+        writeChar(':');
+        writePadded(dateTime.getMinute(), 2);
+        writeChar(':');
+        writePadded(dateTime.getSecond(), 2);
+        int nano = dateTime.getNano();
+        if (nano != 0) {
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            writeChar('.');
+            writePadded(nano, width);
+        }
+    }
+
+    private void writeInstant(long epochMillis) throws IOException {
+        long epochSecond = Math.floorDiv(epochMillis, 1000L);
+        int nano = (int) Math.floorMod(epochMillis, 1000L) * 1_000_000;
+        writeDateTime(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+        writeChar('Z');
+    }
+
+    private void ensure(int length) throws IOException {
+        if (buffer.length - position < length) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package io.smartcat.ranger.output;
+
+/**
+ * Settings available for CSV writer.
+ */
+public class CsvWriterSettings {
+
+    private final char delimiter;
+    private final String recordSeparator;
+    private final char quote;
+    private final Character escape;
+    private final boolean quoteAll;
+    private final String nullString;
+    private final boolean header;
+    private final boolean datesAsEpochMillis;
+
+    /**
+     * Creates settings with default values.
+     * <ul>
+     * <li><code>delimiter</code> - <code>','</code></li>
+     * <li><code>recordSeparator</code> - <code>"\n"</code></li>
+     * <li><code>quote</code> - <code>'"'</code></li>
+     * <li><code>escape</code> - <code>null</code> (quote is escaped by doubling it)</li>
+     * <li><code>quoteAll</code> - <code>false</code></li>
+     * <li><code>nullString</code> - <code>""</code></li>
+     * <li><code>header</code> - <code>true</code></li>
+     * <li><code>datesAsEpochMillis</code> - <code>false</code> (dates are written as ISO-8601)</li>
+     * </ul>
+     */
+    public CsvWriterSettings() {
+        this(',');
+    }
+
+    /**
+     * Creates settings with specified delimiter, use <code>'\t'</code> for TSV. Default values for other parameters:
+     * <ul>
+     * <li><code>recordSeparator</code> - <code>"\n"</code></li>
+     * <li><code>quote</code> - <code>'"'</code></li>
+     * <li><code>escape</code> - <code>null</code> (quote is escaped by doubling it)</li>
+     * <li><code>quoteAll</code> - <code>false</code></li>
+     * <li><code>nullString</code> - <code>""</code></li>
+     * <li><code>header</code> - <code>true</code></li>
+     * <li><code>datesAsEpochMillis</code> - <code>false</code> (dates are written as ISO-8601)</li>
+     * </ul>
+     *
+     * @param delimiter Delimiter of columns.
+     */
+    public CsvWriterSettings(char delimiter) {
+        this(delimiter, "\n", '"', null, false, "", true);
+    }
+
+    /**
+     * Creates settings with specified parameters, dates are written as ISO-8601.
+     *
+     * @param delimiter Delimiter of columns.
+     * @param recordSeparator Delimiter of records.
+     * @param quote Character used to quote columns which contain delimiter, quote, escape or line break characters.
+     * @param escape Character which is written before quote and escape characters within quoted column. If set to
+     *            <code>null</code>, quote characters are escaped by doubling them.
+     * @param quoteAll True if all non null columns are to be quoted, otherwise only columns which need it are quoted.
+     * @param nullString String written in place of <code>null</code> values.
+     * @param header True if header with column names is to be written before first record, otherwise
+     *            <code>false</code>.
+     */
+    public CsvWriterSettings(char delimiter, String recordSeparator, char quote, Character escape, boolean quoteAll,
+            String nullString, boolean header) {
+        this(delimiter, recordSeparator, quote, escape, quoteAll, nullString, header, false);
+    }
+
+    /**
+     * Creates settings with specified parameters.
+     *
+     * @param delimiter Delimiter of columns.
+     * @param recordSeparator Delimiter of records.
+     * @param quote Character used to quote columns which contain delimiter, quote, escape or line break characters.
+     * @param escape Character which is written before quote and escape characters within quoted column. If set to
+     *            <code>null</code>, quote characters are escaped by doubling them.
+     * @param quoteAll True if all non null columns are to be quoted, otherwise only columns which need it are quoted.
+     * @param nullString String written in place of <code>null</code> values.
+     * @param header True if header with column names is to be written before first record, otherwise
+     *            <code>false</code>.
+     * @param datesAsEpochMillis True if {@link java.util.Date}, {@link java.time.LocalDate} and
+     *            {@link java.time.LocalDateTime} values are to be written as milliseconds since epoch, local dates and
+     *            date times being taken in UTC, otherwise all of them are written as ISO-8601.
+     */
+    public CsvWriterSettings(char delimiter, String recordSeparator, char quote, Character escape, boolean quoteAll,
+            String nullString, boolean header, boolean datesAsEpochMillis) {
+        if (recordSeparator == null || recordSeparator.isEmpty()) {
+            throw new IllegalArgumentException("recordSeparator cannot be null nor empty");
+        }
+        if (nullString == null) {
+            throw new IllegalArgumentException("nullString cannot be null");
+        }
+        if (delimiter == quote || (escape != null && (escape == delimiter))) {
+            throw new IllegalArgumentException("delimiter must differ from quote and escape characters");
+        }
+        this.delimiter = delimiter;
+        this.recordSeparator = recordSeparator;
+        this.quote = quote;
+        this.escape = escape;
+        this.quoteAll = quoteAll;
+        this.nullString = nullString;
+        this.header = header;
+        this.datesAsEpochMillis = datesAsEpochMillis;
+    }
+
+    /**
+     * Returns delimiter of columns.
+     *
+     * @return Delimiter of columns.
+     */
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * Returns delimiter of records.
+     *
+     * @return Delimiter of records.
+     */
+    public String getRecordSeparator() {
+        return recordSeparator;
+    }
+
+    /**
+     * Returns quote character.
+     *
+     * @return Quote character.
+     */
+    public char getQuote() {
+        return quote;
+    }
+
+    /**
+     * Returns escape character.
+     *
+     * @return Escape character or <code>null</code> if quote characters are escaped by doubling them.
+     */
+    public Character getEscape() {
+        return escape;
+    }
+
+    /**
+     * Returns whether all non null columns are quoted.
+     *
+     * @return True if all non null columns are quoted, otherwise <code>false</code>.
+     */
+    public boolean isQuoteAll() {
+        return quoteAll;
+    }
+
+    /**
+     * Returns string written in place of <code>null</code> values.
+     *
+     * @return String written in place of <code>null</code> values.
+     */
+    public String getNullString() {
+        return nullString;
+    }
+
+    /**
+     * Returns whether header is written.
+     *
+     * @return True if header is written before first record, otherwise <code>false</code>.
+     */
+    public boolean isHeader() {
+        return header;
+    }
+
+    /**
+     * Returns whether dates are written as milliseconds since epoch.
+     *
+     * @return True if dates are written as milliseconds since epoch, <code>false</code> if they are written as
+     *         ISO-8601.
+     */
+    public boolean isDatesAsEpochMillis() {
+        return datesAsEpochMillis;
+    }
+}
@@ -0,0 +1,180 @@
+package io.smartcat.ranger.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with primitives shared by binary encodings: variable length integers, zig-zag encoding,
+ * little-endian fixed width numbers and UTF-8 strings. Buffer is reset and reused between encoded records.
+ */
+final class EncodingBuffer {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns number of bytes written since last reset.
+     *
+     * @return Number of bytes.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Discards written bytes.
+     */
+    void reset() {
+        size = 0;
+    }
+
+    /**
+     * Copies written bytes into a new array.
+     *
+     * @return Written bytes.
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    /**
+     * Writes written bytes to specified <code>out</code>.
+     *
+     * @param out Output stream to write to.
+     * @throws IOException if bytes cannot be written.
+     */
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+    }
+
+    /**
+     * Appends bytes written to specified <code>other</code> buffer.
+     *
+     * @param other Buffer whose bytes to append.
+     */
+    void write(EncodingBuffer other) {
+        write(other.bytes, 0, other.size);
+    }
+
+    void write(byte[] value, int offset, int length) {
+        ensure(length);
+        System.arraycopy(value, offset, bytes, size, length);
+        size += length;
+    }
+
+    void writeByte(int value) {
+        ensure(1);
+        bytes[size++] = (byte) value;
+    }
+
+    /**
+     * Writes <code>value</code> as unsigned variable length integer, 7 bits per byte, least significant group first.
+     *
+     * @param value The value.
+     */
+    void writeVarint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    /**
+     * Writes <code>value</code> zig-zag encoded as variable length integer, so numbers of small absolute value take
+     * few bytes.
+     *
+     * @param value The value.
+     */
+    void writeZigZag(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    void writeFixed32(int value) {
+        ensure(4);
+        bytes[size++] = (byte) value;
+        bytes[size++] = (byte) (value >> 8);
+        bytes[size++] = (byte) (value >> 16);
+        bytes[size++] = (byte) (value >> 24);
+    }
+
+    void writeFixed64(long value) {
+        writeFixed32((int) value);
+        writeFixed32((int) (value >> 32));
+    }
+
+    void writeFloat(float value) {
+        writeFixed32(Float.floatToIntBits(value));
+    }
+
+    void writeDouble(double value) {
+        writeFixed64(Double.doubleToLongBits(value));
+    }
+
+    /**
+     * Returns number of bytes UTF-8 encoding of specified <code>value</code> takes. Unpaired surrogates are encoded
+     * as <code>'?'</code>.
+     *
+     * @param value The value.
+     * @return Length of UTF-8 encoding.
+     */
+    static int utf8Length(CharSequence value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    length += 2;
+                }
+            } else if (c >= 0x80) {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes UTF-8 encoding of specified <code>value</code>, without length.
+     *
+     * @param value The value.
+     */
+    void writeUtf8(CharSequence value) {
+        ensure(utf8Length(value));
+        for (int i = 0; i < value.length(); i++) {
+            int c = value.charAt(i);
+            if (c < 0x80) {
+                bytes[size++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[size++] = (byte) (0xC0 | (c >> 6));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate((char) c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint((char) c, value.charAt(++i));
+                bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate((char) c)) {
+                bytes[size++] = '?';
+            } else {
+                bytes[size++] = (byte) (0xE0 | (c >> 12));
+                bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void ensure(int length) {
+        if (bytes.length - size < length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+        }
+    }
+}
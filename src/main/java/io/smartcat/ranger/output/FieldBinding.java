@@ -0,0 +1,61 @@
+package io.smartcat.ranger.output;
+
+import java.util.List;
+import java.util.Map;
+
+import io.smartcat.ranger.core.Record;
+import io.smartcat.ranger.core.RecordSchema;
+
+/**
+ * Reads fixed list of fields out of maps. Slots of the fields within {@link RecordSchema} of the last read
+ * {@link Record} are cached, so records produced by the same composite value are read by slots, without hashing
+ * field names.
+ */
+final class FieldBinding {
+
+    private final String[] names;
+    private final int[] slots;
+    private RecordSchema schema;
+
+    /**
+     * Constructs field binding for fields with specified <code>names</code>.
+     *
+     * @param names Names of the fields.
+     */
+    FieldBinding(List<String> names) {
+        this.names = names.toArray(new String[names.size()]);
+        this.slots = new int[names.size()];
+    }
+
+    /**
+     * Binds to specified <code>record</code>, must be called before values of the record are read.
+     *
+     * @param record The record.
+     */
+    void bind(Map<String, ?> record) {
+        if (record instanceof Record) {
+            RecordSchema recordSchema = ((Record) record).getSchema();
+            if (recordSchema != schema) {
+                for (int i = 0; i < names.length; i++) {
+                    slots[i] = recordSchema.slotOf(names[i]);
+                }
+                schema = recordSchema;
+            }
+        }
+    }
+
+    /**
+     * Returns value of the field at specified <code>index</code> of the bound <code>record</code>.
+     *
+     * @param record The record, previously bound.
+     * @param index Index of the field.
+     * @return Value of the field, or null if record does not contain it.
+     */
+    Object get(Map<String, ?> record, int index) {
+        if (record instanceof Record && ((Record) record).getSchema() == schema) {
+            int slot = slots[index];
+            return slot >= 0 ? ((Record) record).get(slot) : null;
+        }
+        return record.get(names[index]);
+    }
+}
@@ -0,0 +1,131 @@
+package io.smartcat.ranger.output;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.smartcat.ranger.core.Record;
+import io.smartcat.ranger.core.RecordSchema;
+
+/**
+ * Writes objects as JSON Lines, one JSON document per line. Objects are streamed directly into a single
+ * {@link JsonGenerator}, which buffers output in a recycled byte buffer, so no intermediate {@link String} or
+ * {@link Map} is created per object. Maps, records, collections, strings, numbers and booleans are written directly,
+ * all other objects are written by {@link ObjectMapper}, the same way {@link ObjectMapper#writeValueAsString(Object)}
+ * would write them. Closing the writer flushes the output but does not close the underlying stream.
+ */
+public class JsonLinesWriter implements Flushable, Closeable {
+
+    private final JsonGenerator generator;
+
+    /**
+     * Constructs JSON Lines writer which writes to specified <code>out</code> using default {@link ObjectMapper}.
+     *
+     * @param out Output stream to write to.
+     * @throws IOException if JSON generator cannot be created.
+     */
+    public JsonLinesWriter(OutputStream out) throws IOException {
+        this(out, new ObjectMapper());
+    }
+
+    /**
+     * Constructs JSON Lines writer which writes to specified <code>out</code> using specified
+     * <code>objectMapper</code> for objects which are not written directly.
+     *
+     * @param out Output stream to write to.
+     * @param objectMapper Object mapper to use.
+     * @throws IOException if JSON generator cannot be created.
+     */
+    public JsonLinesWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream cannot be null.");
+        }
+        if (objectMapper == null) {
+            throw new IllegalArgumentException("Object mapper cannot be null.");
+        }
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // lines are separated by explicit new line, default root value separator is a space
+        this.generator.setRootValueSeparator(null);
+    }
+
+    /**
+     * Writes specified <code>object</code> as a single line.
+     *
+     * @param object Object to write.
+     * @throws IOException if object cannot be written.
+     */
+    public void write(Object object) throws IOException {
+        writeValue(object);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            generator.writeNumber((Long) value);
+        } else if (value instanceof Double) {
+            generator.writeNumber((Double) value);
+        } else if (value instanceof Float) {
+            generator.writeNumber((Float) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof Record) {
+            writeRecord((Record) value);
+        } else if (value instanceof Map) {
+            writeMap((Map<?, ?>) value);
+        } else if (value instanceof Collection) {
+            writeCollection((Collection<?>) value);
+        } else {
+            generator.writeObject(value);
+        }
+    }
+
+    private void writeRecord(Record record) throws IOException {
+        RecordSchema schema = record.getSchema();
+        generator.writeStartObject();
+        for (int i = 0; i < schema.size(); i++) {
+            generator.writeFieldName(schema.nameOf(i));
+            writeValue(record.get(i));
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeMap(Map<?, ?> map) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            generator.writeFieldName(String.valueOf(entry.getKey()));
+            writeValue(entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeCollection(Collection<?> collection) throws IOException {
+        generator.writeStartArray();
+        for (Object element : collection) {
+            writeValue(element);
+        }
+        generator.writeEndArray();
+    }
+}
@@ -0,0 +1,214 @@
+package io.smartcat.ranger.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Output stream which compresses written bytes in gzip format using multiple threads. Written bytes are split into
+ * blocks, each block is compressed by the executor into an independent gzip member and members are written to the
+ * underlying stream in order, from the thread writing to this stream. Concatenated members form a valid gzip file,
+ * which can be read by <code>gzip</code>, <code>pigz</code> or {@link java.util.zip.GZIPInputStream}. Number of
+ * blocks waiting to be written is bounded, so memory usage does not depend on the speed of the underlying stream.
+ * Flushing the stream ends current block, so frequent flushing makes compression less efficient.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    /**
+     * Default size of a block in bytes.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private static final int HEADER_SIZE = 10;
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final OutputStream out;
+    private final ExecutorService executor;
+    private final int blockSize;
+    private final int level;
+    private final int maxPending;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private byte[] block;
+    private int position;
+    private boolean written;
+    private boolean closed;
+
+    /**
+     * Constructs parallel gzip output stream which writes to specified <code>out</code> and compresses blocks of
+     * default size with default compression level in common fork join pool.
+     *
+     * @param out Output stream to write to.
+     */
+    public ParallelGzipOutputStream(OutputStream out) {
+        this(out, ForkJoinPool.commonPool(), DEFAULT_BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Constructs parallel gzip output stream which writes to specified <code>out</code>.
+     *
+     * @param out Output stream to write to.
+     * @param executor Executor which compresses blocks, can be shared between streams.
+     * @param blockSize Size of a block in bytes.
+     * @param level Compression level, from 0 to 9, or -1 for default level.
+     */
+    public ParallelGzipOutputStream(OutputStream out, ExecutorService executor, int blockSize, int level) {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream cannot be null.");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null.");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be greater than 0. blockSize: " + blockSize);
+        }
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between -1 and 9. level: " + level);
+        }
+        this.out = out;
+        this.executor = executor;
+        this.blockSize = blockSize;
+        this.level = level;
+        this.maxPending = 2 * Runtime.getRuntime().availableProcessors();
+        this.block = new byte[blockSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        checkOpen();
+        block[position++] = (byte) b;
+        if (position == blockSize) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        checkOpen();
+        while (len > 0) {
+            int length = Math.min(len, blockSize - position);
+            System.arraycopy(b, off, block, position, length);
+            position += length;
+            off += length;
+            len -= length;
+            if (position == blockSize) {
+                submitBlock();
+            }
+        }
+    }
+
+    /**
+     * Ends current block, waits until all blocks are compressed and written and flushes the underlying stream.
+     *
+     * @throws IOException if blocks cannot be compressed or written.
+     */
+    @Override
+    public void flush() throws IOException {
+        checkOpen();
+        if (position > 0) {
+            submitBlock();
+        }
+        while (!pending.isEmpty()) {
+            writeNext();
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes remaining blocks and closes the underlying stream. Stream to which nothing was written gets a single
+     * empty gzip member, so it is still a valid gzip file.
+     *
+     * @throws IOException if blocks cannot be compressed or written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            if (!written && position == 0) {
+                out.write(compress(block, 0, level));
+            }
+            flush();
+        } finally {
+            closed = true;
+            for (Future<byte[]> future : pending) {
+                future.cancel(false);
+            }
+            pending.clear();
+            out.close();
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        byte[] data = block;
+        int length = position;
+        pending.add(executor.submit(() -> compress(data, length, level)));
+        written = true;
+        block = new byte[blockSize];
+        position = 0;
+        while (pending.size() > maxPending) {
+            writeNext();
+        }
+    }
+
+    private void writeNext() throws IOException {
+        byte[] member;
+        try {
+            member = pending.peek().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for block to be compressed.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not compress block.", e.getCause());
+        }
+        pending.poll();
+        out.write(member);
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed.");
+        }
+    }
+
+    private static byte[] compress(byte[] data, int length, int level) {
+        ByteArrayOutputStream member = new ByteArrayOutputStream(length / 2 + HEADER_SIZE);
+        member.write(0x1F);
+        member.write(0x8B);
+        member.write(Deflater.DEFLATED);
+        // flags, modification time, extra flags and operating system are not set
+        member.write(new byte[HEADER_SIZE - 3], 0, HEADER_SIZE - 3);
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            byte[] chunk = new byte[Math.min(CHUNK_SIZE, length + 64)];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(chunk);
+                member.write(chunk, 0, count);
+            }
+        } finally {
+            deflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        writeInt(member, (int) crc.getValue());
+        writeInt(member, length);
+        return member.toByteArray();
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >> 8);
+        out.write(value >> 16);
+        out.write(value >> 24);
+    }
+}
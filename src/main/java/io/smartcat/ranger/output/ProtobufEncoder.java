@@ -0,0 +1,255 @@
+package io.smartcat.ranger.output;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import io.smartcat.ranger.output.ProtobufType.WireType;
+
+/**
+ * Encodes maps as Protocol Buffers messages. Message fields are mapped to map keys with
+ * {@link ProtobufEncoderBuilder}. Null and missing values are not encoded, repeated scalar fields are packed, as in
+ * proto3. Integer types accept integer numbers, {@link ProtobufType#INT64} and {@link ProtobufType#SINT64} accept
+ * {@link Date} as milliseconds since epoch as well. Floating point types accept any number,
+ * {@link ProtobufType#STRING} accepts {@link CharSequence}, {@link UUID} and {@link Character} and
+ * {@link ProtobufType#BYTES} accepts <code>byte[]</code> and {@link ByteBuffer}. Repeated fields accept
+ * {@link Collection} and message fields accept {@link Map}.
+ */
+public class ProtobufEncoder extends RecordEncoder {
+
+    private final Field[] fields;
+    private final FieldBinding binding;
+
+    ProtobufEncoder(List<Field> fields, List<String> names) {
+        this.fields = fields.toArray(new Field[fields.size()]);
+        this.binding = new FieldBinding(names);
+    }
+
+    @Override
+    void encode(Map<String, ?> record, EncodingBuffer buffer) {
+        binding.bind(record);
+        for (int i = 0; i < fields.length; i++) {
+            Object value = binding.get(record, i);
+            if (value != null) {
+                try {
+                    fields[i].write(value, buffer);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Cannot encode field '" + fields[i].name + "': "
+                            + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private static IllegalArgumentException cannotEncode(Object value, String type) {
+        return new IllegalArgumentException("Value " + value + " of " + value.getClass()
+                + " cannot be encoded as protobuf " + type + ".");
+    }
+
+    private static long toLong(Object value, ProtobufType type) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Date && (type == ProtobufType.INT64 || type == ProtobufType.SINT64)) {
+            return ((Date) value).getTime();
+        }
+        if (value instanceof Boolean && type == ProtobufType.BOOL) {
+            return (Boolean) value ? 1 : 0;
+        }
+        if (value instanceof Enum && type == ProtobufType.ENUM) {
+            return ((Enum<?>) value).ordinal();
+        }
+        throw cannotEncode(value, type.name().toLowerCase());
+    }
+
+    private static void writeScalar(Object value, ProtobufType type, EncodingBuffer buffer) {
+        switch (type) {
+        case DOUBLE:
+            buffer.writeDouble(toDouble(value, type));
+            break;
+        case FLOAT:
+            buffer.writeFloat((float) toDouble(value, type));
+            break;
+        case INT32:
+            buffer.writeVarint((int) toLong(value, type));
+            break;
+        case UINT32:
+            buffer.writeVarint(toLong(value, type) & 0xFFFFFFFFL);
+            break;
+        case SINT32:
+            buffer.writeZigZag((int) toLong(value, type));
+            break;
+        case SINT64:
+            buffer.writeZigZag(toLong(value, type));
+            break;
+        case FIXED32:
+        case SFIXED32:
+            buffer.writeFixed32((int) toLong(value, type));
+            break;
+        case FIXED64:
+        case SFIXED64:
+            buffer.writeFixed64(toLong(value, type));
+            break;
+        case STRING:
+            if (!(value instanceof CharSequence || value instanceof UUID || value instanceof Character)) {
+                throw cannotEncode(value, "string");
+            }
+            CharSequence string = value instanceof CharSequence ? (CharSequence) value : value.toString();
+            buffer.writeVarint(EncodingBuffer.utf8Length(string));
+            buffer.writeUtf8(string);
+            break;
+        case BYTES:
+            writeBytes(value, buffer);
+            break;
+        default:
+            // INT64, UINT64, BOOL and ENUM
+            buffer.writeVarint(toLong(value, type));
+            break;
+        }
+    }
+
+    private static double toDouble(Object value, ProtobufType type) {
+        if (!(value instanceof Number)) {
+            throw cannotEncode(value, type.name().toLowerCase());
+        }
+        return ((Number) value).doubleValue();
+    }
+
+    private static void writeBytes(Object value, EncodingBuffer buffer) {
+        if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            buffer.writeVarint(bytes.length);
+            buffer.write(bytes, 0, bytes.length);
+        } else if (value instanceof ByteBuffer) {
+            ByteBuffer bytes = ((ByteBuffer) value).duplicate();
+            buffer.writeVarint(bytes.remaining());
+            while (bytes.hasRemaining()) {
+                buffer.writeByte(bytes.get());
+            }
+        } else {
+            throw cannotEncode(value, "bytes");
+        }
+    }
+
+    private static void writeTag(int number, int wireType, EncodingBuffer buffer) {
+        buffer.writeVarint(((long) number << 3) | wireType);
+    }
+
+    /**
+     * Field of a message.
+     */
+    abstract static class Field {
+
+        final int number;
+        final String name;
+
+        Field(int number, String name) {
+            this.number = number;
+            this.name = name;
+        }
+
+        abstract void write(Object value, EncodingBuffer buffer);
+    }
+
+    /**
+     * Singular scalar field.
+     */
+    static class ScalarField extends Field {
+
+        private final ProtobufType type;
+
+        ScalarField(int number, String name, ProtobufType type) {
+            super(number, name);
+            this.type = type;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            writeTag(number, type.getWireType(), buffer);
+            writeScalar(value, type, buffer);
+        }
+    }
+
+    /**
+     * Repeated scalar field, numeric values are packed.
+     */
+    static class RepeatedField extends Field {
+
+        private final ProtobufType type;
+        private final EncodingBuffer packed = new EncodingBuffer();
+
+        RepeatedField(int number, String name, ProtobufType type) {
+            super(number, name);
+            this.type = type;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (!(value instanceof Collection)) {
+                throw cannotEncode(value, "repeated " + type.name().toLowerCase());
+            }
+            Collection<?> values = (Collection<?>) value;
+            if (values.isEmpty()) {
+                return;
+            }
+            if (type.isPackable()) {
+                packed.reset();
+                for (Object item : values) {
+                    writeScalar(item, type, packed);
+                }
+                writeTag(number, WireType.LENGTH_DELIMITED, buffer);
+                buffer.writeVarint(packed.size());
+                buffer.write(packed);
+            } else {
+                for (Object item : values) {
+                    writeTag(number, type.getWireType(), buffer);
+                    writeScalar(item, type, buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Singular or repeated field holding nested message.
+     */
+    static class MessageField extends Field {
+
+        private final ProtobufEncoder encoder;
+        private final boolean repeated;
+        private final EncodingBuffer nested = new EncodingBuffer();
+
+        MessageField(int number, String name, ProtobufEncoder encoder, boolean repeated) {
+            super(number, name);
+            this.encoder = encoder;
+            this.repeated = repeated;
+        }
+
+        @Override
+        void write(Object value, EncodingBuffer buffer) {
+            if (!repeated) {
+                writeMessage(value, buffer);
+            } else if (value instanceof Collection) {
+                for (Object item : (Collection<?>) value) {
+                    writeMessage(item, buffer);
+                }
+            } else {
+                throw cannotEncode(value, "repeated message");
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void writeMessage(Object value, EncodingBuffer buffer) {
+            if (!(value instanceof Map)) {
+                throw cannotEncode(value, "message");
+            }
+            nested.reset();
+            encoder.encode((Map<String, ?>) value, nested);
+            writeTag(number, WireType.LENGTH_DELIMITED, buffer);
+            buffer.writeVarint(nested.size());
+            buffer.write(nested);
+        }
+    }
+}
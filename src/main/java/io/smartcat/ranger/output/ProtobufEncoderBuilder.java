@@ -0,0 +1,117 @@
+package io.smartcat.ranger.output;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builder for {@link ProtobufEncoder}. Each field of the message is declared with its number, name of the map key it
+ * is read from and its type, in the same way it is declared in <code>.proto</code> file.
+ *
+ * <pre>
+ * ProtobufEncoder address = new ProtobufEncoderBuilder().field(1, "city", ProtobufType.STRING).build();
+ * ProtobufEncoder user = new ProtobufEncoderBuilder()
+ *         .field(1, "id", ProtobufType.INT64)
+ *         .field(2, "name", ProtobufType.STRING)
+ *         .repeated(3, "scores", ProtobufType.INT32)
+ *         .message(4, "address", address).build();
+ * </pre>
+ */
+public class ProtobufEncoderBuilder {
+
+    private static final int MAX_FIELD_NUMBER = (1 << 29) - 1;
+
+    private final List<ProtobufEncoder.Field> fields = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final Set<Integer> numbers = new HashSet<>();
+
+    /**
+     * Declares singular scalar field.
+     *
+     * @param number Field number.
+     * @param name Name of the map key holding field value.
+     * @param type Type of the field.
+     * @return This builder.
+     */
+    public ProtobufEncoderBuilder field(int number, String name, ProtobufType type) {
+        checkType(type);
+        return add(new ProtobufEncoder.ScalarField(number, name, type));
+    }
+
+    /**
+     * Declares repeated scalar field, values are taken from a collection.
+     *
+     * @param number Field number.
+     * @param name Name of the map key holding field values.
+     * @param type Type of the field.
+     * @return This builder.
+     */
+    public ProtobufEncoderBuilder repeated(int number, String name, ProtobufType type) {
+        checkType(type);
+        return add(new ProtobufEncoder.RepeatedField(number, name, type));
+    }
+
+    /**
+     * Declares singular message field, value is taken from a map.
+     *
+     * @param number Field number.
+     * @param name Name of the map key holding field value.
+     * @param encoder Encoder of the nested message.
+     * @return This builder.
+     */
+    public ProtobufEncoderBuilder message(int number, String name, ProtobufEncoder encoder) {
+        checkEncoder(encoder);
+        return add(new ProtobufEncoder.MessageField(number, name, encoder, false));
+    }
+
+    /**
+     * Declares repeated message field, values are taken from a collection of maps.
+     *
+     * @param number Field number.
+     * @param name Name of the map key holding field values.
+     * @param encoder Encoder of the nested messages.
+     * @return This builder.
+     */
+    public ProtobufEncoderBuilder repeatedMessage(int number, String name, ProtobufEncoder encoder) {
+        checkEncoder(encoder);
+        return add(new ProtobufEncoder.MessageField(number, name, encoder, true));
+    }
+
+    /**
+     * Builds encoder of declared message.
+     *
+     * @return Protobuf encoder.
+     */
+    public ProtobufEncoder build() {
+        return new ProtobufEncoder(fields, names);
+    }
+
+    private ProtobufEncoderBuilder add(ProtobufEncoder.Field field) {
+        if (field.number < 1 || field.number > MAX_FIELD_NUMBER) {
+            throw new IllegalArgumentException("Field number must be between 1 and " + MAX_FIELD_NUMBER
+                    + ". number: " + field.number);
+        }
+        if (field.name == null) {
+            throw new IllegalArgumentException("Field name cannot be null.");
+        }
+        if (!numbers.add(field.number)) {
+            throw new IllegalArgumentException("Duplicate field number: " + field.number);
+        }
+        fields.add(field);
+        names.add(field.name);
+        return this;
+    }
+
+    private static void checkType(ProtobufType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Field type cannot be null.");
+        }
+    }
+
+    private static void checkEncoder(ProtobufEncoder encoder) {
+        if (encoder == null) {
+            throw new IllegalArgumentException("Message encoder cannot be null.");
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.smartcat.ranger.output;
+
+/**
+ * Scalar field types of Protocol Buffers, see {@link ProtobufEncoderBuilder}.
+ */
+public enum ProtobufType {
+
+    /**
+     * 64-bit floating point number.
+     */
+    DOUBLE(WireType.FIXED64),
+
+    /**
+     * 32-bit floating point number.
+     */
+    FLOAT(WireType.FIXED32),
+
+    /**
+     * Signed 32-bit integer, negative numbers take 10 bytes.
+     */
+    INT32(WireType.VARINT),
+
+    /**
+     * Signed 64-bit integer, negative numbers take 10 bytes.
+     */
+    INT64(WireType.VARINT),
+
+    /**
+     * Unsigned 32-bit integer.
+     */
+    UINT32(WireType.VARINT),
+
+    /**
+     * Unsigned 64-bit integer.
+     */
+    UINT64(WireType.VARINT),
+
+    /**
+     * Signed 32-bit integer, zig-zag encoded.
+     */
+    SINT32(WireType.VARINT),
+
+    /**
+     * Signed 64-bit integer, zig-zag encoded.
+     */
+    SINT64(WireType.VARINT),
+
+    /**
+     * Unsigned 32-bit integer, always 4 bytes.
+     */
+    FIXED32(WireType.FIXED32),
+
+    /**
+     * Unsigned 64-bit integer, always 8 bytes.
+     */
+    FIXED64(WireType.FIXED64),
+
+    /**
+     * Signed 32-bit integer, always 4 bytes.
+     */
+    SFIXED32(WireType.FIXED32),
+
+    /**
+     * Signed 64-bit integer, always 8 bytes.
+     */
+    SFIXED64(WireType.FIXED64),
+
+    /**
+     * Boolean value.
+     */
+    BOOL(WireType.VARINT),
+
+    /**
+     * Enum value, given as number of the enum constant or as {@link Enum} whose ordinal is used.
+     */
+    ENUM(WireType.VARINT),
+
+    /**
+     * UTF-8 encoded string.
+     */
+    STRING(WireType.LENGTH_DELIMITED),
+
+    /**
+     * Arbitrary bytes.
+     */
+    BYTES(WireType.LENGTH_DELIMITED);
+
+    private final int wireType;
+
+    ProtobufType(int wireType) {
+        this.wireType = wireType;
+    }
+
+    /**
+     * Returns wire type of this field type.
+     *
+     * @return Wire type.
+     */
+    int getWireType() {
+        return wireType;
+    }
+
+    /**
+     * Indicates whether repeated fields of this type are packed into a single length delimited record.
+     *
+     * @return True if repeated fields are packed, otherwise false.
+     */
+    boolean isPackable() {
+        return wireType != WireType.LENGTH_DELIMITED;
+    }
+
+    /**
+     * Wire types of Protocol Buffers encoding.
+     */
+    static final class WireType {
+
+        static final int VARINT = 0;
+        static final int FIXED64 = 1;
+        static final int LENGTH_DELIMITED = 2;
+        static final int FIXED32 = 5;
+
+        private WireType() {
+        }
+    }
+}
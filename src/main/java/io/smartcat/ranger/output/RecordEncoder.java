@@ -0,0 +1,56 @@
+package io.smartcat.ranger.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Encodes maps into binary payloads of a schema. Fields are read directly out of the map, {@link
+ * io.smartcat.ranger.core.Record} produced by composite value is read by slots, and encoded into a buffer reused
+ * between records, so no intermediate object is created per record. Encoders are not thread safe, each thread should
+ * use its own instance.
+ */
+public abstract class RecordEncoder {
+
+    private final EncodingBuffer buffer = new EncodingBuffer();
+
+    /**
+     * Encodes specified <code>record</code> into a new byte array.
+     *
+     * @param record The record.
+     * @return Encoded record.
+     */
+    public byte[] encode(Map<String, ?> record) {
+        encodeToBuffer(record);
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Encodes specified <code>record</code> and writes it to specified <code>out</code> without copying the buffer.
+     * Records are written one after another, without delimiters.
+     *
+     * @param record The record.
+     * @param out Output stream to write to.
+     * @throws IOException if encoded record cannot be written.
+     */
+    public void encode(Map<String, ?> record, OutputStream out) throws IOException {
+        encodeToBuffer(record);
+        buffer.writeTo(out);
+    }
+
+    /**
+     * Encodes specified <code>record</code> into specified <code>buffer</code>.
+     *
+     * @param record The record.
+     * @param buffer Buffer to encode into.
+     */
+    abstract void encode(Map<String, ?> record, EncodingBuffer buffer);
+
+    private void encodeToBuffer(Map<String, ?> record) {
+        if (record == null) {
+            throw new IllegalArgumentException("Record cannot be null.");
+        }
+        buffer.reset();
+        encode(record, buffer);
+    }
+}
@@ -6,38 +6,68 @@ import io.smartcat.ranger.core.ConstantValue;
 import io.smartcat.ranger.core.TypeConverterValue;
 import io.smartcat.ranger.core.Value;
 import io.smartcat.ranger.core.ValueProxy;
+import io.smartcat.ranger.optimizer.Optimization;
+import io.smartcat.ranger.optimizer.ValueOptimizer;
 import org.parboiled.Parboiled;
 import org.parboiled.parserunners.ReportingParseRunner;
 import org.parboiled.support.ParsingResult;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
- * Constructs {@link ObjectGenerator} out of parsed configuration.
+ * Constructs {@link ObjectGenerator} out of parsed configuration. Creating {@link ValueExpressionParser} generates
+ * parser class and builds its rule tree, which takes more time than parsing a whole configuration, so parser
+ * instances are kept in a process-wide pool and reused by subsequent builds. Each build uses its own parser instance,
+ * so configurations can be built concurrently. Alternatively, expressions can be parsed by
+ * {@link RecursiveDescentParser}, which needs no runtime class generation, see {@link ExpressionParserType}. Parsed
+ * value graph can be optimized by {@link ValueOptimizer} before generator is constructed.
  */
 public class ConfigurationParser {
 
     private static final String VALUES = "values";
     private static final String OUTPUT = "output";
 
+    private static final Queue<ValueExpressionParser> PARSERS = new ConcurrentLinkedQueue<>();
+
     private final Map<String, Object> values;
     private final Object outputExpression;
+    private final ExpressionParserType parserType;
+    private boolean optimize;
+    private Optimization<?> optimization;
     private Map<String, ValueProxy<?>> proxyValues;
     private ValueExpressionParser parser;
     private ReportingParseRunner<Value<?>> parseRunner;
+    private RecursiveDescentParser recursiveDescentParser;
 
     /**
-     * Constructs Builder that will build {@link ConfigurationParser}.
+     * Constructs Builder that will build {@link ConfigurationParser}. Expressions are parsed by
+     * {@link ValueExpressionParser}.
      *
      * @param config Data generator configuration.
      */
-    @SuppressWarnings("unchecked")
     public ConfigurationParser(Map<String, Object> config) {
+        this(config, ExpressionParserType.PARBOILED);
+    }
+
+    /**
+     * Constructs Builder that will build {@link ConfigurationParser}, parsing expressions with specified parser.
+     *
+     * @param config Data generator configuration.
+     * @param parserType Implementation of expression parser to use.
+     */
+    @SuppressWarnings("unchecked")
+    public ConfigurationParser(Map<String, Object> config, ExpressionParserType parserType) {
         checkSectionExistence(config, VALUES);
         checkSectionExistence(config, OUTPUT);
+        if (parserType == null) {
+            throw new IllegalArgumentException("Parser type cannot be null.");
+        }
         this.values = (Map<String, Object>) config.get(VALUES);
         this.outputExpression = config.get(OUTPUT);
+        this.parserType = parserType;
     }
 
     /**
@@ -48,8 +78,7 @@ public class ConfigurationParser {
      */
     @SuppressWarnings({ "unchecked" })
     public <T> ObjectGenerator<T> build() {
-        buildModel();
-        return new ObjectGenerator<>((Value<T>) parseSimpleValue("", outputExpression));
+        return new ObjectGenerator<>((Value<T>) buildModel());
     }
 
     /**
@@ -61,18 +90,82 @@ public class ConfigurationParser {
      * @return Instance of {@link ObjectGenerator}.
      */
     public <T> ObjectGenerator<T> build(Class<T> objectType) {
-        buildModel();
-        return new ObjectGenerator<>(new TypeConverterValue<>(objectType, parseSimpleValue("", outputExpression)));
+        return new ObjectGenerator<>(new TypeConverterValue<>(objectType, buildModel()));
+    }
+
+    /**
+     * Sets whether parsed value graph is optimized by {@link ValueOptimizer} before generator is constructed.
+     * Optimization is turned off by default, so that generator is built out of value graph as it is configured.
+     *
+     * @param optimize Whether to optimize parsed value graph.
+     */
+    public void setOptimize(boolean optimize) {
+        this.optimize = optimize;
     }
 
-    private void buildModel() {
+    /**
+     * Returns result of optimization done by the last build, with statistics of the value graph before and after
+     * optimization.
+     *
+     * @return Result of the last optimization, or null if nothing is built yet or optimization is turned off.
+     */
+    public Optimization<?> getOptimization() {
+        return optimization;
+    }
+
+    private Value<?> buildModel() {
+        Value<?> model = parseGraph();
+        if (!optimize) {
+            this.optimization = null;
+            return model;
+        }
+        this.optimization = ValueOptimizer.optimize(model, proxyValues.values());
+        return optimization.getValue();
+    }
+
+    private Value<?> parseGraph() {
         this.proxyValues = new HashMap<>();
-        this.parser = Parboiled.createParser(ValueExpressionParser.class, proxyValues);
-        this.parseRunner = new ReportingParseRunner<>(parser.value());
+        if (parserType == ExpressionParserType.RECURSIVE_DESCENT) {
+            this.recursiveDescentParser = new RecursiveDescentParser(proxyValues);
+            try {
+                return parseModel();
+            } finally {
+                this.recursiveDescentParser = null;
+            }
+        }
+        this.parser = acquireParser(proxyValues);
+        try {
+            this.parseRunner = new ReportingParseRunner<>(parser.value());
+            return parseModel();
+        } finally {
+            releaseParser(parser);
+            this.parser = null;
+            this.parseRunner = null;
+        }
+    }
+
+    private Value<?> parseModel() {
         if (values != null) {
             createProxies();
             parseValues();
         }
+        return parseSimpleValue("", outputExpression);
+    }
+
+    private static ValueExpressionParser acquireParser(Map<String, ValueProxy<?>> proxyValues) {
+        ValueExpressionParser pooled = PARSERS.poll();
+        if (pooled == null) {
+            return Parboiled.createParser(ValueExpressionParser.class, proxyValues);
+        }
+        pooled.setProxyValues(proxyValues);
+        return pooled;
+    }
+
+    private static void releaseParser(ValueExpressionParser parser) {
+        // parser must not keep values of this configuration reachable while pooled
+        parser.setProxyValues(null);
+        parser.setParentName(null);
+        PARSERS.offer(parser);
     }
 
     private void checkSectionExistence(Map<String, Object> config, String name) {
@@ -131,7 +224,9 @@ public class ConfigurationParser {
 
     private Value<?> parseSimpleValue(String parentName, Object def) {
         // handle String as expression and all other types as primitives
-        if (def instanceof String) {
+        if (def instanceof String && recursiveDescentParser != null) {
+            return recursiveDescentParser.parse((String) def, stripOffLastReference(parentName));
+        } else if (def instanceof String) {
             parser.setParentName(stripOffLastReference(parentName));
             ParsingResult<Value<?>> result = parseRunner.run((String) def);
             return result.valueStack.pop();
@@ -0,0 +1,20 @@
+package io.smartcat.ranger.parser;
+
+/**
+ * Implementation used by {@link ConfigurationParser} to parse value expressions. Both implementations accept the same
+ * expression language and build same values.
+ */
+public enum ExpressionParserType {
+
+    /**
+     * {@link ValueExpressionParser}, parser generated by Parboiled. Parser class is generated at runtime on first use,
+     * which makes first build slower and is not possible where runtime class definition is not allowed.
+     */
+    PARBOILED,
+
+    /**
+     * {@link RecursiveDescentParser}, hand-written parser which does not generate any classes and is ready to use
+     * immediately.
+     */
+    RECURSIVE_DESCENT
+}
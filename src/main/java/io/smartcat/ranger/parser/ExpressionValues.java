@@ -0,0 +1,266 @@
+package io.smartcat.ranger.parser;
+
+import java.util.List;
+import java.util.Map;
+
+import io.smartcat.ranger.core.Range;
+import io.smartcat.ranger.core.Value;
+import io.smartcat.ranger.core.ValueProxy;
+import io.smartcat.ranger.core.arithmetic.AdditionValueByte;
+import io.smartcat.ranger.core.arithmetic.AdditionValueDouble;
+import io.smartcat.ranger.core.arithmetic.AdditionValueFloat;
+import io.smartcat.ranger.core.arithmetic.AdditionValueInteger;
+import io.smartcat.ranger.core.arithmetic.AdditionValueLong;
+import io.smartcat.ranger.core.arithmetic.AdditionValueShort;
+import io.smartcat.ranger.core.arithmetic.DivisionValueByte;
+import io.smartcat.ranger.core.arithmetic.DivisionValueDouble;
+import io.smartcat.ranger.core.arithmetic.DivisionValueFloat;
+import io.smartcat.ranger.core.arithmetic.DivisionValueInteger;
+import io.smartcat.ranger.core.arithmetic.DivisionValueLong;
+import io.smartcat.ranger.core.arithmetic.DivisionValueShort;
+import io.smartcat.ranger.core.arithmetic.MultiplicationValueByte;
+import io.smartcat.ranger.core.arithmetic.MultiplicationValueDouble;
+import io.smartcat.ranger.core.arithmetic.MultiplicationValueFloat;
+import io.smartcat.ranger.core.arithmetic.MultiplicationValueInteger;
+import io.smartcat.ranger.core.arithmetic.MultiplicationValueLong;
+import io.smartcat.ranger.core.arithmetic.MultiplicationValueShort;
+import io.smartcat.ranger.core.arithmetic.SubtractionValueByte;
+import io.smartcat.ranger.core.arithmetic.SubtractionValueDouble;
+import io.smartcat.ranger.core.arithmetic.SubtractionValueFloat;
+import io.smartcat.ranger.core.arithmetic.SubtractionValueInteger;
+import io.smartcat.ranger.core.arithmetic.SubtractionValueLong;
+import io.smartcat.ranger.core.arithmetic.SubtractionValueShort;
+import io.smartcat.ranger.distribution.NormalDistribution;
+import io.smartcat.ranger.distribution.RandomEngines;
+import io.smartcat.ranger.distribution.UniformDistribution;
+
+/**
+ * Construction of values out of parsed expression arguments, shared by {@link ValueExpressionParser} and
+ * {@link RecursiveDescentParser} so both parsers build same values.
+ */
+final class ExpressionValues {
+
+    private ExpressionValues() {
+    }
+
+    /**
+     * Creates uniform distribution out of optional engine name and seed.
+     *
+     * @param args Engine name followed by optional seed, or empty list.
+     * @return Instance of {@link UniformDistribution}.
+     */
+    static UniformDistribution uniformDistribution(List<Object> args) {
+        if (args.isEmpty()) {
+            return new UniformDistribution();
+        }
+        String engineName = (String) args.get(0);
+        if (args.size() == 1) {
+            return new UniformDistribution(RandomEngines.create(engineName));
+        }
+        Object seed = args.get(1);
+        if (!(seed instanceof Integer || seed instanceof Long)) {
+            throw new RuntimeException("Seed of random engine must be an integer number, found: " + seed);
+        }
+        return new UniformDistribution(RandomEngines.create(engineName, ((Number) seed).longValue()));
+    }
+
+    /**
+     * Creates normal distribution out of its parameters.
+     *
+     * @param args Mean, standard deviation, lower bound and upper bound, or empty list.
+     * @return Instance of {@link NormalDistribution}.
+     */
+    static NormalDistribution normalDistribution(List<Number> args) {
+        if (args.isEmpty()) {
+            return new NormalDistribution();
+        }
+        if (args.size() != 4) {
+            throw new RuntimeException("Normal distribution must have following parameters:"
+                    + " mean, standard deviation, lower bound and upper bound.");
+        }
+        return new NormalDistribution(args.get(0).doubleValue(), args.get(1).doubleValue(), args.get(2).doubleValue(),
+                args.get(3).doubleValue());
+    }
+
+    /**
+     * Creates appropriate number range depending on number types.
+     *
+     * @param beginning Beginning of the range.
+     * @param end End of the range.
+     * @return An instance of {@link Range}.
+     */
+    static Range<?> numberRange(Number beginning, Number end) {
+        if (beginning instanceof Double || end instanceof Double) {
+            return new Range<Double>(beginning.doubleValue(), end.doubleValue());
+        }
+        if (beginning instanceof Float || end instanceof Float) {
+            return new Range<Float>(beginning.floatValue(), end.floatValue());
+        }
+        if (beginning instanceof Long || end instanceof Long) {
+            return new Range<Long>(beginning.longValue(), end.longValue());
+        }
+        if (beginning instanceof Integer || end instanceof Integer) {
+            return new Range<Integer>(beginning.intValue(), end.intValue());
+        }
+        if (beginning instanceof Short || end instanceof Short) {
+            return new Range<Short>(beginning.shortValue(), end.shortValue());
+        }
+        if (beginning instanceof Byte || end instanceof Byte) {
+            return new Range<Byte>(beginning.byteValue(), end.byteValue());
+        }
+        throw new RuntimeException("Unsupported number type: " + beginning.getClass().getName());
+    }
+
+    /**
+     * Creates addition value of specified type.
+     *
+     * @param type Name of the primitive type of the result.
+     * @param summand1 First summand.
+     * @param summand2 Second summand.
+     * @return An addition value.
+     */
+    @SuppressWarnings("rawtypes")
+    static Value<?> addition(String type, Value summand1, Value summand2) {
+        switch (type) {
+        case "byte":
+            return new AdditionValueByte(summand1, summand2);
+        case "short":
+            return new AdditionValueShort(summand1, summand2);
+        case "int":
+            return new AdditionValueInteger(summand1, summand2);
+        case "long":
+            return new AdditionValueLong(summand1, summand2);
+        case "float":
+            return new AdditionValueFloat(summand1, summand2);
+        case "double":
+            return new AdditionValueDouble(summand1, summand2);
+        default:
+            throw new RuntimeException("Unsupported type for addition value. Type: " + type);
+        }
+    }
+
+    /**
+     * Creates subtraction value of specified type.
+     *
+     * @param type Name of the primitive type of the result.
+     * @param minuend The minuend.
+     * @param subtrahend The subtrahend.
+     * @return A subtraction value.
+     */
+    @SuppressWarnings("rawtypes")
+    static Value<?> subtraction(String type, Value minuend, Value subtrahend) {
+        switch (type) {
+        case "byte":
+            return new SubtractionValueByte(minuend, subtrahend);
+        case "short":
+            return new SubtractionValueShort(minuend, subtrahend);
+        case "int":
+            return new SubtractionValueInteger(minuend, subtrahend);
+        case "long":
+            return new SubtractionValueLong(minuend, subtrahend);
+        case "float":
+            return new SubtractionValueFloat(minuend, subtrahend);
+        case "double":
+            return new SubtractionValueDouble(minuend, subtrahend);
+        default:
+            throw new RuntimeException("Unsupported type for subtraction value. Type: " + type);
+        }
+    }
+
+    /**
+     * Creates multiplication value of specified type.
+     *
+     * @param type Name of the primitive type of the result.
+     * @param factor1 First factor.
+     * @param factor2 Second factor.
+     * @return A multiplication value.
+     */
+    @SuppressWarnings("rawtypes")
+    static Value<?> multiplication(String type, Value factor1, Value factor2) {
+        switch (type) {
+        case "byte":
+            return new MultiplicationValueByte(factor1, factor2);
+        case "short":
+            return new MultiplicationValueShort(factor1, factor2);
+        case "int":
+            return new MultiplicationValueInteger(factor1, factor2);
+        case "long":
+            return new MultiplicationValueLong(factor1, factor2);
+        case "float":
+            return new MultiplicationValueFloat(factor1, factor2);
+        case "double":
+            return new MultiplicationValueDouble(factor1, factor2);
+        default:
+            throw new RuntimeException("Unsupported type for multplication value. Type: " + type);
+        }
+    }
+
+    /**
+     * Creates division value of specified type.
+     *
+     * @param type Name of the primitive type of the result.
+     * @param dividend The dividend.
+     * @param divisor The divisor.
+     * @return A division value.
+     */
+    @SuppressWarnings("rawtypes")
+    static Value<?> division(String type, Value dividend, Value divisor) {
+        switch (type) {
+        case "byte":
+            return new DivisionValueByte(dividend, divisor);
+        case "short":
+            return new DivisionValueShort(dividend, divisor);
+        case "int":
+            return new DivisionValueInteger(dividend, divisor);
+        case "long":
+            return new DivisionValueLong(dividend, divisor);
+        case "float":
+            return new DivisionValueFloat(dividend, divisor);
+        case "double":
+            return new DivisionValueDouble(dividend, divisor);
+        default:
+            throw new RuntimeException("Unsupported type for division value. Type: " + type);
+        }
+    }
+
+    /**
+     * Returns value proxy for given name, looking it up relative to <code>parentName</code> first and then relative to
+     * each of its ancestors.
+     *
+     * @param proxyValues Map containing proxy values by name.
+     * @param parentName Name of the value in which reference is made.
+     * @param name Name of the referenced value.
+     * @return Proxy value.
+     */
+    static Value<?> valueProxy(Map<String, ValueProxy<?>> proxyValues, String parentName, String name) {
+        String parent = parentName;
+        while (parent != null) {
+            String testName = null;
+            if (parent.isEmpty()) {
+                testName = name;
+                parent = null;
+            } else {
+                testName = parent + "." + name;
+                parent = stripOffLastReference(parent);
+            }
+            if (proxyValues.containsKey(testName)) {
+                return proxyValues.get(testName);
+            }
+        }
+        throw new InvalidReferenceNameException(name);
+    }
+
+    /**
+     * Strips off the last reference from name.
+     *
+     * @param name Name from which to strip off the last reference.
+     * @return Name with stripped off last reference.
+     */
+    static String stripOffLastReference(String name) {
+        if (!name.contains(".")) {
+            return "";
+        } else {
+            return name.substring(0, name.lastIndexOf('.'));
+        }
+    }
+}
@@ -0,0 +1,993 @@
+package io.smartcat.ranger.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import io.smartcat.ranger.core.CircularRangeValueFactory;
+import io.smartcat.ranger.core.CircularValue;
+import io.smartcat.ranger.core.ConstantValue;
+import io.smartcat.ranger.core.DiscreteValue;
+import io.smartcat.ranger.core.EmptyListValue;
+import io.smartcat.ranger.core.EmptyMapValue;
+import io.smartcat.ranger.core.ExactWeightedValue;
+import io.smartcat.ranger.core.ExactWeightedValue.CountValuePair;
+import io.smartcat.ranger.core.GetterTransformer;
+import io.smartcat.ranger.core.JsonTransformer;
+import io.smartcat.ranger.core.ListValue;
+import io.smartcat.ranger.core.NowDateValue;
+import io.smartcat.ranger.core.NowLocalDateTimeValue;
+import io.smartcat.ranger.core.NowLocalDateValue;
+import io.smartcat.ranger.core.NowValue;
+import io.smartcat.ranger.core.NullValue;
+import io.smartcat.ranger.core.RandomContentStringValue;
+import io.smartcat.ranger.core.RandomLengthListValue;
+import io.smartcat.ranger.core.Range;
+import io.smartcat.ranger.core.RangeValueFactory;
+import io.smartcat.ranger.core.StringTransformer;
+import io.smartcat.ranger.core.TimeFormatTransformer;
+import io.smartcat.ranger.core.UUIDValue;
+import io.smartcat.ranger.core.Value;
+import io.smartcat.ranger.core.ValueProxy;
+import io.smartcat.ranger.core.WeightedValue;
+import io.smartcat.ranger.core.WeightedValue.WeightedValuePair;
+import io.smartcat.ranger.core.csv.CSVParserSettings;
+import io.smartcat.ranger.core.csv.CsvReaderValue;
+import io.smartcat.ranger.distribution.Distribution;
+
+/**
+ * Hand-written parser for configuration value expressions, accepting the same language as
+ * {@link ValueExpressionParser} without generating classes at runtime. Each rule of the grammar is a method which
+ * either matches input at current position and returns parsed object, or returns <code>null</code> and leaves position
+ * unchanged, so alternatives are tried in the same order and with the same backtracking as the PEG grammar of
+ * {@link ValueExpressionParser}. Like there, values are created as soon as their rule matches, expression does not
+ * have to be matched until its end and input which is not matched by any other rule is taken as a string.
+ * Exceptions thrown while creating values are rethrown as cause of a {@link RuntimeException}. Parser is not thread
+ * safe.
+ */
+public class RecursiveDescentParser {
+
+    private final RangeValueFactory rangeValueFactory = new RangeValueFactory();
+    private final CircularRangeValueFactory circularRangeValueFactory = new CircularRangeValueFactory();
+    private final Map<String, ValueProxy<?>> proxyValues;
+    private String parentName;
+    private String input;
+    private int pos;
+
+    /**
+     * Constructs parser which resolves references against specified <code>proxyValues</code>.
+     *
+     * @param proxyValues Map containing proxy values by name.
+     */
+    public RecursiveDescentParser(Map<String, ValueProxy<?>> proxyValues) {
+        this.proxyValues = proxyValues;
+    }
+
+    /**
+     * Parses specified <code>expression</code>.
+     *
+     * @param expression Expression to parse.
+     * @param parentName Name of the value containing expression, references are resolved relative to it.
+     * @return Parsed value.
+     */
+    public Value<?> parse(String expression, String parentName) {
+        this.input = expression;
+        this.parentName = parentName;
+        this.pos = 0;
+        Value<?> result;
+        try {
+            result = value();
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Error while parsing expression at position " + pos + ": "
+                    + expression, e);
+        } finally {
+            this.input = null;
+        }
+        if (result == null) {
+            throw new RuntimeException("Invalid expression: " + expression);
+        }
+        return result;
+    }
+
+    private Value<?> value() {
+        Value<?> result = valueReference();
+        if (result == null) {
+            result = generator();
+        }
+        if (result == null) {
+            result = transformer();
+        }
+        if (result == null) {
+            result = literalValue();
+        }
+        return result;
+    }
+
+    // literals
+
+    private Value<?> literalValue() {
+        Value<?> result = nullValue();
+        if (result == null) {
+            Object number = numberLiteral();
+            if (number != null) {
+                return ConstantValue.of(number);
+            }
+            Boolean bool = booleanLiteral();
+            if (bool != null) {
+                return ConstantValue.of(bool);
+            }
+            String string = stringLiteral();
+            if (string == null) {
+                string = nakedStringLiteral();
+            }
+            result = string == null ? null : ConstantValue.of(string);
+        }
+        return result;
+    }
+
+    private NullValue nullValue() {
+        int start = pos;
+        if (literal("null") && openParenthesis() && closedParenthesis()) {
+            return new NullValue();
+        }
+        pos = start;
+        return null;
+    }
+
+    private Number numberLiteral() {
+        Number result = explicitNumber("byte", false);
+        if (result == null) {
+            result = explicitNumber("short", false);
+        }
+        if (result == null) {
+            result = explicitNumber("int", false);
+        }
+        if (result == null) {
+            result = explicitNumber("long", false);
+        }
+        if (result == null) {
+            result = explicitNumber("float", true);
+        }
+        if (result == null) {
+            result = explicitNumber("double", true);
+        }
+        if (result == null) {
+            result = implicitDoubleLiteral();
+        }
+        if (result == null) {
+            result = implicitIntegerLiteral();
+        }
+        if (result == null) {
+            result = implicitLongLiteral();
+        }
+        return result;
+    }
+
+    private Number explicitNumber(String type, boolean floatingPoint) {
+        int start = pos;
+        if (literal(type) && openParenthesis()) {
+            int numberStart = pos;
+            if (floatingPoint ? floatingPointNumber(true) : integerNumber()) {
+                String match = input.substring(numberStart, pos);
+                if (closedParenthesis()) {
+                    return parseExplicitNumber(type, match);
+                }
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    private static Number parseExplicitNumber(String type, String match) {
+        switch (type) {
+        case "byte":
+            return Byte.parseByte(match);
+        case "short":
+            return Short.parseShort(match);
+        case "int":
+            return Integer.parseInt(match);
+        case "long":
+            return Long.parseLong(match);
+        case "float":
+            return Float.parseFloat(match);
+        default:
+            return Double.parseDouble(match);
+        }
+    }
+
+    private Double implicitDoubleLiteral() {
+        int start = pos;
+        if (floatingPointNumber(false)) {
+            return Double.parseDouble(input.substring(start, pos));
+        }
+        return null;
+    }
+
+    private Integer implicitIntegerLiteral() {
+        int start = pos;
+        if (integerNumber()) {
+            try {
+                return Integer.parseInt(input.substring(start, pos));
+            } catch (NumberFormatException e) {
+                pos = start;
+            }
+        }
+        return null;
+    }
+
+    private Long implicitLongLiteral() {
+        int start = pos;
+        if (integerNumber()) {
+            return Long.parseLong(input.substring(start, pos));
+        }
+        return null;
+    }
+
+    private Long longLiteral() {
+        Number result = explicitNumber("long", false);
+        return result != null ? (Long) result : implicitLongLiteral();
+    }
+
+    private boolean integerNumber() {
+        int start = pos;
+        sign();
+        if (digits()) {
+            return true;
+        }
+        pos = start;
+        return false;
+    }
+
+    /**
+     * Matches optionally signed floating point number. Fraction is required unless <code>allowInteger</code> is set.
+     */
+    private boolean floatingPointNumber(boolean allowInteger) {
+        int start = pos;
+        sign();
+        int afterSign = pos;
+        if (digits() && character('.') && digits()) {
+            exponent();
+            return true;
+        }
+        pos = afterSign;
+        if (character('.') && digits()) {
+            exponent();
+            return true;
+        }
+        pos = afterSign;
+        if (allowInteger && digits()) {
+            exponent();
+            return true;
+        }
+        pos = start;
+        return false;
+    }
+
+    private void exponent() {
+        int start = pos;
+        if (pos < input.length() && (input.charAt(pos) == 'e' || input.charAt(pos) == 'E')) {
+            pos++;
+            sign();
+            if (digits()) {
+                return;
+            }
+        }
+        pos = start;
+    }
+
+    private void sign() {
+        if (pos < input.length() && (input.charAt(pos) == '+' || input.charAt(pos) == '-')) {
+            pos++;
+        }
+    }
+
+    private boolean digits() {
+        int start = pos;
+        while (pos < input.length() && isDigit(input.charAt(pos))) {
+            pos++;
+        }
+        return pos > start;
+    }
+
+    private Boolean booleanLiteral() {
+        if (literal("True") || literal("true")) {
+            return Boolean.TRUE;
+        }
+        if (literal("False") || literal("false")) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    private String stringLiteral() {
+        String result = quotedStringLiteral('\'');
+        return result != null ? result : quotedStringLiteral('"');
+    }
+
+    private String quotedStringLiteral(char quote) {
+        int start = pos;
+        if (!character(quote)) {
+            return null;
+        }
+        while (true) {
+            if (escape()) {
+                continue;
+            }
+            if (pos >= input.length()) {
+                break;
+            }
+            char c = input.charAt(pos);
+            if (c == '\r' || c == '\n' || c == quote || c == '\\') {
+                break;
+            }
+            pos++;
+        }
+        if (character(quote)) {
+            return input.substring(start + 1, pos - 1);
+        }
+        pos = start;
+        return null;
+    }
+
+    private Character charLiteral() {
+        int start = pos;
+        if (character('\'')) {
+            Character result = null;
+            if (escape()) {
+                result = input.charAt(pos - 1);
+            } else if (pos < input.length() && input.charAt(pos) != '\'' && input.charAt(pos) != '\\') {
+                result = input.charAt(pos++);
+            }
+            if (result != null && character('\'')) {
+                return result;
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    private boolean escape() {
+        if (pos + 1 < input.length() && input.charAt(pos) == '\\' && "btnfr\"'\\".indexOf(input.charAt(pos + 1)) >= 0) {
+            pos += 2;
+            return true;
+        }
+        return false;
+    }
+
+    private String nakedStringLiteral() {
+        if (pos < input.length() && "\r\n\"'\\".indexOf(input.charAt(pos)) >= 0) {
+            return null;
+        }
+        String result = input.substring(pos);
+        pos = input.length();
+        return result;
+    }
+
+    private Range<?> numberRange() {
+        int start = pos;
+        Number beginning = numberLiteral();
+        if (beginning != null && literal("..")) {
+            Number end = numberLiteral();
+            if (end != null) {
+                return ExpressionValues.numberRange(beginning, end);
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Range<Character> charRange() {
+        int start = pos;
+        Character beginning = charLiteral();
+        if (beginning != null && literal("..")) {
+            Character end = charLiteral();
+            if (end != null) {
+                return new Range(beginning, end);
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    private Value<?> valueReference() {
+        int start = pos;
+        if (character('$') && identifier()) {
+            int nameStart = start + 1;
+            while (true) {
+                int mark = pos;
+                if (!(character('.') && identifier())) {
+                    pos = mark;
+                    break;
+                }
+            }
+            return ExpressionValues.valueProxy(proxyValues, parentName, input.substring(nameStart, pos));
+        }
+        pos = start;
+        return null;
+    }
+
+    private boolean identifier() {
+        if (pos < input.length() && isLetter(input.charAt(pos))) {
+            pos++;
+            while (pos < input.length() && (isLetter(input.charAt(pos)) || isDigit(input.charAt(pos)))) {
+                pos++;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // distributions
+
+    private Distribution distribution() {
+        Distribution result = uniformDistribution();
+        return result != null ? result : normalDistribution();
+    }
+
+    private Distribution uniformDistribution() {
+        int start = pos;
+        if (literal("uniform") && openParenthesis()) {
+            List<Object> args = new ArrayList<>();
+            String engine = stringLiteral();
+            if (engine != null) {
+                args.add(engine);
+                int mark = pos;
+                Number seed = comma() ? numberLiteral() : null;
+                if (seed != null) {
+                    args.add(seed);
+                } else {
+                    pos = mark;
+                }
+            }
+            if (closedParenthesis()) {
+                return ExpressionValues.uniformDistribution(args);
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    private Distribution normalDistribution() {
+        int start = pos;
+        if (literal("normal") && openParenthesis()) {
+            List<Number> args = list(this::numberLiteral);
+            if (closedParenthesis()) {
+                return ExpressionValues.normalDistribution(args);
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    private Distribution optionalDistribution() {
+        int mark = pos;
+        Distribution result = comma() ? distribution() : null;
+        if (result == null) {
+            pos = mark;
+        }
+        return result;
+    }
+
+    // generators
+
+    private Value<?> generator() {
+        Value<?> result = discreteValue();
+        if (result == null) {
+            result = rangeValue();
+        }
+        if (result == null) {
+            result = function("uuid") ? new UUIDValue() : null;
+        }
+        if (result == null) {
+            result = circularValue();
+        }
+        if (result == null) {
+            result = circularRangeValue();
+        }
+        if (result == null) {
+            result = listValue();
+        }
+        if (result == null) {
+            result = function("emptyList") ? new EmptyListValue<>() : null;
+        }
+        if (result == null) {
+            result = function("emptyMap") ? new EmptyMapValue<>() : null;
+        }
+        if (result == null) {
+            result = randomLengthListValue();
+        }
+        if (result == null) {
+            result = weightedValue();
+        }
+        if (result == null) {
+            result = exactWeightedValue();
+        }
+        if (result == null) {
+            result = randomContentStringValue();
+        }
+        if (result == null) {
+            result = function("now") ? new NowValue() : null;
+        }
+        if (result == null) {
+            result = function("nowDate") ? new NowDateValue() : null;
+        }
+        if (result == null) {
+            result = function("nowLocalDate") ? new NowLocalDateValue() : null;
+        }
+        if (result == null) {
+            result = function("nowLocalDateTime") ? new NowLocalDateTimeValue() : null;
+        }
+        if (result == null) {
+            result = arithmeticValue("add");
+        }
+        if (result == null) {
+            result = arithmeticValue("subtract");
+        }
+        if (result == null) {
+            result = arithmeticValue("multiply");
+        }
+        if (result == null) {
+            result = arithmeticValue("divide");
+        }
+        if (result == null) {
+            result = csvReaderValue();
+        }
+        return result;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Value<?> discreteValue() {
+        int start = pos;
+        if (literal("random") && openParenthesis()) {
+            List<Value<?>> values = bracketList(this::value);
+            if (values != null) {
+                Distribution distribution = optionalDistribution();
+                if (closedParenthesis()) {
+                    return distribution != null ? new DiscreteValue(values, distribution) : new DiscreteValue(values);
+                }
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    private Value<?> rangeValue() {
+        int start = pos;
+        if (literal("random") && openParenthesis()) {
+            Range<?> range = numberRange();
+            if (range != null) {
+                Boolean useEdgeCases = null;
+                Distribution distribution = null;
+                int mark = pos;
+                if (comma() && (useEdgeCases = booleanLiteral()) != null) {
+                    distribution = optionalDistribution();
+                } else {
+                    pos = mark;
+                }
+                if (closedParenthesis()) {
+                    return rangeValueFactory.create(range, useEdgeCases, distribution);
+                }
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Value<?> circularValue() {
+        int start = pos;
+        if (literal("circular") && openParenthesis()) {
+            List<Value<?>> values = bracketList(this::value);
+            if (values != null && closedParenthesis()) {
+                return new CircularValue(values);
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    private Value<?> circularRangeValue() {
+        int start = pos;
+        if (literal("circular") && openParenthesis()) {
+            Range<?> range = numberRange();
+            if (range != null && comma()) {
+                Number increment = numberLiteral();
+                if (increment != null && closedParenthesis()) {
+                    return circularRangeValueFactory.create(range, increment);
+                }
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Value<?> listValue() {
+        int start = pos;
+        if (literal("list") && openParenthesis()) {
+            List<Value<?>> values = bracketList(this::value);
+            if (values != null && closedParenthesis()) {
+                return new ListValue(values);
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Value<?> randomLengthListValue() {
+        int start = pos;
+        if (literal("list") && openParenthesis()) {
+            Number minLength = numberLiteral();
+            Number maxLength = minLength != null && comma() ? numberLiteral() : null;
+            Value<?> element = maxLength != null && comma() ? value() : null;
+            if (element != null) {
+                Distribution distribution = optionalDistribution();
+                if (closedParenthesis()) {
+                    int min = (Integer) minLength;
+                    int max = (Integer) maxLength;
+                    return distribution == null ? new RandomLengthListValue(min, max, element)
+                            : new RandomLengthListValue(min, max, element, distribution);
+                }
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Value<?> weightedValue() {
+        int start = pos;
+        if (literal("weighted") && openParenthesis()) {
+            List<WeightedValuePair> pairs = bracketList(this::weightedValuePair);
+            if (pairs != null) {
+                Distribution distribution = optionalDistribution();
+                if (closedParenthesis()) {
+                    return distribution != null ? new WeightedValue(pairs, distribution) : new WeightedValue(pairs);
+                }
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private WeightedValuePair weightedValuePair() {
+        int start = pos;
+        if (openParenthesis()) {
+            Value<?> value = value();
+            Number weight = value != null && comma() ? numberLiteral() : null;
+            if (weight != null && closedParenthesis()) {
+                return new WeightedValuePair(value, weight.doubleValue());
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Value<?> exactWeightedValue() {
+        int start = pos;
+        if (literal("exactly") && openParenthesis()) {
+            List<CountValuePair> pairs = bracketList(this::countValuePair);
+            if (pairs != null && closedParenthesis()) {
+                return new ExactWeightedValue(pairs);
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private CountValuePair countValuePair() {
+        int start = pos;
+        if (openParenthesis()) {
+            Value<?> value = value();
+            Long count = value != null && comma() ? longLiteral() : null;
+            if (count != null && closedParenthesis()) {
+                return new CountValuePair(value, count);
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Value<?> randomContentStringValue() {
+        int start = pos;
+        if (literal("randomContentString") && openParenthesis()) {
+            Value<?> length = value();
+            if (length != null) {
+                int mark = pos;
+                List<Range<Character>> charRanges = comma() ? bracketList(this::charRange) : null;
+                if (charRanges == null) {
+                    pos = mark;
+                }
+                if (closedParenthesis()) {
+                    return charRanges != null ? new RandomContentStringValue((Value<Integer>) length, charRanges)
+                            : new RandomContentStringValue((Value<Integer>) length);
+                }
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    private Value<?> arithmeticValue(String operation) {
+        int start = pos;
+        if (literal(operation) && openParenthesis()) {
+            String type = stringLiteral();
+            Value<?> left = type != null && comma() ? value() : null;
+            Value<?> right = left != null && comma() ? value() : null;
+            if (right != null && closedParenthesis()) {
+                switch (operation) {
+                case "add":
+                    return ExpressionValues.addition(type, left, right);
+                case "subtract":
+                    return ExpressionValues.subtraction(type, left, right);
+                case "multiply":
+                    return ExpressionValues.multiplication(type, left, right);
+                default:
+                    return ExpressionValues.division(type, left, right);
+                }
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    private Value<?> csvReaderValue() {
+        int start = pos;
+        if (literal("csv") && openParenthesis()) {
+            String path = stringLiteral();
+            if (path != null) {
+                CSVParserSettings settings = new CsvArguments(path).parse();
+                if (settings != null && closedParenthesis()) {
+                    return new CsvReaderValue(settings);
+                }
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    // transformers
+
+    private Value<?> transformer() {
+        Value<?> result = stringTransformer();
+        if (result == null) {
+            result = jsonTransformer();
+        }
+        if (result == null) {
+            result = timeFormatTransformer();
+        }
+        if (result == null) {
+            result = getterTransformer();
+        }
+        return result;
+    }
+
+    private Value<?> stringTransformer() {
+        int start = pos;
+        if (literal("string") && openParenthesis()) {
+            String format = stringLiteral();
+            if (format != null) {
+                List<Value<?>> values = new ArrayList<>();
+                while (true) {
+                    int mark = pos;
+                    Value<?> value = comma() ? value() : null;
+                    if (value == null) {
+                        pos = mark;
+                        break;
+                    }
+                    values.add(value);
+                }
+                if (closedParenthesis()) {
+                    return new StringTransformer(format, values);
+                }
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    private Value<?> jsonTransformer() {
+        int start = pos;
+        if (literal("json") && openParenthesis()) {
+            Value<?> value = valueReference();
+            if (value != null && closedParenthesis()) {
+                return new JsonTransformer(value);
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    private Value<?> timeFormatTransformer() {
+        int start = pos;
+        if (literal("time") && openParenthesis()) {
+            String format = stringLiteral();
+            Value<?> value = format != null && comma() ? value() : null;
+            if (value != null && closedParenthesis()) {
+                return new TimeFormatTransformer(format, value);
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    private Value<?> getterTransformer() {
+        int start = pos;
+        if (literal("get") && openParenthesis()) {
+            String name = stringLiteral();
+            Value<?> value = name != null && comma() ? value() : null;
+            if (value != null && closedParenthesis()) {
+                return new GetterTransformer<>(name, Object.class, value);
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    // structure
+
+    private boolean function(String name) {
+        int start = pos;
+        if (literal(name) && openParenthesis() && closedParenthesis()) {
+            return true;
+        }
+        pos = start;
+        return false;
+    }
+
+    private <T> List<T> bracketList(Rule<T> rule) {
+        int start = pos;
+        if (punctuation('[')) {
+            List<T> items = list(rule);
+            if (punctuation(']')) {
+                return items;
+            }
+        }
+        pos = start;
+        return null;
+    }
+
+    private <T> List<T> list(Rule<T> rule) {
+        T first = rule.match();
+        if (first == null) {
+            return Collections.emptyList();
+        }
+        List<T> items = new ArrayList<>();
+        items.add(first);
+        while (true) {
+            int mark = pos;
+            T item = comma() ? rule.match() : null;
+            if (item == null) {
+                pos = mark;
+                return items;
+            }
+            items.add(item);
+        }
+    }
+
+    private boolean openParenthesis() {
+        return punctuation('(');
+    }
+
+    private boolean closedParenthesis() {
+        return punctuation(')');
+    }
+
+    private boolean comma() {
+        return punctuation(',');
+    }
+
+    private boolean punctuation(char c) {
+        int start = pos;
+        whitespace();
+        if (character(c)) {
+            whitespace();
+            return true;
+        }
+        pos = start;
+        return false;
+    }
+
+    private void whitespace() {
+        while (pos < input.length() && (input.charAt(pos) == ' ' || input.charAt(pos) == '\t')) {
+            pos++;
+        }
+    }
+
+    private boolean character(char c) {
+        if (pos < input.length() && input.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean literal(String text) {
+        if (input.startsWith(text, pos)) {
+            pos += text.length();
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isLetter(char c) {
+        return c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Rule which returns matched object, or <code>null</code> without consuming input when it does not match.
+     *
+     * @param <T> Type of matched object.
+     */
+    private interface Rule<T> {
+
+        T match();
+    }
+
+    /**
+     * Optional arguments of CSV value following path: delimiter, then record separator, trim, quote, comment marker,
+     * ignore empty lines and null string, which can only be specified all together.
+     */
+    private class CsvArguments {
+
+        private final String path;
+
+        CsvArguments(String path) {
+            this.path = path;
+        }
+
+        CSVParserSettings parse() {
+            int mark = pos;
+            Character delimiter = comma() ? charLiteral() : null;
+            if (delimiter == null) {
+                pos = mark;
+                return new CSVParserSettings(path);
+            }
+            mark = pos;
+            CSVParserSettings all = allArguments(delimiter);
+            if (all == null) {
+                pos = mark;
+                return new CSVParserSettings(path, delimiter);
+            }
+            return all;
+        }
+
+        private CSVParserSettings allArguments(char delimiter) {
+            String recordSeparator = comma() ? stringLiteral() : null;
+            Boolean trim = recordSeparator != null && comma() ? booleanLiteral() : null;
+            if (trim == null || !comma()) {
+                return null;
+            }
+            Object quote = nullValue();
+            if (quote == null) {
+                quote = charLiteral();
+            }
+            Character commentMarker = quote != null && comma() ? charLiteral() : null;
+            Boolean ignoreEmptyLines = commentMarker != null && comma() ? booleanLiteral() : null;
+            if (ignoreEmptyLines == null || !comma()) {
+                return null;
+            }
+            Object nullString = nullValue();
+            if (nullString == null) {
+                nullString = stringLiteral();
+            }
+            if (nullString == null) {
+                return null;
+            }
+            return new CSVParserSettings(path, delimiter, recordSeparator, trim,
+                    quote instanceof NullValue ? null : (Character) quote, commentMarker, ignoreEmptyLines,
+                    nullString instanceof NullValue ? null : (String) nullString);
+        }
+    }
+}
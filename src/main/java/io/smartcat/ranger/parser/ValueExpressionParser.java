@@ -37,30 +37,6 @@ import io.smartcat.ranger.core.Value;
 import io.smartcat.ranger.core.ValueProxy;
 import io.smartcat.ranger.core.WeightedValue;
 import io.smartcat.ranger.core.WeightedValue.WeightedValuePair;
-import io.smartcat.ranger.core.arithmetic.AdditionValueByte;
-import io.smartcat.ranger.core.arithmetic.AdditionValueDouble;
-import io.smartcat.ranger.core.arithmetic.AdditionValueFloat;
-import io.smartcat.ranger.core.arithmetic.AdditionValueInteger;
-import io.smartcat.ranger.core.arithmetic.AdditionValueLong;
-import io.smartcat.ranger.core.arithmetic.AdditionValueShort;
-import io.smartcat.ranger.core.arithmetic.DivisionValueByte;
-import io.smartcat.ranger.core.arithmetic.DivisionValueDouble;
-import io.smartcat.ranger.core.arithmetic.DivisionValueFloat;
-import io.smartcat.ranger.core.arithmetic.DivisionValueInteger;
-import io.smartcat.ranger.core.arithmetic.DivisionValueLong;
-import io.smartcat.ranger.core.arithmetic.DivisionValueShort;
-import io.smartcat.ranger.core.arithmetic.MultiplicationValueByte;
-import io.smartcat.ranger.core.arithmetic.MultiplicationValueDouble;
-import io.smartcat.ranger.core.arithmetic.MultiplicationValueFloat;
-import io.smartcat.ranger.core.arithmetic.MultiplicationValueInteger;
-import io.smartcat.ranger.core.arithmetic.MultiplicationValueLong;
-import io.smartcat.ranger.core.arithmetic.MultiplicationValueShort;
-import io.smartcat.ranger.core.arithmetic.SubtractionValueByte;
-import io.smartcat.ranger.core.arithmetic.SubtractionValueDouble;
-import io.smartcat.ranger.core.arithmetic.SubtractionValueFloat;
-import io.smartcat.ranger.core.arithmetic.SubtractionValueInteger;
-import io.smartcat.ranger.core.arithmetic.SubtractionValueLong;
-import io.smartcat.ranger.core.arithmetic.SubtractionValueShort;
 import io.smartcat.ranger.core.csv.CsvReaderValue;
 import io.smartcat.ranger.core.csv.CSVParserSettings;
 import io.smartcat.ranger.distribution.Distribution;
@@ -73,8 +49,9 @@ import io.smartcat.ranger.distribution.UniformDistribution;
 public class ValueExpressionParser extends BaseParser<Object> {
 
     private static final String STRING_VALUE_DELIMITER = "stringValueDelimiter";
+    private static final String UNIFORM_DELIMITER = "uniformDelimiter";
 
-    private final Map<String, ValueProxy<?>> proxyValues;
+    private Map<String, ValueProxy<?>> proxyValues;
 
     /**
      * Range value factory.
@@ -99,6 +76,16 @@ public class ValueExpressionParser extends BaseParser<Object> {
         this.circularRangeValueFactory = new CircularRangeValueFactory();
     }
 
+    /**
+     * Sets proxy values references are resolved against, which allows parser instance to be reused for another
+     * configuration.
+     *
+     * @param proxyValues Map containing proxy values by name.
+     */
+    public void setProxyValues(Map<String, ValueProxy<?>> proxyValues) {
+        this.proxyValues = proxyValues;
+    }
+
     /**
      * Sets parent name.
      *
@@ -584,7 +571,8 @@ public class ValueExpressionParser extends BaseParser<Object> {
      * @return Uniform distribution definition rule.
      */
     public Rule uniformDistribution() {
-        return Sequence(function("uniform"), push(new UniformDistribution()));
+        return Sequence(function("uniform", Sequence(push(UNIFORM_DELIMITER),
+                Optional(stringLiteral(), Optional(comma(), numberLiteral())))), push(createUniformDistribution()));
     }
 
     /**
@@ -714,9 +702,10 @@ public class ValueExpressionParser extends BaseParser<Object> {
      *
      * @return Weighted value definition rule.
      */
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     public Rule weightedValue() {
-        return Sequence(function("weighted", bracketList(weightedValuePair())), push(new WeightedValue((List) pop())));
+        return Sequence(
+                function("weighted", Sequence(bracketList(weightedValuePair()), Optional(comma(), distribution()))),
+                push(createWeightedValue()));
     }
 
     /**
@@ -931,6 +920,15 @@ public class ValueExpressionParser extends BaseParser<Object> {
         }
     }
 
+    /**
+     * Creates uniform distribution.
+     *
+     * @return Instance of {@link UniformDistribution}.
+     */
+    protected UniformDistribution createUniformDistribution() {
+        return ExpressionValues.uniformDistribution(getItemsUpToDelimiter(UNIFORM_DELIMITER));
+    }
+
     /**
      * Creates normal distribution.
      *
@@ -938,16 +936,7 @@ public class ValueExpressionParser extends BaseParser<Object> {
      */
     @SuppressWarnings({ "unchecked", "rawtypes" })
     protected NormalDistribution createNormalDistribution() {
-        List<Number> args = (List) pop();
-        if (args.isEmpty()) {
-            return new NormalDistribution();
-        }
-        if (args.size() != 4) {
-            throw new RuntimeException("Normal distribution must have following parameters:"
-                    + " mean, standard deviation, lower bound and upper bound.");
-        }
-        return new NormalDistribution(args.get(0).doubleValue(), args.get(1).doubleValue(), args.get(2).doubleValue(),
-                args.get(3).doubleValue());
+        return ExpressionValues.normalDistribution((List) pop());
     }
 
     /**
@@ -961,6 +950,17 @@ public class ValueExpressionParser extends BaseParser<Object> {
                 : new DiscreteValue((List) pop());
     }
 
+    /**
+     * Creates weighted value, with distribution if one is on the stack.
+     *
+     * @return Instance of {@link WeightedValue}.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected WeightedValue createWeightedValue() {
+        return peek() instanceof Distribution ? new WeightedValue((List) pop(1), (Distribution) pop())
+                : new WeightedValue((List) pop());
+    }
+
     /**
      * Creates appropriate number range depending on number types.
      *
@@ -969,25 +969,7 @@ public class ValueExpressionParser extends BaseParser<Object> {
      * @return An instance of {@link Range}.
      */
     protected Range<?> createNumberRange(Number beginning, Number end) {
-        if (beginning instanceof Double || end instanceof Double) {
-            return new Range<Double>(beginning.doubleValue(), end.doubleValue());
-        }
-        if (beginning instanceof Float || end instanceof Float) {
-            return new Range<Float>(beginning.floatValue(), end.floatValue());
-        }
-        if (beginning instanceof Long || end instanceof Long) {
-            return new Range<Long>(beginning.longValue(), end.longValue());
-        }
-        if (beginning instanceof Integer || end instanceof Integer) {
-            return new Range<Integer>(beginning.intValue(), end.intValue());
-        }
-        if (beginning instanceof Short || end instanceof Short) {
-            return new Range<Short>(beginning.shortValue(), end.shortValue());
-        }
-        if (beginning instanceof Byte || end instanceof Byte) {
-            return new Range<Byte>(beginning.byteValue(), end.byteValue());
-        }
-        throw new RuntimeException("Unsupported number type: " + beginning.getClass().getName());
+        return ExpressionValues.numberRange(beginning, end);
     }
 
     /**
@@ -1040,24 +1022,9 @@ public class ValueExpressionParser extends BaseParser<Object> {
     @SuppressWarnings("rawtypes")
     protected Object createAdditionValue() {
         String type = (String) pop(2);
-        Value summand1 = (Value) pop(1);
-        Value summand2 = (Value) pop();
-        switch (type) {
-        case "byte":
-            return new AdditionValueByte(summand1, summand2);
-        case "short":
-            return new AdditionValueShort(summand1, summand2);
-        case "int":
-            return new AdditionValueInteger(summand1, summand2);
-        case "long":
-            return new AdditionValueLong(summand1, summand2);
-        case "float":
-            return new AdditionValueFloat(summand1, summand2);
-        case "double":
-            return new AdditionValueDouble(summand1, summand2);
-        default:
-            throw new RuntimeException("Unsupported type for addition value. Type: " + type);
-        }
+        Value left = (Value) pop(1);
+        Value right = (Value) pop();
+        return ExpressionValues.addition(type, left, right);
     }
 
     /**
@@ -1068,24 +1035,9 @@ public class ValueExpressionParser extends BaseParser<Object> {
     @SuppressWarnings("rawtypes")
     protected Object createSubtractionValue() {
         String type = (String) pop(2);
-        Value minuend = (Value) pop(1);
-        Value subtrahend = (Value) pop();
-        switch (type) {
-        case "byte":
-            return new SubtractionValueByte(minuend, subtrahend);
-        case "short":
-            return new SubtractionValueShort(minuend, subtrahend);
-        case "int":
-            return new SubtractionValueInteger(minuend, subtrahend);
-        case "long":
-            return new SubtractionValueLong(minuend, subtrahend);
-        case "float":
-            return new SubtractionValueFloat(minuend, subtrahend);
-        case "double":
-            return new SubtractionValueDouble(minuend, subtrahend);
-        default:
-            throw new RuntimeException("Unsupported type for subtraction value. Type: " + type);
-        }
+        Value left = (Value) pop(1);
+        Value right = (Value) pop();
+        return ExpressionValues.subtraction(type, left, right);
     }
 
     /**
@@ -1096,24 +1048,9 @@ public class ValueExpressionParser extends BaseParser<Object> {
     @SuppressWarnings("rawtypes")
     protected Object createMultiplicationValue() {
         String type = (String) pop(2);
-        Value factor1 = (Value) pop(1);
-        Value factor2 = (Value) pop();
-        switch (type) {
-        case "byte":
-            return new MultiplicationValueByte(factor1, factor2);
-        case "short":
-            return new MultiplicationValueShort(factor1, factor2);
-        case "int":
-            return new MultiplicationValueInteger(factor1, factor2);
-        case "long":
-            return new MultiplicationValueLong(factor1, factor2);
-        case "float":
-            return new MultiplicationValueFloat(factor1, factor2);
-        case "double":
-            return new MultiplicationValueDouble(factor1, factor2);
-        default:
-            throw new RuntimeException("Unsupported type for multplication value. Type: " + type);
-        }
+        Value left = (Value) pop(1);
+        Value right = (Value) pop();
+        return ExpressionValues.multiplication(type, left, right);
     }
 
     /**
@@ -1124,24 +1061,9 @@ public class ValueExpressionParser extends BaseParser<Object> {
     @SuppressWarnings("rawtypes")
     protected Object createDivisionValue() {
         String type = (String) pop(2);
-        Value dividend = (Value) pop(1);
-        Value divisor = (Value) pop();
-        switch (type) {
-        case "byte":
-            return new DivisionValueByte(dividend, divisor);
-        case "short":
-            return new DivisionValueShort(dividend, divisor);
-        case "int":
-            return new DivisionValueInteger(dividend, divisor);
-        case "long":
-            return new DivisionValueLong(dividend, divisor);
-        case "float":
-            return new DivisionValueFloat(dividend, divisor);
-        case "double":
-            return new DivisionValueDouble(dividend, divisor);
-        default:
-            throw new RuntimeException("Unsupported type for division value. Type: " + type);
-        }
+        Value left = (Value) pop(1);
+        Value right = (Value) pop();
+        return ExpressionValues.division(type, left, right);
     }
 
     /**
@@ -1186,21 +1108,7 @@ public class ValueExpressionParser extends BaseParser<Object> {
      * @return Proxy value.
      */
     protected Value<?> getValueProxy(String name) {
-        String parent = parentName;
-        while (parent != null) {
-            String testName = null;
-            if (parent.isEmpty()) {
-                testName = name;
-                parent = null;
-            } else {
-                testName = parent + "." + name;
-                parent = stripOffLastReference(parent);
-            }
-            if (proxyValues.containsKey(testName)) {
-                return proxyValues.get(testName);
-            }
-        }
-        throw new InvalidReferenceNameException(name);
+        return ExpressionValues.valueProxy(proxyValues, parentName, name);
     }
 
     /**
@@ -1210,11 +1118,7 @@ public class ValueExpressionParser extends BaseParser<Object> {
      * @return Name with stripped off last reference.
      */
     protected String stripOffLastReference(String name) {
-        if (!name.contains(".")) {
-            return "";
-        } else {
-            return name.substring(0, name.lastIndexOf('.'));
-        }
+        return ExpressionValues.stripOffLastReference(name);
     }
 
     /**
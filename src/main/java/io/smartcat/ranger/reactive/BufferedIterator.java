@@ -0,0 +1,109 @@
+package io.smartcat.ranger.reactive;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import io.smartcat.ranger.core.DetachedValues;
+
+/**
+ * Iterator which subscribes to a publisher and blocks until next element is published. Demand never exceeds free space
+ * of the buffer: buffer size is requested on subscription and consumed elements are requested again once half of the
+ * buffer is consumed. Buffered elements are detached (see {@link DetachedValues}), since generator reuses maps of
+ * composite values for subsequent objects.
+ *
+ * @param <T> Type of elements.
+ */
+final class BufferedIterator<T> implements Iterator<T>, Subscriber<T> {
+
+    private static final Object NULL = new Object();
+    private static final Object DONE = new Object();
+
+    private final int bufferSize;
+    private final int replenish;
+    private final BlockingQueue<Object> queue;
+    private volatile Subscription subscription;
+    private volatile Throwable error;
+    private Object next;
+    private int consumed;
+
+    BufferedIterator(int bufferSize) {
+        this.bufferSize = bufferSize;
+        this.replenish = Math.max(1, bufferSize / 2);
+        // one additional slot for terminal signal
+        this.queue = new ArrayBlockingQueue<>(bufferSize + 1);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(bufferSize);
+    }
+
+    @Override
+    public void onNext(T item) {
+        queue.add(item == null ? NULL : DetachedValues.detach(item));
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+        queue.add(DONE);
+    }
+
+    @Override
+    public void onComplete() {
+        queue.add(DONE);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new IllegalStateException("Interrupted while waiting for next element.", e);
+            }
+        }
+        if (next == DONE) {
+            if (error != null) {
+                Throwable cause = error;
+                error = null;
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object item = next;
+        next = null;
+        if (++consumed == replenish) {
+            consumed = 0;
+            subscription.request(replenish);
+        }
+        return item == NULL ? null : (T) item;
+    }
+
+    /**
+     * Cancels subscription, no more elements are requested.
+     */
+    void cancel() {
+        Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.smartcat.ranger.reactive;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.smartcat.ranger.ObjectGenerator;
+
+/**
+ * Publisher of objects generated by an {@link ObjectGenerator}, honoring demand of its subscribers. Each subscription
+ * works on its own copy of the generator (see {@link ObjectGenerator#copy()}) made at the moment of subscribing, so
+ * every subscriber receives the whole sequence of objects and the original generator is left untouched. Objects are
+ * generated on the executor in batches no larger than outstanding demand, so memory used by a subscription does not
+ * depend on number of published objects. Each object is passed to the subscriber right after it is generated and
+ * composite values reuse the same record for subsequent objects, so subscriber which keeps objects has to detach them
+ * (see {@link io.smartcat.ranger.core.DetachedValues}). Iterators and streams of the publisher do that for buffered
+ * objects.
+ *
+ * @param <T> Type of published objects.
+ */
+public class GeneratorPublisher<T> implements Publisher<T> {
+
+    /**
+     * Default maximum number of objects generated in a single executor task.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final ObjectGenerator<T> generator;
+    private final long numberOfObjects;
+    private final Executor executor;
+    private final int batchSize;
+
+    /**
+     * Constructs publisher which publishes specified <code>numberOfObjects</code> generated by specified
+     * <code>generator</code> on specified <code>executor</code>.
+     *
+     * @param generator Generator which will be copied for each subscription.
+     * @param numberOfObjects Number of objects each subscriber receives.
+     * @param executor Executor on which objects are generated and signals are sent, it should run tasks
+     *            asynchronously since generation task is resubmitted after each batch.
+     * @param batchSize Maximum number of objects generated in a single executor task.
+     */
+    public GeneratorPublisher(ObjectGenerator<T> generator, long numberOfObjects, Executor executor, int batchSize) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Generator cannot be null.");
+        }
+        if (numberOfObjects < 0) {
+            throw new IllegalArgumentException(
+                    "Cannot publish negative number of objects. numberOfObjects: " + numberOfObjects);
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null.");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be greater than 0. batchSize: " + batchSize);
+        }
+        this.generator = generator;
+        this.numberOfObjects = numberOfObjects;
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber cannot be null.");
+        }
+        ObjectGenerator<T> copy;
+        synchronized (generator) {
+            copy = generator.copy();
+        }
+        new GeneratorSubscription<>(subscriber, copy, numberOfObjects, executor, batchSize).start();
+    }
+
+    /**
+     * Subscribes to this publisher and returns iterator over published objects. Iterator holds at most
+     * <code>bufferSize</code> objects which are not yet consumed and blocks when none is available.
+     *
+     * @param bufferSize Maximum number of objects generated ahead of consumption.
+     * @return Iterator over published objects.
+     */
+    public Iterator<T> iterator(int bufferSize) {
+        return subscribeIterator(bufferSize);
+    }
+
+    /**
+     * Subscribes to this publisher and returns sequential stream of published objects. Stream holds at most
+     * <code>bufferSize</code> objects which are not yet consumed. Closing the stream cancels the subscription, which
+     * is necessary when stream is not consumed until the end, for example when it is short-circuited.
+     *
+     * @param bufferSize Maximum number of objects generated ahead of consumption.
+     * @return Stream of published objects.
+     */
+    public Stream<T> stream(int bufferSize) {
+        BufferedIterator<T> iterator = subscribeIterator(bufferSize);
+        Spliterator<T> spliterator = Spliterators.spliterator(iterator, numberOfObjects, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::cancel);
+    }
+
+    private BufferedIterator<T> subscribeIterator(int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be greater than 0. bufferSize: " + bufferSize);
+        }
+        BufferedIterator<T> iterator = new BufferedIterator<>(bufferSize);
+        subscribe(iterator);
+        return iterator;
+    }
+}
@@ -0,0 +1,148 @@
+package io.smartcat.ranger.reactive;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.smartcat.ranger.ObjectGenerator;
+
+/**
+ * Subscription of a single subscriber to {@link GeneratorPublisher}. Objects are generated on the executor, in
+ * batches limited by outstanding demand and batch size, and each object is emitted right after it is generated, before
+ * the next evaluation of the value graph can change it (composite values reuse the same record). After
+ * each batch, task is resubmitted to the executor, so a subscription with unbounded demand does not hold a thread
+ * indefinitely. Signals are serialized by a work-in-progress counter: only the task which incremented it from zero,
+ * or which is already running, drains the subscription.
+ *
+ * @param <T> Type of generated objects.
+ */
+final class GeneratorSubscription<T> implements Subscription, Runnable {
+
+    private final Subscriber<? super T> subscriber;
+    private final ObjectGenerator<T> generator;
+    private final Executor executor;
+    private final int batchSize;
+    private final AtomicLong demand = new AtomicLong();
+    // starts at one so that no signal is sent before onSubscribe returns
+    private final AtomicInteger wip = new AtomicInteger(1);
+    private volatile boolean cancelled;
+    private volatile Throwable requestError;
+    private long remaining;
+
+    GeneratorSubscription(Subscriber<? super T> subscriber, ObjectGenerator<T> generator, long numberOfObjects,
+            Executor executor, int batchSize) {
+        this.subscriber = subscriber;
+        this.generator = generator;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.remaining = numberOfObjects;
+    }
+
+    /**
+     * Signals subscription to the subscriber and starts draining on the executor.
+     */
+    void start() {
+        try {
+            subscriber.onSubscribe(this);
+        } catch (RuntimeException e) {
+            cancelled = true;
+            throw e;
+        }
+        executor.execute(this);
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            if (requestError == null) {
+                requestError = new IllegalArgumentException("Requested number of elements must be positive. n: " + n);
+            }
+        } else {
+            long current;
+            do {
+                current = demand.get();
+            } while (current != Long.MAX_VALUE && !demand.compareAndSet(current, sum(current, n)));
+        }
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    @Override
+    public void run() {
+        int missed = wip.get();
+        while (true) {
+            if (emitBatch()) {
+                executor.execute(this);
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void schedule() {
+        if (wip.getAndIncrement() == 0) {
+            executor.execute(this);
+        }
+    }
+
+    /**
+     * Emits next batch or terminal signal.
+     *
+     * @return True if batch was emitted and draining should continue, otherwise <code>false</code>.
+     */
+    private boolean emitBatch() {
+        if (cancelled) {
+            return false;
+        }
+        if (requestError != null) {
+            cancelled = true;
+            subscriber.onError(requestError);
+            return false;
+        }
+        if (remaining == 0) {
+            cancelled = true;
+            subscriber.onComplete();
+            return false;
+        }
+        long requested = demand.get();
+        int size = (int) Math.min(Math.min(requested, remaining), batchSize);
+        if (size == 0) {
+            return false;
+        }
+        int emitted = 0;
+        try {
+            while (emitted < size && !cancelled) {
+                T object;
+                try {
+                    object = generator.next();
+                } catch (RuntimeException e) {
+                    cancelled = true;
+                    subscriber.onError(e);
+                    return false;
+                }
+                remaining--;
+                emitted++;
+                subscriber.onNext(object);
+            }
+        } catch (RuntimeException e) {
+            cancelled = true;
+            throw e;
+        }
+        if (requested != Long.MAX_VALUE) {
+            demand.addAndGet(-emitted);
+        }
+        return true;
+    }
+
+    private static long sum(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
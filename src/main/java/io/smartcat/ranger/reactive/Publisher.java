@@ -0,0 +1,19 @@
+package io.smartcat.ranger.reactive;
+
+/**
+ * Provider of a potentially unbounded number of sequenced elements, publishing them according to the demand received
+ * from its subscribers. Interface has the same contract and signature as <code>org.reactivestreams.Publisher</code>
+ * and <code>java.util.concurrent.Flow.Publisher</code>, so it can be bridged to either of them by delegating methods.
+ *
+ * @param <T> Type of published elements.
+ */
+public interface Publisher<T> {
+
+    /**
+     * Requests publisher to start streaming data to specified <code>subscriber</code>. Each invocation starts a new
+     * subscription, signaled with {@link Subscriber#onSubscribe(Subscription)}.
+     *
+     * @param subscriber Subscriber which will consume signals from this publisher.
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+}
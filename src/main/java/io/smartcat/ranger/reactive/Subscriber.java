@@ -0,0 +1,38 @@
+package io.smartcat.ranger.reactive;
+
+/**
+ * Receiver of elements published by a {@link Publisher}. Interface has the same contract and signature as
+ * <code>org.reactivestreams.Subscriber</code> and <code>java.util.concurrent.Flow.Subscriber</code>. Signals are
+ * never invoked concurrently, and no elements are received until demand is signaled with
+ * {@link Subscription#request(long)}.
+ *
+ * @param <T> Type of received elements.
+ */
+public interface Subscriber<T> {
+
+    /**
+     * Invoked once, before any other signal, when subscription starts.
+     *
+     * @param subscription Subscription used to request elements and to cancel.
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Invoked for each element, no more times than requested.
+     *
+     * @param item The element.
+     */
+    void onNext(T item);
+
+    /**
+     * Invoked when publisher failed, no further signals are sent.
+     *
+     * @param throwable Cause of the failure.
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Invoked when all elements are published, no further signals are sent.
+     */
+    void onComplete();
+}
@@ -0,0 +1,22 @@
+package io.smartcat.ranger.reactive;
+
+/**
+ * One-to-one lifecycle of a {@link Subscriber} subscribing to a {@link Publisher}. Interface has the same contract and
+ * signature as <code>org.reactivestreams.Subscription</code> and <code>java.util.concurrent.Flow.Subscription</code>.
+ */
+public interface Subscription {
+
+    /**
+     * Adds specified number of elements to the demand of the subscriber. Demand is capped at {@link Long#MAX_VALUE},
+     * which means unbounded demand. Non positive demand is signaled to the subscriber as
+     * {@link IllegalArgumentException} through {@link Subscriber#onError(Throwable)}.
+     *
+     * @param n Number of elements to add to the demand.
+     */
+    void request(long n);
+
+    /**
+     * Requests publisher to stop sending elements. Elements may still be received until cancellation takes effect.
+     */
+    void cancel();
+}
@@ -0,0 +1,223 @@
+package io.smartcat.ranger.schema;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.smartcat.ranger.compiler.CompiledValue;
+import io.smartcat.ranger.core.CircularValue;
+import io.smartcat.ranger.core.CompositeValue;
+import io.smartcat.ranger.core.ConstantPool;
+import io.smartcat.ranger.core.ConstantValue;
+import io.smartcat.ranger.core.DiscreteValue;
+import io.smartcat.ranger.core.ExactWeightedValue;
+import io.smartcat.ranger.core.GetterTransformer;
+import io.smartcat.ranger.core.ListValue;
+import io.smartcat.ranger.core.NullValue;
+import io.smartcat.ranger.core.RandomLengthListValue;
+import io.smartcat.ranger.core.TypeConverterValue;
+import io.smartcat.ranger.core.Value;
+import io.smartcat.ranger.core.ValueProxy;
+import io.smartcat.ranger.core.WeightedValue;
+
+/**
+ * Infers static type of values without evaluating them. Types of values which select one of their children (discrete,
+ * circular and weighted values) are joined types of children, composite values are records of their property types,
+ * getters take type of the property they get, and all other values are typed by the type argument they bind to
+ * {@link Value}, so arithmetic and range values have primitive types, transformers have string type and so on.
+ * Constants are typed by the runtime class of their value. Values whose type depends on themselves, through a proxy
+ * cycle, have type {@link ValueType#ANY}.
+ * <p>
+ * Types of all values visited during inference are kept, so that type of any value of the graph can be looked up with
+ * {@link #typeOf(Value)} without inferring it again.
+ */
+public final class TypeInference {
+
+    private final Map<Value<?>, ValueType> types = new IdentityHashMap<>();
+
+    /**
+     * Infers type of specified <code>value</code>.
+     *
+     * @param value Value to infer type of.
+     * @return Type of the value.
+     */
+    public static ValueType infer(Value<?> value) {
+        return new TypeInference().typeOf(value);
+    }
+
+    /**
+     * Returns type of specified <code>value</code>, inferring it and types of values it depends on unless they are
+     * already inferred by this instance.
+     *
+     * @param value Value to get type of.
+     * @return Type of the value.
+     */
+    public ValueType typeOf(Value<?> value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null.");
+        }
+        if (types.containsKey(value)) {
+            ValueType type = types.get(value);
+            // null marks value whose inference is in progress, so value depends on itself
+            return type != null ? type : ValueType.ANY;
+        }
+        types.put(value, null);
+        ValueType type = inferType(value);
+        types.put(value, type);
+        return type;
+    }
+
+    private ValueType inferType(Value<?> value) {
+        if (value instanceof ValueProxy) {
+            Value<?> delegate = ((ValueProxy<?>) value).getDelegate();
+            return delegate != null ? typeOf(delegate) : ValueType.ANY;
+        }
+        if (value instanceof CompiledValue) {
+            return typeOf(((CompiledValue<?>) value).getSource());
+        }
+        if (value.getClass() == ConstantValue.class) {
+            return typeOfObject(value.get());
+        }
+        if (value instanceof NullValue) {
+            return ValueType.NULL;
+        }
+        if (value instanceof DiscreteValue) {
+            return joinChoices(value, ((DiscreteValue<?>) value).getConstants());
+        }
+        if (value instanceof CircularValue) {
+            return joinChoices(value, ((CircularValue<?>) value).getConstants());
+        }
+        if (value instanceof WeightedValue) {
+            return joinChoices(value, ((WeightedValue<?>) value).getConstants());
+        }
+        if (value instanceof ExactWeightedValue) {
+            return joinChoices(value, null);
+        }
+        if (value instanceof ListValue) {
+            return ValueType.listOf(joinChildren(value.getChildren()));
+        }
+        if (value instanceof RandomLengthListValue) {
+            return ValueType.listOf(joinChildren(value.getChildren()));
+        }
+        if (value instanceof CompositeValue) {
+            Map<String, ValueType> fields = new LinkedHashMap<>();
+            for (Map.Entry<String, Value<?>> entry : ((CompositeValue) value).getValues().entrySet()) {
+                fields.put(entry.getKey(), typeOf(entry.getValue()));
+            }
+            return ValueType.record(fields);
+        }
+        if (value instanceof GetterTransformer) {
+            return typeOfGetter((GetterTransformer<?>) value);
+        }
+        if (value instanceof TypeConverterValue) {
+            return ValueType.forClass(((TypeConverterValue<?>) value).getObjectType());
+        }
+        return typeOfValueClass(value.getClass());
+    }
+
+    private ValueType joinChoices(Value<?> value, ConstantPool<?> constants) {
+        if (constants == null) {
+            return joinChildren(value.getChildren());
+        }
+        ValueType result = null;
+        for (int i = 0; i < constants.size(); i++) {
+            ValueType type = typeOfObject(constants.get(i));
+            result = result == null ? type : result.join(type);
+        }
+        return result != null ? result : ValueType.ANY;
+    }
+
+    private ValueType joinChildren(List<Value<?>> children) {
+        ValueType result = null;
+        for (Value<?> child : children) {
+            ValueType type = typeOf(child);
+            result = result == null ? type : result.join(type);
+        }
+        return result != null ? result : ValueType.ANY;
+    }
+
+    private ValueType typeOfGetter(GetterTransformer<?> getter) {
+        if (getter.getKeyType() != Object.class) {
+            return ValueType.forClass(getter.getKeyType());
+        }
+        ValueType source = typeOf(getter.getChildren().get(0));
+        if (source.getKind() == ValueType.Kind.RECORD) {
+            ValueType field = source.getFields().get(getter.getKeyName());
+            return field != null ? field : ValueType.NULL;
+        }
+        if (source.getKind() == ValueType.Kind.MAP) {
+            return source.getElementType().nullable();
+        }
+        return ValueType.ANY;
+    }
+
+    private static ValueType typeOfObject(Object object) {
+        if (object == null) {
+            return ValueType.NULL;
+        }
+        if (object instanceof List) {
+            ValueType element = null;
+            for (Object item : (List<?>) object) {
+                ValueType type = typeOfObject(item);
+                element = element == null ? type : element.join(type);
+            }
+            return ValueType.listOf(element != null ? element : ValueType.ANY);
+        }
+        return ValueType.forClass(object.getClass());
+    }
+
+    private static ValueType typeOfValueClass(Class<?> valueClass) {
+        Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+        Class<?> current = valueClass;
+        while (current != null && current != Value.class) {
+            Type superclass = current.getGenericSuperclass();
+            Class<?> raw = superclass instanceof ParameterizedType
+                    ? (Class<?>) ((ParameterizedType) superclass).getRawType() : (Class<?>) superclass;
+            if (superclass instanceof ParameterizedType) {
+                Type[] arguments = ((ParameterizedType) superclass).getActualTypeArguments();
+                TypeVariable<?>[] parameters = raw.getTypeParameters();
+                for (int i = 0; i < parameters.length; i++) {
+                    bindings.put(parameters[i], resolve(arguments[i], bindings));
+                }
+            }
+            current = raw;
+        }
+        if (current == null) {
+            return ValueType.ANY;
+        }
+        return typeOfJavaType(bindings.get(Value.class.getTypeParameters()[0]), bindings);
+    }
+
+    private static Type resolve(Type type, Map<TypeVariable<?>, Type> bindings) {
+        Type result = type;
+        while (result instanceof TypeVariable && bindings.containsKey(result)) {
+            result = bindings.get(result);
+        }
+        return result;
+    }
+
+    private static ValueType typeOfJavaType(Type type, Map<TypeVariable<?>, Type> bindings) {
+        Type resolved = resolve(type, bindings);
+        if (resolved instanceof Class) {
+            return ValueType.forClass((Class<?>) resolved);
+        }
+        if (resolved instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) resolved;
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (List.class.isAssignableFrom(raw)) {
+                return ValueType.listOf(typeOfJavaType(arguments[0], bindings));
+            }
+            if (Map.class.isAssignableFrom(raw)) {
+                return ValueType.mapOf(typeOfJavaType(arguments[1], bindings));
+            }
+            return ValueType.forClass(raw);
+        }
+        return ValueType.ANY;
+    }
+}
@@ -0,0 +1,393 @@
+package io.smartcat.ranger.schema;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Static type of a value: kind of objects value evaluates to, together with element type of lists and maps and field
+ * types of records. Types are immutable. Type is nullable when value can evaluate to null as well.
+ */
+public final class ValueType {
+
+    /**
+     * Kind of objects value evaluates to.
+     */
+    public enum Kind {
+
+        /**
+         * {@link Boolean} values.
+         */
+        BOOLEAN(Boolean.class),
+
+        /**
+         * {@link Byte} values.
+         */
+        BYTE(Byte.class),
+
+        /**
+         * {@link Short} values.
+         */
+        SHORT(Short.class),
+
+        /**
+         * {@link Integer} values.
+         */
+        INT(Integer.class),
+
+        /**
+         * {@link Long} values.
+         */
+        LONG(Long.class),
+
+        /**
+         * {@link Float} values.
+         */
+        FLOAT(Float.class),
+
+        /**
+         * {@link Double} values.
+         */
+        DOUBLE(Double.class),
+
+        /**
+         * {@link Character} values.
+         */
+        CHAR(Character.class),
+
+        /**
+         * {@link String} values.
+         */
+        STRING(String.class),
+
+        /**
+         * {@link Date} values.
+         */
+        DATE(Date.class),
+
+        /**
+         * {@link LocalDate} values.
+         */
+        LOCAL_DATE(LocalDate.class),
+
+        /**
+         * {@link LocalDateTime} values.
+         */
+        LOCAL_DATE_TIME(LocalDateTime.class),
+
+        /**
+         * Lists with elements of element type.
+         */
+        LIST(List.class),
+
+        /**
+         * Maps with values of element type.
+         */
+        MAP(Map.class),
+
+        /**
+         * Maps with fixed set of fields, each with its own type.
+         */
+        RECORD(Map.class),
+
+        /**
+         * Objects of a specific class.
+         */
+        OBJECT(Object.class),
+
+        /**
+         * Only null value.
+         */
+        NULL(Object.class),
+
+        /**
+         * Type cannot be determined statically.
+         */
+        ANY(Object.class);
+
+        private final Class<?> javaType;
+
+        Kind(Class<?> javaType) {
+            this.javaType = javaType;
+        }
+
+        /**
+         * Returns whether values of this kind are boxed primitives.
+         *
+         * @return True if values of this kind are boxed primitives, otherwise false.
+         */
+        public boolean isPrimitive() {
+            return ordinal() <= CHAR.ordinal();
+        }
+
+        /**
+         * Returns whether this kind is a scalar, a kind fully described by itself.
+         *
+         * @return True if this kind is a scalar, otherwise false.
+         */
+        public boolean isScalar() {
+            return ordinal() <= LOCAL_DATE_TIME.ordinal() || this == NULL || this == ANY;
+        }
+    }
+
+    /**
+     * Type of values which cannot be determined statically.
+     */
+    public static final ValueType ANY = new ValueType(Kind.ANY, null, null, null, true);
+
+    /**
+     * Type of values which always evaluate to null.
+     */
+    public static final ValueType NULL = new ValueType(Kind.NULL, null, null, null, true);
+
+    private final Kind kind;
+    private final ValueType elementType;
+    private final Map<String, ValueType> fields;
+    private final Class<?> javaType;
+    private final boolean nullable;
+
+    private ValueType(Kind kind, ValueType elementType, Map<String, ValueType> fields, Class<?> javaType,
+            boolean nullable) {
+        this.kind = kind;
+        this.elementType = elementType;
+        this.fields = fields;
+        this.javaType = javaType != null ? javaType : kind.javaType;
+        this.nullable = nullable;
+    }
+
+    /**
+     * Returns type of specified scalar <code>kind</code>.
+     *
+     * @param kind Scalar kind.
+     * @return Type of specified kind.
+     */
+    public static ValueType of(Kind kind) {
+        if (kind == null) {
+            throw new IllegalArgumentException("Kind cannot be null.");
+        }
+        if (!kind.isScalar()) {
+            throw new IllegalArgumentException("Kind " + kind + " is not a scalar.");
+        }
+        if (kind == Kind.ANY) {
+            return ANY;
+        }
+        return kind == Kind.NULL ? NULL : new ValueType(kind, null, null, null, false);
+    }
+
+    /**
+     * Returns type of lists with elements of specified <code>elementType</code>.
+     *
+     * @param elementType Type of list elements.
+     * @return List type.
+     */
+    public static ValueType listOf(ValueType elementType) {
+        if (elementType == null) {
+            throw new IllegalArgumentException("Element type cannot be null.");
+        }
+        return new ValueType(Kind.LIST, elementType, null, null, false);
+    }
+
+    /**
+     * Returns type of maps with values of specified <code>elementType</code>.
+     *
+     * @param elementType Type of map values.
+     * @return Map type.
+     */
+    public static ValueType mapOf(ValueType elementType) {
+        if (elementType == null) {
+            throw new IllegalArgumentException("Element type cannot be null.");
+        }
+        return new ValueType(Kind.MAP, elementType, null, null, false);
+    }
+
+    /**
+     * Returns type of records with specified <code>fields</code>. Field order is kept.
+     *
+     * @param fields Types of record fields by field name.
+     * @return Record type.
+     */
+    public static ValueType record(Map<String, ValueType> fields) {
+        if (fields == null) {
+            throw new IllegalArgumentException("Fields cannot be null.");
+        }
+        return new ValueType(Kind.RECORD, null, Collections.unmodifiableMap(new LinkedHashMap<>(fields)), null,
+                false);
+    }
+
+    /**
+     * Returns type of objects of specified <code>javaType</code>. Types with a kind of their own, such as primitive
+     * wrappers, strings, dates, lists and maps, are mapped to that kind.
+     *
+     * @param javaType Class of objects.
+     * @return Type of objects of specified class.
+     */
+    public static ValueType forClass(Class<?> javaType) {
+        if (javaType == null) {
+            throw new IllegalArgumentException("Java type cannot be null.");
+        }
+        if (javaType == Object.class) {
+            return ANY;
+        }
+        for (Kind kind : Kind.values()) {
+            if (kind.isScalar() && kind.javaType == javaType) {
+                return of(kind);
+            }
+        }
+        if (List.class.isAssignableFrom(javaType)) {
+            return listOf(ANY);
+        }
+        if (Map.class.isAssignableFrom(javaType)) {
+            return mapOf(ANY);
+        }
+        return new ValueType(Kind.OBJECT, null, null, javaType, false);
+    }
+
+    /**
+     * Returns kind of this type.
+     *
+     * @return Kind of this type.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns type of list elements or map values.
+     *
+     * @return Element type, or null if this is not a list or map type.
+     */
+    public ValueType getElementType() {
+        return elementType;
+    }
+
+    /**
+     * Returns types of record fields by field name, in field order.
+     *
+     * @return Unmodifiable map of field types, or null if this is not a record type.
+     */
+    public Map<String, ValueType> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns class values of this type are instances of.
+     *
+     * @return Class of values.
+     */
+    public Class<?> getJavaType() {
+        return javaType;
+    }
+
+    /**
+     * Returns whether values of this type can be null.
+     *
+     * @return True if values can be null, otherwise false.
+     */
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    /**
+     * Returns this type marked as nullable.
+     *
+     * @return Nullable type.
+     */
+    public ValueType nullable() {
+        return nullable ? this : new ValueType(kind, elementType, fields, javaType, true);
+    }
+
+    /**
+     * Returns type which describes values of both this and specified <code>other</code> type. Types of same kind are
+     * joined element by element and field by field, null type joined with other type makes that type nullable, and any
+     * other combination results in {@link #ANY}.
+     *
+     * @param other Type to join with.
+     * @return Joined type.
+     */
+    public ValueType join(ValueType other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Other type cannot be null.");
+        }
+        if (kind == Kind.NULL) {
+            return other.nullable();
+        }
+        if (other.kind == Kind.NULL) {
+            return nullable();
+        }
+        ValueType result = joinNonNull(other);
+        return nullable || other.nullable ? result.nullable() : result;
+    }
+
+    private ValueType joinNonNull(ValueType other) {
+        if (kind != other.kind || javaType != other.javaType) {
+            return ANY;
+        }
+        if (kind == Kind.LIST) {
+            return listOf(elementType.join(other.elementType));
+        }
+        if (kind == Kind.MAP) {
+            return mapOf(elementType.join(other.elementType));
+        }
+        if (kind == Kind.RECORD) {
+            if (!fields.keySet().equals(other.fields.keySet())) {
+                return ANY;
+            }
+            Map<String, ValueType> joined = new LinkedHashMap<>();
+            for (Map.Entry<String, ValueType> entry : fields.entrySet()) {
+                joined.put(entry.getKey(), entry.getValue().join(other.fields.get(entry.getKey())));
+            }
+            return record(joined);
+        }
+        return nullable ? new ValueType(kind, null, null, javaType, false) : this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ValueType)) {
+            return false;
+        }
+        ValueType other = (ValueType) obj;
+        return kind == other.kind && nullable == other.nullable && javaType == other.javaType
+                && Objects.equals(elementType, other.elementType) && Objects.equals(fields, other.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, elementType, fields, javaType, nullable);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        if (kind == Kind.LIST || kind == Kind.MAP) {
+            builder.append(kind.name().toLowerCase()).append('<').append(elementType).append('>');
+        } else if (kind == Kind.RECORD) {
+            builder.append("record{");
+            for (Iterator<Map.Entry<String, ValueType>> it = fields.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<String, ValueType> entry = it.next();
+                builder.append(entry.getKey()).append(": ").append(entry.getValue());
+                if (it.hasNext()) {
+                    builder.append(", ");
+                }
+            }
+            builder.append('}');
+        } else if (kind == Kind.OBJECT) {
+            builder.append("object<").append(javaType.getName()).append('>');
+        } else {
+            builder.append(kind.name().toLowerCase());
+        }
+        if (nullable && kind != Kind.NULL && kind != Kind.ANY) {
+            builder.append('?');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,234 @@
+package io.smartcat.ranger
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import io.smartcat.ranger.compiler.CompiledValue
+import io.smartcat.ranger.core.ConstantValue
+import io.smartcat.ranger.model.User
+import io.smartcat.ranger.parser.ConfigurationParser
+import io.smartcat.ranger.util.YamlUtils
+import spock.lang.Specification
+
+class GeneratorSnapshotSpec extends Specification {
+
+    def config = '''
+values:
+  user:
+    id: uuid()
+    age: random(18..99)
+    balance: random(0.0..1000.0, false, normal(500.0, 100.0, 0.0, 1000.0))
+    name: random(['Mike', 'Steve', 'John'])
+    tier: weighted([('gold', 10), ('silver', 30), ('bronze', 60)])
+    total: add('int', $user.age, 1000)
+    tags: list(1, 5, $tag)
+  tag: random(['a', 'b', 'c'])
+output: $user
+'''
+
+    Path dir
+
+    def setup() {
+        dir = Files.createTempDirectory("ranger-snapshot")
+    }
+
+    def cleanup() {
+        dir.toFile().deleteDir()
+    }
+
+    def generator() {
+        def parser = new ConfigurationParser(YamlUtils.load(config))
+        parser.setOptimize(true)
+        parser.build()
+    }
+
+    def generate(ObjectGenerator objectGenerator, int numberOfObjects) {
+        (1..numberOfObjects).collect { new HashMap(objectGenerator.next()) }
+    }
+
+    def "restored seeded generator should continue where written generator stopped"() {
+        given:
+        def generator = generator().withSeed(42)
+        generate(generator, 10)
+        def file = dir.resolve('user.rgs')
+
+        when:
+        GeneratorSnapshot.write(generator, file)
+        def restored = GeneratorSnapshot.read(file)
+
+        then:
+        restored.isSeeded()
+        restored.position() == 10
+        generate(restored, 100) == generate(generator, 100)
+    }
+
+    def "should write and read uncompressed snapshot"() {
+        given:
+        def generator = generator().withSeed(7)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        GeneratorSnapshot.write(generator, out, false)
+        def restored = GeneratorSnapshot.read(new ByteArrayInputStream(out.toByteArray()))
+
+        then:
+        generate(restored, 50) == generate(generator, 50)
+    }
+
+    def "restored generator should keep state of explicitly seeded random engines"() {
+        given:
+        def generator = new ConfigurationParser(YamlUtils.load('''
+values:
+  user:
+    id: random(0..1000000, false, uniform('xoroshiro128pp', 42))
+output: $user
+''')).build()
+        generate(generator, 5)
+        def file = dir.resolve('engine.rgs')
+
+        when:
+        GeneratorSnapshot.write(generator, file)
+        def first = generate(GeneratorSnapshot.read(file), 20)
+        def second = generate(GeneratorSnapshot.read(file), 20)
+
+        then:
+        first == second
+        first == generate(generator, 20)
+    }
+
+    def "should fail to read snapshot containing class which is not allowed"() {
+        given:
+        def bytes = new ByteArrayOutputStream()
+        def header = new DataOutputStream(bytes)
+        header.writeInt(GeneratorSnapshot.MAGIC)
+        header.writeInt(GeneratorSnapshot.FORMAT_VERSION)
+        header.writeInt(0)
+        header.flush()
+        new ObjectOutputStream(bytes).withCloseable { it.writeObject(new URI('http://example.com')) }
+
+        when:
+        GeneratorSnapshot.read(new ByteArrayInputStream(bytes.toByteArray()))
+
+        then:
+        IOException e = thrown()
+        e.message == 'Snapshot contains class which is not allowed: java.net.URI.'
+    }
+
+    def "should write and read generator of json values"() {
+        given:
+        def generator = new ConfigurationParser(YamlUtils.load(config.replace('output: $user',
+            'output: json($user)'))).build().withSeed(42)
+        generator.generate(10)
+        def file = dir.resolve('json.rgs')
+
+        when:
+        GeneratorSnapshot.write(generator, file)
+        def restored = GeneratorSnapshot.read(file)
+
+        then:
+        restored.generate(50) == generator.generate(50)
+    }
+
+    def "should write and read generator converting objects to type"() {
+        given:
+        def generator = new ConfigurationParser(YamlUtils.load('''
+values:
+  user:
+    username: random(['alice', 'bob', 'carol'])
+    numberOfInts: random(0..100)
+    favoriteMovies: list(1, 3, random(['X', 'Y', 'Z']))
+output: $user
+''')).build(User).withSeed(3)
+        generator.generate(10)
+        def file = dir.resolve('user.rgs')
+
+        when:
+        GeneratorSnapshot.write(generator, file)
+        def restored = GeneratorSnapshot.read(file)
+
+        then:
+        restored.generate(50) == generator.generate(50)
+    }
+
+    def "should fail to write generator containing class which is not allowed"() {
+        given:
+        def out = new ByteArrayOutputStream()
+
+        when:
+        GeneratorSnapshot.write(new ObjectGenerator(new ConstantValue(new URI('http://example.com'))), out, false)
+
+        then:
+        IOException e = thrown()
+        e.message == 'Generator contains class which is not allowed in snapshot: java.net.URI.'
+    }
+
+    def "compressed snapshot should be smaller than uncompressed one"() {
+        given:
+        def generator = generator()
+        def compressed = new ByteArrayOutputStream()
+        def uncompressed = new ByteArrayOutputStream()
+
+        when:
+        GeneratorSnapshot.write(generator, compressed, true)
+        GeneratorSnapshot.write(generator, uncompressed, false)
+
+        then:
+        compressed.size() < uncompressed.size()
+    }
+
+    def "should restore compiled generator as compiled"() {
+        given:
+        def file = dir.resolve('compiled.rgs')
+
+        when:
+        GeneratorSnapshot.write(generator().compile(), file)
+
+        then:
+        GeneratorSnapshot.read(file).value instanceof CompiledValue
+    }
+
+    def "should recognize snapshot files"() {
+        given:
+        def snapshot = dir.resolve('user.rgs')
+        def yaml = dir.resolve('user.yml')
+        def empty = dir.resolve('empty')
+        GeneratorSnapshot.write(generator(), snapshot)
+        yaml.text = config
+        empty.text = ''
+
+        expect:
+        GeneratorSnapshot.isSnapshot(snapshot)
+        !GeneratorSnapshot.isSnapshot(yaml)
+        !GeneratorSnapshot.isSnapshot(empty)
+    }
+
+    def "should fail to read file which is not a snapshot"() {
+        given:
+        def file = dir.resolve('user.yml')
+        file.text = config
+
+        when:
+        GeneratorSnapshot.read(file)
+
+        then:
+        IOException e = thrown()
+        e.message == 'Not a generator snapshot.'
+    }
+
+    def "should fail to read snapshot of unsupported format version"() {
+        given:
+        def bytes = new ByteArrayOutputStream()
+        new DataOutputStream(bytes).with {
+            writeInt(GeneratorSnapshot.MAGIC)
+            writeInt(GeneratorSnapshot.FORMAT_VERSION + 1)
+            writeInt(0)
+        }
+
+        when:
+        GeneratorSnapshot.read(new ByteArrayInputStream(bytes.toByteArray()))
+
+        then:
+        IOException e = thrown()
+        e.message.startsWith('Unsupported snapshot format version')
+    }
+}
@@ -0,0 +1,320 @@
+package io.smartcat.ranger
+
+import static io.smartcat.ranger.BuilderMethods.*
+
+import java.nio.channels.Channels
+
+import com.fasterxml.jackson.databind.ObjectMapper
+
+import io.smartcat.ranger.core.CompositeValue
+import io.smartcat.ranger.core.ConstantValue
+import io.smartcat.ranger.output.ColumnType
+import io.smartcat.ranger.output.CsvWriterSettings
+import io.smartcat.ranger.parser.ConfigurationParser
+import io.smartcat.ranger.util.YamlUtils
+import spock.lang.Specification
+
+class ObjectGeneratorSpec extends Specification {
+
+    def config = '''
+values:
+  user:
+    id: uuid()
+    age: random(18..99)
+    balance: random(0.0..1000.0, false, normal(500.0, 100.0, 0.0, 1000.0))
+    name: random(['Mike', 'Steve', 'John'])
+    tier: weighted([('gold', 10), ('silver', 30), ('bronze', 60)])
+    code: randomContentString(10)
+    tags: list(1, 5, $tag)
+  tag: random(['a', 'b', 'c'])
+output: $user
+'''
+
+    def generator = new ConfigurationParser(YamlUtils.load(config)).build()
+
+    def generate(ObjectGenerator objectGenerator, int numberOfObjects) {
+        (1..numberOfObjects).collect { new HashMap(objectGenerator.next()) }
+    }
+
+    def "seeded generators with same seed should generate same objects"() {
+        when:
+        def first = generate(generator.withSeed(42), 100)
+        def second = generate(generator.withSeed(42), 100)
+
+        then:
+        first == second
+    }
+
+    def "seeded generators with different seeds should generate different objects"() {
+        when:
+        def first = generate(generator.withSeed(42), 100)
+        def second = generate(generator.withSeed(43), 100)
+
+        then:
+        first != second
+    }
+
+    def "generate at should return same object as sequential generation"() {
+        given:
+        def seeded = generator.withSeed(7)
+        def sequential = generate(generator.withSeed(7), 50)
+
+        expect:
+        new HashMap(seeded.generateAt(index)) == sequential[index]
+
+        where:
+        index << [0, 1, 17, 49]
+    }
+
+    def "generate at should not change position of generator"() {
+        given:
+        def seeded = generator.withSeed(7)
+        def sequential = generate(generator.withSeed(7), 2)
+
+        when:
+        seeded.generateAt(1_000_000_000L)
+
+        then:
+        generate(seeded, 2) == sequential
+    }
+
+    def "skip should move seeded generator to specified position"() {
+        given:
+        def seeded = generator.withSeed(7)
+        def sequential = generate(generator.withSeed(7), 30)
+
+        when:
+        seeded.skip(20)
+
+        then:
+        generate(seeded, 10) == sequential[20..29]
+    }
+
+    def "skip should generate and discard objects when generator is not seeded"() {
+        given:
+        def circularGenerator = circular(1, 2, 3, 4)
+
+        when:
+        circularGenerator.skip(2)
+
+        then:
+        circularGenerator.next() == 3
+    }
+
+    def "copy of seeded generator should continue from same position"() {
+        given:
+        def seeded = generator.withSeed(7)
+        seeded.skip(10)
+
+        when:
+        def copy = seeded.copy()
+
+        then:
+        generate(copy, 5) == generate(seeded, 5)
+    }
+
+    def "copy should keep state of explicitly seeded random engines"() {
+        given:
+        def seededEngine = new ConfigurationParser(YamlUtils.load('''
+values:
+  user:
+    id: random(0..1000000, false, uniform('xoroshiro128pp', 42))
+output: $user
+''')).build()
+        seededEngine.next()
+
+        when:
+        def copy = seededEngine.copy()
+
+        then:
+        generate(copy, 10) == generate(seededEngine, 10)
+    }
+
+    def "generate at should position circular values by index of the object"() {
+        given:
+        def seeded = new ConfigurationParser(YamlUtils.load('''
+values:
+  user:
+    id: circular(1..1000000, 1)
+    name: circular(['a', 'b', 'c'])
+    code: circular(long(0)..long(10), long(5))
+output: $user
+''')).build().withSeed(1)
+
+        when:
+        def forward = (0..11).collect { new HashMap(seeded.generateAt(it)) }
+        def backward = (11..0).collect { new HashMap(seeded.generateAt(it)) }
+
+        then:
+        forward.collect { it.id } == (1..12)
+        forward.collect { it.name } == ['a', 'b', 'c'] * 4
+        forward.collect { it.code } == [0L, 5L, 10L] * 4
+        backward == forward.reverse()
+        generate(seeded, 12) == forward
+    }
+
+    def "seeded generator should position edge cases of range values by index of the object"() {
+        given:
+        def seeded = random(range(0, 1000), true).withSeed(3)
+        def sequential = seeded.copy().generate(10)
+
+        expect:
+        sequential[0..1] == [0, 999]
+        seeded.generateAt(1) == 999
+        seeded.generateAt(0) == 0
+        seeded.generateAt(7) == sequential[7]
+    }
+
+    def "generate at should throw exception when graph contains values which cannot be positioned"() {
+        given:
+        def seeded = exactly(countPair('a', 5), countPair('b', 5)).withSeed(3)
+
+        when:
+        seeded.generateAt(5)
+
+        then:
+        !seeded.positionable
+        thrown(IllegalStateException)
+    }
+
+    def "skip should generate and discard objects when seeded graph contains values which cannot be positioned"() {
+        given:
+        def seeded = exactly(countPair('a', 5), countPair('b', 5)).withSeed(3)
+        def sequential = seeded.copy().generate(10)
+
+        when:
+        seeded.skip(6)
+
+        then:
+        seeded.generate(4) == sequential[6..9]
+    }
+
+    def "copy at index should continue circular values from that index"() {
+        given:
+        def circularGenerator = circular(range(1, 100), 1)
+
+        when:
+        def copy = circularGenerator.copyAt(40)
+
+        then:
+        copy.generate(3) == [41, 42, 43]
+        copy.position() == 43
+        circularGenerator.generate(3) == [1, 2, 3]
+    }
+
+    def "copy at index should throw exception when graph contains values which cannot be positioned"() {
+        when:
+        exactly(countPair('a', 5)).copyAt(2)
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "write json lines should write same json as object mapper"() {
+        given:
+        def mapper = new ObjectMapper()
+        def seeded = generator.withSeed(42)
+        def expected = (1..50).collect { mapper.writeValueAsString(seeded.next()) + "\n" }.join()
+        def out = new ByteArrayOutputStream()
+
+        when:
+        generator.withSeed(42).writeJsonLines(out, 50)
+
+        then:
+        out.toString("UTF-8") == expected
+    }
+
+    def "write json lines should write to channel"() {
+        given:
+        def out = new ByteArrayOutputStream()
+
+        when:
+        generator.writeJsonLines(Channels.newChannel(out), 10)
+
+        then:
+        def lines = out.toString("UTF-8").split("\n")
+        lines.size() == 10
+        lines.every { new ObjectMapper().readValue(it, Map).keySet() == ['id', 'age', 'balance', 'name', 'tier',
+            'code', 'tags'] as Set }
+    }
+
+    def "write csv should write header and one record per generated object"() {
+        given:
+        def out = new ByteArrayOutputStream()
+
+        when:
+        generator.withSeed(42).writeCsv(out, new CsvWriterSettings('\t' as char), 20)
+
+        then:
+        def lines = out.toString("UTF-8").split("\n")
+        lines.size() == 21
+        lines[0].split('\t') as Set == ['id', 'age', 'balance', 'name', 'tier', 'code', 'tags'] as Set
+        lines[1..20].every { it.split('\t').size() == 7 }
+    }
+
+    def "generate columns should store generated objects in typed columns"() {
+        given:
+        def expected = generate(generator.withSeed(42), 100)
+
+        when:
+        def batch = generator.withSeed(42).generateColumns(100)
+
+        then:
+        batch.size() == 100
+        batch.getColumnType(batch.columnIndex('age')) == ColumnType.INT
+        batch.getColumnType(batch.columnIndex('balance')) == ColumnType.DOUBLE
+        batch.getColumnType(batch.columnIndex('name')) == ColumnType.OBJECT
+        batch.getIntColumn(batch.columnIndex('age')) as List == expected.collect { it.age }
+        (0..99).every { row -> expected[row] == batch.columnNames.collectEntries { [it, batch.get(batch.columnIndex(it),
+            row)] } }
+    }
+
+    def "generate columns should type columns by schema of the generator"() {
+        when:
+        def batch = generator.generateColumns(0)
+
+        then:
+        batch.size() == 0
+        batch.columnNames == generator.next().keySet() as List
+        batch.columnNames as Set == ['id', 'age', 'balance', 'name', 'tier', 'code', 'tags'] as Set
+        batch.getColumnType(batch.columnIndex('age')) == ColumnType.INT
+        batch.getColumnType(batch.columnIndex('balance')) == ColumnType.DOUBLE
+        batch.getColumnType(batch.columnIndex('tags')) == ColumnType.OBJECT
+    }
+
+    def "generate at should throw exception when generator is not seeded"() {
+        when:
+        generator.generateAt(5)
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "values shared between generators should be reevaluated for each generated object"() {
+        given:
+        def shared = random(range(0L, Long.MAX_VALUE))
+        def pair = new ObjectGeneratorBuilder().prop("first", shared).prop("second", shared).build()
+
+        when:
+        def pairs = (1..10).collect { new HashMap(pair.next()) }
+        def values = shared.generate(10)
+
+        then:
+        pairs.every { it.first == it.second }
+        pairs.collect { it.first }.unique().size() == 10
+        values.unique().size() == 10
+    }
+
+    def "should bind values of the graph to epoch of the generator"() {
+        given:
+        def constant = new ConstantValue(1)
+        def composite = new CompositeValue([a: constant])
+
+        when:
+        new ObjectGenerator(composite)
+
+        then:
+        composite.epoch != null
+        constant.epoch.is(composite.epoch)
+    }
+}
@@ -0,0 +1,203 @@
+package io.smartcat.ranger
+
+import static io.smartcat.ranger.BuilderMethods.*
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+import io.smartcat.ranger.parser.ConfigurationParser
+import io.smartcat.ranger.util.YamlUtils
+import spock.lang.Specification
+
+class ParallelObjectGeneratorSpec extends Specification {
+
+    def "copy should have its own state"() {
+        given:
+        def generator = circular(1, 2, 3, 4)
+        generator.next()
+
+        when:
+        def copy = generator.copy()
+
+        then:
+        copy.generate(3) == [2, 3, 4]
+        generator.generate(3) == [2, 3, 4]
+    }
+
+    def "copy should keep values referenced multiple times shared"() {
+        given:
+        def config = '''
+values:
+  id: circular(1..1000, 1)
+  a: $id
+  b: $id
+  pair:
+    first: $a
+    second: $b
+output: $pair
+'''
+        def generator = new ConfigurationParser(YamlUtils.load(config)).build()
+
+        when:
+        def copy = generator.copy()
+        def results = (1..10).collect { new LinkedHashMap(copy.next()) }
+
+        then:
+        results.every { it.first == it.second }
+        results.collect { it.first } == (1..10).toList()
+    }
+
+    def "should generate requested number of objects in order of batches"() {
+        given:
+        def generator = new ParallelObjectGenerator(random(range(1, 100)).withSeed(5), 4, 10)
+        def sequential = random(range(1, 100)).withSeed(5).generate(1005)
+
+        when:
+        def result = generator.generate(1005)
+
+        then:
+        result.size() == 1005
+        result == sequential
+    }
+
+    def "workers should position circular values at index of each object"() {
+        given:
+        def generator = new ParallelObjectGenerator(seeded ? circular(range(1, 1000000), 1).withSeed(1)
+            : circular(range(1, 1000000), 1), 4, batchSize)
+
+        when:
+        def first = generator.generate(10000)
+        def second = generator.generate(12)
+
+        then:
+        first == (1..10000).toList()
+        second == (10001..10012).toList()
+
+        where:
+        seeded | batchSize
+        false  | 3
+        false  | 100
+        true   | 3
+        true   | 100
+    }
+
+    def "should generate sequentially when value graph contains values which cannot be positioned"() {
+        given:
+        def sequential = exactly(countPair('a', 50), countPair('b', 50)).withSeed(9).generate(100)
+        def generator = new ParallelObjectGenerator(exactly(countPair('a', 50), countPair('b', 50)).withSeed(9), 4, 3)
+
+        when:
+        def result = generator.generate(60) + generator.generate(40)
+
+        then:
+        result == sequential
+    }
+
+    def "should detach composite objects placed in the list"() {
+        given:
+        def user = new ConfigurationParser(YamlUtils.load('''
+values:
+  user:
+    id: circular(1..1000000, 1)
+    address:
+      number: circular(1..1000000, 1)
+output: $user
+''')).build()
+        def generator = new ParallelObjectGenerator(user, 4, 10)
+
+        when:
+        def result = generator.generate(100)
+
+        then:
+        result.collect { System.identityHashCode(it) }.unique().size() == 100
+        result.collect { it.id } == (1..100).toList()
+        result.collect { it.address.number } == (1..100).toList()
+
+        cleanup:
+        generator.close()
+    }
+
+    def "should not generate objects after it is closed"() {
+        given:
+        def generator = new ParallelObjectGenerator(circular(range(1, 100), 1), 2, 10)
+        generator.close()
+
+        when:
+        generator.generate(100)
+
+        then:
+        thrown(java.util.concurrent.RejectedExecutionException)
+    }
+
+    def "should pass each generated object to consumer"() {
+        given:
+        def generator = new ParallelObjectGenerator(new ObjectGeneratorBuilder()
+            .prop("name", random("a", "b", "c"))
+            .prop("age", random(range(1, 10))).build(), 8, 100)
+        def count = new AtomicLong()
+        def names = ConcurrentHashMap.newKeySet()
+
+        when:
+        generator.generate(100_000L, { count.incrementAndGet(); names << it.name })
+
+        then:
+        count.get() == 100_000L
+        names == ["a", "b", "c"] as Set
+    }
+
+    def "should not change state of the original generator"() {
+        given:
+        def original = circular(range(0L, 999L), 1L)
+        def generator = new ParallelObjectGenerator(original, 2, 100)
+
+        when:
+        generator.generate(1000)
+
+        then:
+        original.generate(3) == [0L, 1L, 2L]
+    }
+
+    def "seeded parallel generation should be same as sequential generation"() {
+        given:
+        def seeded = random(range(0L, Long.MAX_VALUE)).withSeed(11)
+        def sequential = random(range(0L, Long.MAX_VALUE)).withSeed(11)
+        def generator = new ParallelObjectGenerator(seeded, 4, 10)
+
+        when:
+        def first = generator.generate(1000)
+        def second = generator.generate(1000)
+
+        then:
+        first != second
+        first + second == sequential.generate(2000)
+    }
+
+    def "workers should not repeat random values of explicitly seeded engines"() {
+        given:
+        def config = '''
+values:
+  id: random(long(0)..long(1000000000000), false, uniform('xoroshiro128pp', 42))
+output: $id
+'''
+        def generator = new ConfigurationParser(YamlUtils.load(config)).build()
+
+        when:
+        def first = new ParallelObjectGenerator(generator, 4, 256).withCloseable { it.generate(4096) }
+        def second = new ParallelObjectGenerator(generator, 3, 100).withCloseable { it.generate(4096) }
+
+        then:
+        first.unique(false).size() == 4096
+        first == second
+    }
+
+    def "should throw exception when negative number of objects is requested"() {
+        given:
+        def generator = new ParallelObjectGenerator(constant(1), 2)
+
+        when:
+        generator.generate(-1)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
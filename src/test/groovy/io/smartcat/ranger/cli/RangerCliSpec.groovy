@@ -0,0 +1,236 @@
+package io.smartcat.ranger.cli
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.GZIPInputStream
+
+import io.smartcat.ranger.GeneratorSnapshot
+import io.smartcat.ranger.parser.ConfigurationParser
+import io.smartcat.ranger.util.YamlUtils
+import spock.lang.Specification
+
+class RangerCliSpec extends Specification {
+
+    def config = '''
+values:
+  user:
+    id: random(1..1000000)
+    name: random(['Mike', 'Steve', 'John'])
+    score: random(0.0..100.0)
+output: $user
+'''
+
+    Path dir
+    Path configFile
+    def out = new ByteArrayOutputStream()
+    def err = new ByteArrayOutputStream()
+
+    def setup() {
+        dir = Files.createTempDirectory("ranger-cli")
+        configFile = dir.resolve("config.yml")
+        configFile.text = config
+    }
+
+    def cleanup() {
+        dir.toFile().deleteDir()
+    }
+
+    def run(String... args) {
+        RangerCli.run(args, new PrintStream(out, true), new PrintStream(err, true))
+    }
+
+    def read(Path directory) {
+        Files.list(directory).findAll { it.fileName.toString().startsWith('part-') }.sort { it.fileName.toString() }
+                .collect { it.text }
+    }
+
+    def "should generate same records for same seed regardless of threads and file size"() {
+        given:
+        def single = dir.resolve('single')
+        def sharded = dir.resolve('sharded')
+
+        when:
+        def first = run('generate', configFile.toString(), '--count', '1e3', '--seed', '7', '--out', single.toString())
+        def second = run('generate', configFile.toString(), '--count=1_000', '--seed=7', '--threads', '3',
+                '--max-file-size', '2KB', '--out', sharded.toString(), '--compile')
+
+        then:
+        first == 0
+        second == 0
+        read(single).size() == 1
+        read(sharded).size() > 3
+        read(single).join().readLines().size() == 1000
+        read(single).join() == read(sharded).join()
+        out.toString().contains('Generated 1,000 records')
+    }
+
+    def "should continue circular values across shards"() {
+        given:
+        configFile.text = '''
+values:
+  user:
+    id: circular(1..1000000, 1)
+    name: random(['Mike', 'Steve', 'John'])
+output: $user
+'''
+        def single = dir.resolve('single')
+        def sharded = dir.resolve('sharded')
+        def seedArgs = seed ? ['--seed', '42'] : []
+
+        when:
+        run((['generate', configFile.toString(), '--count', '8', '--out', single.toString()] + seedArgs) as String[])
+        run((['generate', configFile.toString(), '--count', '8', '--threads', '4', '--out', sharded.toString()]
+                + seedArgs) as String[])
+
+        then:
+        ids(single) == (1..8).toList()
+        ids(sharded) == (1..8).toList()
+        !seed || read(single).join() == read(sharded).join()
+
+        where:
+        seed << [true, false]
+    }
+
+    def "shards should not repeat random values of explicitly seeded engines"() {
+        given:
+        configFile.text = '''
+values:
+  user:
+    id: random(long(0)..long(1000000000000), false, uniform('xoroshiro128pp', 42))
+output: $user
+'''
+        def single = dir.resolve('single')
+        def sharded = dir.resolve('sharded')
+
+        when:
+        run('generate', configFile.toString(), '--count', '400', '--out', single.toString())
+        run('generate', configFile.toString(), '--count', '400', '--threads', '4', '--out', sharded.toString())
+
+        then:
+        ids(sharded).unique(false).size() == 400
+        ids(sharded) == ids(single)
+    }
+
+    def "should generate shards in order when generator contains values which cannot be positioned"() {
+        given:
+        configFile.text = '''
+values:
+  user:
+    id: circular(1..1000000, 1)
+    name: exactly([('Mike', 4), ('Steve', 4)])
+output: $user
+'''
+        def single = dir.resolve('single')
+        def sharded = dir.resolve('sharded')
+
+        when:
+        run('generate', configFile.toString(), '--count', '8', '--seed', '5', '--out', single.toString())
+        def code = run('generate', configFile.toString(), '--count', '8', '--seed', '5', '--threads', '4', '--out',
+                sharded.toString())
+
+        then:
+        code == 0
+        read(sharded).size() == 4
+        read(single).join() == read(sharded).join()
+        ids(sharded) == (1..8).toList()
+    }
+
+    def ids(Path directory) {
+        read(directory).join().readLines().collect { new groovy.json.JsonSlurper().parseText(it).id }
+    }
+
+    def "should rotate files at record boundary"() {
+        given:
+        def output = dir.resolve('csv')
+
+        when:
+        def code = run('generate', configFile.toString(), '--count', '20000', '--threads', '2', '--format', 'csv',
+                '--max-file-size', '64KB', '--out', output.toString())
+
+        then:
+        code == 0
+        def files = read(output)
+        def lines = files.join().readLines()
+        files.size() > 2
+        files.every { it.endsWith('\n') }
+        lines[0].split(',') as Set == ['id', 'name', 'score'] as Set
+        lines.count { it == lines[0] } == 1
+        lines.drop(1).every { it.split(',').size() == 3 }
+        lines.size() == 20001
+    }
+
+    def "should compress files with gzip"() {
+        given:
+        def plain = dir.resolve('plain')
+        def compressed = dir.resolve('compressed')
+
+        when:
+        run('generate', configFile.toString(), '--count', '2000', '--seed', '3', '--out', plain.toString())
+        def code = run('generate', configFile.toString(), '--count', '2000', '--seed', '3', '--threads', '2',
+                '--compress', 'gzip', '--out', compressed.toString())
+
+        then:
+        code == 0
+        def files = Files.list(compressed).collect { it.fileName.toString() }.sort()
+        files == ['part-00000-00000.jsonl.gz', 'part-00001-00000.jsonl.gz']
+        files.collect { new GZIPInputStream(Files.newInputStream(compressed.resolve(it))).getText('UTF-8') }.join() ==
+                read(plain).join()
+    }
+
+    def "should generate records from generator snapshot"() {
+        given:
+        def fromConfig = dir.resolve('config')
+        def fromSnapshot = dir.resolve('snapshot')
+        def snapshot = dir.resolve('config.rgs')
+        def generator = new ConfigurationParser(YamlUtils.load(config)).build().withSeed(11)
+        GeneratorSnapshot.write(generator, snapshot)
+
+        when:
+        run('generate', configFile.toString(), '--count', '500', '--seed', '11', '--out', fromConfig.toString())
+        def code = run('generate', snapshot.toString(), '--count', '500', '--threads', '2', '--out',
+                fromSnapshot.toString())
+
+        then:
+        code == 0
+        read(fromSnapshot).join() == read(fromConfig).join()
+    }
+
+    def "should print usage when options are invalid"() {
+        expect:
+        run(args as String[]) == 1
+        err.toString().contains('Usage: ranger generate')
+
+        where:
+        args << [['generate'], ['generate', 'config.yml'], ['generate', 'config.yml', '--count', '1.5'],
+            ['generate', 'config.yml', '--count', '10', '--format', 'xml'],
+            ['generate', 'config.yml', '--count', '10', '--compress', 'zip'], ['unknown']]
+    }
+
+    def "should parse count"() {
+        expect:
+        GenerateOptions.parseCount(value) == expected
+
+        where:
+        value       | expected
+        '0'         | 0
+        '1000'      | 1000
+        '1_000_000' | 1000000
+        '2e9'       | 2000000000L
+        '1.5E3'     | 1500
+    }
+
+    def "should parse size"() {
+        expect:
+        GenerateOptions.parseSize(value) == expected
+
+        where:
+        value   | expected
+        '100'   | 100
+        '100B'  | 100
+        '1KB'   | 1024
+        '1.5k'  | 1536
+        '512MB' | 512L * 1024 * 1024
+        '1GB'   | 1024L * 1024 * 1024
+        '2T'    | 2L * 1024 * 1024 * 1024 * 1024
+    }
+}
@@ -0,0 +1,106 @@
+package io.smartcat.ranger.compiler
+
+import static io.smartcat.ranger.BuilderMethods.*
+
+import io.smartcat.ranger.core.CompositeValue
+import io.smartcat.ranger.core.ConstantValue
+import io.smartcat.ranger.core.DiscreteValue
+import io.smartcat.ranger.core.Value
+import io.smartcat.ranger.parser.ConfigurationParser
+import io.smartcat.ranger.util.YamlUtils
+import spock.lang.Specification
+
+class ValueCompilerSpec extends Specification {
+
+    def config = '''
+values:
+  x: random(-1000..1000)
+  y: random(1..1000)
+  z: random(0.5..100.0)
+  user:
+    id: circular(1..1000, 1)
+    bytes: add('byte', $x, $y)
+    shorts: multiply('short', $x, $y)
+    ints: divide('int', add('int', $x, 7), $y)
+    longs: subtract('long', multiply('long', $x, 1000000), $y)
+    floats: divide('float', $z, add('int', $y, 3))
+    doubles: multiply('double', $z, subtract('double', $x, 0.25))
+    name: random(['Mike', 'Steve', 'John'])
+    constant: 42
+    address:
+      first: $x
+      second: $y
+      sum: add('int', $x, $y)
+output: $user
+'''
+
+    def generator = new ConfigurationParser(YamlUtils.load(config)).build()
+
+    def "compiled generator should generate same objects as interpreted generator"() {
+        given:
+        def interpreted = generator.withSeed(5)
+        def compiled = generator.withSeed(5).compile()
+
+        when:
+        def expected = (1..1000).collect { detach(interpreted.next()) }
+        def actual = (1..1000).collect { detach(compiled.next()) }
+
+        then:
+        actual == expected
+    }
+
+    def "compiled generator should evaluate shared values once per object"() {
+        given:
+        def compiled = generator.compile()
+
+        when:
+        def objects = (1..100).collect { detach(compiled.next()) }
+
+        then:
+        objects.every { it.address.sum == it.address.first + it.address.second }
+        objects.every { it.bytes == (byte) (it.address.first + it.address.second) }
+    }
+
+    def "should compile composite value into compiled value"() {
+        when:
+        def compiled = ValueCompiler.compile(generator.value)
+
+        then:
+        compiled instanceof CompiledValue
+        compiled.source.is(generator.value)
+    }
+
+    def "should return source value when there is nothing to compile"() {
+        given:
+        Value value = new DiscreteValue([new ConstantValue(1), new ConstantValue(2)])
+
+        expect:
+        ValueCompiler.compile(value).is(value)
+    }
+
+    def "should not compile values referenced from values which are not compiled"() {
+        given:
+        def shared = new CompositeValue([a: new ConstantValue(1)])
+        def value = new CompositeValue([first: shared, second: new DiscreteValue([shared])])
+
+        when:
+        def compiled = ValueCompiler.compile(value)
+        def result = compiled.get()
+
+        then:
+        result.first.is(result.second)
+    }
+
+    def "copy of compiled generator should be compiled"() {
+        when:
+        def copy = generator.withSeed(5).compile().copy()
+
+        then:
+        copy.value instanceof CompiledValue
+        detach(copy.next()) == detach(generator.withSeed(5).next())
+    }
+
+    def detach(Map map) {
+        map.collectEntries { k, v -> [k, v instanceof Map ? new HashMap(v) : v] }
+    }
+}
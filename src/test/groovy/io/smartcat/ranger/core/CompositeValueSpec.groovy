@@ -28,4 +28,49 @@ class CompositeValueSpec extends BaseValueSpec {
         then:
         compositeValue.get() == [a:11, b:"value2"]
     }
+
+    def "get should return record with fields in definition order"() {
+        given:
+        CompositeValue compositeValue = new CompositeValue([c:val(1), a:val("x"), b:val(null)])
+
+        when:
+        def result = compositeValue.get()
+
+        then:
+        result instanceof Record
+        result.keySet() as List == ["c", "a", "b"]
+        result.values() as List == [1, "x", null]
+        result.containsKey("b")
+        !result.containsKey("d")
+        result.get("d") == null
+        result.get(result.getSchema().slotOf("a")) == "x"
+        result == [c:1, a:"x", b:null]
+    }
+
+    def "record should not be modifiable"() {
+        given:
+        CompositeValue compositeValue = new CompositeValue([a:val(1)])
+
+        when:
+        compositeValue.get().put("a", 2)
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def "getter transformer should read field from record"() {
+        given:
+        CompositeValue compositeValue = new CompositeValue([a:circ([1, 2, 3]), b:circ(["x", "y", "z"])])
+        def getter = new GetterTransformer("b", String, compositeValue)
+        def result = []
+
+        when:
+        3.times {
+            result << getter.get()
+            getter.reset()
+        }
+
+        then:
+        result == ["x", "y", "z"]
+    }
 }
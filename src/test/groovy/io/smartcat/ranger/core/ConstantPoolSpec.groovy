@@ -0,0 +1,92 @@
+package io.smartcat.ranger.core
+
+import io.smartcat.ranger.core.WeightedValue.WeightedValuePair
+import spock.lang.Unroll
+
+class ConstantPoolSpec extends BaseValueSpec {
+
+    @Unroll
+    def "should keep #elements with their types"() {
+        when:
+        def pool = ConstantPool.of(elements)
+
+        then:
+        pool.size() == elements.size()
+        (0..<elements.size()).collect { pool.get(it) } == elements
+        (0..<elements.size()).every { pool.get(it)?.getClass() == elements[it]?.getClass() }
+
+        where:
+        elements << [[1, 2, 3], [1L, -2L], [1.5d, -0.0d], ["a", "b"], [1, 2L], [1, null], [1.5f, 2.5f]]
+    }
+
+    @Unroll
+    def "should serialize #type elements as primitives"() {
+        given:
+        def pool = ConstantPool.of((0..<1000).collect { it.asType(type) })
+        def bytes = new ByteArrayOutputStream()
+
+        when:
+        new ObjectOutputStream(bytes).withCloseable { it.writeObject(pool) }
+        def copy = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).withCloseable { it.readObject() }
+
+        then:
+        bytes.size() < 1000 * width + 200
+        (0..<1000).collect { copy.get(it) } == (0..<1000).collect { pool.get(it) }
+        copy.get(999).getClass() == type
+
+        where:
+        type    | width
+        Integer | 4
+        Long    | 8
+        Double  | 8
+    }
+
+    @Unroll
+    def "should return same instance of element #elements on each get and after deserialization"() {
+        given:
+        def pool = ConstantPool.of(elements)
+        def bytes = new ByteArrayOutputStream()
+        new ObjectOutputStream(bytes).withCloseable { it.writeObject(pool) }
+
+        when:
+        def copy = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).withCloseable { it.readObject() }
+
+        then:
+        pool.get(0).is(pool.get(0))
+        copy.get(0).is(copy.get(0))
+        (0..<elements.size()).collect { copy.get(it) } == elements
+
+        where:
+        elements << [[1000, 2000], [1000L, 2000L], [1.5d, 2.5d], ["a", "b"]]
+    }
+
+    def "should not pool values which are not all constants"() {
+        expect:
+        ConstantPool.ofConstantValues([val(1), circ([1, 2])]) == null
+        ConstantPool.ofConstantValues([val(1), val(2)]).size() == 2
+    }
+
+    def "discrete, circular and weighted values with only constants should have no children"() {
+        given:
+        def discrete = new DiscreteValue([val("a"), val("b")])
+        def circular = new CircularValue([val(1), val(2)])
+        def weighted = new WeightedValue([new WeightedValuePair(val(1L), 1), new WeightedValuePair(val(2L), 3)])
+
+        expect:
+        discrete.children.isEmpty()
+        circular.children.isEmpty()
+        weighted.children.isEmpty()
+        discrete.get() in ["a", "b"]
+        [circular.get(), { circular.reset(); circular.get() }(), { circular.reset(); circular.get() }()] == [1, 2, 1]
+        weighted.get() in [1L, 2L]
+    }
+
+    def "discrete value with non constant values should keep them as children"() {
+        given:
+        def inner = circ([1, 2])
+        def discrete = new DiscreteValue([val(0), inner])
+
+        expect:
+        discrete.children == [discrete.children[0], inner]
+    }
+}
@@ -0,0 +1,51 @@
+package io.smartcat.ranger.core
+
+class DetachedValuesSpec extends BaseValueSpec {
+
+    def "detached record should keep values it had when detached"() {
+        given:
+        def id = circ([1, 2, 3])
+        def inner = new CompositeValue([id: id])
+        def composite = new CompositeValue([inner: inner, list: new ListValue([inner])])
+
+        when:
+        def first = DetachedValues.detach(composite.get())
+        composite.reset()
+        def second = composite.get()
+
+        then:
+        first instanceof Record
+        first.inner.id == 1
+        first.list[0].id == 1
+        second.inner.id == 2
+        !first.is(second)
+        !first.inner.is(second.inner)
+    }
+
+    def "should detach maps into unmodifiable copies"() {
+        given:
+        def source = [a: [1, 2], b: 'text']
+
+        when:
+        def detached = DetachedValues.detach(source)
+        source.a << 3
+
+        then:
+        detached == [a: [1, 2], b: 'text']
+
+        when:
+        detached.put('c', 1)
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def "should return other objects as they are"() {
+        given:
+        def date = new Date()
+
+        expect:
+        DetachedValues.detach(date).is(date)
+        DetachedValues.detach(null) == null
+    }
+}
@@ -53,6 +53,50 @@ class ExactWeightedValueSpec extends BaseValueSpec {
         numOfTens == 40
     }
 
+    def "should generate exact number of values when there are many buckets"() {
+        given:
+        def size = 1000
+        def value = new ExactWeightedValue((0..<size).collect { pair(it, it % 5 + 1) })
+        def total = (0..<size).sum { it % 5 + 1 }
+        def nums = new int[size]
+
+        when:
+        total.times {
+            nums[value.get()]++
+            value.reset()
+        }
+
+        then:
+        (0..<size).every { nums[it] == it % 5 + 1 }
+
+        when:
+        value.get()
+
+        then:
+        thrown(ExactWeightedValueDepletedException)
+    }
+
+    def "should support total count greater than max int"() {
+        given:
+        def value = new ExactWeightedValue([pair(1, 3_000_000_000L), pair(2, 1L), pair(3, Integer.MAX_VALUE)])
+
+        when:
+        def result = (1..1000).collect { def v = value.get(); value.reset(); v }
+
+        then:
+        result.every { it in [1, 2, 3] }
+        result.count { it == 2 } <= 1
+        result.count { it == 1 } > result.count { it == 3 }
+    }
+
+    def "should not allow counts which sum exceeds max long"() {
+        when:
+        new ExactWeightedValue([pair(1, Long.MAX_VALUE), pair(2, 1L)])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
     def pair(value, count) {
         new CountValuePair(val(value), count)
     }
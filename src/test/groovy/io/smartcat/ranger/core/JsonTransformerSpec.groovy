@@ -0,0 +1,79 @@
+package io.smartcat.ranger.core
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.SerializationFeature
+
+import spock.lang.Specification
+
+class JsonTransformerSpec extends Specification {
+
+    def nested = new CompositeValue([city: new ConstantValue('Novi Sad'), zip: new ConstantValue(21000)])
+    def composite = new CompositeValue([name: new CircularValue([new ConstantValue('mike "m"'),
+        new ConstantValue('žika 😀')]), age: new ConstantValue(33), balance: new ConstantValue(1.5d),
+        ratio: new ConstantValue(0.25f), id: new ConstantValue(Long.MAX_VALUE), code: new ConstantValue((short) 7),
+        active: new ConstantValue(true), nothing: new ConstantValue(null), address: nested,
+        tags: new ListValue([new ConstantValue('a'), nested]), created: new ConstantValue(new Date(1234L))])
+
+    def "should produce same json as object mapper"() {
+        given:
+        def mapper = new ObjectMapper()
+        def json = new JsonTransformer(composite, mapper)
+
+        expect:
+        (1..3).every {
+            def result = json.get()
+            def expected = mapper.writeValueAsString(composite.get())
+            json.reset()
+            result == expected
+        }
+    }
+
+    def "should respect configuration of object mapper"() {
+        given:
+        def mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+        def json = new JsonTransformer(composite, mapper)
+
+        expect:
+        json.get() == mapper.writeValueAsString(composite.get())
+    }
+
+    def "should serialize non record values"() {
+        given:
+        def json = new JsonTransformer(new ConstantValue(value))
+
+        expect:
+        json.get() == expected
+
+        where:
+        value       | expected
+        'text'      | '"text"'
+        [1, 2]      | '[1,2]'
+        [a: 1]      | '{"a":1}'
+        null        | 'null'
+    }
+
+    def "should expose json as char sequence and utf-8 bytes"() {
+        given:
+        def json = new JsonTransformer(composite)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def chars = json.getCharSequence().toString()
+        json.writeTo(out)
+
+        then:
+        chars == json.get()
+        out.toString('UTF-8') == json.get()
+        json.getCharSequence().length() == json.get().length()
+    }
+
+    def "nested json transformer should produce json string"() {
+        given:
+        def inner = new JsonTransformer(nested)
+        def outer = new JsonTransformer(new CompositeValue([payload: inner]))
+
+        expect:
+        outer.get() == '{"payload":"{\\"city\\":\\"Novi Sad\\",\\"zip\\":21000}"}'
+    }
+}
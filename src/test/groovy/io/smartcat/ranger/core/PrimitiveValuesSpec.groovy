@@ -0,0 +1,91 @@
+package io.smartcat.ranger.core
+
+import io.smartcat.ranger.core.arithmetic.AdditionValueByte
+import io.smartcat.ranger.core.arithmetic.AdditionValueInteger
+import io.smartcat.ranger.core.arithmetic.DivisionValueFloat
+import io.smartcat.ranger.core.arithmetic.MultiplicationValueLong
+import io.smartcat.ranger.core.arithmetic.SubtractionValueDouble
+
+class PrimitiveValuesSpec extends BaseValueSpec {
+
+    def "primitive getter should return same value as get"() {
+        given:
+        def value = new RangeValueInt(new Range(0, 1000))
+
+        expect:
+        100.times {
+            assert value.getAsInt() == value.get()
+            value.reset()
+        }
+    }
+
+    def "arithmetic value should evaluate primitive operands through proxies"() {
+        given:
+        def range = new RangeValueLong(new Range(0L, 1000L))
+        def proxy = new ValueProxy(range)
+        def value = new MultiplicationValueLong(proxy, val(3))
+
+        when:
+        def result = value.getAsLong()
+
+        then:
+        result == range.getAsLong() * 3
+        value.get() == result
+    }
+
+    def "conversions should follow number conversion rules"() {
+        expect:
+        PrimitiveValues.intValue(new CircularRangeValueLong(new Range(4294967297L, 4294967300L), 1L)) == 1
+        PrimitiveValues.byteValue(val(300)) == (byte) 300
+        PrimitiveValues.longValue(new ConstantValue(Double.valueOf(-2.75d))) == -2L
+        PrimitiveValues.floatValue(new ConstantValue(Long.MAX_VALUE)) == Long.MAX_VALUE.floatValue()
+    }
+
+    def "byte arithmetic should overflow the same way as byte arithmetic does"() {
+        given:
+        def value = new AdditionValueByte(val(100), new AdditionValueInteger(val(20), val(10)))
+
+        expect:
+        value.get() == (byte) -126
+        value.get() instanceof Byte
+        value.getAsInt() == -126
+    }
+
+    def "float and double arithmetic should keep their result types"() {
+        given:
+        def division = new DivisionValueFloat(val(1), val(3))
+        def subtraction = new SubtractionValueDouble(val(0.0d), val(0.0d))
+
+        expect:
+        division.get() == (float) (1f / 3f)
+        division.get() instanceof Float
+        division.getAsDouble() == (double) ((float) (1f / 3f))
+        subtraction.get() instanceof Double
+    }
+
+    def "double value should box negative zero distinctly from positive zero"() {
+        given:
+        def value = new SubtractionValueDouble(val(0.0d), new CircularValue([val(0.0d), val(-0.0d)]))
+
+        when:
+        def first = value.get()
+        value.reset()
+        def second = value.get()
+
+        then:
+        first.equals(-0.0d)
+        second.equals(0.0d)
+    }
+
+    def "circular range value should provide primitive values in sequence"() {
+        given:
+        def value = new CircularRangeValueDouble(new Range(1.0d, 2.0d), 0.5d)
+        def result = []
+
+        when:
+        5.times { result << value.getAsDouble(); value.reset() }
+
+        then:
+        result == [1.0d, 1.5d, 2.0d, 1.0d, 1.5d]
+    }
+}
@@ -0,0 +1,128 @@
+package io.smartcat.ranger.core
+
+import com.fasterxml.jackson.annotation.JsonCreator
+import com.fasterxml.jackson.annotation.JsonProperty
+import com.fasterxml.jackson.databind.ObjectMapper
+
+import groovy.transform.EqualsAndHashCode
+import groovy.transform.ToString
+import spock.lang.Specification
+
+class TypeConverterValueSpec extends Specification {
+
+    enum Tier { GOLD, SILVER }
+
+    @EqualsAndHashCode
+    @ToString
+    static class Address {
+        String city
+        int number
+    }
+
+    @EqualsAndHashCode
+    @ToString
+    static class User {
+        String name
+        int age
+        long balance
+        double score
+        boolean active
+        Integer level
+        Tier tier
+        Address address
+        List<String> tags
+        public short code
+        @JsonProperty('nick_name')
+        String nickName
+    }
+
+    @EqualsAndHashCode
+    static class Point {
+        final int x
+        final int y
+
+        @JsonCreator
+        Point(@JsonProperty('x') int x, @JsonProperty('y') int y) {
+            this.x = x
+            this.y = y
+        }
+    }
+
+    def record(Map values) {
+        new Record(new RecordSchema(values.keySet()), values.values() as Object[])
+    }
+
+    def "should create same object as object mapper"() {
+        given:
+        def values = [name: 'mike', age: 33, balance: 7, score: 1.5d, active: true, level: 3, tier: 'GOLD',
+            address: record([city: 'Novi Sad', number: 12L]), tags: ['a', 'b'], code: (short) 4, nick_name: 'm']
+        def value = new TypeConverterValue(User, new ConstantValue(record(values)))
+
+        when:
+        def result = value.get()
+
+        then:
+        result == new ObjectMapper().convertValue(record(values), User)
+        result.name == 'mike'
+        result.balance == 7L
+        result.tier == Tier.GOLD
+        result.address.city == 'Novi Sad'
+        result.code == 4
+        result.nickName == 'm'
+    }
+
+    def "should set defaults for nulls the same way object mapper does"() {
+        given:
+        def values = [name: null, age: null, level: null, address: null]
+        def value = new TypeConverterValue(User, new ConstantValue(record(values)))
+
+        expect:
+        value.get() == new ObjectMapper().convertValue(record(values), User)
+    }
+
+    def "should create objects of types with creators"() {
+        given:
+        def value = new TypeConverterValue(Point, new ConstantValue(record([x: 1, y: 2])))
+
+        expect:
+        value.get() == new Point(1, 2)
+    }
+
+    def "should throw same exception as object mapper for unknown properties"() {
+        given:
+        def value = new TypeConverterValue(User, new ConstantValue(record([name: 'mike', unknown: 1])))
+
+        when:
+        value.get()
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "should throw exception when value cannot be converted"() {
+        given:
+        def value = new TypeConverterValue(User, new ConstantValue(record([age: 'not a number'])))
+
+        when:
+        value.get()
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "should create new object for each record"() {
+        given:
+        def composite = new CompositeValue([name: new CircularValue([new ConstantValue('a'), new ConstantValue('b')])])
+        def value = new TypeConverterValue(User, composite)
+
+        when:
+        def first = value.get()
+        value.reset()
+        def second = value.get()
+
+        then:
+        !first.is(second)
+        first.name == 'a'
+        second.name == 'b'
+    }
+}
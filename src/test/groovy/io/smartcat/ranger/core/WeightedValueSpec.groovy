@@ -1,6 +1,8 @@
 package io.smartcat.ranger.core
 
 import io.smartcat.ranger.core.WeightedValue.WeightedValuePair
+import io.smartcat.ranger.distribution.UniformDistribution
+import io.smartcat.ranger.distribution.Xoroshiro128PlusPlusEngine
 import spock.lang.Unroll
 
 class WeightedValueSpec extends BaseValueSpec {
@@ -45,6 +47,61 @@ class WeightedValueSpec extends BaseValueSpec {
         10_000_000    | _
     }
 
+    def "distribution should follow weights when there are many values with skewed weights"() {
+        given:
+        def size = 1000
+        def pairs = (0..<size).collect { new WeightedValuePair(val(it), it % 10 == 0 ? 10 : 1) }
+        def value = new WeightedValue(pairs)
+        def numOfSamples = 1_000_000
+        def heavy = 0
+        def nums = new int[size]
+
+        when:
+        numOfSamples.times {
+            def index = value.get()
+            nums[index]++
+            if (index % 10 == 0) {
+                heavy++
+            }
+            value.reset()
+        }
+
+        then:
+        nums.every { it > 0 }
+        equals(1.0 * heavy / numOfSamples, 100 * 10 / (100 * 10 + 900), 0.01)
+    }
+
+    def "should always select value with only non negligible weight"() {
+        given:
+        def value = new WeightedValue([new WeightedValuePair(val(0), 1e-12), new WeightedValuePair(val(1), 1),
+            new WeightedValuePair(val(2), 1e-12)])
+
+        when:
+        def result = (1..1000).collect { def v = value.get(); value.reset(); v }
+
+        then:
+        result.count { it == 1 } >= 999
+    }
+
+    def "values should be selected by specified distribution"() {
+        given:
+        def pairs = (0..<10).collect { new WeightedValuePair(val(it), it + 1) }
+        def first = new WeightedValue(pairs, new UniformDistribution(new Xoroshiro128PlusPlusEngine(42)))
+        def second = new WeightedValue(pairs, new UniformDistribution(new Xoroshiro128PlusPlusEngine(42)))
+
+        expect:
+        (1..100).collect { def v = first.get(); first.reset(); v } ==
+            (1..100).collect { def v = second.get(); second.reset(); v }
+    }
+
+    def "should throw exception when distribution is null"() {
+        when:
+        new WeightedValue([new WeightedValuePair(val(1), 1)], null)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
     def equals(actual, expected, delta) {
         Math.abs(actual - expected) < delta
     }
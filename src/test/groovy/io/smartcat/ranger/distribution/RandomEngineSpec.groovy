@@ -0,0 +1,143 @@
+package io.smartcat.ranger.distribution
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class RandomEngineSpec extends Specification {
+
+    @Unroll
+    def "#engine.class.simpleName should generate values within bounds"() {
+        when:
+        def ints = (1..1000).collect { engine.nextInt(-5, 5) }
+        def bounded = (1..1000).collect { engine.nextInt(7) }
+        def longs = (1..1000).collect { engine.nextLong(Long.MIN_VALUE, Long.MIN_VALUE + 3) }
+        def wide = (1..1000).collect { engine.nextLong(-Long.MAX_VALUE, Long.MAX_VALUE) }
+        def doubles = (1..1000).collect { engine.nextDouble(1.5d, 2d) }
+
+        then:
+        ints.every { it >= -5 && it < 5 } && ints.toSet().size() == 10
+        bounded.every { it >= 0 && it < 7 } && bounded.toSet().size() == 7
+        longs.every { it >= Long.MIN_VALUE && it < Long.MIN_VALUE + 3 } && longs.toSet().size() == 3
+        wide.every { it >= -Long.MAX_VALUE && it < Long.MAX_VALUE }
+        doubles.every { it >= 1.5d && it < 2d }
+
+        where:
+        engine << [new SplittableRandomEngine(), new Xoroshiro128PlusPlusEngine(), new L64X128Engine(),
+            new JdkRandomEngine()]
+    }
+
+    @Unroll
+    def "#name engine should be uniform"() {
+        given:
+        def engine = RandomEngines.create(name)
+        def counts = new int[10]
+        def samples = 100000
+
+        when:
+        samples.times { counts[engine.nextInt(10)]++ }
+
+        then:
+        counts.every { Math.abs(it / samples - 0.1) < 0.01 }
+
+        where:
+        name << [RandomEngines.SPLITTABLE, RandomEngines.XOROSHIRO128PP, RandomEngines.L64X128, RandomEngines.JDK]
+    }
+
+    @Unroll
+    def "#name engine with same seed should generate same sequence"() {
+        given:
+        def first = RandomEngines.create(name, 42)
+        def second = RandomEngines.create(name, 42)
+        def other = RandomEngines.create(name, 43)
+
+        when:
+        def firstValues = (1..10).collect { first.nextLong() }
+        def secondValues = (1..10).collect { second.nextLong() }
+        def otherValues = (1..10).collect { other.nextLong() }
+
+        then:
+        firstValues == secondValues
+        firstValues != otherValues
+
+        where:
+        name << [RandomEngines.SPLITTABLE, RandomEngines.XOROSHIRO128PP, RandomEngines.L64X128, RandomEngines.JDK]
+    }
+
+    @Unroll
+    def "copy of #name engine without seed should be reseeded"() {
+        given:
+        def engine = RandomEngines.create(name)
+
+        when:
+        def copy = detach(engine)
+
+        then:
+        (1..10).collect { engine.nextLong() } != (1..10).collect { copy.nextLong() }
+
+        where:
+        name << [RandomEngines.SPLITTABLE, RandomEngines.XOROSHIRO128PP, RandomEngines.L64X128, RandomEngines.JDK]
+    }
+
+    @Unroll
+    def "copy of #name engine with seed should continue from state of the engine"() {
+        given:
+        def engine = RandomEngines.create(name, 42)
+        engine.nextLong()
+
+        when:
+        def copy = detach(engine)
+
+        then:
+        (1..10).collect { engine.nextLong() } == (1..10).collect { copy.nextLong() }
+
+        where:
+        name << [RandomEngines.SPLITTABLE, RandomEngines.XOROSHIRO128PP, RandomEngines.L64X128, RandomEngines.JDK]
+    }
+
+    @Unroll
+    def "positioned #name engine with seed should derive stream from seed and index"() {
+        given:
+        def engine = RandomEngines.create(name, 42)
+        def other = RandomEngines.create(name, 42)
+
+        when:
+        engine.position(7)
+        def seventh = (1..10).collect { engine.nextLong() }
+        engine.position(8)
+        def eighth = (1..10).collect { engine.nextLong() }
+        other.nextLong()
+        other.position(7)
+
+        then:
+        seventh != eighth
+        (1..10).collect { other.nextLong() } == seventh
+        def unpositioned = RandomEngines.create(name, 42)
+        (1..10).collect { unpositioned.nextLong() } != seventh
+
+        where:
+        name << [RandomEngines.SPLITTABLE, RandomEngines.XOROSHIRO128PP, RandomEngines.L64X128, RandomEngines.JDK]
+    }
+
+    def "splittable engine should generate same longs as splittable random with same seed"() {
+        given:
+        def engine = new SplittableRandomEngine(42)
+        def random = new SplittableRandom(42)
+
+        expect:
+        (1..100).collect { engine.nextLong() } == (1..100).collect { random.nextLong() }
+    }
+
+    def "should throw exception for unknown engine name"() {
+        when:
+        RandomEngines.create("mersenne")
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def detach(object) {
+        def bytes = new ByteArrayOutputStream()
+        new ObjectOutputStream(bytes).withCloseable { it.writeObject(object) }
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).withCloseable { it.readObject() }
+    }
+}
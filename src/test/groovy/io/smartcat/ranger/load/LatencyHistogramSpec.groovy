@@ -0,0 +1,91 @@
+package io.smartcat.ranger.load
+
+import spock.lang.Specification
+
+class LatencyHistogramSpec extends Specification {
+
+    def "should report exact values below 2048"() {
+        given:
+        def histogram = new LatencyHistogram()
+
+        when:
+        (1..1000).each { histogram.record(it) }
+
+        then:
+        histogram.totalCount == 1000
+        histogram.min == 1
+        histogram.max == 1000
+        histogram.mean == 500.5d
+        histogram.getValueAtPercentile(50) == 500
+        histogram.getValueAtPercentile(99) == 990
+        histogram.getValueAtPercentile(100) == 1000
+    }
+
+    def "should report percentiles within 0.1% of recorded values"() {
+        given:
+        def histogram = new LatencyHistogram()
+        def random = new Random(42)
+        def values = (1..10000).collect { (long) (random.nextDouble() * 1_000_000_000L) }.sort()
+
+        when:
+        values.each { histogram.record(it) }
+
+        then:
+        [10d, 50d, 90d, 99d, 99.9d].every {
+            def expected = values[(int) Math.ceil(it / 100 * values.size()) - 1]
+            def actual = histogram.getValueAtPercentile(it)
+            actual >= expected && actual <= expected * 1.001
+        }
+        histogram.getValueAtPercentile(100) == values.last()
+    }
+
+    def "should count values above highest trackable value as highest trackable value"() {
+        given:
+        def histogram = new LatencyHistogram(10_000)
+
+        when:
+        histogram.record(5)
+        histogram.record(1_000_000)
+
+        then:
+        histogram.max == 10_000
+        histogram.getValueAtPercentile(100) == 10_000
+    }
+
+    def "should add values of other histogram"() {
+        given:
+        def first = new LatencyHistogram()
+        def second = new LatencyHistogram()
+        (1..100).each { first.record(it) }
+        (101..200).each { second.record(it) }
+
+        when:
+        first.add(second)
+
+        then:
+        first.totalCount == 200
+        first.min == 1
+        first.max == 200
+        first.getValueAtPercentile(50) == 100
+    }
+
+    def "should report zeros when empty"() {
+        given:
+        def histogram = new LatencyHistogram()
+
+        expect:
+        histogram.totalCount == 0
+        histogram.min == 0
+        histogram.max == 0
+        histogram.mean == 0
+        histogram.getValueAtPercentile(99) == 0
+    }
+
+    def "should not accept negative values"() {
+        when:
+        new LatencyHistogram().record(-1)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,176 @@
+package io.smartcat.ranger.load
+
+import static io.smartcat.ranger.BuilderMethods.*
+
+import java.time.Duration
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import io.smartcat.ranger.parser.ConfigurationParser
+import io.smartcat.ranger.util.YamlUtils
+import spock.lang.Specification
+
+class LoadDriverSpec extends Specification {
+
+    def "should emit requested number of objects at target rate"() {
+        given:
+        def driver = new LoadDriver(random(range(1, 100)), RateProfile.constant(1000), 2)
+        def emitted = new ConcurrentLinkedQueue()
+
+        when:
+        def report = driver.run(500, { emitted.add(it) })
+
+        then:
+        emitted.size() == 500
+        emitted.every { it >= 1 && it < 100 }
+        report.count == 500
+        report.errors == 0
+        report.responseTime.totalCount == 500
+        report.duration.toMillis() >= 490
+        report.achievedRate <= 1030
+    }
+
+    def "should emit objects whose intended start time falls within duration"() {
+        given:
+        def driver = new LoadDriver(constant(1), RateProfile.constant(2000), 2)
+
+        when:
+        def report = driver.run(Duration.ofMillis(200), {})
+
+        then:
+        report.count == 400
+    }
+
+    def "should measure latency from intended start time when callback is slower than target rate"() {
+        given:
+        def driver = new LoadDriver(constant(1), RateProfile.constant(1000), 1)
+
+        when:
+        def report = driver.run(20, { Thread.sleep(5) })
+
+        then:
+        report.serviceTime.getValueAtPercentile(50) < TimeUnit.MILLISECONDS.toNanos(20)
+        report.scheduleLag.max >= TimeUnit.MILLISECONDS.toNanos(60)
+        report.responseTime.max >= report.scheduleLag.max + TimeUnit.MILLISECONDS.toNanos(5)
+    }
+
+    def "should count callback errors without stopping the run"() {
+        given:
+        def driver = new LoadDriver(circular(range(1, 11), 1), RateProfile.constant(10000), 1)
+
+        when:
+        def report = driver.run(10, { if (it % 2 == 0) throw new IllegalStateException("even " + it) })
+
+        then:
+        report.count == 10
+        report.errors == 5
+        report.firstError.message == "even 2"
+    }
+
+    def "seeded driver should emit same objects as seeded generator and move generator past them"() {
+        given:
+        def generator = random(range(1, 1000000), false).withSeed(7)
+        def expected = random(range(1, 1000000), false).withSeed(7).generate(200)
+        def emitted = new ConcurrentLinkedQueue()
+
+        when:
+        new LoadDriver(generator, RateProfile.constant(20000), 4).run(100, { emitted.add(it) })
+
+        then:
+        emitted.toList().sort() == expected.subList(0, 100).sort()
+        generator.generate(100) == expected.subList(100, 200)
+    }
+
+    def "workers should position circular values at schedule index and move generator past emitted objects"() {
+        given:
+        def generator = new ConfigurationParser(YamlUtils.load('''
+values:
+  user:
+    id: circular(1..1000000, 1)
+output: $user
+''')).build()
+        def ids = new ConcurrentLinkedQueue()
+
+        when:
+        def report = new LoadDriver(generator, RateProfile.constant(100000), 4).run(2000, { ids.add(it.id) })
+
+        then:
+        report.count == 2000
+        ids.toList().sort() == (1..2000).toList()
+        generator.next().id == 2001
+    }
+
+    def "should generate objects in single thread when generator contains values which cannot be positioned"() {
+        given:
+        def generator = new ConfigurationParser(YamlUtils.load('''
+values:
+  user:
+    id: circular(1..1000000, 1)
+    name: exactly([('a', 500), ('b', 500)])
+output: $user
+''')).build()
+        def users = new ConcurrentLinkedQueue()
+
+        when:
+        def report = new LoadDriver(generator, RateProfile.constant(100000), 4).run(600, { users.add(it) })
+
+        then:
+        report.count == 600
+        users.collect { it.id }.sort() == (1..600).toList()
+        users.count { it.name == 'a' } + users.count { it.name == 'b' } == 600
+        generator.next().id == 601
+    }
+
+    def "should stop the run"() {
+        given:
+        def driver = new LoadDriver(constant(1), RateProfile.constant(100), 1)
+        def count = new AtomicInteger()
+
+        when:
+        def report = driver.run(Duration.ofMinutes(1), { if (count.incrementAndGet() == 3) driver.stop() })
+
+        then:
+        report.count == 3
+    }
+
+    def "should not accept negative number of objects"() {
+        given:
+        def driver = new LoadDriver(constant(1), RateProfile.constant(1000), 1)
+
+        when:
+        driver.run(-1, {})
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "rate profiles should return rates"() {
+        expect:
+        RateProfile.constant(100).rateAt(123) == 100
+        RateProfile.ramp(100, 200, Duration.ofSeconds(10)).rateAt(0) == 100
+        RateProfile.ramp(100, 200, Duration.ofSeconds(10)).rateAt(TimeUnit.SECONDS.toNanos(5)) == 150
+        RateProfile.ramp(100, 200, Duration.ofSeconds(10)).rateAt(TimeUnit.SECONDS.toNanos(20)) == 200
+        RateProfile.step(Duration.ofSeconds(1), 10, 20, 30).rateAt(TimeUnit.MILLISECONDS.toNanos(1500)) == 20
+        RateProfile.step(Duration.ofSeconds(1), 10, 20, 30).rateAt(TimeUnit.SECONDS.toNanos(10)) == 30
+        RateProfile.sine(100, 50, Duration.ofSeconds(4)).rateAt(0) == 100
+        Math.abs(RateProfile.sine(100, 50, Duration.ofSeconds(4)).rateAt(TimeUnit.SECONDS.toNanos(1)) - 150) < 1e-9
+    }
+
+    def "rate profiles should not accept non positive rates"() {
+        when:
+        factory()
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        factory << [
+            { RateProfile.constant(0) },
+            { RateProfile.ramp(0, 10, Duration.ofSeconds(1)) },
+            { RateProfile.step(Duration.ofSeconds(1)) },
+            { RateProfile.sine(10, 10, Duration.ofSeconds(1)) },
+            { RateProfile.constant(Double.POSITIVE_INFINITY) }
+        ]
+    }
+}
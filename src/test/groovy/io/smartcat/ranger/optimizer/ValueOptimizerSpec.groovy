@@ -0,0 +1,174 @@
+package io.smartcat.ranger.optimizer
+
+import io.smartcat.ranger.ObjectGenerator
+import io.smartcat.ranger.core.CompositeValue
+import io.smartcat.ranger.core.ConstantValue
+import io.smartcat.ranger.core.RangeValueInt
+import io.smartcat.ranger.core.ValueProxy
+import io.smartcat.ranger.core.arithmetic.AdditionValueInteger
+import io.smartcat.ranger.parser.ConfigurationParser
+import io.smartcat.ranger.util.YamlUtils
+import spock.lang.Specification
+
+class ValueOptimizerSpec extends Specification {
+
+    def config = '''
+values:
+  x: random(-1000..1000)
+  y: random(1..1000)
+  seven: 7
+  unused: random(['a', 'b'])
+  user:
+    id: circular(1..1000, 1)
+    sum: add('int', $x, $y)
+    constantSum: add('int', multiply('int', $seven, 6), 100)
+    label: string('{}-{}', $seven, 'x')
+    name: random(['Mike', 'Steve', 'John'])
+    address:
+      first: $x
+      sum: add('int', $x, $y)
+output: $user
+'''
+
+    def "optimized generator should generate same objects as source generator"() {
+        given:
+        def source = parser(false).build().withSeed(5)
+        def optimized = parser(true).build().withSeed(5)
+
+        when:
+        def expected = (1..1000).collect { detach(source.next()) }
+        def actual = (1..1000).collect { detach(optimized.next()) }
+
+        then:
+        actual == expected
+    }
+
+    def "compiled optimized generator should generate same objects as source generator"() {
+        given:
+        def source = parser(false).build().withSeed(5)
+        def compiled = parser(true).build().withSeed(5).compile()
+
+        when:
+        def expected = (1..100).collect { detach(source.next()) }
+        def actual = (1..100).collect { detach(compiled.next()) }
+
+        then:
+        actual == expected
+    }
+
+    def "should fold arithmetic values and string transformers over constants"() {
+        given:
+        def parser = parser(true)
+
+        when:
+        def value = parser.build().value
+
+        then:
+        value.values.constantSum.class == ConstantValue
+        value.values.constantSum.get() == 142
+        value.values.label.class == ConstantValue
+        value.values.label.get() == '7-x'
+        value.values.sum instanceof AdditionValueInteger
+        parser.optimization.foldedValues == 2
+    }
+
+    def "should replace proxies with values they delegate to and keep shared values shared"() {
+        given:
+        def parser = parser(true)
+
+        when:
+        def value = parser.build().value
+        def first = value.values.address.values.first
+
+        then:
+        parser.optimization.after.proxies == 0
+        first instanceof RangeValueInt
+        value.values.sum.children[0].is(first)
+    }
+
+    def "should count values which are not reachable from output as pruned"() {
+        when:
+        def optimization = parser(true).with { build(); it.optimization }
+
+        then:
+        optimization.prunedValues == 2
+        optimization.before.values > optimization.after.values
+        optimization.toString().contains('pruned values: 2')
+    }
+
+    def "should keep state of seeded random engines"() {
+        given:
+        def config = '''
+values:
+  one: random(0..1000000, false, uniform('xoroshiro128pp', 42))
+  two: random(0..1000000, false, uniform('xoroshiro128pp', 42))
+  pair:
+    a: $one
+    b: $two
+output: $pair
+'''
+        def parser = new ConfigurationParser(YamlUtils.load(config))
+        parser.setOptimize(true)
+
+        when:
+        def result = parser.build().generate(20).collect { [it.a, it.b] }
+
+        then:
+        result.every { it[0] == it[1] }
+    }
+
+    def "should not fold values whose evaluation fails"() {
+        given:
+        def value = new AdditionValueInteger(new ConstantValue(1), new ValueProxy(new ConstantValue('a')))
+
+        when:
+        def optimization = ValueOptimizer.optimize(value)
+
+        then:
+        optimization.foldedValues == 0
+        optimization.value instanceof AdditionValueInteger
+
+        when:
+        new ObjectGenerator(optimization.value).next()
+
+        then:
+        thrown(ClassCastException)
+    }
+
+    def "should collect statistics of value graph"() {
+        given:
+        def shared = new ValueProxy(new ConstantValue(1))
+        def value = new CompositeValue([a: shared, b: shared, c: new ConstantValue(2)])
+
+        when:
+        def statistics = GraphStatistics.of(value)
+
+        then:
+        statistics.values == 4
+        statistics.proxies == 1
+        statistics.constants == 2
+        statistics.references == 4
+    }
+
+    def "should not optimize by default"() {
+        given:
+        def parser = new ConfigurationParser(YamlUtils.load(config))
+
+        when:
+        def value = parser.build().value
+
+        then:
+        parser.optimization == null
+        value instanceof ValueProxy
+    }
+
+    def parser(boolean optimize) {
+        def parser = new ConfigurationParser(YamlUtils.load(config))
+        parser.setOptimize(optimize)
+        parser
+    }
+
+    def detach(Map map) {
+        map.collectEntries { k, v -> [k, v instanceof Map ? new HashMap(v) : v] }
+    }
+}
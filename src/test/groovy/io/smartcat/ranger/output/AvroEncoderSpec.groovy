@@ -0,0 +1,104 @@
+package io.smartcat.ranger.output
+
+import static io.smartcat.ranger.BuilderMethods.*
+
+import java.time.LocalDate
+
+import io.smartcat.ranger.ObjectGeneratorBuilder
+import spock.lang.Specification
+
+class AvroEncoderSpec extends Specification {
+
+    def schema = '''
+{
+  "type": "record",
+  "name": "User",
+  "namespace": "io.smartcat",
+  "fields": [
+    {"name": "id", "type": "long"},
+    {"name": "name", "type": "string"},
+    {"name": "score", "type": "double"},
+    {"name": "tags", "type": {"type": "array", "items": "string"}},
+    {"name": "tier", "type": {"type": "enum", "name": "Tier", "symbols": ["gold", "silver"]}},
+    {"name": "nick", "type": ["null", "string"]},
+    {"name": "friend", "type": ["null", "User"]}
+  ]
+}
+'''
+
+    def bytes(List values) {
+        values.collect { it instanceof String ? it.bytes.toList() : [it] }.flatten() as byte[]
+    }
+
+    def "should encode record in avro binary encoding"() {
+        given:
+        def encoder = new AvroEncoder(schema)
+        def friend = [id: -1L, name: '', score: 0.5d, tags: [], tier: 'gold', nick: null, friend: null]
+        def record = [id: 64L, name: 'ab', score: 1.0d, tags: ['x'], tier: 'silver', nick: 'q', friend: friend]
+
+        when:
+        def result = encoder.encode(record)
+
+        then:
+        result == bytes([0x80, 0x01, 0x04, 'ab', 0, 0, 0, 0, 0, 0, 0xF0, 0x3F, 0x02, 0x02, 'x', 0, 0x02, 0x02, 0x02,
+            'q', 0x02, 0x01, 0x00, 0, 0, 0, 0, 0, 0, 0xE0, 0x3F, 0x00, 0x00, 0x00, 0x00])
+    }
+
+    def "should encode other primitive types"() {
+        given:
+        def encoder = new AvroEncoder('''
+{"type": "record", "name": "R", "fields": [
+  {"name": "i", "type": "int"}, {"name": "b", "type": "boolean"}, {"name": "f", "type": "float"},
+  {"name": "bytes", "type": "bytes"}, {"name": "fixed", "type": {"type": "fixed", "name": "F", "size": 2}},
+  {"name": "date", "type": {"type": "int", "logicalType": "date"}}, {"name": "m", "type": {"type": "map",
+  "values": "int"}}, {"name": "u", "type": ["int", "string"]}
+]}''')
+
+        when:
+        def result = encoder.encode([i: (short) -3, b: true, f: 1.0f, bytes: [7] as byte[], fixed: [1, 2] as byte[],
+            date: LocalDate.ofEpochDay(2), m: [k: 1], u: 'ž'])
+
+        then:
+        result == bytes([0x05, 0x01, 0, 0, 0x80, 0x3F, 0x02, 0x07, 0x01, 0x02, 0x04, 0x02, 0x02, 'k', 0x02, 0x00,
+            0x02, 0x04, 0xC5, 0xBE])
+    }
+
+    def "should encode records produced by generator same as maps"() {
+        given:
+        def encoder = new AvroEncoder(schema)
+        def generator = new ObjectGeneratorBuilder().prop('id', random(range(0L, 1000L))).prop('name', 'mike')
+                .prop('score', random(range(0.0d, 1.0d))).prop('tags', list([constant('a'), constant('b')]))
+                .prop('tier', random('gold', 'silver')).prop('nick', constant(null)).prop('friend', constant(null))
+                .build()
+
+        expect:
+        (1..20).every {
+            def record = generator.next()
+            encoder.encode(record) == encoder.encode(new HashMap(record))
+        }
+    }
+
+    def "should throw exception when value does not match schema"() {
+        given:
+        def encoder = new AvroEncoder(schema)
+
+        when:
+        encoder.encode([id: 'one', name: 'ab', score: 1.0d, tags: [], tier: 'gold'])
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message.contains("'id'")
+    }
+
+    def "should throw exception when schema is invalid"() {
+        when:
+        new AvroEncoder(invalid)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        invalid << ['"string"', '{"type": "record", "name": "R"}', '{"type": "record", "name": "R", "fields": [{"name":'
+            + ' "a", "type": "Unknown"}]}', 'not json']
+    }
+}
@@ -0,0 +1,128 @@
+package io.smartcat.ranger.output
+
+import io.smartcat.ranger.core.Record
+import io.smartcat.ranger.core.RecordSchema
+import io.smartcat.ranger.schema.ValueType
+import spock.lang.Specification
+
+class ColumnBatchBuilderSpec extends Specification {
+
+    def "should infer column types from first values"() {
+        given:
+        def builder = new ColumnBatchBuilder(1)
+
+        when:
+        def batch = builder.add([i: 1, s: (short) 2, l: 3L, f: 1.5f, d: 2.5d, b: true, o: 'x'])
+                .add([i: 4, s: (short) 5, l: 6L, f: 3.5f, d: 4.5d, b: false, o: 'y']).build()
+
+        then:
+        batch.size() == 2
+        batch.columnNames == ['i', 's', 'l', 'f', 'd', 'b', 'o']
+        (0..6).collect { batch.getColumnType(it) } == [ColumnType.INT, ColumnType.INT, ColumnType.LONG,
+            ColumnType.FLOAT, ColumnType.DOUBLE, ColumnType.BOOLEAN, ColumnType.OBJECT]
+        batch.getIntColumn(0) == [1, 4] as int[]
+        batch.getIntColumn(1) == [2, 5] as int[]
+        batch.getLongColumn(2) == [3L, 6L] as long[]
+        batch.getFloatColumn(3) == [1.5f, 3.5f] as float[]
+        batch.getDoubleColumn(4) == [2.5d, 4.5d] as double[]
+        batch.getBooleanColumn(5) == [true, false] as boolean[]
+        batch.getObjectColumn(6) == ['x', 'y'] as Object[]
+    }
+
+    def "should track nulls and missing keys"() {
+        when:
+        def batch = new ColumnBatchBuilder().add([a: null, b: 1]).add([a: 2L]).add([a: 3L, b: 4]).build()
+
+        then:
+        batch.getColumnType(0) == ColumnType.LONG
+        batch.getColumnType(1) == ColumnType.INT
+        (0..2).collect { batch.get(0, it) } == [null, 2L, 3L]
+        (0..2).collect { batch.get(1, it) } == [1, null, 4]
+        batch.isNull(0, 0)
+        !batch.isNull(0, 1)
+        batch.getIntColumn(1) == [1, 0, 4] as int[]
+    }
+
+    def "should fall back to object column when values do not fit column type"() {
+        when:
+        def batch = new ColumnBatchBuilder().add([a: 1]).add([a: null]).add([a: 'two']).add([a: 3L]).build()
+
+        then:
+        batch.getColumnType(0) == ColumnType.OBJECT
+        batch.getObjectColumn(0) == [1, null, 'two', 3L] as Object[]
+    }
+
+    def "should type columns by record schema"() {
+        given:
+        def schema = ValueType.record([id: ValueType.of(ValueType.Kind.LONG),
+            score: ValueType.of(ValueType.Kind.DOUBLE).nullable(), name: ValueType.of(ValueType.Kind.STRING),
+            any: ValueType.ANY])
+        def recordSchema = new RecordSchema(['id', 'score', 'name', 'any'])
+
+        when:
+        def batch = new ColumnBatchBuilder(schema, 2).add(new Record(recordSchema, [1L, null, 'a', 1] as Object[]))
+                .add(new Record(recordSchema, [2L, null, 'b', 2] as Object[])).build()
+
+        then:
+        batch.columnNames == ['id', 'score', 'name', 'any']
+        (0..3).collect { batch.getColumnType(it) } == [ColumnType.LONG, ColumnType.DOUBLE, ColumnType.OBJECT,
+            ColumnType.INT]
+        batch.getLongColumn(0) == [1L, 2L] as long[]
+        batch.isNull(1, 0)
+        batch.isNull(1, 1)
+        batch.getObjectColumn(2) == ['a', 'b'] as Object[]
+    }
+
+    def "should take columns from first map when schema is not a record schema"() {
+        when:
+        def batch = new ColumnBatchBuilder(ValueType.ANY, 1).add([a: 1]).build()
+
+        then:
+        batch.columnNames == ['a']
+        batch.getColumnType(0) == ColumnType.INT
+    }
+
+    def "should read records by slots and grow columns"() {
+        given:
+        def schema = new RecordSchema(['id', 'name'])
+        def builder = new ColumnBatchBuilder(0)
+
+        when:
+        100.times { builder.add(new Record(schema, [it, 'name' + it] as Object[])) }
+        def batch = builder.build()
+
+        then:
+        batch.size() == 100
+        batch.getIntColumn(0) == (0..99) as int[]
+        batch.getObjectColumn(1) == (0..99).collect { 'name' + it } as Object[]
+    }
+
+    def "column with only nulls should be object column"() {
+        when:
+        def batch = new ColumnBatchBuilder().add([a: null]).add([a: null]).build()
+
+        then:
+        batch.getColumnType(0) == ColumnType.OBJECT
+        batch.getObjectColumn(0) == [null, null] as Object[]
+    }
+
+    def "should throw exception when column is read as wrong type"() {
+        given:
+        def batch = new ColumnBatchBuilder().add([a: 1]).build()
+
+        when:
+        batch.getLongColumn(0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "empty builder should build empty batch"() {
+        when:
+        def batch = new ColumnBatchBuilder().build()
+
+        then:
+        batch.size() == 0
+        batch.columnCount() == 0
+    }
+}
@@ -0,0 +1,104 @@
+package io.smartcat.ranger.output
+
+import java.time.LocalDate
+import java.time.LocalDateTime
+import java.time.format.DateTimeFormatter
+
+import io.smartcat.ranger.core.Record
+import io.smartcat.ranger.core.RecordSchema
+import spock.lang.Specification
+
+class CsvWriterSpec extends Specification {
+
+    def "should write header and records with minimal quoting"() {
+        given:
+        def out = new ByteArrayOutputStream()
+        def schema = new RecordSchema(['id', 'name', 'score', 'note'])
+
+        when:
+        new CsvWriter(out, new CsvWriterSettings()).withCloseable { writer ->
+            writer.write(new Record(schema, [1, 'plain', 1.5d, null] as Object[]))
+            writer.write(new Record(schema, [-20L, 'a,b', (byte) 3, 'say "hi"'] as Object[]))
+            writer.write([id: Long.MIN_VALUE, name: 'line\nbreak', score: 0, note: 'žćš 😀'])
+        }
+
+        then:
+        out.toString('UTF-8') == 'id,name,score,note\n' +
+                '1,plain,1.5,\n' +
+                '-20,"a,b",3,"say ""hi"""\n' +
+                '-9223372036854775808,"line\nbreak",0,žćš 😀\n'
+    }
+
+    def "should write tsv with escape character, quoting all values and without header"() {
+        given:
+        def out = new ByteArrayOutputStream()
+        def settings = new CsvWriterSettings('\t' as char, '\r\n', "'" as char, '\\' as char, true, 'NULL', false)
+
+        when:
+        new CsvWriter(out, settings).withCloseable { writer ->
+            writer.write([a: "it's", b: 12, c: null])
+        }
+
+        then:
+        out.toString('UTF-8') == "'it\\'s'\t'12'\tNULL\r\n"
+    }
+
+    def "should format dates without losing precision"() {
+        given:
+        def out = new ByteArrayOutputStream()
+        def dateTimes = [LocalDateTime.of(2017, 1, 2, 3, 4), LocalDateTime.of(1999, 12, 31, 23, 59, 59, 120_000_000),
+            LocalDateTime.of(2020, 2, 29, 0, 0, 0, 1)]
+
+        when:
+        new CsvWriter(out, new CsvWriterSettings()).withCloseable { writer ->
+            dateTimes.each { writer.write([dateTime: it, date: it.toLocalDate(), millis: new Date(1234L)]) }
+        }
+
+        then:
+        out.toString('UTF-8').split('\n') as List == ['dateTime,date,millis'] + dateTimes.collect {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(it) + ',' + it.toLocalDate() + ',1970-01-01T00:00:01.234Z'
+        }
+    }
+
+    def "should write all dates as epoch milliseconds when configured"() {
+        given:
+        def out = new ByteArrayOutputStream()
+        def settings = new CsvWriterSettings(',' as char, '\n', '"' as char, null, false, '', false, true)
+        def dateTime = LocalDateTime.of(1999, 12, 31, 23, 59, 59, 120_000_000)
+        def millis = dateTime.toInstant(java.time.ZoneOffset.UTC).toEpochMilli()
+
+        when:
+        new CsvWriter(out, settings).withCloseable { writer ->
+            writer.write([dateTime: dateTime, date: dateTime.toLocalDate(), millis: new Date(millis)])
+        }
+
+        then:
+        out.toString('UTF-8') == "${millis},${millis - 86_399_120L},${millis}\n"
+    }
+
+    def "should write floating point numbers exactly"() {
+        given:
+        def out = new ByteArrayOutputStream()
+        def settings = new CsvWriterSettings(',' as char, '\n', '"' as char, null, true, '', false)
+
+        when:
+        new CsvWriter(out, settings).withCloseable { writer -> writer.write([d: 0.1d, f: 1.5f, small: 1e-10d]) }
+
+        then:
+        out.toString('UTF-8') == '"0.1","1.5","1.0E-10"\n'
+    }
+
+    def "should flush when buffer is full"() {
+        given:
+        def out = new ByteArrayOutputStream()
+        def value = 'x' * 1000
+
+        when:
+        new CsvWriter(java.nio.channels.Channels.newChannel(out), new CsvWriterSettings(), 64).withCloseable {
+            writer -> 10.times { writer.write([value: value, index: it]) }
+        }
+
+        then:
+        out.toString('UTF-8') == 'value,index\n' + (0..9).collect { value + ',' + it + '\n' }.join()
+    }
+}
@@ -0,0 +1,39 @@
+package io.smartcat.ranger.output
+
+import java.time.LocalDate
+
+import com.fasterxml.jackson.databind.ObjectMapper
+
+import io.smartcat.ranger.core.Record
+import io.smartcat.ranger.core.RecordSchema
+import spock.lang.Specification
+
+class JsonLinesWriterSpec extends Specification {
+
+    def "should write objects same way object mapper writes them"() {
+        given:
+        def mapper = new ObjectMapper()
+        def record = new Record(new RecordSchema(['name', 'inner', 'nothing']), ['x', [a: 1.5f, b: [1, 2L]], null]
+                as Object[])
+        def objects = [record, [date: new Date(1000), day: LocalDate.of(2017, 1, 1), c: 'c' as char],
+            [(byte) 1, (short) 2, 3.25d, true, 'text "quoted"\n'], 'plain', 7, null]
+        def out = new ByteArrayOutputStream()
+
+        when:
+        new JsonLinesWriter(out).withCloseable { writer -> objects.each { writer.write(it) } }
+
+        then:
+        out.toString("UTF-8") == objects.collect { mapper.writeValueAsString(it) + "\n" }.join()
+    }
+
+    def "closing writer should not close stream"() {
+        given:
+        def out = Mock(OutputStream)
+
+        when:
+        new JsonLinesWriter(out).close()
+
+        then:
+        0 * out.close()
+    }
+}
@@ -0,0 +1,81 @@
+package io.smartcat.ranger.output
+
+import java.util.concurrent.Executors
+import java.util.zip.GZIPInputStream
+
+import spock.lang.Specification
+
+class ParallelGzipOutputStreamSpec extends Specification {
+
+    def executor = Executors.newFixedThreadPool(4)
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    def decompress(byte[] bytes) {
+        new GZIPInputStream(new ByteArrayInputStream(bytes)).bytes
+    }
+
+    def "should compress blocks into concatenated gzip members"() {
+        given:
+        def random = new Random(7)
+        def data = (1..10_000).collect { 'line ' + random.nextInt(1000) + '\n' }.join().getBytes('UTF-8')
+        def out = new ByteArrayOutputStream()
+
+        when:
+        new ParallelGzipOutputStream(out, executor, 1000, 6).withCloseable { gzip ->
+            gzip.write(data, 0, 5)
+            gzip.write(data[5])
+            gzip.write(data, 6, data.length - 6)
+        }
+
+        then:
+        decompress(out.toByteArray()) == data
+        out.size() < data.length
+    }
+
+    def "flush should write all written bytes"() {
+        given:
+        def out = new ByteArrayOutputStream()
+        def gzip = new ParallelGzipOutputStream(out, executor, 1 << 16, -1)
+
+        when:
+        gzip.write('first'.bytes)
+        gzip.flush()
+
+        then:
+        decompress(out.toByteArray()) == 'first'.bytes
+
+        when:
+        gzip.write('second'.bytes)
+        gzip.close()
+
+        then:
+        decompress(out.toByteArray()) == 'firstsecond'.bytes
+    }
+
+    def "empty stream should be valid gzip file"() {
+        given:
+        def out = new ByteArrayOutputStream()
+
+        when:
+        new ParallelGzipOutputStream(out).close()
+
+        then:
+        out.size() > 0
+        decompress(out.toByteArray()).length == 0
+    }
+
+    def "should throw exception when writing to closed stream"() {
+        given:
+        def gzip = new ParallelGzipOutputStream(new ByteArrayOutputStream())
+        gzip.close()
+
+        when:
+        gzip.write(1)
+
+        then:
+        thrown(IOException)
+    }
+}
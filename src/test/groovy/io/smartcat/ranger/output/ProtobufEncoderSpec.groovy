@@ -0,0 +1,83 @@
+package io.smartcat.ranger.output
+
+import spock.lang.Specification
+
+class ProtobufEncoderSpec extends Specification {
+
+    def bytes(List values) {
+        values.collect { it instanceof String ? it.bytes.toList() : [it] }.flatten() as byte[]
+    }
+
+    def "should encode message in protobuf wire format"() {
+        given:
+        def nested = new ProtobufEncoderBuilder().field(1, 'a', ProtobufType.INT32).build()
+        def encoder = new ProtobufEncoderBuilder().field(1, 'a', ProtobufType.INT64)
+                .field(2, 'b', ProtobufType.STRING).message(3, 'c', nested).repeated(4, 'd', ProtobufType.INT32)
+                .build()
+
+        when:
+        def result = encoder.encode([a: 150L, b: 'testing', c: [a: 150], d: [3, 270, 86942]])
+
+        then:
+        result == bytes([0x08, 0x96, 0x01, 0x12, 0x07, 'testing', 0x1A, 0x03, 0x08, 0x96, 0x01, 0x22, 0x06, 0x03,
+            0x8E, 0x02, 0x9E, 0xA7, 0x05])
+    }
+
+    def "should encode scalar types"() {
+        given:
+        def encoder = new ProtobufEncoderBuilder().field(1, 'int32', ProtobufType.INT32)
+                .field(2, 'sint32', ProtobufType.SINT32).field(3, 'bool', ProtobufType.BOOL)
+                .field(4, 'fixed32', ProtobufType.FIXED32).field(5, 'double', ProtobufType.DOUBLE)
+                .field(6, 'uint32', ProtobufType.UINT32).field(16, 'bytes', ProtobufType.BYTES).build()
+
+        when:
+        def result = encoder.encode([int32: -1, sint32: -1, bool: true, fixed32: 1, double: 1.0d, uint32: -1,
+            bytes: [9] as byte[]])
+
+        then:
+        result == bytes([0x08, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01, 0x10, 0x01, 0x18, 0x01,
+            0x25, 0x01, 0, 0, 0, 0x29, 0, 0, 0, 0, 0, 0, 0xF0, 0x3F, 0x30, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F, 0x82, 0x01,
+            0x01, 0x09])
+    }
+
+    def "should skip null values and empty repeated fields and repeat strings and messages"() {
+        given:
+        def nested = new ProtobufEncoderBuilder().field(1, 'a', ProtobufType.SINT64).build()
+        def encoder = new ProtobufEncoderBuilder().field(1, 'missing', ProtobufType.INT32)
+                .repeated(2, 'empty', ProtobufType.INT32).repeated(3, 'strings', ProtobufType.STRING)
+                .repeatedMessage(4, 'messages', nested).build()
+
+        when:
+        def result = encoder.encode([empty: [], strings: ['x', 'y'], messages: [[a: -2L], [a: 2L]]])
+
+        then:
+        result == bytes([0x1A, 0x01, 'x', 0x1A, 0x01, 'y', 0x22, 0x02, 0x08, 0x03, 0x22, 0x02, 0x08, 0x04])
+    }
+
+    def "should write encoded records to output stream"() {
+        given:
+        def encoder = new ProtobufEncoderBuilder().field(1, 'a', ProtobufType.INT32).build()
+        def out = new ByteArrayOutputStream()
+
+        when:
+        encoder.encode([a: 1], out)
+        encoder.encode([a: 2], out)
+
+        then:
+        out.toByteArray() == bytes([0x08, 0x01, 0x08, 0x02])
+    }
+
+    def "should throw exception when field is declared twice or value does not match type"() {
+        when:
+        new ProtobufEncoderBuilder().field(1, 'a', ProtobufType.INT32).field(1, 'b', ProtobufType.INT32)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        new ProtobufEncoderBuilder().field(1, 'a', ProtobufType.INT32).build().encode([a: 'one'])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
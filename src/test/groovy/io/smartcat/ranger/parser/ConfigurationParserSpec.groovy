@@ -10,8 +10,12 @@ import org.hamcrest.core.Every
 import io.smartcat.ranger.core.InvalidRangeBoundsException
 import io.smartcat.ranger.core.RangeValueDouble
 import io.smartcat.ranger.core.ExactWeightedValue.ExactWeightedValueDepletedException
+import io.smartcat.ranger.distribution.JdkRandomEngine
+import io.smartcat.ranger.distribution.L64X128Engine
 import io.smartcat.ranger.distribution.NormalDistribution
+import io.smartcat.ranger.distribution.SplittableRandomEngine
 import io.smartcat.ranger.distribution.UniformDistribution
+import io.smartcat.ranger.distribution.Xoroshiro128PlusPlusEngine
 import io.smartcat.ranger.util.YamlUtils
 import spock.lang.IgnoreRest
 import spock.lang.Specification
@@ -538,6 +542,64 @@ output: \$age
         dataGenerator.value.delegate.distribution.class == UniformDistribution
     }
 
+    @Unroll
+    def "should parse uniform distribution with #engineClass.simpleName engine"() {
+        given:
+        def config = """
+values:
+  age: random(-20..10, false, uniform($args))
+output: \$age
+"""
+        when:
+        def dataGenerator = buildGenerator(config)
+
+        then:
+        dataGenerator.value.delegate.distribution.engine.class == engineClass
+        (1..100).every { dataGenerator.next() in -20..9 }
+
+        where:
+        args                       | engineClass
+        "'splittable'"             | SplittableRandomEngine
+        "'xoroshiro128pp', 42"     | Xoroshiro128PlusPlusEngine
+        "\"l64x128\", 7"           | L64X128Engine
+        "'jdk'"                    | JdkRandomEngine
+    }
+
+    def "should generate same values for uniform distributions with same engine seed"() {
+        given:
+        def config = """
+values:
+  one: random(0..1000000, false, uniform('xoroshiro128pp', 42))
+  two: random(0..1000000, false, uniform('xoroshiro128pp', 42))
+  pair:
+    a: \$one
+    b: \$two
+output: \$pair
+"""
+        def dataGenerator = buildGenerator(config)
+
+        when:
+        def result = (1..20).collect { dataGenerator.next().with { [it.a, it.b] } }
+
+        then:
+        result.every { it[0] == it[1] }
+        result.collect { it[0] }.toSet().size() > 1
+    }
+
+    def "should fail to parse uniform distribution with unknown engine"() {
+        given:
+        def config = """
+values:
+  age: random(-20..10, false, uniform('mersenne'))
+output: \$age
+"""
+        when:
+        buildGenerator(config)
+
+        then:
+        thrown(Exception)
+    }
+
     def "should parse int range value with default normal distribution when specified"() {
         given:
         def config = """
@@ -1627,6 +1689,23 @@ output: \$value
         """("a", 2),('b', 3.2) , ("c", 2), ("d", 5.3)""" | ["a", "b", "c", "d"]
     }
 
+    def "should parse weighted value with distribution"() {
+        given:
+        def config = """
+values:
+  value: weighted([('a', 1), ('b', 2), ('c', 3)], uniform('xoroshiro128pp', 42))
+output: \$value
+"""
+
+        when:
+        def first = buildGenerator(config).generate(50)
+        def second = buildGenerator(config).generate(50)
+
+        then:
+        first == second
+        first as Set == ['a', 'b', 'c'] as Set
+    }
+
     @Unroll
     def "should parse exact weighted value #expression"() {
         given:
@@ -1866,6 +1945,52 @@ output: 3
         result  == 3
     }
 
+    def "subsequent builds should resolve references within their own configuration"() {
+        given:
+        def first = buildGenerator("""
+values:
+  a: 1
+  b: \$a
+output: \$b
+""")
+
+        when:
+        def second = buildGenerator("""
+values:
+  a: 2
+  b: \$a
+output: \$b
+""")
+
+        then:
+        first.next() == 1
+        second.next() == 2
+    }
+
+    def "configurations should be built concurrently"() {
+        given:
+        def configs = (1..8).collect { i -> """
+values:
+  a: ${i}
+  b: circular(1..${i + 10}, 1)
+  c:
+    x: \$a
+    y: \$b
+output: \$c
+""" }
+
+        def results = Collections.synchronizedMap([:])
+
+        when:
+        configs.withIndex().collect { config, i ->
+            Thread.start { (1..20).each { results[i] = buildGenerator(config).next() } }
+        }*.join()
+
+        then:
+        (0..7).collect { results[it].x } == (1..8).toList()
+        (0..7).every { results[it].y == 1 }
+    }
+
     def buildGenerator(config) {
         def root = YamlUtils.load(config)
         new ConfigurationParser(root).build()
@@ -0,0 +1,45 @@
+package io.smartcat.ranger.parser
+
+import io.smartcat.ranger.util.YamlUtils
+
+/**
+ * Runs whole {@link ConfigurationParserSpec} with expressions parsed by {@link RecursiveDescentParser}.
+ */
+class RecursiveDescentConfigurationParserSpec extends ConfigurationParserSpec {
+
+    def "should parse csv value nested in another expression"() {
+        given:
+        def config = """
+values:
+  a: random([csv('src/test/resources/csv/a.csv')])
+output: \$a
+"""
+
+        when:
+        def generator = buildGenerator(config)
+
+        then:
+        generator.next() != null
+    }
+
+    def "should fail on expression which cannot be parsed"() {
+        given:
+        def config = """
+values:
+  a: '"unterminated'
+output: \$a
+"""
+
+        when:
+        buildGenerator(config)
+
+        then:
+        thrown(RuntimeException)
+    }
+
+    @Override
+    def buildGenerator(config) {
+        def root = YamlUtils.load(config)
+        new ConfigurationParser(root, ExpressionParserType.RECURSIVE_DESCENT).build()
+    }
+}
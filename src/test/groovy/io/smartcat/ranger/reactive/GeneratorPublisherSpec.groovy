@@ -0,0 +1,229 @@
+package io.smartcat.ranger.reactive
+
+import static io.smartcat.ranger.BuilderMethods.*
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.stream.Collectors
+
+import io.smartcat.ranger.ObjectGenerator
+import io.smartcat.ranger.core.Value
+import io.smartcat.ranger.parser.ConfigurationParser
+import io.smartcat.ranger.util.YamlUtils
+import spock.lang.Specification
+
+class GeneratorPublisherSpec extends Specification {
+
+    def "should publish no more objects than requested"() {
+        given:
+        def publisher = circular(range(1, 1000), 1).publisher(100, { it.run() }, 8)
+        def subscriber = new RecordingSubscriber()
+        publisher.subscribe(subscriber)
+
+        when:
+        subscriber.subscription.request(10)
+
+        then:
+        subscriber.items == (1..10).toList()
+        !subscriber.completed
+
+        when:
+        subscriber.subscription.request(90)
+
+        then:
+        subscriber.items == (1..100).toList()
+        subscriber.completed
+    }
+
+    def "should complete without demand when there is nothing to publish"() {
+        given:
+        def subscriber = new RecordingSubscriber()
+
+        when:
+        constant(1).publisher(0, { it.run() }, 8).subscribe(subscriber)
+
+        then:
+        subscriber.items.empty
+        subscriber.completed
+    }
+
+    def "should signal error on non positive request"() {
+        given:
+        def subscriber = new RecordingSubscriber()
+        constant(1).publisher(10, { it.run() }, 8).subscribe(subscriber)
+
+        when:
+        subscriber.subscription.request(0)
+
+        then:
+        subscriber.error instanceof IllegalArgumentException
+        subscriber.items.empty
+    }
+
+    def "should stop publishing when cancelled"() {
+        given:
+        def subscriber = new RecordingSubscriber(cancelAfter: 5)
+        constant(1).publisher(100, { it.run() }, 2).subscribe(subscriber)
+
+        when:
+        subscriber.subscription.request(Long.MAX_VALUE)
+
+        then:
+        subscriber.items.size() == 5
+        !subscriber.completed
+    }
+
+    def "should signal error when generator fails"() {
+        given:
+        def failing = new ObjectGenerator<Integer>(new FailingValue())
+        def subscriber = new RecordingSubscriber()
+        failing.publisher(10, { it.run() }, 8).subscribe(subscriber)
+
+        when:
+        subscriber.subscription.request(1)
+
+        then:
+        subscriber.error.message == "failed"
+    }
+
+    def "each subscriber should receive whole sequence"() {
+        given:
+        def generator = circular(range(1, 1000), 1)
+        def publisher = generator.publisher(5, { it.run() }, 8)
+        def first = new RecordingSubscriber()
+        def second = new RecordingSubscriber()
+
+        when:
+        publisher.subscribe(first)
+        publisher.subscribe(second)
+        first.subscription.request(10)
+        second.subscription.request(10)
+
+        then:
+        first.items == [1, 2, 3, 4, 5]
+        second.items == [1, 2, 3, 4, 5]
+        generator.next() == 1
+    }
+
+    def "should publish on executor with unbounded demand"() {
+        given:
+        def executor = Executors.newFixedThreadPool(2)
+        def subscriber = new RecordingSubscriber()
+        circular(range(1, 100_001), 1).publisher(100_000, executor, 64).subscribe(subscriber)
+
+        when:
+        subscriber.subscription.request(Long.MAX_VALUE)
+
+        then:
+        subscriber.done.await(10, TimeUnit.SECONDS)
+        subscriber.items == (1..100_000).toList()
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "iterator should return all objects"() {
+        when:
+        def iterator = circular(range(1, 10_001), 1).publisher(10_000).iterator(16)
+
+        then:
+        iterator.collect() == (1..10_000).toList()
+        !iterator.hasNext()
+    }
+
+    def "stream should be lazy and cancellable"() {
+        when:
+        def stream = circular(range(1, 1_000_001), 1).stream(Long.MAX_VALUE)
+        def result = stream.filter { it % 2 == 0 }.limit(5).collect(Collectors.toList())
+        stream.close()
+
+        then:
+        result == [2, 4, 6, 8, 10]
+    }
+
+    def "should emit each composite object before generating the next one"() {
+        given:
+        def ids = []
+        def subscriber = new RecordingSubscriber() {
+            void onNext(Object item) {
+                ids.add(item.id)
+            }
+        }
+        compositeGenerator().publisher(100, { it.run() }, 32).subscribe(subscriber)
+
+        when:
+        subscriber.subscription.request(100)
+
+        then:
+        ids == (1..100).toList()
+    }
+
+    def "stream and iterator should buffer detached composite objects"() {
+        when:
+        def stream = compositeGenerator().stream(1000)
+        def ids = stream.map { it.id }.collect(Collectors.toList())
+        def users = compositeGenerator().publisher(100).iterator(64).collect()
+
+        then:
+        ids == (1..1000).toList()
+        users.collect { it.id } == (1..100).toList()
+        users.collect { System.identityHashCode(it) }.unique().size() == 100
+    }
+
+    def compositeGenerator() {
+        new ConfigurationParser(YamlUtils.load('''
+values:
+  user:
+    id: circular(1..1000000, 1)
+output: $user
+''')).build()
+    }
+
+    def "iterator should rethrow generator failure"() {
+        when:
+        new ObjectGenerator<Integer>(new FailingValue()).publisher(10).iterator(4).hasNext()
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == "failed"
+    }
+
+    static class RecordingSubscriber implements Subscriber<Object> {
+
+        Subscription subscription
+        List<Object> items = Collections.synchronizedList([])
+        Throwable error
+        boolean completed
+        int cancelAfter = -1
+        CountDownLatch done = new CountDownLatch(1)
+
+        void onSubscribe(Subscription subscription) {
+            this.subscription = subscription
+        }
+
+        void onNext(Object item) {
+            items.add(item)
+            if (items.size() == cancelAfter) {
+                subscription.cancel()
+            }
+        }
+
+        void onError(Throwable throwable) {
+            error = throwable
+            done.countDown()
+        }
+
+        void onComplete() {
+            completed = true
+            done.countDown()
+        }
+    }
+
+    static class FailingValue extends Value<Integer> {
+
+        protected void eval() {
+            throw new IllegalStateException("failed")
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package io.smartcat.ranger.schema
+
+import io.smartcat.ranger.ObjectGenerator
+import io.smartcat.ranger.core.ConstantValue
+import io.smartcat.ranger.core.ValueProxy
+import io.smartcat.ranger.parser.ConfigurationParser
+import io.smartcat.ranger.schema.ValueType.Kind
+import io.smartcat.ranger.util.YamlUtils
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TypeInferenceSpec extends Specification {
+
+    @Unroll
+    def "should infer type #expected of #expression"() {
+        given:
+        def generator = build("""
+values:
+  value: $expression
+output: \$value
+""")
+
+        expect:
+        generator.schema().toString() == expected
+
+        where:
+        expression                                        | expected
+        "random(1..10)"                                   | "int"
+        "random(long(1)..long(10))"                       | "long"
+        "random(1.0..2.0)"                                | "double"
+        "circular(1..10, 1)"                              | "int"
+        "add('short', 1, 2)"                              | "short"
+        "divide('double', random(1..10), 2)"              | "double"
+        "true"                                            | "boolean"
+        "'text'"                                          | "string"
+        "null()"                                          | "null"
+        "uuid()"                                          | "string"
+        "string('{}', 1)"                                 | "string"
+        "now()"                                           | "long"
+        "nowDate()"                                       | "date"
+        "nowLocalDate()"                                  | "local_date"
+        "nowLocalDateTime()"                              | "local_date_time"
+        "random(['a', 'b'])"                              | "string"
+        "random(['a', null()])"                           | "string?"
+        "random([1, 'a'])"                                | "any"
+        "circular([random(1..5), 7])"                     | "int"
+        "weighted([('a', 1), ('b', 2)])"                  | "string"
+        "list([random(1..5), 3])"                         | "list<int>"
+        "list(1, 3, random(1.0..2.0))"                    | "list<double>"
+        "emptyList()"                                     | "list<any>"
+        "csv('src/test/resources/csv/a.csv')"             | "map<string>"
+    }
+
+    def "should infer record type of composite value with getters"() {
+        given:
+        def generator = build('''
+values:
+  id: circular(1..1000, 1)
+  user:
+    identifier: $id
+    name: random(['Mike', 'Steve'])
+    tags: list(['a', 'b'])
+    address:
+      city: 'Novi Sad'
+      zip: random(21000..21999)
+  summary:
+    person: $user
+    zip: get("zip", get("address", $user))
+    city: get("city", get("address", $user))
+    missing: get("missing", $user)
+output: $summary
+''')
+
+        when:
+        def schema = generator.schema()
+
+        then:
+        schema.kind == Kind.RECORD
+        schema.fields.person.fields.keySet() == ['identifier', 'name', 'tags', 'address'] as Set
+        schema.fields.person.fields.identifier.kind == Kind.INT
+        schema.fields.person.fields.tags.toString() == 'list<string>'
+        schema.fields.person.fields.address.fields.zip.kind == Kind.INT
+        schema.fields.zip.toString() == 'int'
+        schema.fields.city.toString() == 'string'
+        schema.fields.missing == ValueType.NULL
+        schema.fields.keySet() == generator.next().keySet()
+    }
+
+    def "should infer type of compiled generator"() {
+        given:
+        def generator = build('''
+values:
+  x: random(1..10)
+  user:
+    sum: add('long', $x, 5)
+    name: 'Mike'
+output: $user
+''')
+
+        when:
+        def schema = generator.compile().schema()
+
+        then:
+        schema.fields.collectEntries { k, v -> [k, v.toString()] } == [sum: 'long', name: 'string']
+    }
+
+    def "should infer type of generator with optimized value graph"() {
+        given:
+        def parser = new ConfigurationParser(YamlUtils.load('''
+values:
+  user:
+    sum: add('int', multiply('int', 6, 7), 100)
+    label: string('{}-{}', 7, 'x')
+output: $user
+'''))
+        parser.setOptimize(true)
+
+        when:
+        def schema = parser.build().schema()
+
+        then:
+        schema.fields.collectEntries { k, v -> [k, v.toString()] } == [sum: 'int', label: 'string']
+    }
+
+    def "should infer type of object converted by type converter"() {
+        given:
+        def generator = new ConfigurationParser(YamlUtils.load('''
+values:
+  user:
+    name: 'Mike'
+output: $user
+''')).build(Map)
+
+        expect:
+        generator.schema().kind == Kind.MAP
+    }
+
+    def "should infer any type for proxies which refer to each other"() {
+        given:
+        def first = new ValueProxy()
+        def second = new ValueProxy(first)
+        first.setDelegate(second)
+
+        expect:
+        new ObjectGenerator(first).schema() == ValueType.ANY
+    }
+
+    def "should keep types of all inferred values"() {
+        given:
+        def constant = new ConstantValue(5L)
+        def proxy = new ValueProxy(constant)
+        def inference = new TypeInference()
+
+        when:
+        inference.typeOf(proxy)
+
+        then:
+        inference.typeOf(constant) == ValueType.of(Kind.LONG)
+    }
+
+    def "should join types"() {
+        expect:
+        ValueType.of(Kind.INT).join(ValueType.NULL) == ValueType.of(Kind.INT).nullable()
+        ValueType.NULL.join(ValueType.of(Kind.STRING)).toString() == 'string?'
+        ValueType.of(Kind.INT).join(ValueType.of(Kind.LONG)) == ValueType.ANY
+        ValueType.listOf(ValueType.of(Kind.INT)).join(ValueType.listOf(ValueType.NULL)).toString() == 'list<int?>'
+        ValueType.record([a: ValueType.of(Kind.INT)]).join(ValueType.record([a: ValueType.NULL])).toString() ==
+                'record{a: int?}'
+        ValueType.record([a: ValueType.of(Kind.INT)]).join(ValueType.record([b: ValueType.of(Kind.INT)])) ==
+                ValueType.ANY
+    }
+
+    def "should map java classes to types"() {
+        expect:
+        ValueType.forClass(Integer).kind == Kind.INT
+        ValueType.forClass(Integer).kind.primitive
+        ValueType.forClass(Integer).javaType == Integer
+        ValueType.forClass(ArrayList).toString() == 'list<any>'
+        ValueType.forClass(Object) == ValueType.ANY
+        ValueType.forClass(URI).toString() == 'object<java.net.URI>'
+    }
+
+    def "should fail to create type of non scalar kind"() {
+        when:
+        ValueType.of(Kind.RECORD)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def build(String config) {
+        new ConfigurationParser(YamlUtils.load(config)).build()
+    }
+}